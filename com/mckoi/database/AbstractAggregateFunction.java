@@ -84,6 +84,17 @@ public abstract class AbstractAggregateFunction extends AbstractFunction {
     return result;
   }
 
+  /**
+   * Evaluates the aggregate over a simple variable in one step from the
+   * columnar store of the column if there is one.  Returns null if this
+   * isn't possible in which case each value in the group is evaluated with
+   * 'evalAggregate'.  By default this returns null.
+   */
+  Object evalColumnarAggregate(FunctionTable.TableGroupResolver group,
+                               Variable v) {
+    return null;
+  }
+
 
 
   // ---------- Implemented from AbstractFunction ----------
@@ -108,6 +119,14 @@ public abstract class AbstractAggregateFunction extends AbstractFunction {
     // If the aggregate parameter is a simple variable, then use optimal
     // routine,
     if (v != null) {
+      // Try and aggregate the column from a columnar store.
+      if (group instanceof FunctionTable.TableGroupResolver) {
+        result = evalColumnarAggregate(
+                                 (FunctionTable.TableGroupResolver) group, v);
+        if (result != null) {
+          return postEvalAggregate(group, context, result);
+        }
+      }
       for (int i = 0; i < size; ++i) {
         val = group.resolve(v, i);
         if (val != null) {
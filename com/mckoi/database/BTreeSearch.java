@@ -0,0 +1,1272 @@
+/**
+ * com.mckoi.database.BTreeSearch  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import com.mckoi.util.IntegerVector;
+import com.mckoi.util.BlockIntegerList;
+import com.mckoi.util.IntegerListInterface;
+import com.mckoi.util.IndexComparator;
+import com.mckoi.util.ByteArrayUtil;
+import com.mckoi.util.Cache;
+import java.io.*;
+
+/**
+ * A SelectableScheme that stores the index of a column as a B+tree in the
+ * pages of the table's IndexStore.  Unlike InsertSearch, which keeps a
+ * sorted list of row numbers and must de-reference a row for every
+ * comparison, the keys of the index are stored in the tree nodes so a
+ * lookup or range select visits only the pages on the path to the range.
+ * <p>
+ * Entries are ordered by the column value and then by row number, so every
+ * entry in the tree is unique.  Leaf nodes contain the entries, branch nodes
+ * contain the child pages and a separator entry between each child.  A key
+ * whose serialized form is larger than 1/8th of a page is not stored in the
+ * node and is instead read from the table when it is needed.
+ * <p>
+ * The tree is copy-on-write.  A node that is read from the store is
+ * immutable and may be shared between any number of schemes (it is cached
+ * by page number).  When a scheme changes a node it makes a private copy of
+ * the node and of the path to the root.  The private nodes are only written
+ * to the store when the IndexSet the scheme was created from is committed,
+ * at which point the pages that were replaced are handed to the IndexSet to
+ * be reclaimed.  The root page and the number of entries in the tree are
+ * stored in the index list of the column in the IndexSet.
+ * <p>
+ * This scheme is selected by setting the index scheme of a column to
+ * "BTree" (see DataTableColumnDef.setIndexScheme).
+ *
+ * @author agent
+ */
+
+public final class BTreeSearch extends SelectableScheme
+                               implements IndexSet.CommitListener {
+
+  /**
+   * Some statics.
+   */
+  private static final BlockIntegerList EMPTY_LIST;
+  private static final BlockIntegerList ONE_LIST;
+
+  static {
+    EMPTY_LIST = new BlockIntegerList();
+    EMPTY_LIST.setImmutable();
+    ONE_LIST = new BlockIntegerList();
+    ONE_LIST.add(0);
+    ONE_LIST.setImmutable();
+  }
+
+  /**
+   * The node type markers stored in the first byte of a page.
+   */
+  private static final byte LEAF   = 1;
+  private static final byte BRANCH = 2;
+
+  /**
+   * The size of the page header (type byte + short entry count).
+   */
+  private static final int HEADER_SIZE = 3;
+
+  /**
+   * The size of an entry excluding the key (int row + short key length).
+   */
+  private static final int ENTRY_SIZE = 6;
+
+  /**
+   * The size of a child reference in a branch node.
+   */
+  private static final int CHILD_SIZE = 4;
+
+  /**
+   * Row sets smaller than this are ordered by de-referencing the rows rather
+   * than by scanning the tree.
+   */
+  private static final int SMALL_ROW_SET = 250;
+
+  /**
+   * The IndexSet the tree is stored in.
+   */
+  private IndexSet index_set;
+
+  /**
+   * The list in the IndexSet that stores the root page and the number of
+   * entries of the tree.  Empty if the tree has never been written.
+   */
+  private IntegerListInterface root_list;
+
+  /**
+   * The cache of immutable nodes keyed by page number.  This is shared by
+   * all the schemes of the column in the master table.
+   */
+  private final Cache node_cache;
+
+  /**
+   * The size of a page and the number of bytes of a page available for
+   * entries.
+   */
+  private final int page_size;
+  private final int page_capacity;
+
+  /**
+   * The largest serialized key stored in a node.
+   */
+  private final int max_key_size;
+
+  /**
+   * The root node, or null if the tree is empty.
+   */
+  private Node root;
+
+  /**
+   * The number of entries in the tree.
+   */
+  private int entry_count;
+
+  /**
+   * The pages of the nodes that were copied or removed since the tree was
+   * read from the IndexSet.
+   */
+  private IntegerVector replaced_pages;
+
+  /**
+   * Set to true when the tree is changed.
+   */
+  private boolean changed;
+
+  /**
+   * Objects used to serialize keys.  Keys are only serialized when the
+   * tree is changed and changes are exclusive operations.
+   */
+  private final DataCellSerialization serializer;
+  private final ByteArrayOutputStream key_bout;
+  private final DataOutputStream key_dout;
+
+  /**
+   * Constructs the scheme over the tree stored in the given IndexSet.  The
+   * root of the tree is read from the index list 'column + 1' of the set.
+   */
+  BTreeSearch(TableDataSource table, int column,
+              IndexSet index_set, Cache node_cache) {
+    super(table, column);
+    this.index_set = index_set;
+    this.node_cache = node_cache;
+    this.page_size = index_set.getPageSize();
+    this.page_capacity = page_size - HEADER_SIZE;
+    this.max_key_size = page_size / 8;
+    this.replaced_pages = new IntegerVector();
+    this.serializer = new DataCellSerialization();
+    this.key_bout = new ByteArrayOutputStream(64);
+    this.key_dout = new DataOutputStream(key_bout);
+
+    root_list = index_set.getIndex(column + 1);
+    if (root_list.size() >= 2) {
+      int root_page = root_list.get(0);
+      entry_count = root_list.get(1);
+      root = (root_page == -1) ? null : loadNode(root_page);
+    }
+    else {
+      root = null;
+      entry_count = 0;
+    }
+
+    // The tree is written when the set is committed.
+    index_set.addCommitListener(this);
+  }
+
+  /**
+   * Constructs this as a copy of the given scheme.  Private nodes are
+   * copied, nodes read from the store are shared.
+   */
+  private BTreeSearch(TableDataSource table, BTreeSearch from,
+                      boolean immutable) {
+    super(table, from.getColumn());
+    // The copy reads pages from the same set but it isn't registered to
+    // write the tree when the set is committed.
+    this.index_set = from.index_set;
+    this.root_list = null;
+    this.node_cache = from.node_cache;
+    this.page_size = from.page_size;
+    this.page_capacity = from.page_capacity;
+    this.max_key_size = from.max_key_size;
+    this.replaced_pages = new IntegerVector();
+    this.serializer = new DataCellSerialization();
+    this.key_bout = new ByteArrayOutputStream(64);
+    this.key_dout = new DataOutputStream(key_bout);
+
+    this.root = (from.root == null) ? null : from.root.deepCopy();
+    this.entry_count = from.entry_count;
+
+    if (immutable) {
+      setImmutable();
+    }
+  }
+
+  // ---------- Nodes ----------
+
+  /**
+   * A node of the tree.  In a leaf node, 'rows', 'keys' and 'key_lens' are
+   * the entries.  In a branch node they are the separators, of which there
+   * is one less than there are children.  A key may be null if it is not
+   * stored in the node, in which case it is read from the table.
+   */
+  private static final class Node {
+
+    final boolean leaf;
+
+    /**
+     * The page this node is stored in, or -1 if this is a private node that
+     * has not been written yet.
+     */
+    int page;
+
+    int size;
+    int[] rows;
+    DataCell[] keys;
+    short[] key_lens;
+
+    /**
+     * The number of bytes the node needs in a page (excluding the header).
+     */
+    int bytes;
+
+    /**
+     * Branch nodes only - the page of each child and the private child
+     * nodes (null for a child that has not been changed).
+     */
+    int child_count;
+    int[] child_pages;
+    Node[] children;
+
+    Node(boolean leaf, int capacity) {
+      this.leaf = leaf;
+      this.page = -1;
+      rows = new int[capacity];
+      keys = new DataCell[capacity];
+      key_lens = new short[capacity];
+      if (!leaf) {
+        child_pages = new int[capacity + 1];
+        children = new Node[capacity + 1];
+      }
+    }
+
+    /**
+     * Makes sure there is room for one more entry (and child).
+     */
+    void ensureCapacity() {
+      if (size >= rows.length) {
+        int new_size = rows.length * 2 + 4;
+        int[] new_rows = new int[new_size];
+        DataCell[] new_keys = new DataCell[new_size];
+        short[] new_lens = new short[new_size];
+        System.arraycopy(rows, 0, new_rows, 0, size);
+        System.arraycopy(keys, 0, new_keys, 0, size);
+        System.arraycopy(key_lens, 0, new_lens, 0, size);
+        rows = new_rows;
+        keys = new_keys;
+        key_lens = new_lens;
+        if (!leaf) {
+          int[] new_pages = new int[new_size + 1];
+          Node[] new_children = new Node[new_size + 1];
+          System.arraycopy(child_pages, 0, new_pages, 0, child_count);
+          System.arraycopy(children, 0, new_children, 0, child_count);
+          child_pages = new_pages;
+          children = new_children;
+        }
+      }
+    }
+
+    void insertEntry(int i, int row, DataCell key, short key_len) {
+      ensureCapacity();
+      System.arraycopy(rows, i, rows, i + 1, size - i);
+      System.arraycopy(keys, i, keys, i + 1, size - i);
+      System.arraycopy(key_lens, i, key_lens, i + 1, size - i);
+      rows[i] = row;
+      keys[i] = key;
+      key_lens[i] = key_len;
+      ++size;
+      bytes += ENTRY_SIZE + key_len;
+    }
+
+    void removeEntry(int i) {
+      bytes -= ENTRY_SIZE + key_lens[i];
+      --size;
+      System.arraycopy(rows, i + 1, rows, i, size - i);
+      System.arraycopy(keys, i + 1, keys, i, size - i);
+      System.arraycopy(key_lens, i + 1, key_lens, i, size - i);
+      keys[size] = null;
+    }
+
+    void insertChild(int i, int child_page, Node child) {
+      System.arraycopy(child_pages, i, child_pages, i + 1, child_count - i);
+      System.arraycopy(children, i, children, i + 1, child_count - i);
+      child_pages[i] = child_page;
+      children[i] = child;
+      ++child_count;
+      bytes += CHILD_SIZE;
+    }
+
+    void removeChild(int i) {
+      --child_count;
+      System.arraycopy(child_pages, i + 1, child_pages, i, child_count - i);
+      System.arraycopy(children, i + 1, children, i, child_count - i);
+      children[child_count] = null;
+      bytes -= CHILD_SIZE;
+    }
+
+    /**
+     * Returns a private copy of this node.  Child nodes are not copied.
+     */
+    Node copy() {
+      Node n = new Node(leaf, Math.max(size + 1, 8));
+      n.size = size;
+      n.bytes = bytes;
+      System.arraycopy(rows, 0, n.rows, 0, size);
+      System.arraycopy(keys, 0, n.keys, 0, size);
+      System.arraycopy(key_lens, 0, n.key_lens, 0, size);
+      if (!leaf) {
+        n.child_count = child_count;
+        System.arraycopy(child_pages, 0, n.child_pages, 0, child_count);
+        System.arraycopy(children, 0, n.children, 0, child_count);
+      }
+      return n;
+    }
+
+    /**
+     * Returns this node if it is immutable, otherwise a copy of this node
+     * and all private nodes under it.
+     */
+    Node deepCopy() {
+      if (page != -1) {
+        return this;
+      }
+      Node n = copy();
+      if (!leaf) {
+        for (int i = 0; i < child_count; ++i) {
+          if (n.children[i] != null) {
+            n.children[i] = n.children[i].deepCopy();
+          }
+        }
+      }
+      return n;
+    }
+
+  }
+
+  /**
+   * The result of splitting a node.  'right' is the new node to the right
+   * of the split node, and the separator is the first entry in 'right'.
+   */
+  private static final class Split {
+    Node right;
+    int row;
+    DataCell key;
+    short key_len;
+  }
+
+  /**
+   * Returns the key of the given entry in the node.
+   */
+  private DataCell keyAt(Node node, int i) {
+    DataCell key = node.keys[i];
+    if (key == null) {
+      key = getCellContents(node.rows[i]);
+    }
+    return key;
+  }
+
+  /**
+   * Compares the entry (key1, row1) to the entry (key2, row2).
+   */
+  private static int compareEntry(DataCell key1, int row1,
+                                  DataCell key2, int row2) {
+    int c = key1.compareTo(key2);
+    if (c == 0) {
+      if (row1 < row2) {
+        return -1;
+      }
+      else if (row1 > row2) {
+        return 1;
+      }
+    }
+    return c;
+  }
+
+  /**
+   * Returns the number of entries in the node that are less than or equal
+   * to the entry (key, row).
+   */
+  private int entriesBefore(Node node, DataCell key, int row) {
+    int low = 0;
+    int high = node.size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (compareEntry(keyAt(node, mid), node.rows[mid], key, row) <= 0) {
+        low = mid + 1;
+      }
+      else {
+        high = mid - 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the child of a branch node.
+   */
+  private Node childAt(Node node, int i) {
+    Node child = node.children[i];
+    if (child == null) {
+      child = loadNode(node.child_pages[i]);
+    }
+    return child;
+  }
+
+  /**
+   * Returns a private version of the child of a branch node.  The branch
+   * node must be private.
+   */
+  private Node writableChildAt(Node node, int i) {
+    Node child = node.children[i];
+    if (child == null) {
+      int child_page = node.child_pages[i];
+      child = loadNode(child_page).copy();
+      replaced_pages.addInt(child_page);
+      node.children[i] = child;
+      node.child_pages[i] = -1;
+    }
+    return child;
+  }
+
+  /**
+   * Returns a private version of the root node.
+   */
+  private Node writableRoot() {
+    if (root.page != -1) {
+      replaced_pages.addInt(root.page);
+      root = root.copy();
+    }
+    return root;
+  }
+
+  // ---------- Storage ----------
+
+  /**
+   * Returns the serialized form of the key if it is small enough to store in
+   * a node, otherwise returns null.
+   */
+  private byte[] encodeKey(DataCell key) {
+    try {
+      key_bout.reset();
+      serializer.setToSerialize(key);
+      serializer.writeSerialization(key_dout);
+      key_dout.flush();
+    }
+    catch (IOException e) {
+      Debug().writeException(e);
+      throw new Error("IO Error: " + e.getMessage());
+    }
+    if (key_bout.size() > max_key_size) {
+      return null;
+    }
+    return key_bout.toByteArray();
+  }
+
+  /**
+   * Returns the length of the key as stored in a node (0 if it isn't
+   * stored).
+   */
+  private short keyLength(DataCell key) {
+    byte[] arr = encodeKey(key);
+    return (arr == null) ? 0 : (short) arr.length;
+  }
+
+  /**
+   * Reads the node in the given page from the cache or the store.
+   */
+  private Node loadNode(int page) {
+    Integer key = new Integer(page);
+    synchronized (node_cache) {
+      Node node = (Node) node_cache.get(key);
+      if (node != null) {
+        return node;
+      }
+    }
+
+    Node node;
+    try {
+      node = decodeNode(page, index_set.readPage(page));
+    }
+    catch (IOException e) {
+      Debug().writeException(e);
+      throw new Error("IO Error: " + e.getMessage());
+    }
+    getSystem().stats().increment("BTreeSearch.pages_read");
+
+    synchronized (node_cache) {
+      node_cache.put(key, node);
+    }
+    return node;
+  }
+
+  /**
+   * Decodes a node from the content of a page.
+   */
+  private Node decodeNode(int page, byte[] buf) throws IOException {
+    byte type = buf[0];
+    if (type != LEAF && type != BRANCH) {
+      throw new IOException("Page " + page + " is not a BTreeSearch node.");
+    }
+    int size = ByteArrayUtil.getShort(buf, 1) & 0x0FFFF;
+    Node node = new Node(type == LEAF, Math.max(size, 1));
+    int p = HEADER_SIZE;
+    if (!node.leaf) {
+      node.child_count = size + 1;
+      for (int i = 0; i <= size; ++i) {
+        node.child_pages[i] = ByteArrayUtil.getInt(buf, p);
+        p += CHILD_SIZE;
+      }
+      node.bytes = node.child_count * CHILD_SIZE;
+    }
+
+    DataCellSerialization deserializer = new DataCellSerialization();
+    CellBufferInputStream cin = new CellBufferInputStream();
+    for (int i = 0; i < size; ++i) {
+      node.rows[i] = ByteArrayUtil.getInt(buf, p);
+      short key_len = ByteArrayUtil.getShort(buf, p + 4);
+      p += ENTRY_SIZE;
+      if (key_len > 0) {
+        cin.setArray(buf, p, key_len);
+        node.keys[i] = deserializer.readSerialization(cin);
+        p += key_len;
+      }
+      node.key_lens[i] = key_len;
+      node.bytes += ENTRY_SIZE + key_len;
+    }
+    node.size = size;
+    node.page = page;
+    return node;
+  }
+
+  /**
+   * Encodes the node into a page.
+   */
+  private byte[] encodeNode(Node node) {
+    byte[] buf = new byte[page_size];
+    buf[0] = node.leaf ? LEAF : BRANCH;
+    ByteArrayUtil.setShort((short) node.size, buf, 1);
+    int p = HEADER_SIZE;
+    if (!node.leaf) {
+      for (int i = 0; i < node.child_count; ++i) {
+        ByteArrayUtil.setInt(node.child_pages[i], buf, p);
+        p += CHILD_SIZE;
+      }
+    }
+    for (int i = 0; i < node.size; ++i) {
+      ByteArrayUtil.setInt(node.rows[i], buf, p);
+      short key_len = node.key_lens[i];
+      ByteArrayUtil.setShort(key_len, buf, p + 4);
+      p += ENTRY_SIZE;
+      if (key_len > 0) {
+        byte[] key = encodeKey(node.keys[i]);
+        if (key == null || key.length != key_len) {
+          throw new Error("Key length changed.");
+        }
+        System.arraycopy(key, 0, buf, p, key_len);
+        p += key_len;
+      }
+    }
+    return buf;
+  }
+
+  /**
+   * Writes the given node and any private nodes under it to the store and
+   * returns the page of the node.
+   */
+  private int writeNode(IndexSet set, Node node) throws IOException {
+    if (node.page != -1) {
+      return node.page;
+    }
+    if (!node.leaf) {
+      for (int i = 0; i < node.child_count; ++i) {
+        if (node.children[i] != null) {
+          node.child_pages[i] = writeNode(set, node.children[i]);
+          node.children[i] = null;
+        }
+      }
+    }
+    int page = set.writePage(encodeNode(node));
+    node.page = page;
+    getSystem().stats().increment("BTreeSearch.pages_written");
+
+    synchronized (node_cache) {
+      node_cache.put(new Integer(page), node);
+    }
+    return page;
+  }
+
+  // ---------- Implemented from IndexSet.CommitListener ----------
+
+  /**
+   * Writes all the private nodes of the tree to the store and updates the
+   * root list in the set.
+   */
+  public void indexSetCommit(IndexSet set) throws IOException {
+    if (set != index_set) {
+      throw new Error("Committed an IndexSet this scheme is not part of.");
+    }
+    if (!changed) {
+      return;
+    }
+
+    for (int i = 0; i < replaced_pages.size(); ++i) {
+      set.deletePage(replaced_pages.intAt(i));
+    }
+    replaced_pages = new IntegerVector();
+
+    int root_page = (root == null) ? -1 : writeNode(set, root);
+    while (root_list.size() > 0) {
+      root_list.remove(root_list.size() - 1);
+    }
+    root_list.add(root_page);
+    root_list.add(entry_count);
+    changed = false;
+  }
+
+  // ---------- Modification ----------
+
+  /**
+   * Inserts a row into the tree.  This will always be thread safe, table
+   * changes cause a write lock which prevents reads while we are writing to
+   * the table.
+   */
+  public void insert(int row) {
+    if (isImmutable()) {
+      throw new Error("Tried to change an immutable scheme.");
+    }
+
+    DataCell cell = getCellContents(row);
+    short key_len = keyLength(cell);
+    // A key that isn't stored in the page is read from the table when it's
+    // needed, so we don't keep it in memory either.
+    DataCell key = (key_len == 0) ? null : cell;
+
+    if (root == null) {
+      root = new Node(true, 16);
+    }
+    Split split = insertInto(writableRoot(), cell, key, row, key_len);
+    if (split != null) {
+      // Grow the tree by one level
+      Node new_root = new Node(false, 8);
+      new_root.insertChild(0, -1, root);
+      new_root.insertChild(1, -1, split.right);
+      new_root.insertEntry(0, split.row, split.key, split.key_len);
+      root = new_root;
+    }
+    ++entry_count;
+    changed = true;
+  }
+
+  /**
+   * Inserts the entry into the given private node.  'cell' is the value of
+   * the row and 'key' is the key to store in the node.  Returns the split if
+   * the node became too large for a page, otherwise null.
+   */
+  private Split insertInto(Node node, DataCell cell,
+                           DataCell key, int row, short key_len) {
+    int i = entriesBefore(node, cell, row);
+    if (node.leaf) {
+      if (i > 0 && node.rows[i - 1] == row) {
+        throw new Error("Row " + row + " is already in the index.");
+      }
+      node.insertEntry(i, row, key, key_len);
+    }
+    else {
+      Split child_split =
+               insertInto(writableChildAt(node, i), cell, key, row, key_len);
+      if (child_split == null) {
+        return null;
+      }
+      node.insertEntry(i, child_split.row, child_split.key,
+                       child_split.key_len);
+      node.insertChild(i + 1, -1, child_split.right);
+    }
+
+    if (node.bytes > page_capacity) {
+      return splitNode(node);
+    }
+    return null;
+  }
+
+  /**
+   * Splits the given private node in half (by size in bytes).
+   */
+  private Split splitNode(Node node) {
+    // Find the entry to split at
+    int half = node.bytes / 2;
+    int acc = node.leaf ? 0 : CHILD_SIZE;
+    int m = 0;
+    while (m < node.size - 1 && acc < half) {
+      acc += ENTRY_SIZE + node.key_lens[m];
+      if (!node.leaf) {
+        acc += CHILD_SIZE;
+      }
+      ++m;
+    }
+    if (m == 0) {
+      m = 1;
+    }
+
+    Split split = new Split();
+    Node right = new Node(node.leaf, node.size - m + 8);
+    if (node.leaf) {
+      // The right node gets entries [m, size) and the separator is a copy
+      // of the first entry in the right node.
+      for (int i = m; i < node.size; ++i) {
+        right.insertEntry(i - m, node.rows[i], node.keys[i], node.key_lens[i]);
+      }
+      split.row = node.rows[m];
+      split.key = node.keys[m];
+      split.key_len = node.key_lens[m];
+      while (node.size > m) {
+        node.removeEntry(node.size - 1);
+      }
+    }
+    else {
+      // The separator at 'm' moves up, the right node gets the separators
+      // after it and the children after it.
+      split.row = node.rows[m];
+      split.key = node.keys[m];
+      split.key_len = node.key_lens[m];
+      for (int i = m + 1; i < node.child_count; ++i) {
+        right.insertChild(i - (m + 1), node.child_pages[i], node.children[i]);
+      }
+      for (int i = m + 1; i < node.size; ++i) {
+        right.insertEntry(i - (m + 1), node.rows[i], node.keys[i],
+                          node.key_lens[i]);
+      }
+      while (node.child_count > m + 1) {
+        node.removeChild(node.child_count - 1);
+      }
+      while (node.size > m) {
+        node.removeEntry(node.size - 1);
+      }
+    }
+    split.right = right;
+    return split;
+  }
+
+  /**
+   * Removes a row from the tree.  This will always be thread safe, table
+   * changes cause a write lock which prevents reads while we are writing to
+   * the table.
+   */
+  public void remove(int row) {
+    if (isImmutable()) {
+      throw new Error("Tried to change an immutable scheme.");
+    }
+
+    DataCell key = getCellContents(row);
+    if (root == null || !removeFrom(writableRoot(), key, row)) {
+      throw new Error("Row " + row + " was not found in the index.");
+    }
+    --entry_count;
+
+    changed = true;
+
+    // Shrink the tree
+    if ((root.leaf && root.size == 0) ||
+        (!root.leaf && root.child_count == 0)) {
+      root = null;
+    }
+    else {
+      while (!root.leaf && root.child_count == 1) {
+        root = childAt(root, 0);
+      }
+    }
+  }
+
+  /**
+   * Removes the entry from the given private node.  Returns true if the
+   * entry was found.
+   */
+  private boolean removeFrom(Node node, DataCell key, int row) {
+    int i = entriesBefore(node, key, row);
+    if (node.leaf) {
+      if (i == 0 || node.rows[i - 1] != row) {
+        return false;
+      }
+      node.removeEntry(i - 1);
+      return true;
+    }
+
+    Node child = writableChildAt(node, i);
+    if (!removeFrom(child, key, row)) {
+      return false;
+    }
+    // Remove a child that is now empty.  We don't merge nodes that are
+    // under full, they are removed when they become empty.
+    if ((child.leaf && child.size == 0) ||
+        (!child.leaf && child.child_count == 0)) {
+      node.removeChild(i);
+      if (node.size > 0) {
+        node.removeEntry(i > 0 ? i - 1 : 0);
+      }
+    }
+    return true;
+  }
+
+  // ---------- Scanning ----------
+
+  /**
+   * A bound of a range scan.  A null 'key' means the range is unbounded.
+   */
+  private static final class Bound {
+    DataCell key;
+    boolean inclusive;
+  }
+
+  /**
+   * Returns true if the key is above the lower bound.
+   */
+  private static boolean aboveLower(DataCell key, Bound lower) {
+    if (lower.key == null) {
+      return true;
+    }
+    int c = key.compareTo(lower.key);
+    return c > 0 || (c == 0 && lower.inclusive);
+  }
+
+  /**
+   * Returns true if the key is below the upper bound.
+   */
+  private static boolean belowUpper(DataCell key, Bound upper) {
+    if (upper.key == null) {
+      return true;
+    }
+    int c = key.compareTo(upper.key);
+    return c < 0 || (c == 0 && upper.inclusive);
+  }
+
+  /**
+   * Adds every row in the subtree that is within the bounds to 'result' in
+   * key order.  Returns false if the scan passed the upper bound.
+   */
+  private boolean scan(Node node, Bound lower, Bound upper,
+                       IntegerVector result) {
+    // Find the first entry (or child) that may be above the lower bound.
+    int low = 0;
+    int high = node.size - 1;
+    if (lower.key != null) {
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        if (aboveLower(keyAt(node, mid), lower)) {
+          high = mid - 1;
+        }
+        else {
+          low = mid + 1;
+        }
+      }
+    }
+
+    if (node.leaf) {
+      for (int i = low; i < node.size; ++i) {
+        if (!belowUpper(keyAt(node, i), upper)) {
+          return false;
+        }
+        result.addInt(node.rows[i]);
+      }
+      return true;
+    }
+    else {
+      // The entries in child 'i' are >= separator 'i - 1' and < separator
+      // 'i'.  Child 'low' is the first child that may contain an entry
+      // above the lower bound.
+      for (int i = low; i < node.child_count; ++i) {
+        if (i > low && !belowUpper(keyAt(node, i - 1), upper)) {
+          return false;
+        }
+        if (!scan(childAt(node, i), lower, upper, result)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Returns the first (or last) key in the tree.  The tree must not be
+   * empty.
+   */
+  private DataCell edgeKey(boolean first) {
+    Node node = root;
+    while (!node.leaf) {
+      node = childAt(node, first ? 0 : node.child_count - 1);
+    }
+    return keyAt(node, first ? 0 : node.size - 1);
+  }
+
+  /**
+   * Resolves the value of a range point to a key.
+   */
+  private DataCell rangeKey(Object val) {
+    if (val == SelectableRange.FIRST_IN_SET) {
+      return edgeKey(true);
+    }
+    else if (val == SelectableRange.LAST_IN_SET) {
+      return edgeKey(false);
+    }
+    return (DataCell) val;
+  }
+
+  /**
+   * Adds the rows in the range to the given IntegerVector.  IntegerVector
+   * may be null if a list has not yet been allocated for the range.
+   */
+  private IntegerVector addRange(SelectableRange range, IntegerVector ivec) {
+    Bound lower = new Bound();
+    Bound upper = new Bound();
+
+    byte start_flag = range.getStartFlag();
+    Object start = range.getStart();
+    byte end_flag = range.getEndFlag();
+    Object end = range.getEnd();
+
+    if (start_flag == SelectableRange.FIRST_VALUE) {
+      if (start != SelectableRange.FIRST_IN_SET) {
+        lower.key = rangeKey(start);
+        lower.inclusive = true;
+      }
+    }
+    else if (start_flag == SelectableRange.AFTER_LAST_VALUE) {
+      if (start == SelectableRange.LAST_IN_SET) {
+        return ivec;
+      }
+      lower.key = rangeKey(start);
+      lower.inclusive = false;
+    }
+    else {
+      throw new Error("Unrecognised start flag.");
+    }
+
+    if (end_flag == SelectableRange.LAST_VALUE) {
+      if (end != SelectableRange.LAST_IN_SET) {
+        upper.key = rangeKey(end);
+        upper.inclusive = true;
+      }
+    }
+    else if (end_flag == SelectableRange.BEFORE_FIRST_VALUE) {
+      if (end == SelectableRange.FIRST_IN_SET) {
+        return ivec;
+      }
+      upper.key = rangeKey(end);
+      upper.inclusive = false;
+    }
+    else {
+      throw new Error("Unrecognised end flag.");
+    }
+
+    if (ivec == null) {
+      ivec = new IntegerVector();
+    }
+    scan(root, lower, upper, ivec);
+    return ivec;
+  }
+
+  /**
+   * Returns 'row_set' ordered by this index.  The returned set is stable,
+   * meaning if values are equal they stay in the same order as they came in.
+   */
+  public BlockIntegerList internalOrderIndexSet(final IntegerVector row_set) {
+    int row_set_length = row_set.size();
+
+    // Trivial cases where sorting is not required:
+    // NOTE: We use immutable objects to save some memory.
+    if (row_set_length == 0) {
+      return EMPTY_LIST;
+    }
+    else if (row_set_length == 1) {
+      return ONE_LIST;
+    }
+
+    // If the set is a large part of the tree then it's quicker to walk the
+    // tree in order than to de-reference every row in the set.
+    if (row_set_length > SMALL_ROW_SET && row_set_length * 4 >= entry_count) {
+      BlockIntegerList new_set = orderByScan(row_set);
+      if (new_set != null) {
+        getSystem().stats().increment(
+                                 "{session} BTreeSearch.scan_ordered_sets");
+        return new_set;
+      }
+    }
+
+    // This will be 'row_set' sorted by its entry lookup.  This must only
+    // contain indices to row_set entries.
+    BlockIntegerList new_set = new BlockIntegerList();
+
+    // The comparator we use to sort
+    IndexComparator comparator = new IndexComparator() {
+      public int compare(int index, Object val) {
+        DataCell cell = getCellContents(row_set.intAt(index));
+        return cell.compareTo((DataCell) val);
+      }
+      public int compare(int index1, int index2) {
+        throw new Error("Shouldn't be called!");
+      }
+    };
+
+    // Fill new_set with the set { 0, 1, 2, .... , row_set_length }
+    for (int i = 0; i < row_set_length; ++i) {
+      DataCell cell = getCellContents(row_set.intAt(i));
+      new_set.insertSort(cell, i, comparator);
+    }
+
+    return new_set;
+  }
+
+  /**
+   * Orders 'row_set' by walking the tree in order.  Returns null if a row in
+   * the set is not in the tree.
+   */
+  private BlockIntegerList orderByScan(IntegerVector row_set) {
+    int row_set_length = row_set.size();
+
+    // Map from row to the position in 'row_set'
+    int max_row = 0;
+    for (int i = 0; i < row_set_length; ++i) {
+      max_row = Math.max(max_row, row_set.intAt(i));
+    }
+    int[] positions = new int[max_row + 1];
+    for (int i = 0; i <= max_row; ++i) {
+      positions[i] = -1;
+    }
+    for (int i = 0; i < row_set_length; ++i) {
+      int row = row_set.intAt(i);
+      if (positions[row] != -1) {
+        // Duplicate rows in the set
+        return null;
+      }
+      positions[row] = i;
+    }
+
+    BlockIntegerList new_set = new BlockIntegerList();
+    IntegerVector group = new IntegerVector();
+    DataCell[] last_key = new DataCell[1];
+    orderScan(root, positions, group, last_key, new_set);
+    addGroup(group, new_set);
+
+    if (new_set.size() != row_set_length) {
+      return null;
+    }
+    return new_set;
+  }
+
+  /**
+   * Walks the subtree in order adding the 'row_set' position of each row
+   * found to 'new_set'.  Positions of rows with equal keys are collected in
+   * 'group' and added in ascending order so the order is stable.
+   */
+  private void orderScan(Node node, int[] positions, IntegerVector group,
+                         DataCell[] last_key, BlockIntegerList new_set) {
+    if (node == null) {
+      return;
+    }
+    if (node.leaf) {
+      for (int i = 0; i < node.size; ++i) {
+        int row = node.rows[i];
+        if (row < positions.length && positions[row] != -1) {
+          DataCell key = keyAt(node, i);
+          if (last_key[0] == null || key.compareTo(last_key[0]) != 0) {
+            addGroup(group, new_set);
+            last_key[0] = key;
+          }
+          group.addInt(positions[row]);
+        }
+      }
+    }
+    else {
+      for (int i = 0; i < node.child_count; ++i) {
+        orderScan(childAt(node, i), positions, group, last_key, new_set);
+      }
+    }
+  }
+
+  /**
+   * Adds the group of positions to the set in ascending order.
+   */
+  private static void addGroup(IntegerVector group, BlockIntegerList new_set) {
+    int sz = group.size();
+    if (sz > 1) {
+      group.quickSort();
+    }
+    for (int i = 0; i < sz; ++i) {
+      new_set.add(group.intAt(i));
+    }
+    group.clear();
+  }
+
+  /**
+   * Returns a scheme to handle a sub-set of the rows in this scheme.  As
+   * with InsertSearch this orders the rows of the subset table by this
+   * index and returns an InsertSearch over the ordered set.
+   */
+  public SelectableScheme getSubsetScheme(Table subset_table,
+                                          int subset_column) {
+
+    // Resolve table rows in this table scheme domain.
+    IntegerVector row_set = new IntegerVector(subset_table.getRowCount());
+    RowEnumeration e = subset_table.rowEnumeration();
+    while (e.hasMoreRows()) {
+      row_set.addInt(e.nextRowIndex());
+    }
+    subset_table.setToRowTableDomain(subset_column, row_set, getTable());
+
+    // Generates an IntegerVector which contains indices into 'row_set' in
+    // sorted order.
+    BlockIntegerList new_set = internalOrderIndexSet(row_set);
+
+    // Our 'new_set' should be the same size as 'row_set'
+    if (new_set.size() != row_set.size()) {
+      throw new RuntimeException("Internal sort error in finding sub-set.");
+    }
+
+    InsertSearch is = new InsertSearch(subset_table, subset_column, new_set);
+    // Don't let subset schemes create uid caches.
+    is.RECORD_UID = false;
+    return is;
+  }
+
+  /**
+   * Reads the entire state of the scheme from the input stream.  Throws an
+   * exception if the scheme is not empty.
+   */
+  public void readFrom(InputStream in) throws IOException {
+    if (entry_count != 0) {
+      throw new RuntimeException(
+                      "Error reading scheme, already a set in the Scheme");
+    }
+    DataInputStream din = new DataInputStream(in);
+    int vec_size = din.readInt();
+    for (int i = 0; i < vec_size; ++i) {
+      int row = din.readInt();
+      if (row < 0) {
+        throw new IOException("Scheme contains out of table bounds index.");
+      }
+      insert(row);
+    }
+  }
+
+  /**
+   * Writes the entire state of the scheme to the output stream.
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    DataOutputStream dout = new DataOutputStream(out);
+    IntegerVector rows = selectAll();
+    int sz = rows.size();
+    dout.writeInt(sz);
+    for (int i = 0; i < sz; ++i) {
+      dout.writeInt(rows.intAt(i));
+    }
+  }
+
+  /**
+   * Returns a copy of this scheme.  The copy shares the immutable nodes of
+   * the tree with this scheme and can not be written to the store.
+   */
+  public SelectableScheme copy(TableDataSource table, boolean immutable) {
+    return new BTreeSearch(table, this, immutable);
+  }
+
+  /**
+   * Disposes this scheme.
+   */
+  public void dispose() {
+    root = null;
+    root_list = null;
+    index_set = null;
+    replaced_pages = null;
+  }
+
+  // ---------- Select operations ----------
+
+  public IntegerVector selectAll() {
+    IntegerVector ivec = new IntegerVector(entry_count + 1);
+    if (root != null) {
+      Bound unbounded = new Bound();
+      scan(root, unbounded, unbounded, ivec);
+    }
+    return ivec;
+  }
+
+  public IntegerVector selectFirst() {
+    return selectRange(new SelectableRange(
+             SelectableRange.FIRST_VALUE, SelectableRange.FIRST_IN_SET,
+             SelectableRange.LAST_VALUE, SelectableRange.FIRST_IN_SET));
+  }
+
+  public IntegerVector selectNotFirst() {
+    return selectRange(new SelectableRange(
+             SelectableRange.AFTER_LAST_VALUE, SelectableRange.FIRST_IN_SET,
+             SelectableRange.LAST_VALUE, SelectableRange.LAST_IN_SET));
+  }
+
+  public IntegerVector selectLast() {
+    return selectRange(new SelectableRange(
+             SelectableRange.FIRST_VALUE, SelectableRange.LAST_IN_SET,
+             SelectableRange.LAST_VALUE, SelectableRange.LAST_IN_SET));
+  }
+
+  public IntegerVector selectNotLast() {
+    return selectRange(new SelectableRange(
+             SelectableRange.FIRST_VALUE, SelectableRange.FIRST_IN_SET,
+             SelectableRange.BEFORE_FIRST_VALUE, SelectableRange.LAST_IN_SET));
+  }
+
+  public IntegerVector selectRange(SelectableRange range) {
+    // If no items in the set return an empty set
+    if (root == null) {
+      return new IntegerVector(0);
+    }
+    IntegerVector ivec = addRange(range, null);
+    if (ivec == null) {
+      return new IntegerVector(0);
+    }
+    return ivec;
+  }
+
+  public IntegerVector selectRange(SelectableRange[] ranges) {
+    // If no items in the set return an empty set
+    if (root == null) {
+      return new IntegerVector(0);
+    }
+    IntegerVector ivec = null;
+    for (int i = 0; i < ranges.length; ++i) {
+      ivec = addRange(ranges[i], ivec);
+    }
+    if (ivec == null) {
+      return new IntegerVector(0);
+    }
+    return ivec;
+  }
+
+}
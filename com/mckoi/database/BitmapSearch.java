@@ -0,0 +1,682 @@
+/**
+ * com.mckoi.database.BitmapSearch  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import com.mckoi.util.IntegerVector;
+import com.mckoi.util.IntegerBitmap;
+import com.mckoi.util.BlockIntegerList;
+import com.mckoi.util.IntegerListInterface;
+import com.mckoi.util.ByteArrayUtil;
+import com.mckoi.util.Cache;
+import java.util.ArrayList;
+import java.io.*;
+
+/**
+ * A SelectableScheme for columns with few distinct values (for example, a
+ * boolean flag or a company id).  The index is a sorted list of the
+ * distinct values of the column with an IntegerBitmap of the rows that
+ * contain each value.  Selecting a value or a range of values only reads
+ * the bitmaps of the values in the range, and ordering a set of rows
+ * compares each row against the distinct values rather than against other
+ * rows.
+ * <p>
+ * The bitmaps of the columns of a table can be combined before any rows
+ * are read.  See 'selectBitmap' and 'DataTable.bitmapSelect'.
+ * <p>
+ * Each value and its bitmap is stored as a chain of pages in the table's
+ * IndexStore.  As with BTreeSearch, a value read from the store is
+ * immutable and is cached by page number, a changed value is private to
+ * the scheme and is written to the store when the IndexSet the scheme was
+ * created from is committed.  The first page of each value is stored in
+ * the index list of the column in the IndexSet.
+ * <p>
+ * This scheme is not suitable for a column with many distinct values
+ * because every value has at least one page.
+ * <p>
+ * This scheme is selected by setting the index scheme of a column to
+ * "Bitmap" (see DataTableColumnDef.setIndexScheme).
+ *
+ * @author agent
+ */
+
+public final class BitmapSearch extends SelectableScheme
+                                implements IndexSet.CommitListener {
+
+  /**
+   * Some statics.
+   */
+  private static final BlockIntegerList EMPTY_LIST;
+  private static final BlockIntegerList ONE_LIST;
+
+  static {
+    EMPTY_LIST = new BlockIntegerList();
+    EMPTY_LIST.setImmutable();
+    ONE_LIST = new BlockIntegerList();
+    ONE_LIST.add(0);
+    ONE_LIST.setImmutable();
+  }
+
+  /**
+   * The type marker stored in the first byte of a value page.
+   */
+  private static final byte VALUE = 4;
+
+  /**
+   * The size of the page header (type byte + short data length + int next
+   * page).
+   */
+  private static final int HEADER_SIZE = 7;
+
+  /**
+   * The IndexSet the values are stored in.
+   */
+  private IndexSet index_set;
+
+  /**
+   * The list in the IndexSet that stores the first page of each value.
+   */
+  private IntegerListInterface root_list;
+
+  /**
+   * The cache of immutable values keyed by the first page of the value.
+   * This is shared by all the schemes of the column in the master table.
+   */
+  private final Cache value_cache;
+
+  /**
+   * The size of a page.
+   */
+  private final int page_size;
+
+  /**
+   * The distinct values (Value objects) in ascending order.
+   */
+  private ArrayList values;
+
+  /**
+   * The pages of the values that were copied or removed since the values
+   * were read from the IndexSet.
+   */
+  private IntegerVector replaced_pages;
+
+  /**
+   * Set to true when the index is changed.
+   */
+  private boolean changed;
+
+  /**
+   * Constructs the scheme over the values stored in the given IndexSet.
+   * The values are read from the index list 'column + 1' of the set.
+   */
+  BitmapSearch(TableDataSource table, int column,
+               IndexSet index_set, Cache value_cache) {
+    super(table, column);
+    this.index_set = index_set;
+    this.value_cache = value_cache;
+    this.page_size = index_set.getPageSize();
+    this.replaced_pages = new IntegerVector();
+
+    root_list = index_set.getIndex(column + 1);
+    int sz = root_list.size();
+    values = new ArrayList(sz + 4);
+    for (int i = 0; i < sz; ++i) {
+      values.add(loadValue(root_list.get(i)));
+    }
+
+    // The values are written when the set is committed.
+    index_set.addCommitListener(this);
+  }
+
+  /**
+   * Constructs this as a copy of the given scheme.  The bitmaps of private
+   * values are copied, values read from the store are shared.
+   */
+  private BitmapSearch(TableDataSource table, BitmapSearch from,
+                       boolean immutable) {
+    super(table, from.getColumn());
+    // The copy reads pages from the same set but it isn't registered to
+    // write the values when the set is committed.
+    this.index_set = from.index_set;
+    this.root_list = null;
+    this.value_cache = from.value_cache;
+    this.page_size = from.page_size;
+    this.replaced_pages = new IntegerVector();
+
+    int sz = from.values.size();
+    this.values = new ArrayList(sz + 4);
+    for (int i = 0; i < sz; ++i) {
+      Value v = (Value) from.values.get(i);
+      if (v.pages == null) {
+        v = new Value(v.key, v.rows.copy());
+      }
+      values.add(v);
+    }
+
+    if (immutable) {
+      setImmutable();
+    }
+  }
+
+  // ---------- Values ----------
+
+  /**
+   * A distinct value of the column and the rows that contain it.
+   */
+  private static final class Value {
+
+    final DataCell key;
+    final IntegerBitmap rows;
+
+    /**
+     * The pages this value is stored in, or null if this is a private value
+     * that has not been written yet.
+     */
+    int[] pages;
+
+    Value(DataCell key, IntegerBitmap rows) {
+      this.key = key;
+      this.rows = rows;
+    }
+
+  }
+
+  /**
+   * Returns the index of the given value, or (-(insert point) - 1) if the
+   * value is not in the index.
+   */
+  private int valueIndex(DataCell cell) {
+    int low = 0;
+    int high = values.size() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int c = ((Value) values.get(mid)).key.compareTo(cell);
+      if (c < 0) {
+        low = mid + 1;
+      }
+      else if (c > 0) {
+        high = mid - 1;
+      }
+      else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  /**
+   * Returns a private copy of the given value that may be changed.
+   */
+  private Value writableValue(int i) {
+    Value v = (Value) values.get(i);
+    if (v.pages != null) {
+      for (int n = 0; n < v.pages.length; ++n) {
+        replaced_pages.addInt(v.pages[n]);
+      }
+      v = new Value(v.key, v.rows.copy());
+      values.set(i, v);
+    }
+    changed = true;
+    return v;
+  }
+
+  // ---------- Storage ----------
+
+  /**
+   * Reads the value that starts at the given page from the cache or the
+   * store.
+   */
+  private Value loadValue(int page) {
+    Integer key = new Integer(page);
+    synchronized (value_cache) {
+      Value v = (Value) value_cache.get(key);
+      if (v != null) {
+        return v;
+      }
+    }
+
+    Value v;
+    try {
+      // Read the chain of pages.
+      ByteArrayOutputStream bout = new ByteArrayOutputStream(page_size);
+      IntegerVector pages = new IntegerVector(2);
+      int p = page;
+      while (p != -1) {
+        byte[] buf = index_set.readPage(p);
+        if (buf[0] != VALUE) {
+          throw new IOException("Page " + p + " is not a BitmapSearch value.");
+        }
+        int len = ByteArrayUtil.getShort(buf, 1) & 0x0FFFF;
+        bout.write(buf, HEADER_SIZE, len);
+        pages.addInt(p);
+        p = ByteArrayUtil.getInt(buf, 3);
+        getSystem().stats().increment("BitmapSearch.pages_read");
+      }
+
+      byte[] data = bout.toByteArray();
+      int key_len = ByteArrayUtil.getShort(data, 0) & 0x0FFFF;
+      CellBufferInputStream cin = new CellBufferInputStream();
+      cin.setArray(data, 2, key_len);
+      DataCell cell = new DataCellSerialization().readSerialization(cin);
+      DataInputStream din = new DataInputStream(new ByteArrayInputStream(
+                           data, 2 + key_len, data.length - 2 - key_len));
+      v = new Value(cell, IntegerBitmap.readFrom(din));
+      v.pages = pages.toIntArray();
+    }
+    catch (IOException e) {
+      Debug().writeException(e);
+      throw new Error("IO Error: " + e.getMessage());
+    }
+
+    synchronized (value_cache) {
+      value_cache.put(key, v);
+    }
+    return v;
+  }
+
+  /**
+   * Writes the given private value to the store and returns the first page
+   * of the value.
+   */
+  private int writeValue(IndexSet set, Value v) throws IOException {
+    ByteArrayOutputStream bout = new ByteArrayOutputStream(page_size);
+    DataOutputStream dout = new DataOutputStream(bout);
+    DataCellSerialization serializer = new DataCellSerialization();
+    ByteArrayOutputStream key_bout = new ByteArrayOutputStream(64);
+    DataOutputStream key_dout = new DataOutputStream(key_bout);
+    serializer.setToSerialize(v.key);
+    serializer.writeSerialization(key_dout);
+    key_dout.flush();
+    if (key_bout.size() > 0x0FFFF) {
+      throw new IOException("BitmapSearch key is too large.");
+    }
+    dout.writeShort(key_bout.size());
+    key_bout.writeTo(dout);
+    v.rows.writeTo(dout);
+    dout.flush();
+    byte[] data = bout.toByteArray();
+
+    int page_data = page_size - HEADER_SIZE;
+    int page_count = Math.max((data.length + page_data - 1) / page_data, 1);
+    int[] pages = new int[page_count];
+    // Write the pages from the end of the chain so each page knows the
+    // page after it.
+    int next = -1;
+    for (int n = page_count - 1; n >= 0; --n) {
+      int start = n * page_data;
+      int len = Math.min(data.length - start, page_data);
+      byte[] buf = new byte[page_size];
+      buf[0] = VALUE;
+      ByteArrayUtil.setShort((short) len, buf, 1);
+      ByteArrayUtil.setInt(next, buf, 3);
+      System.arraycopy(data, start, buf, HEADER_SIZE, len);
+      next = set.writePage(buf);
+      pages[n] = next;
+      getSystem().stats().increment("BitmapSearch.pages_written");
+    }
+    v.pages = pages;
+
+    synchronized (value_cache) {
+      value_cache.put(new Integer(next), v);
+    }
+    return next;
+  }
+
+  // ---------- Implemented from IndexSet.CommitListener ----------
+
+  /**
+   * Writes all the private values to the store and updates the root list
+   * in the set.
+   */
+  public void indexSetCommit(IndexSet set) throws IOException {
+    if (set != index_set) {
+      throw new Error("Committed an IndexSet this scheme is not part of.");
+    }
+    if (!changed) {
+      return;
+    }
+
+    for (int i = 0; i < replaced_pages.size(); ++i) {
+      set.deletePage(replaced_pages.intAt(i));
+    }
+    replaced_pages = new IntegerVector();
+
+    while (root_list.size() > 0) {
+      root_list.remove(root_list.size() - 1);
+    }
+    int sz = values.size();
+    for (int i = 0; i < sz; ++i) {
+      Value v = (Value) values.get(i);
+      root_list.add(v.pages == null ? writeValue(set, v) : v.pages[0]);
+    }
+    changed = false;
+  }
+
+  // ---------- Modification ----------
+
+  /**
+   * Inserts a row into the index.  This will always be thread safe, table
+   * changes cause a write lock which prevents reads while we are writing to
+   * the index.
+   */
+  public void insert(int row) {
+    if (isImmutable()) {
+      throw new Error("Tried to change an immutable scheme.");
+    }
+    DataCell cell = getCellContents(row);
+    int i = valueIndex(cell);
+    if (i < 0) {
+      i = -(i + 1);
+      values.add(i, new Value(cell, new IntegerBitmap()));
+    }
+    writableValue(i).rows.add(row);
+  }
+
+  /**
+   * Removes a row from the index.  This will always be thread safe, table
+   * changes cause a write lock which prevents reads while we are writing to
+   * the index.
+   */
+  public void remove(int row) {
+    if (isImmutable()) {
+      throw new Error("Tried to change an immutable scheme.");
+    }
+    int i = valueIndex(getCellContents(row));
+    if (i < 0 || !writableValue(i).rows.remove(row)) {
+      throw new Error("Row " + row + " was not found in the BitmapSearch.");
+    }
+    if (((Value) values.get(i)).rows.isEmpty()) {
+      values.remove(i);
+    }
+  }
+
+  /**
+   * Returns 'row_set' ordered by this index.  The returned set is stable,
+   * meaning if values are equal they stay in the same order as they came in.
+   * Each row is placed by a search of the distinct values, so the cost
+   * depends on the number of distinct values rather than the size of the
+   * set.
+   */
+  public BlockIntegerList internalOrderIndexSet(IntegerVector row_set) {
+    int row_set_length = row_set.size();
+
+    // Trivial cases where sorting is not required:
+    // NOTE: We use immutable objects to save some memory.
+    if (row_set_length == 0) {
+      return EMPTY_LIST;
+    }
+    else if (row_set_length == 1) {
+      return ONE_LIST;
+    }
+
+    // The position of each row between the values.  A row with a value in
+    // the index is at (i * 2) + 1, a value not in the index (which should
+    // not happen) is placed between the values either side of it.
+    int slots = (values.size() * 2) + 1;
+    int[] slot = new int[row_set_length];
+    int[] slot_count = new int[slots + 1];
+    for (int i = 0; i < row_set_length; ++i) {
+      int p = valueIndex(getCellContents(row_set.intAt(i)));
+      int s = (p >= 0) ? (p * 2) + 1 : -(p + 1) * 2;
+      slot[i] = s;
+      ++slot_count[s + 1];
+    }
+    // A counting sort on the slot keeps the set stable.
+    for (int i = 1; i <= slots; ++i) {
+      slot_count[i] += slot_count[i - 1];
+    }
+    int[] order = new int[row_set_length];
+    for (int i = 0; i < row_set_length; ++i) {
+      order[slot_count[slot[i]]++] = i;
+    }
+
+    BlockIntegerList new_set = new BlockIntegerList();
+    for (int i = 0; i < row_set_length; ++i) {
+      new_set.add(order[i]);
+    }
+    return new_set;
+  }
+
+  /**
+   * Returns a scheme to handle a sub-set of the rows in this scheme.  As
+   * with InsertSearch this orders the rows of the subset table by this
+   * index and returns an InsertSearch over the ordered set.
+   */
+  public SelectableScheme getSubsetScheme(Table subset_table,
+                                          int subset_column) {
+
+    // Resolve table rows in this table scheme domain.
+    IntegerVector row_set = new IntegerVector(subset_table.getRowCount());
+    RowEnumeration e = subset_table.rowEnumeration();
+    while (e.hasMoreRows()) {
+      row_set.addInt(e.nextRowIndex());
+    }
+    subset_table.setToRowTableDomain(subset_column, row_set, getTable());
+
+    // Generates an IntegerVector which contains indices into 'row_set' in
+    // sorted order.
+    BlockIntegerList new_set = internalOrderIndexSet(row_set);
+
+    // Our 'new_set' should be the same size as 'row_set'
+    if (new_set.size() != row_set.size()) {
+      throw new RuntimeException("Internal sort error in finding sub-set.");
+    }
+
+    InsertSearch is = new InsertSearch(subset_table, subset_column, new_set);
+    // Don't let subset schemes create uid caches.
+    is.RECORD_UID = false;
+    return is;
+  }
+
+  /**
+   * Reads the entire state of the scheme from the input stream.  Throws an
+   * exception if the scheme is not empty.
+   */
+  public void readFrom(InputStream in) throws IOException {
+    if (values.size() != 0) {
+      throw new RuntimeException(
+                      "Error reading scheme, already a set in the Scheme");
+    }
+    DataInputStream din = new DataInputStream(in);
+    int vec_size = din.readInt();
+    for (int i = 0; i < vec_size; ++i) {
+      int row = din.readInt();
+      if (row < 0) {
+        throw new IOException("Scheme contains out of table bounds index.");
+      }
+      insert(row);
+    }
+  }
+
+  /**
+   * Writes the entire state of the scheme to the output stream.
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    DataOutputStream dout = new DataOutputStream(out);
+    IntegerVector rows = selectAll();
+    int sz = rows.size();
+    dout.writeInt(sz);
+    for (int i = 0; i < sz; ++i) {
+      dout.writeInt(rows.intAt(i));
+    }
+  }
+
+  /**
+   * Returns a copy of this scheme.  The copy shares the values read from
+   * the store with this scheme and can not be written to the store.
+   */
+  public SelectableScheme copy(TableDataSource table, boolean immutable) {
+    return new BitmapSearch(table, this, immutable);
+  }
+
+  /**
+   * Disposes this scheme.
+   */
+  public void dispose() {
+    values = null;
+    root_list = null;
+    index_set = null;
+    replaced_pages = null;
+  }
+
+  // ---------- Select operations ----------
+
+  /**
+   * Returns the key a range point refers to.
+   */
+  private DataCell rangeKey(Object val) {
+    int last = values.size() - 1;
+    if (val == SelectableRange.FIRST_IN_SET) {
+      return ((Value) values.get(0)).key;
+    }
+    else if (val == SelectableRange.LAST_IN_SET) {
+      return ((Value) values.get(last)).key;
+    }
+    return (DataCell) val;
+  }
+
+  /**
+   * Returns the index of the first value in the range.
+   */
+  private int lowerIndex(SelectableRange range) {
+    DataCell key = rangeKey(range.getStart());
+    int i = valueIndex(key);
+    if (i < 0) {
+      return -(i + 1);
+    }
+    byte flag = range.getStartFlag();
+    if (flag == SelectableRange.FIRST_VALUE) {
+      return i;
+    }
+    else if (flag == SelectableRange.AFTER_LAST_VALUE) {
+      return i + 1;
+    }
+    throw new Error("Unrecognised range start flag: " + flag);
+  }
+
+  /**
+   * Returns the index of the last value in the range.
+   */
+  private int upperIndex(SelectableRange range) {
+    DataCell key = rangeKey(range.getEnd());
+    int i = valueIndex(key);
+    if (i < 0) {
+      return -(i + 1) - 1;
+    }
+    byte flag = range.getEndFlag();
+    if (flag == SelectableRange.LAST_VALUE) {
+      return i;
+    }
+    else if (flag == SelectableRange.BEFORE_FIRST_VALUE) {
+      return i - 1;
+    }
+    throw new Error("Unrecognised range end flag: " + flag);
+  }
+
+  /**
+   * Returns the union of the bitmaps of all the values in the given ranges.
+   * The ranges must be ordered and not overlap (as made by
+   * SelectableRangeSet).
+   */
+  IntegerBitmap selectBitmap(SelectableRange[] ranges) {
+    getSystem().stats().increment("BitmapSearch.bitmap_selects");
+    IntegerBitmap result = null;
+    if (values.size() > 0) {
+      for (int n = 0; n < ranges.length; ++n) {
+        int i1 = lowerIndex(ranges[n]);
+        int i2 = upperIndex(ranges[n]);
+        for (int i = i1; i <= i2; ++i) {
+          IntegerBitmap rows = ((Value) values.get(i)).rows;
+          result = (result == null) ? rows : result.or(rows);
+        }
+      }
+    }
+    return (result == null) ? new IntegerBitmap() : result;
+  }
+
+  /**
+   * Adds the rows in the given range to 'ivec' in order.
+   */
+  private void addRange(SelectableRange range, IntegerVector ivec) {
+    int i1 = lowerIndex(range);
+    int i2 = upperIndex(range);
+    for (int i = i1; i <= i2; ++i) {
+      ((Value) values.get(i)).rows.addTo(ivec);
+    }
+  }
+
+  public IntegerVector selectAll() {
+    IntegerVector ivec = new IntegerVector();
+    int sz = values.size();
+    for (int i = 0; i < sz; ++i) {
+      ((Value) values.get(i)).rows.addTo(ivec);
+    }
+    return ivec;
+  }
+
+  public IntegerVector selectFirst() {
+    return selectRange(new SelectableRange(
+             SelectableRange.FIRST_VALUE, SelectableRange.FIRST_IN_SET,
+             SelectableRange.LAST_VALUE, SelectableRange.FIRST_IN_SET));
+  }
+
+  public IntegerVector selectNotFirst() {
+    return selectRange(new SelectableRange(
+             SelectableRange.AFTER_LAST_VALUE, SelectableRange.FIRST_IN_SET,
+             SelectableRange.LAST_VALUE, SelectableRange.LAST_IN_SET));
+  }
+
+  public IntegerVector selectLast() {
+    return selectRange(new SelectableRange(
+             SelectableRange.FIRST_VALUE, SelectableRange.LAST_IN_SET,
+             SelectableRange.LAST_VALUE, SelectableRange.LAST_IN_SET));
+  }
+
+  public IntegerVector selectNotLast() {
+    return selectRange(new SelectableRange(
+             SelectableRange.FIRST_VALUE, SelectableRange.FIRST_IN_SET,
+             SelectableRange.BEFORE_FIRST_VALUE, SelectableRange.LAST_IN_SET));
+  }
+
+  public IntegerVector selectRange(SelectableRange range) {
+    IntegerVector ivec = new IntegerVector();
+    // If no items in the set return an empty set
+    if (values.size() > 0) {
+      addRange(range, ivec);
+    }
+    return ivec;
+  }
+
+  public IntegerVector selectRange(SelectableRange[] ranges) {
+    IntegerVector ivec = new IntegerVector();
+    // If no items in the set return an empty set
+    if (values.size() > 0) {
+      for (int i = 0; i < ranges.length; ++i) {
+        addRange(ranges[i], ivec);
+      }
+    }
+    return ivec;
+  }
+
+}
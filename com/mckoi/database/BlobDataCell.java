@@ -77,6 +77,34 @@ public class BlobDataCell extends DataCell {
     return blob;
   }
 
+  /**
+   * Returns true if the blob is kept out of the row it belongs to, in which
+   * case it should be read in pieces with 'readPart' rather than all at once
+   * with 'getCell'.
+   */
+  public boolean isStoredOutOfRow() {
+    return false;
+  }
+
+  /**
+   * Returns the size of the blob in bytes.
+   */
+  public long length() {
+    return blob == null ? 0 : blob.length();
+  }
+
+  /**
+   * Reads 'length' bytes from 'position' in the blob into the buffer.
+   */
+  public void readPart(long position, byte[] buf, int offset, int length)
+                                                          throws IOException {
+    if (position < 0 || position + length > length()) {
+      throw new IOException("Read past the end of the BLOB.");
+    }
+    System.arraycopy(blob.getByteArray(), (int) position,
+                     buf, offset, length);
+  }
+
   public int getExtractionType() {
     return com.mckoi.database.global.Types.DB_BLOB;
   }
@@ -0,0 +1,351 @@
+/**
+ * com.mckoi.database.BufferPool  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import java.util.HashMap;
+import com.mckoi.util.Stats;
+
+/**
+ * A cache of pages read from the stores of a database that is shared by all
+ * the stores.  The pool is limited by the total number of bytes of pages in
+ * it rather than a number of pages per store, so memory goes to the pages
+ * of the tables that are used the most.  A page is identified by the object
+ * that owns it (a FixedSizeDataStore or IndexStore) and its sector number.
+ * <p>
+ * Pages are kept in two LRU lists.  A page read for the first time goes on
+ * the 'probation' list and is moved to the 'protected' list only when it is
+ * read again.  Pages are evicted from the end of the probation list first,
+ * so a scan that reads a lot of pages once does not push out the pages that
+ * are used over and over.  When the protected list is larger than its share
+ * of the pool, pages from its end are moved back to the probation list.
+ * <p>
+ * The stores copy the data out of a page or never change it, so a page can
+ * be evicted at any time without affecting a reader.
+ *
+ * @author agent
+ */
+
+final class BufferPool {
+
+  /**
+   * The number of bytes counted against the pool for each page on top of
+   * the size of its data.
+   */
+  private final static int PAGE_OVERHEAD = 48;
+
+  /**
+   * The percentage of the pool that may be used by the protected list.
+   */
+  private final static int PROTECTED_PERCENT = 80;
+
+  /**
+   * The maximum number of bytes of pages in the pool.
+   */
+  private final long max_bytes;
+
+  /**
+   * The maximum number of bytes of pages in the protected list.
+   */
+  private final long max_protected_bytes;
+
+  /**
+   * The number of bytes of pages in the probation and protected lists.
+   */
+  private long probation_bytes;
+  private long protected_bytes;
+
+  /**
+   * A map from a page key to the Page.
+   */
+  private final HashMap page_map;
+
+  /**
+   * The heads of the probation and protected lists.  The most recently used
+   * page is after the head and the least recently used is before it.
+   */
+  private final Page probation;
+  private final Page protected_list;
+
+  /**
+   * A page object used to look up a page in the map.
+   */
+  private final Page probe;
+
+  /**
+   * The Stats object the pool statistics are recorded in.
+   */
+  private final Stats stats;
+
+  /**
+   * The hits, misses and evictions since the statistics were last added to
+   * 'stats'.  These are counted here because the Stats object is too slow
+   * to update on every access.
+   */
+  private int hits, misses, evictions;
+
+  /**
+   * Constructs the pool with the given size in bytes.
+   */
+  BufferPool(long max_bytes, Stats stats) {
+    this.max_bytes = max_bytes;
+    this.max_protected_bytes = (max_bytes * PROTECTED_PERCENT) / 100;
+    this.stats = stats;
+    this.page_map = new HashMap();
+    this.probation = new Page(null, -1);
+    this.protected_list = new Page(null, -1);
+    this.probe = new Page(null, -1);
+  }
+
+  // ---------- List methods ----------
+
+  /**
+   * Removes the page from the list it is in.
+   */
+  private void unlink(Page page) {
+    page.previous.next = page.next;
+    page.next.previous = page.previous;
+    page.previous = null;
+    page.next = null;
+    if (page.is_protected) {
+      protected_bytes -= page.size;
+    }
+    else {
+      probation_bytes -= page.size;
+    }
+  }
+
+  /**
+   * Adds the page to the start of the probation list, or of the protected
+   * list if 'is_protected' is true.
+   */
+  private void linkFirst(Page page, boolean is_protected) {
+    Page head = is_protected ? protected_list : probation;
+    page.is_protected = is_protected;
+    page.previous = head;
+    page.next = head.next;
+    head.next.previous = page;
+    head.next = page;
+    if (is_protected) {
+      protected_bytes += page.size;
+    }
+    else {
+      probation_bytes += page.size;
+    }
+  }
+
+  /**
+   * Removes the page from the pool.
+   */
+  private void removePage(Page page) {
+    unlink(page);
+    page_map.remove(page);
+    page.data = null;
+  }
+
+  /**
+   * Moves pages from the end of the protected list to the probation list
+   * until the protected list fits in its share of the pool, then evicts
+   * pages until the pool fits in its size.
+   */
+  private void balance() {
+    while (protected_bytes > max_protected_bytes) {
+      Page page = protected_list.previous;
+      unlink(page);
+      linkFirst(page, false);
+    }
+    while (probation_bytes + protected_bytes > max_bytes) {
+      Page page = probation.previous;
+      if (page == probation) {
+        page = protected_list.previous;
+      }
+      removePage(page);
+      ++evictions;
+    }
+  }
+
+  /**
+   * Adds the counts since they were last added to the Stats object if
+   * there have been enough accesses, or if 'force' is true.
+   */
+  private void updateStats(boolean force) {
+    if (force || hits + misses >= 4096) {
+      stats.add(hits, "BufferPool.hits");
+      stats.add(misses, "BufferPool.misses");
+      stats.add(evictions, "BufferPool.evictions");
+      stats.set((int) (probation_bytes + protected_bytes),
+                "BufferPool.bytes");
+      hits = 0;
+      misses = 0;
+      evictions = 0;
+    }
+  }
+
+  // ---------- Public methods ----------
+
+  /**
+   * Returns the data of the given page of the given owner, or null if the
+   * page is not in the pool.
+   */
+  synchronized Object get(Object owner, int sector) {
+    probe.owner = owner;
+    probe.sector = sector;
+    Page page = (Page) page_map.get(probe);
+    probe.owner = null;
+    if (page == null) {
+      ++misses;
+      updateStats(false);
+      return null;
+    }
+    ++hits;
+    updateStats(false);
+    // A page that is used again is moved to the start of the protected list
+    boolean was_protected = page.is_protected;
+    unlink(page);
+    linkFirst(page, true);
+    if (!was_protected) {
+      balance();
+    }
+    return page.data;
+  }
+
+  /**
+   * Puts the given page of the given owner in the pool, replacing the page
+   * if it is already in the pool.  'size' is the size of the data in bytes.
+   */
+  synchronized void put(Object owner, int sector, Object data, int size) {
+    probe.owner = owner;
+    probe.sector = sector;
+    Page page = (Page) page_map.get(probe);
+    probe.owner = null;
+    if (page != null) {
+      // Replace the data of the page and keep it in the same list
+      boolean is_protected = page.is_protected;
+      unlink(page);
+      page.data = data;
+      page.size = size + PAGE_OVERHEAD;
+      linkFirst(page, is_protected);
+    }
+    else {
+      page = new Page(owner, sector);
+      page.data = data;
+      page.size = size + PAGE_OVERHEAD;
+      page_map.put(page, page);
+      linkFirst(page, false);
+    }
+    balance();
+  }
+
+  /**
+   * Removes the given page of the given owner from the pool.
+   */
+  synchronized void remove(Object owner, int sector) {
+    probe.owner = owner;
+    probe.sector = sector;
+    Page page = (Page) page_map.get(probe);
+    probe.owner = null;
+    if (page != null) {
+      removePage(page);
+    }
+  }
+
+  /**
+   * Removes all the pages of the given owner from the pool.  This should be
+   * called when the owner is closed.
+   */
+  synchronized void removeAll(Object owner) {
+    removeAll(owner, probation);
+    removeAll(owner, protected_list);
+    updateStats(true);
+  }
+
+  /**
+   * Removes all the pages of the given owner from the list with the given
+   * head.
+   */
+  private void removeAll(Object owner, Page head) {
+    Page page = head.next;
+    while (page != head) {
+      Page next = page.next;
+      if (page.owner == owner) {
+        removePage(page);
+      }
+      page = next;
+    }
+  }
+
+  // ---------- Inner classes ----------
+
+  /**
+   * A page in the pool.  A page is also its own key in the map.
+   */
+  private static final class Page {
+
+    /**
+     * The owner of the page and its sector number.
+     */
+    Object owner;
+    int sector;
+
+    /**
+     * The data in the page.
+     */
+    Object data;
+
+    /**
+     * The number of bytes the page counts against the pool.
+     */
+    int size;
+
+    /**
+     * True if the page is in the protected list.
+     */
+    boolean is_protected;
+
+    /**
+     * The pages before and after this one in its list.
+     */
+    Page previous;
+    Page next;
+
+    Page(Object owner, int sector) {
+      this.owner = owner;
+      this.sector = sector;
+      // A list head links to itself
+      this.previous = this;
+      this.next = this;
+    }
+
+    public int hashCode() {
+      return (System.identityHashCode(owner) * 31) + sector;
+    }
+
+    public boolean equals(Object ob) {
+      Page page = (Page) ob;
+      return page.owner == owner && page.sector == sector;
+    }
+
+  }
+
+}
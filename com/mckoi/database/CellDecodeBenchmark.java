@@ -0,0 +1,247 @@
+/**
+ * com.mckoi.database.CellDecodeBenchmark  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import java.io.*;
+import java.math.BigDecimal;
+import com.mckoi.debug.DefaultDebugLogger;
+import com.mckoi.util.ByteArrayUtil;
+import com.mckoi.util.Stats;
+
+/**
+ * A benchmark application for the ways MasterTableDataSource reads a cell
+ * from a row of the data store.  It writes five column rows to a temporary
+ * VariableSizeDataStore the same way 'addRow' does, then reads the last
+ * column of every row with each of;
+ * <p><pre>
+ *   stream - a stream over the record ('readCellFromStream').
+ *   buffer - the array of the sector ('getRecordBuffer' and
+ *            'readCellFromBuffer').
+ *   shared - the array read without the store state that is shared
+ *            between reads ('readRecordShared' and 'readCellFromBuffer').
+ * </pre>
+ * The sectors are cached in a BufferPool big enough for the whole store, so
+ * the times are of decoding and not of the disk.  Each way is read a number
+ * of times and the time of the fastest pass is printed as nanoseconds per
+ * cell.
+ * <p>
+ * Usage: java com.mckoi.database.CellDecodeBenchmark [rows] [passes]
+ * <p>
+ * The default is 200 passes over 20,000 rows.
+ *
+ * @author agent
+ */
+
+public class CellDecodeBenchmark {
+
+  /**
+   * The number of columns in each row, and the column that is read.
+   */
+  private static final int COLUMNS = 5;
+  private static final int READ_COLUMN = 4;
+
+  /**
+   * The size of the sectors of the store.  The rows written fit in one.
+   */
+  private static final int SECTOR_SIZE = 256;
+
+  /**
+   * The store the rows are in.
+   */
+  private final VariableSizeDataStore store;
+
+  /**
+   * The record indexes of the rows.
+   */
+  private final int[] records;
+
+  private final DataCellSerialization serializer = new DataCellSerialization();
+  private final CellInputStream cell_in = new CellInputStream(null);
+  private final CellBufferInputStream buffer_in = new CellBufferInputStream();
+
+  /**
+   * A value that depends on every cell read so the reads can't be optimized
+   * away.
+   */
+  private long check = 0;
+
+  private CellDecodeBenchmark(VariableSizeDataStore store, int row_count) {
+    this.store = store;
+    this.records = new int[row_count];
+  }
+
+  /**
+   * Writes the rows to the store.
+   */
+  private void writeRows() throws IOException {
+    DataCell[] cells = new DataCell[COLUMNS];
+    for (int i = 0; i < records.length; ++i) {
+      cells[0] = new DecimalDataCell(new BigDecimal(i));
+      cells[1] = new StringDataCell(10, "2026-10-" + (10 + (i % 20)));
+      cells[2] = new DecimalDataCell(new BigDecimal((i * 37) % 100000 + ".25"));
+      cells[3] = new DecimalDataCell(new BigDecimal(1000 + (i % 300)));
+      cells[4] = new StringDataCell(40, "Transaction text " + i);
+
+      DataOutputStream out =
+                       new DataOutputStream(store.getRecordOutputStream());
+      out.writeShort(0);
+      for (int n = 0; n < COLUMNS; ++n) {
+        serializer.setToSerialize(cells[n]);
+        serializer.writeSerialization(out);
+      }
+      out.close();
+      records[i] = store.completeRecordStreamWrite();
+    }
+  }
+
+  /**
+   * Reads the cell of every row through a stream over the record.
+   */
+  private void readStream() throws IOException {
+    for (int i = 0; i < records.length; ++i) {
+      cell_in.setParentStream(store.getRecordInputStream(records[i]));
+      cell_in.skip(2);
+      for (int n = 0; n < READ_COLUMN; ++n) {
+        cell_in.skip(serializer.skipSerialization(cell_in));
+      }
+      DataCell cell = serializer.readSerialization(cell_in);
+      cell_in.close();
+      check += cell.sizeof();
+    }
+  }
+
+  /**
+   * Reads the cell of every row from the array of the sector of the row.
+   */
+  private void readBuffer() throws IOException {
+    for (int i = 0; i < records.length; ++i) {
+      readFromBuffer(store.getRecordBuffer(records[i]));
+    }
+  }
+
+  /**
+   * Reads the cell of every row from the array made by 'readRecordShared'.
+   */
+  private void readShared() throws IOException {
+    for (int i = 0; i < records.length; ++i) {
+      readFromBuffer(store.readRecordShared(records[i]));
+    }
+  }
+
+  /**
+   * Reads the cell from the given record array.
+   */
+  private void readFromBuffer(byte[] record_buf) throws IOException {
+    if (record_buf == null) {
+      throw new Error("Row is not stored in one uncompressed sector.");
+    }
+    int pos = store.getRecordBufferOffset() + 2;
+    for (int n = 0; n < READ_COLUMN; ++n) {
+      pos += ByteArrayUtil.getInt(record_buf, pos);
+    }
+    buffer_in.setArray(record_buf, pos, record_buf.length - pos);
+    DataCell cell = serializer.readSerialization(buffer_in);
+    check += cell.sizeof();
+  }
+
+  /**
+   * Times the ways of reading the rows and returns the time of the fastest
+   * pass of each as nanoseconds per cell.  The ways take turns in each pass
+   * so that they all run with the same state of the compiler and the heap.
+   */
+  private long[] time(int passes) throws IOException {
+    long[] best = new long[] { Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE };
+    for (int p = 0; p < passes; ++p) {
+      for (int way = 0; way < 3; ++way) {
+        long time_start = System.nanoTime();
+        if (way == 0) {
+          readStream();
+        }
+        else if (way == 1) {
+          readBuffer();
+        }
+        else {
+          readShared();
+        }
+        best[way] = Math.min(best[way], System.nanoTime() - time_start);
+      }
+    }
+    for (int way = 0; way < 3; ++way) {
+      best[way] /= records.length;
+    }
+    return best;
+  }
+
+  /**
+   * Deletes the given directory and everything in it.
+   */
+  private static void deleteAll(File f) {
+    File[] list = f.listFiles();
+    if (list != null) {
+      for (int i = 0; i < list.length; ++i) {
+        deleteAll(list[i]);
+      }
+    }
+    f.delete();
+  }
+
+  /**
+   * The benchmark application.
+   */
+  public static void main(String[] args) throws IOException {
+    int row_count = (args.length > 0) ? Integer.parseInt(args[0]) : 20000;
+    int passes = (args.length > 1) ? Integer.parseInt(args[1]) : 200;
+
+    File dir = File.createTempFile("celldecode", "");
+    dir.delete();
+    dir.mkdir();
+    try {
+      VariableSizeDataStore store = new VariableSizeDataStore(
+             new File(dir, "bench"), SECTOR_SIZE, new DefaultDebugLogger());
+      store.open(false);
+      store.setBufferPool(new BufferPool(256L * 1024 * 1024, new Stats()));
+
+      CellDecodeBenchmark bench = new CellDecodeBenchmark(store, row_count);
+      bench.writeRows();
+
+      // Warm up the pool and the compiler first.
+      bench.time(3);
+      long[] ns = bench.time(passes);
+
+      System.out.println("Read column " + READ_COLUMN + " of " + row_count +
+                         " rows, best of " + passes + " passes;");
+      System.out.println("  stream: " + ns[0] + " ns per cell");
+      System.out.println("  buffer: " + ns[1] + " ns per cell");
+      System.out.println("  shared: " + ns[2] + " ns per cell");
+      System.out.println("  (check " + bench.check + ")");
+
+      store.close();
+    }
+    finally {
+      deleteAll(dir);
+    }
+  }
+
+}
@@ -0,0 +1,309 @@
+/**
+ * com.mckoi.database.ColumnarStore  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import com.mckoi.util.IntegerVector;
+import com.mckoi.database.global.Types;
+
+/**
+ * A columnar side-store that mirrors a single NUMERIC column of a
+ * MasterTableDataSource as packed primitive arrays.  This is an
+ * optimization for aggregate functions that scan a column over a large set
+ * of rows.  Instead of decoding each row through DataCellSerialization, the
+ * aggregate operates over the long[] array.
+ * <p>
+ * Numeric values are stored as an unscaled long at a common 'store scale'
+ * for the column.  The store scale grows (up to MAX_SCALE) as values with a
+ * larger scale are added.  Values that can not be represented exactly as a
+ * scaled long are flagged and resolved from the row store when scanned.
+ * <p>
+ * The store is filled lazily.  Rows added through MasterTableDataSource are
+ * put in the store as they are written, and rows that were written before
+ * the store existed are loaded the first time they are scanned.  Because a
+ * row in a master table is immutable until it is hard removed, an entry
+ * never needs to be updated, only cleared.
+ * <p>
+ * NOTE: This object is not thread safe.  All access must be synchronized
+ *   over the parent MasterTableDataSource.
+ *
+ * @author agent
+ */
+
+final class ColumnarStore {
+
+  /**
+   * The largest store scale we allow.  10^18 still fits in a long.
+   */
+  private static final int MAX_SCALE = 18;
+
+  /**
+   * Row state values.  A state >= VALUE means the row is in the 'values'
+   * array and (state - VALUE) is the original scale of the value.
+   */
+  private static final byte UNKNOWN  = 0;
+  private static final byte NULL     = 1;
+  private static final byte FALLBACK = 2;
+  private static final int  VALUE    = 16;
+
+  /**
+   * Powers of ten used when rescaling.
+   */
+  private static final long[] POW10 = new long[MAX_SCALE + 1];
+  static {
+    long v = 1;
+    for (int i = 0; i <= MAX_SCALE; ++i) {
+      POW10[i] = v;
+      v = v * 10;
+    }
+  }
+
+  /**
+   * The master table this column is stored in.
+   */
+  private final MasterTableDataSource master_table;
+
+  /**
+   * The column in the master table.
+   */
+  private final int column;
+
+  /**
+   * The packed values of each row.
+   */
+  private long[] values;
+
+  /**
+   * The state of each row in the store.
+   */
+  private byte[] state;
+
+  /**
+   * The scale of each value in the 'values' array.
+   */
+  private int store_scale;
+
+  /**
+   * The stat keys.
+   */
+  private final String scan_key;
+  private final String fallback_key;
+
+  /**
+   * Constructs the store for the given column of the master table.
+   */
+  ColumnarStore(MasterTableDataSource master_table, int column) {
+    this.master_table = master_table;
+    this.column = column;
+    DataTableColumnDef column_def =
+                         master_table.getDataTableDef().columnAt(column);
+    this.values = new long[0];
+    this.state = new byte[0];
+    this.store_scale = 0;
+
+    String n = master_table.getTableName() + "." + column_def.getName();
+    scan_key = "ColumnarStore.rows_scanned." + n;
+    fallback_key = "ColumnarStore.fallback_cells." + n;
+  }
+
+  /**
+   * Returns true if the given column type can be stored in a ColumnarStore.
+   */
+  static boolean isSupportedType(DataTableColumnDef column_def) {
+    return column_def.getDBType() == Types.DB_NUMERIC;
+  }
+
+  /**
+   * Ensures there is room in the arrays for the given row.
+   */
+  private void ensureCapacity(int row) {
+    if (row >= state.length) {
+      int new_size = Math.max(row + 1, (state.length * 3) / 2 + 64);
+      long[] new_values = new long[new_size];
+      byte[] new_state = new byte[new_size];
+      System.arraycopy(values, 0, new_values, 0, values.length);
+      System.arraycopy(state, 0, new_state, 0, state.length);
+      values = new_values;
+      state = new_state;
+    }
+  }
+
+  /**
+   * Increases the store scale to the given value.  Any value that would
+   * overflow as a result is changed to a FALLBACK entry.
+   */
+  private void rescale(int new_scale) {
+    long mul = POW10[new_scale - store_scale];
+    long limit = Long.MAX_VALUE / mul;
+    for (int i = 0; i < state.length; ++i) {
+      if (state[i] >= VALUE) {
+        long v = values[i];
+        if (v > limit || v < -limit) {
+          state[i] = FALLBACK;
+        }
+        else {
+          values[i] = v * mul;
+        }
+      }
+    }
+    store_scale = new_scale;
+  }
+
+  /**
+   * Puts the contents of the given cell into the store at the given row.
+   */
+  void put(int row, DataCell cell) {
+    ensureCapacity(row);
+    Object ob = cell.getCell();
+    if (ob == null) {
+      state[row] = NULL;
+    }
+    else {
+      BigDecimal val = (BigDecimal) ob;
+      int scale = val.scale();
+      if (scale < 0) {
+        val = val.setScale(0);
+        scale = 0;
+      }
+      if (scale > MAX_SCALE) {
+        state[row] = FALLBACK;
+        return;
+      }
+      if (scale > store_scale) {
+        rescale(scale);
+      }
+      BigInteger unscaled = val.setScale(store_scale).unscaledValue();
+      if (unscaled.bitLength() > 63) {
+        state[row] = FALLBACK;
+      }
+      else {
+        values[row] = unscaled.longValue();
+        state[row] = (byte) (VALUE + scale);
+      }
+    }
+  }
+
+  /**
+   * Clears the given row from the store.  This is called when the row is
+   * hard removed from the master table.
+   */
+  void remove(int row) {
+    if (row < state.length) {
+      state[row] = UNKNOWN;
+    }
+  }
+
+  /**
+   * Makes sure every row in the given set is known by the store, loading
+   * any missing rows from the master table.
+   */
+  private void fill(IntegerVector rows) {
+    int size = rows.size();
+    for (int i = 0; i < size; ++i) {
+      int row = rows.intAt(i);
+      if (row >= state.length || state[row] == UNKNOWN) {
+        put(row, master_table.getCellContents(column, row));
+      }
+    }
+  }
+
+  /**
+   * Returns the sum of the column over the given set of rows in the master
+   * table.  The result is the same as summing the BigDecimal values in
+   * order as done by the 'sum' aggregate function.  That is, if the first
+   * row in the set is NULL then the result is NULL, otherwise NULL values
+   * are ignored.  The scale of the result is the largest scale of the
+   * values summed.
+   * <p>
+   * Returns null if the set is empty.
+   */
+  Object sum(IntegerVector rows) {
+    int size = rows.size();
+    if (size == 0) {
+      return null;
+    }
+
+    fill(rows);
+
+    if (state[rows.intAt(0)] == NULL) {
+      return Expression.NULL_OBJ;
+    }
+
+    long acc = 0;
+    BigInteger big_acc = null;
+    BigDecimal fallback_acc = null;
+    int max_scale = 0;
+    int fallback_count = 0;
+
+    for (int i = 0; i < size; ++i) {
+      int row = rows.intAt(i);
+      int s = state[row];
+      if (s >= VALUE) {
+        long v = values[row];
+        long r = acc + v;
+        // Overflow check - spill the accumulator into a BigInteger.
+        if (((acc ^ r) & (v ^ r)) < 0) {
+          BigInteger b = BigInteger.valueOf(acc).add(BigInteger.valueOf(v));
+          big_acc = (big_acc == null) ? b : big_acc.add(b);
+          acc = 0;
+        }
+        else {
+          acc = r;
+        }
+        if (s - VALUE > max_scale) {
+          max_scale = s - VALUE;
+        }
+      }
+      else if (s == FALLBACK) {
+        BigDecimal val =
+            (BigDecimal) master_table.getCellContents(column, row).getCell();
+        fallback_acc = (fallback_acc == null) ? val : fallback_acc.add(val);
+        if (val.scale() > max_scale) {
+          max_scale = val.scale();
+        }
+        ++fallback_count;
+      }
+    }
+
+    BigInteger total = BigInteger.valueOf(acc);
+    if (big_acc != null) {
+      total = total.add(big_acc);
+    }
+    BigDecimal result = new BigDecimal(total, store_scale);
+    if (fallback_acc != null) {
+      result = result.add(fallback_acc);
+    }
+
+    master_table.getSystem().stats().add(size, scan_key);
+    if (fallback_count > 0) {
+      master_table.getSystem().stats().add(fallback_count, fallback_key);
+    }
+
+    // All values have a scale <= max_scale so this does not round.
+    return result.setScale(max_scale, BigDecimal.ROUND_HALF_UP);
+  }
+
+}
@@ -0,0 +1,224 @@
+/**
+ * com.mckoi.database.CompositeIndex  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import com.mckoi.util.IntegerVector;
+import com.mckoi.util.IntegerListInterface;
+import com.mckoi.util.IndexComparator;
+
+/**
+ * A multi-column index over a table.  The index is a list of rows in the
+ * IndexStore sorted by the tuple of values in the index columns.  Because
+ * the tuple is compared column by column, the index can answer an equality
+ * select on any leading sub-set of the columns (the 'prefix') and a range
+ * select on the column that follows the prefix.  For example, an index on
+ * (CompId, Account) can answer 'CompId = 1', 'CompId = 1 AND Account = 2'
+ * and 'CompId = 1 AND Account > 2'.
+ * <p>
+ * As with the SelectableScheme objects, the list is read from the cells of
+ * the table on each comparison so the index itself only contains row
+ * numbers.
+ *
+ * @author agent
+ */
+
+final class CompositeIndex {
+
+  /**
+   * The table this index is over.
+   */
+  private final TableDataSource table;
+
+  /**
+   * The columns of the index in key order.
+   */
+  private final int[] columns;
+
+  /**
+   * The sorted list of rows in the index.
+   */
+  private final IntegerListInterface index_list;
+
+  /**
+   * The comparator for the list.  A key is a DataCell[] array with a value
+   * for each column of the index prefix.  Only the columns in the key are
+   * compared.
+   */
+  private final IndexComparator comparator;
+
+  /**
+   * Constructs the index over the given columns of the table.
+   */
+  CompositeIndex(final TableDataSource table, final int[] columns,
+                 IntegerListInterface index_list) {
+    this.table = table;
+    this.columns = columns;
+    this.index_list = index_list;
+    this.comparator = new IndexComparator() {
+      public int compare(int index, Object val) {
+        DataCell[] key = (DataCell[]) val;
+        for (int i = 0; i < key.length; ++i) {
+          DataCell cell = table.getCellContents(columns[i], index);
+          int c = cell.compareTo(key[i]);
+          if (c != 0) {
+            return c;
+          }
+        }
+        return 0;
+      }
+      public int compare(int index1, int index2) {
+        return compare(index1, rowKey(index2));
+      }
+    };
+  }
+
+  /**
+   * Returns the columns of the table in this index in key order.
+   */
+  int[] getColumns() {
+    return columns;
+  }
+
+  /**
+   * Returns the key of the given row in the table.
+   */
+  private DataCell[] rowKey(int row) {
+    DataCell[] key = new DataCell[columns.length];
+    for (int i = 0; i < columns.length; ++i) {
+      key[i] = table.getCellContents(columns[i], row);
+    }
+    return key;
+  }
+
+  /**
+   * Inserts the given row in the index.
+   */
+  void insert(int row) {
+    index_list.insertSort(rowKey(row), row, comparator);
+  }
+
+  /**
+   * Removes the given row from the index.
+   */
+  void remove(int row) {
+    index_list.removeSort(rowKey(row), row, comparator);
+  }
+
+  /**
+   * Returns the position in the index of the given range point within the
+   * rows that match 'prefix'.  'val' is either a DataCell of the column
+   * after the prefix, or FIRST_IN_SET or LAST_IN_SET which are the first
+   * and last rows that match the prefix.  This follows the same rules as
+   * 'positionOfRangePoint' in InsertSearch.
+   */
+  private int positionOfRangePoint(DataCell[] prefix, byte flag, Object val) {
+    DataCell[] key;
+    if (val == SelectableRange.FIRST_IN_SET ||
+        val == SelectableRange.LAST_IN_SET) {
+      key = prefix;
+    }
+    else {
+      key = new DataCell[prefix.length + 1];
+      System.arraycopy(prefix, 0, key, 0, prefix.length);
+      key[prefix.length] = (DataCell) val;
+    }
+
+    int p;
+    if (val == SelectableRange.FIRST_IN_SET) {
+      p = index_list.searchFirst(key, comparator);
+      return (p < 0) ? -(p + 1) : p;
+    }
+    else if (val == SelectableRange.LAST_IN_SET) {
+      p = index_list.searchLast(key, comparator);
+      return (p < 0) ? -(p + 1) - 1 : p;
+    }
+
+    switch(flag) {
+      case(SelectableRange.FIRST_VALUE):
+        p = index_list.searchFirst(key, comparator);
+        return (p < 0) ? -(p + 1) : p;
+      case(SelectableRange.LAST_VALUE):
+        p = index_list.searchLast(key, comparator);
+        return (p < 0) ? -(p + 1) - 1 : p;
+      case(SelectableRange.BEFORE_FIRST_VALUE):
+        p = index_list.searchFirst(key, comparator);
+        return (p < 0) ? -(p + 1) - 1 : p - 1;
+      case(SelectableRange.AFTER_LAST_VALUE):
+        p = index_list.searchLast(key, comparator);
+        return (p < 0) ? -(p + 1) : p + 1;
+      default:
+        throw new Error("Unrecognised range flag: " + flag);
+    }
+  }
+
+  /**
+   * Adds the rows between the two positions in the index (inclusive) to
+   * the given IntegerVector.
+   */
+  private void addRange(int r1, int r2, IntegerVector ivec) {
+    for (int i = r1; i <= r2; ++i) {
+      ivec.addInt(index_list.get(i));
+    }
+  }
+
+  /**
+   * Returns the rows in the table whose values in the first 'prefix.length'
+   * columns of the index equal the values in 'prefix'.  If 'ranges' is not
+   * null, the result is further limited to the rows where the value of the
+   * next column of the index is within the ranges.  The ranges must be
+   * ordered and not overlap (as made by SelectableRangeSet).
+   * <p>
+   * The rows are returned in index order.
+   */
+  IntegerVector select(DataCell[] prefix, SelectableRange[] ranges) {
+    if (prefix.length == 0 || prefix.length > columns.length ||
+        (ranges != null && prefix.length == columns.length)) {
+      throw new Error("Key does not fit the composite index.");
+    }
+    IntegerVector ivec = new IntegerVector();
+    if (index_list.size() == 0) {
+      return ivec;
+    }
+    if (ranges == null) {
+      int r1 = positionOfRangePoint(prefix, SelectableRange.FIRST_VALUE,
+                                    SelectableRange.FIRST_IN_SET);
+      int r2 = positionOfRangePoint(prefix, SelectableRange.LAST_VALUE,
+                                    SelectableRange.LAST_IN_SET);
+      addRange(r1, r2, ivec);
+    }
+    else {
+      for (int i = 0; i < ranges.length; ++i) {
+        SelectableRange range = ranges[i];
+        int r1 = positionOfRangePoint(prefix, range.getStartFlag(),
+                                      range.getStart());
+        int r2 = positionOfRangePoint(prefix, range.getEndFlag(),
+                                      range.getEnd());
+        addRange(r1, r2, ivec);
+      }
+    }
+    return ivec;
+  }
+
+}
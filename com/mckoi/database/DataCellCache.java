@@ -24,9 +24,8 @@
 
 package com.mckoi.database;
 
-import com.mckoi.util.Cache;
+import com.mckoi.util.Stats;
 import com.mckoi.debug.*;
-import java.util.HashMap;
 
 /**
  * This object represents a cache for accesses to the the data cells within
@@ -34,16 +33,41 @@ import java.util.HashMap;
  * first checked.  If the cell is not in the cache then it may go ahead and
  * read the cell from the file.
  * <p>
- * ISSUE: We may need to keep track of memory used.  Since a StringDataCell may
- * use up much memory, we may need a cap on the maximum size the cache can grow
- * to.  For example, we wouldn't want to cache a large document.  This could
- * be handled at a higher level?
+ * The cache is split into a number of segments that each have their own lock
+ * so concurrent lookups from different connections will usually not contend
+ * with each other.  A cell is assigned to a segment by a hash of its key.
+ * Each segment has an equal share of the maximum cache size.
+ * <p>
+ * A segment stores its entries in primitive arrays.  The key of an entry is
+ * the table key and row packed into a long plus the column as a char, so a
+ * lookup never allocates an object.  Entries are evicted with the 'clock'
+ * algorithm.  A lookup only sets the referenced flag of the entry, it does
+ * not need to reorder a list.
+ * <p>
+ * The size of an entry is the DataCell 'currentSizeOf' plus the overhead of
+ * the cell object and of the entry in the segment arrays.
  *
  * @author Tobias Downer
  */
 
 final class DataCellCache {
 
+  /**
+   * The memory overhead of a DataCell object.
+   */
+  private static final int CELL_OVERHEAD = 16;
+
+  /**
+   * The memory overhead of an entry in the segment arrays (key, column,
+   * cell reference, chain, size, referenced flag and a bucket slot).
+   */
+  private static final int ENTRY_OVERHEAD = 8 + 2 + 8 + 4 + 4 + 1 + 4;
+
+  /**
+   * The maximum number of segments.
+   */
+  private static final int MAX_SEGMENTS = 16;
+
   /**
    * The TransactionSystem that this cache is from.
    */
@@ -52,17 +76,17 @@ final class DataCellCache {
   /**
    * The maximum size of a DataCell that is allowed to go in the cache.
    */
-  private int MAX_CELL_SIZE;
+  private volatile int MAX_CELL_SIZE;
 
   /**
-   * The actual cache.
+   * The segments of the cache.
    */
-  private DCCache cache;
+  private final Segment[] segments;
 
   /**
-   * The current size of the cache.
+   * The mask used to pick a segment from a hash code.
    */
-  private long current_cache_size;
+  private final int segment_mask;
 
   /**
    * The Constructors.
@@ -71,96 +95,88 @@ final class DataCellCache {
    *   to grow to (eg. 4000000).
    * @param max_cell_size the maximum size of an object that can be stored in
    *   the cache.
-   * @param hash_size the number of elements in the hash (should be a prime
-   *   number).
+   * @param hash_size the initial number of elements in the hash.  The hash
+   *   grows as entries are added.
    */
   DataCellCache(TransactionSystem system,
                 int max_cache_size, int max_cell_size, int hash_size) {
     this.system = system;
     MAX_CELL_SIZE = max_cell_size;
 
-    cache = new DCCache(hash_size, max_cache_size);
+    // Pick the number of segments such that each segment can still hold a
+    // number of the largest cells.
+    int seg_count = 1;
+    while (seg_count < MAX_SEGMENTS &&
+           (max_cache_size / (seg_count * 2)) >= (max_cell_size * 4)) {
+      seg_count *= 2;
+    }
+    segments = new Segment[seg_count];
+    segment_mask = seg_count - 1;
+
+    int seg_hash_size = Math.max(16, hash_size / seg_count);
+    for (int i = 0; i < seg_count; ++i) {
+      segments[i] = new Segment(i, seg_hash_size, max_cache_size / seg_count);
+    }
   }
 
   DataCellCache(TransactionSystem system,
                 int max_cache_size, int max_cell_size) {
-    this(system,
-         max_cache_size, max_cell_size, 88547);  // Good prime number hash size
+    this(system, max_cache_size, max_cell_size, max_cache_size / 55);
   }
 
   /**
    * Dynamically resizes the data cell cache so it can store more/less data.
    * This is used to change cache dynamics at runtime.
    */
-  public synchronized void alterCacheDynamics(
-                                      int max_cache_size, int max_cell_size) {
+  public void alterCacheDynamics(int max_cache_size, int max_cell_size) {
     MAX_CELL_SIZE = max_cell_size;
-    cache.setCacheSize(max_cache_size);
+    for (int i = 0; i < segments.length; ++i) {
+      segments[i].setCacheSize(max_cache_size / segments.length);
+    }
   }
 
   /**
-   * Inner class that creates an object that hashes nicely over the cache
-   * source.
+   * Returns the table key and row packed into a long.
    */
-  private final static class DCCacheKey {
-    private final int row;
-    private final short column;
-    private final int table_id;
-    DCCacheKey(final int table_id, final short column, final int row) {
-      this.table_id = table_id;
-      this.column = column;
-      this.row = row;
-    }
-    public boolean equals(Object ob) {
-      DCCacheKey dest_key = (DCCacheKey) ob;
-      return row == dest_key.row &&
-             column == dest_key.column &&
-             table_id == dest_key.table_id;
-    }
-    public int hashCode() {
-//      return (((int) column + table_id + ( row * 50021 ))) << 4;
-      // Yicks - this one is the best by far!
-      return (((int) column + table_id + (row * 189977)) * 50021) << 4;
-    }
+  private static long packKey(int table_key, int row) {
+    return ((long) table_key << 32) | (row & 0x0FFFFFFFFL);
   }
 
   /**
-   * Returns a key to use for this table/row/cell.
-   * <p>
-   * NOTE: Current limitation is 65536 columns.
+   * Returns the hash code of the given key.
    */
-  private final Object generateKey(int table_key, int row, int column) {
-    // NOTE: Cache limitations:
-    //   number of columns = 65536 columns
-    //   number of table keys = 4 billion
-    //   number of row keys = 4 billion
-    return new DCCacheKey(table_key, (short) column, row);
-
-//    // NOTE: Limitations:
-//    //   number of columns = 2^15    = 32768 columns
-//    //   number of table keys = 2^12 = 4096 tables
-//    //   number of rows = 2^37       = 1.3743e11 rows
-//    return new DCCacheKey(((long)row << 27) +
-//                          ((long)table_key << 15) + (long)column);
+  private static int hashKey(long key, int column) {
+    long h = key ^ ((long) column * 0x9E3779B97F4A7C15L);
+    h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+    h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+    return (int) (h ^ (h >>> 33));
   }
 
   /**
-   * Returns an approximation of the amount of memory taken by a DataCell.
+   * Returns the segment for the given hash code.
    */
-  private final int amountMemory(DataCell cell) {
-    return 16 + cell.currentSizeOf();
+  private Segment segmentFor(int hash) {
+    return segments[(hash >>> 24) & segment_mask];
+  }
+
+  /**
+   * Returns an approximation of the amount of memory taken by a DataCell
+   * entry in the cache.
+   */
+  private static int amountMemory(DataCell cell) {
+    return ENTRY_OVERHEAD + CELL_OVERHEAD + cell.currentSizeOf();
   }
 
   /**
    * Puts a DataCell on the cache for the given row/column of the table.
    * Ignores any cells that are larger than the maximum size.
    */
-  public synchronized void put(int table_key, int row, int column,
-                               DataCell cell) {
+  public void put(int table_key, int row, int column, DataCell cell) {
     int memory_use = amountMemory(cell);
     if (memory_use <= MAX_CELL_SIZE) {
-      cache.put(generateKey(table_key, row, column), cell);
-      current_cache_size += memory_use;
+      long key = packKey(table_key, row);
+      int hash = hashKey(key, column);
+      segmentFor(hash).put(key, (char) column, hash, cell, memory_use);
     }
   }
 
@@ -168,8 +184,10 @@ final class DataCellCache {
    * Gets a DataCell from the cache.  If the row/column is not in the cache
    * then it returns null.
    */
-  public synchronized DataCell get(int table_key, int row, int column) {
-    return (DataCell) cache.get(generateKey(table_key, row, column));
+  public DataCell get(int table_key, int row, int column) {
+    long key = packKey(table_key, row);
+    int hash = hashKey(key, column);
+    return segmentFor(hash).get(key, (char) column, hash);
   }
 
   /**
@@ -179,178 +197,364 @@ final class DataCellCache {
    * Returns the cell that was removed, or null if there was no cell at the
    * given location.
    */
-  public synchronized DataCell remove(int table_key, int row, int column) {
-    DataCell cell =
-              (DataCell) cache.remove(generateKey(table_key, row, column));
-
-    if (cell != null) {
-      current_cache_size -= amountMemory(cell);
-    }
-    return cell;
+  public DataCell remove(int table_key, int row, int column) {
+    long key = packKey(table_key, row);
+    int hash = hashKey(key, column);
+    return segmentFor(hash).remove(key, (char) column, hash);
   }
 
   /**
    * Completely wipe the cache of all entries.
    */
-  public synchronized void wipe() {
-    if (cache.nodeCount() == 0 && current_cache_size != 0) {
-      system.Debug().write(Lvl.ERROR, this,
-          "Assertion failed - if nodeCount = 0 then current_cache_size " +
-          "must also be 0.");
+  public void wipe() {
+    boolean wiped = false;
+    for (int i = 0; i < segments.length; ++i) {
+      wiped |= segments[i].wipe();
     }
-    if (cache.nodeCount() != 0) {
-      cache.removeAll();
+    if (wiped) {
       system.stats().increment("DataCellCache.total_cache_wipe");
     }
-    current_cache_size = 0;
   }
 
   /**
    * Returns an estimation of the current cache size in bytes.
    */
   public long getCurrentCacheSize() {
-    return current_cache_size;
-  }
-
-  /**
-   * Reduce the cache size by the given amount.
-   */
-  void reduceCacheSize(long val) {
-    current_cache_size -= val;
+    long size = 0;
+    for (int i = 0; i < segments.length; ++i) {
+      size += segments[i].currentSize();
+    }
+    return size;
   }
 
-  // ---------- Primes ----------
-
   /**
-   * Returns a prime number from PRIME_LIST that is the closest prime greater
-   * or equal to the given value.
+   * Publishes the hit/miss counters and size of each segment to the system
+   * statistics.  The counters are kept in the segments rather than in Stats
+   * so that a lookup does not need the global Stats lock.  This is called
+   * when the statistics are about to be read.
    */
-  static int closestPrime(int value) {
-    for (int i = 0; i < PRIME_LIST.length; ++i) {
-      if (PRIME_LIST[i] >= value) {
-        return PRIME_LIST[i];
+  void publishStats() {
+    Stats stats = system.stats();
+    long total_hits = 0, total_misses = 0, total_size = 0;
+    int total_nodes = 0;
+    for (int i = 0; i < segments.length; ++i) {
+      Segment seg = segments[i];
+      long hits, misses, size;
+      int nodes;
+      synchronized (seg) {
+        hits = seg.hits;
+        misses = seg.misses;
+        size = seg.current_size;
+        nodes = seg.count;
       }
+      String prefix = "DataCellCache.segment." + i;
+      stats.set((int) hits, prefix + ".hits");
+      stats.set((int) misses, prefix + ".misses");
+      stats.set((int) size, prefix + ".size");
+      total_hits += hits;
+      total_misses += misses;
+      total_size += size;
+      total_nodes += nodes;
     }
-    // Return the last prime
-    return PRIME_LIST[PRIME_LIST.length - 1];
+    stats.set((int) total_hits, "DataCellCache.hits");
+    stats.set((int) total_misses, "DataCellCache.misses");
+    stats.set((int) total_size, "DataCellCache.current_cache_size");
+    stats.set(total_nodes, "DataCellCache.current_node_count");
   }
 
-  /**
-   * A list of primes ordered from lowest to highest.
-   */
-  private final static int[] PRIME_LIST = new int[] {
-     3001, 4799, 13999, 15377, 21803, 24247, 35083, 40531, 43669, 44263, 47387,
-     50377, 57059, 57773, 59399, 59999, 75913, 96821, 140551, 149011, 175633,
-     176389, 183299, 205507, 209771, 223099, 240259, 258551, 263909, 270761,
-     274679, 286129, 290531, 296269, 298021, 300961, 306407, 327493, 338851,
-     351037, 365489, 366811, 376769, 385069, 410623, 430709, 433729, 434509,
-     441913, 458531, 464351, 470531, 475207, 479629, 501703, 510709, 516017,
-     522211, 528527, 536311, 539723, 557567, 593587, 596209, 597451, 608897,
-     611069, 642547, 670511, 677827, 679051, 688477, 696743, 717683, 745931,
-     757109, 760813, 763957, 766261, 781559, 785597, 788353, 804493, 813559,
-     836917, 854257, 859973, 883217, 884789, 891493, 902281, 910199, 915199,
-     930847, 939749, 940483, 958609, 963847, 974887, 983849, 984299, 996211,
-     999217, 1007519, 1013329, 1014287, 1032959, 1035829, 1043593, 1046459,
-     1076171, 1078109, 1081027, 1090303, 1095613, 1098847, 1114037, 1124429,
-     1125017, 1130191, 1159393, 1170311, 1180631, 1198609, 1200809, 1212943,
-     1213087, 1226581, 1232851, 1287109, 1289867, 1297123, 1304987, 1318661,
-     1331107, 1343161, 1345471, 1377793, 1385117, 1394681, 1410803, 1411987,
-     1445261, 1460497, 1463981, 1464391, 1481173, 1488943, 1491547, 1492807,
-     1528993, 1539961, 1545001, 1548247, 1549843, 1551001, 1553023, 1571417,
-     1579099, 1600259, 1606153, 1606541, 1639751, 1649587, 1657661, 1662653,
-     1667051, 1675273, 1678837, 1715537, 1718489, 1726343, 1746281, 1749107,
-     1775489, 1781881, 1800157, 1806859, 1809149, 1826753, 1834607, 1846561,
-     1849241, 1851991, 1855033, 1879931, 1891133, 1893737, 1899137, 1909513,
-     1916599, 1917749, 1918549, 1919347, 1925557, 1946489, 1961551, 1965389,
-     2011073, 2033077, 2039761, 2054047, 2060171, 2082503, 2084107, 2095099,
-     2096011, 2112193, 2125601, 2144977, 2150831, 2157401, 2170141, 2221829,
-     2233019, 2269027, 2270771, 2292449, 2299397, 2303867, 2309891, 2312407,
-     2344301, 2348573, 2377007, 2385113, 2386661, 2390051, 2395763, 2422999,
-     2448367, 2500529, 2508203, 2509841, 2513677, 2516197, 2518151, 2518177,
-     2542091, 2547469, 2549951, 2556991, 2563601, 2575543, 2597629, 2599577,
-     2612249, 2620003, 2626363, 2626781, 2636773, 2661557, 2674297, 2691571,
-     2718269, 2725691, 2729381, 2772199, 2774953, 2791363, 2792939, 2804293,
-     2843021, 2844911, 2851313, 2863519, 2880797, 2891821, 2897731, 2904887,
-     2910251, 2928943, 2958341, 2975389
-  };
-
   // ---------- Inner classes ----------
 
   /**
-   * This extends the 'Cache' class.
+   * A segment of the cache.  All access to a segment is synchronized over
+   * the segment object.
+   * <p>
+   * Entries are stored in parallel arrays indexed by an entry index.  The
+   * hash buckets are chains through the 'chain' array.  Free entries are
+   * also linked through the 'chain' array.  An entry is free when its cell
+   * is null.
    */
-  private final class DCCache extends Cache {
+  private final class Segment {
 
     /**
-     * The maximum size that the cache can grow to in bytes.
+     * The index of this segment.
      */
-    private int MAX_CACHE_SIZE;
+    private final int index;
 
     /**
-     * The Constructor.
+     * The initial capacity of the segment.
      */
-    public DCCache(int cache_hash_size, int max_cache_size) {
-      super(cache_hash_size, -1, 20);
-//      super(88547, -1, 20);     // cache size is a prime number
-//      super(101207, -1, 20);     // cache size is a prime number
-//      super(max_cache_size / 32, -1, 20);
-      MAX_CACHE_SIZE = max_cache_size;
-    }
+    private final int initial_capacity;
 
     /**
-     * Used to dynamically alter the size of the cache.  May cause a cache
-     * clean if the size is over the limit.
+     * The maximum size that this segment can grow to in bytes.
      */
-    public void setCacheSize(int cache_size) {
-      this.MAX_CACHE_SIZE = cache_size;
-      checkClean();
-    }
+    private int max_size;
 
-    // ----- Overwritten from Cache -----
+    /**
+     * The current size of the segment in bytes.
+     */
+    long current_size;
 
-//    protected int getHashSize() {
-//      // Create a really large hash for this cache.
-//      // NOTE: Our hashing algorithm was only tested to work well on 65536 and
-//      //   (65536 * 2) size hash tables.
-////      return 65536 * 2;
-//      return HASH_SIZE;
-//    }
+    /**
+     * The number of entries in the segment.
+     */
+    int count;
 
+    /**
+     * The hit and miss counters.
+     */
+    long hits, misses;
 
+    /**
+     * The head entry of each hash bucket (-1 if empty).
+     */
+    private int[] buckets;
 
-    protected void checkClean() {
+    /**
+     * The entry arrays.
+     */
+    private long[] keys;
+    private char[] columns;
+    private DataCell[] cells;
+    private int[] chain;
+    private int[] sizes;
+    private boolean[] referenced;
 
-      if (getCurrentCacheSize() >= MAX_CACHE_SIZE) {
+    /**
+     * The head of the free entry list (-1 if empty).
+     */
+    private int free_head;
 
-        // Update the current cache size (before we wiped).
-        system.stats().set((int) getCurrentCacheSize(),
-                             "DataCellCache.current_cache_size");
-        clean();
+    /**
+     * The position of the clock hand.
+     */
+    private int hand;
+
+    /**
+     * Constructor.
+     */
+    Segment(int index, int hash_size, int max_size) {
+      this.index = index;
+      int capacity = 16;
+      while (capacity < hash_size) {
+        capacity *= 2;
+      }
+      this.initial_capacity = capacity;
+      this.max_size = max_size;
+      init(capacity);
+    }
+
+    /**
+     * Sets up empty arrays with the given capacity.
+     */
+    private void init(int capacity) {
+      buckets = new int[capacity];
+      for (int i = 0; i < capacity; ++i) {
+        buckets[i] = -1;
+      }
+      keys = new long[capacity];
+      columns = new char[capacity];
+      cells = new DataCell[capacity];
+      chain = new int[capacity];
+      sizes = new int[capacity];
+      referenced = new boolean[capacity];
+      for (int i = 0; i < capacity - 1; ++i) {
+        chain[i] = i + 1;
+      }
+      chain[capacity - 1] = -1;
+      free_head = 0;
+      hand = 0;
+      count = 0;
+      current_size = 0;
+    }
+
+    /**
+     * Doubles the capacity of the segment and rehashes all the entries.
+     */
+    private void grow() {
+      int old_capacity = keys.length;
+      int capacity = old_capacity * 2;
+
+      long[] new_keys = new long[capacity];
+      char[] new_columns = new char[capacity];
+      DataCell[] new_cells = new DataCell[capacity];
+      int[] new_sizes = new int[capacity];
+      boolean[] new_referenced = new boolean[capacity];
+      System.arraycopy(keys, 0, new_keys, 0, old_capacity);
+      System.arraycopy(columns, 0, new_columns, 0, old_capacity);
+      System.arraycopy(cells, 0, new_cells, 0, old_capacity);
+      System.arraycopy(sizes, 0, new_sizes, 0, old_capacity);
+      System.arraycopy(referenced, 0, new_referenced, 0, old_capacity);
+      keys = new_keys;
+      columns = new_columns;
+      cells = new_cells;
+      sizes = new_sizes;
+      referenced = new_referenced;
+
+      // Rebuild the hash chains over the larger bucket array.  Every old
+      // entry is in use (we only grow when the free list is empty).
+      buckets = new int[capacity];
+      for (int i = 0; i < capacity; ++i) {
+        buckets[i] = -1;
+      }
+      chain = new int[capacity];
+      for (int i = 0; i < old_capacity; ++i) {
+        int b = hashKey(keys[i], columns[i]) & (capacity - 1);
+        chain[i] = buckets[b];
+        buckets[b] = i;
+      }
+      // The new entries are free.
+      for (int i = old_capacity; i < capacity - 1; ++i) {
+        chain[i] = i + 1;
+      }
+      chain[capacity - 1] = -1;
+      free_head = old_capacity;
+    }
+
+    /**
+     * Returns the entry index of the given key, or -1 if not found.
+     */
+    private int find(long key, char column, int hash) {
+      int i = buckets[hash & (buckets.length - 1)];
+      while (i != -1) {
+        if (keys[i] == key && columns[i] == column) {
+          return i;
+        }
+        i = chain[i];
+      }
+      return -1;
+    }
+
+    /**
+     * Unlinks the given entry from its hash chain and puts it on the free
+     * list.
+     */
+    private void removeEntry(int entry) {
+      int b = hashKey(keys[entry], columns[entry]) & (buckets.length - 1);
+      int i = buckets[b];
+      int prev = -1;
+      while (i != entry) {
+        prev = i;
+        i = chain[i];
+      }
+      if (prev == -1) {
+        buckets[b] = chain[entry];
+      }
+      else {
+        chain[prev] = chain[entry];
+      }
+      current_size -= sizes[entry];
+      --count;
+      cells[entry] = null;
+      referenced[entry] = false;
+      chain[entry] = free_head;
+      free_head = entry;
+    }
 
-        // The number of times we've cleared away old data cell nodes.
-        system.stats().increment("DataCellCache.cache_clean");
+    /**
+     * Evicts entries with the clock algorithm until the segment is at 87%
+     * of its maximum size.
+     */
+    private void clean() {
+      long target = (max_size * 100L) / 115;
+      int capacity = keys.length;
+      while (current_size > target && count > 0) {
+        int i = hand;
+        hand = (hand + 1) & (capacity - 1);
+        if (cells[i] != null) {
+          if (referenced[i]) {
+            referenced[i] = false;
+          }
+          else {
+            removeEntry(i);
+          }
+        }
+      }
+      // The number of times we've cleared away old data cell nodes.
+      system.stats().increment("DataCellCache.cache_clean");
+    }
 
+    synchronized DataCell get(long key, char column, int hash) {
+      int i = find(key, column, hash);
+      if (i == -1) {
+        ++misses;
+        return null;
       }
+      ++hits;
+      referenced[i] = true;
+      return cells[i];
     }
 
-    protected boolean shouldWipeMoreNodes() {
-      return (getCurrentCacheSize() >= (MAX_CACHE_SIZE * 100) / 115);
+    synchronized void put(long key, char column, int hash,
+                          DataCell cell, int memory_use) {
+      int i = find(key, column, hash);
+      if (i != -1) {
+        // Replace the existing entry
+        current_size += memory_use - sizes[i];
+        cells[i] = cell;
+        sizes[i] = memory_use;
+        referenced[i] = true;
+      }
+      else {
+        if (free_head == -1) {
+          grow();
+        }
+        i = free_head;
+        free_head = chain[i];
+        int b = hash & (buckets.length - 1);
+        keys[i] = key;
+        columns[i] = column;
+        cells[i] = cell;
+        sizes[i] = memory_use;
+        referenced[i] = true;
+        chain[i] = buckets[b];
+        buckets[b] = i;
+        current_size += memory_use;
+        ++count;
+      }
+      if (current_size > max_size) {
+        clean();
+      }
+    }
+
+    synchronized DataCell remove(long key, char column, int hash) {
+      int i = find(key, column, hash);
+      if (i == -1) {
+        return null;
+      }
+      DataCell cell = cells[i];
+      removeEntry(i);
+      return cell;
     }
 
-    protected void notifyWipingNode(Object ob) {
-      super.notifyWipingNode(ob);
+    /**
+     * Removes all entries from this segment.  Returns true if the segment
+     * contained any entries.
+     */
+    synchronized boolean wipe() {
+      if (count == 0 && current_size != 0) {
+        system.Debug().write(Lvl.ERROR, DataCellCache.this,
+            "Assertion failed - if count = 0 then current_size " +
+            "must also be 0 (segment " + index + ").");
+      }
+      boolean had_entries = count != 0;
+      init(initial_capacity);
+      return had_entries;
+    }
 
-      // Update our memory indicator accordingly.
-      DataCell cell = (DataCell) ob;
-      reduceCacheSize(amountMemory(cell));
+    synchronized long currentSize() {
+      return current_size;
     }
 
-    protected void notifyGetWalks(long total_walks, long total_get_ops) {
-      int avg = (int) ((total_walks * 1000000L) / total_get_ops);
-      system.stats().set(avg, "DataCellCache.avg_hash_get_mul_1000000");
-      system.stats().set((int) getCurrentCacheSize(),
-                                      "DataCellCache.current_cache_size");
-      system.stats().set(nodeCount(), "DataCellCache.current_node_count");
+    /**
+     * Used to dynamically alter the size of the segment.  May cause a clean
+     * if the size is over the limit.
+     */
+    synchronized void setCacheSize(int cache_size) {
+      max_size = cache_size;
+      if (current_size > max_size) {
+        clean();
+      }
     }
 
   }
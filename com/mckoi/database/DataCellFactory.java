@@ -175,7 +175,7 @@ public class DataCellFactory {
     }
 
     if (ob instanceof BigDecimal) {
-      return new DecimalDataCell((BigDecimal) ob);
+      return createDecimalCell((BigDecimal) ob);
     }
     else if (ob instanceof String) {
       return new StringDataCell(Integer.MAX_VALUE, (String) ob);
@@ -511,7 +511,7 @@ public class DataCellFactory {
           throw new Error("Can't convert to DB_NUMERIC");
         }
       }
-      return new DecimalDataCell(to_ins);
+      return createDecimalCell(to_ins);
     }
     // -----
     if (type == Types.DB_STRING && size > -1) {
@@ -616,13 +616,13 @@ public class DataCellFactory {
 
       if (type == Types.DB_NUMERIC) {
         DecimalDataCell ddc = (DecimalDataCell) cell;
-        byte[] buf = ddc.bigint.toByteArray();
+        int num_len = ddc.unscaledByteCount();
 
-        dout.writeShort((short) ddc.val.scale());
-        dout.writeInt(buf.length);
-        dout.write(buf);
+        dout.writeShort((short) ddc.scale);
+        dout.writeInt(num_len);
+        dout.write(ddc.unscaledBytes());
 
-        space_used += 2 + 4 + buf.length;
+        space_used += 2 + 4 + num_len;
       }
       else if (type == Types.DB_STRING) {
         String str = (String) ob;
@@ -689,8 +689,7 @@ public class DataCellFactory {
     else {
       if (type == Types.DB_NUMERIC) {
         DecimalDataCell ddc = (DecimalDataCell) cell;
-        byte[] buf = ddc.bigint.toByteArray();
-        space_used += 2 + 4 + buf.length;
+        space_used += 2 + 4 + ddc.unscaledByteCount();
       }
       else if (type == Types.DB_STRING) {
         String str = (String) ob;
@@ -720,6 +719,48 @@ public class DataCellFactory {
 
   }
 
+  /**
+   * Returns a DecimalDataCell for the given number.  If the unscaled value of
+   * the number fits in a long then a LongDecimalDataCell is returned.
+   */
+  static DecimalDataCell createDecimalCell(BigDecimal val) {
+    if (val != null) {
+      LongDecimalDataCell cell = LongDecimalDataCell.fromBigDecimal(val);
+      if (cell != null) {
+        return cell;
+      }
+    }
+    return new DecimalDataCell(val);
+  }
+
+  /**
+   * Reads the unscaled value of a NUMERIC written by
+   * 'DecimalDataCell.writeUnscaled' and returns the cell.  A value of 8
+   * bytes or less is read straight into a long without making a BigInteger.
+   */
+  static DecimalDataCell readDecimalCell(DataInput din, int scale,
+                                         int num_len) throws IOException {
+    if (num_len > 0 && num_len <= 8) {
+      // The first byte is sign extended
+      long v = din.readByte();
+      for (int i = 1; i < num_len; ++i) {
+        v = (v << 8) | (din.readByte() & 0x0FF);
+      }
+      // Interns to save memory
+      if (scale == 0 && v == 0) {
+        return ZERO_DECIMAL_CELL;
+      }
+      else if (scale == 0 && v == 1) {
+        return ONE_DECIMAL_CELL;
+      }
+      return new LongDecimalDataCell(v, scale);
+    }
+
+    byte[] buf = new byte[num_len];
+    din.readFully(buf, 0, num_len);
+    return new DecimalDataCell(buf, scale);
+  }
+
   /**
    * Reads the DataCell from the input stream.
    */
@@ -757,18 +798,7 @@ public class DataCellFactory {
       if (type == Types.DB_NUMERIC) {
         int scale = din.readShort();
         int num_len = din.readInt();
-        byte[] buf = new byte[num_len];
-        din.readFully(buf, 0, num_len);
-
-        // Interns to save memory
-        if (scale == 0 && num_len == 1 && buf[0] == 0) {
-          return ZERO_DECIMAL_CELL;
-        }
-        else if (scale == 0 && num_len == 1 && buf[0] == 1) {
-          return ONE_DECIMAL_CELL;
-        }
-
-        return new DecimalDataCell(buf, scale);
+        return readDecimalCell(din, scale, num_len);
       }
       else if (type == Types.DB_STRING) {
         int str_length = din.readInt();
@@ -894,9 +924,9 @@ public class DataCellFactory {
   static final BigDecimal BD_ZERO = new BigDecimal(0);
   static final BigDecimal BD_ONE  = new BigDecimal(1);
   static final DecimalDataCell ZERO_DECIMAL_CELL =
-                                                 new DecimalDataCell(BD_ZERO);
+                                          new LongDecimalDataCell(BD_ZERO, 0);
   static final DecimalDataCell ONE_DECIMAL_CELL =
-                                                 new DecimalDataCell(BD_ONE);
+                                           new LongDecimalDataCell(BD_ONE, 1);
   static final BooleanDataCell TRUE_BOOLEAN_CELL =
                                             new BooleanDataCell(Boolean.TRUE);
   static final BooleanDataCell FALSE_BOOLEAN_CELL =
@@ -25,8 +25,9 @@
 package com.mckoi.database;
 
 import com.mckoi.database.global.*;
+import com.mckoi.util.ByteArrayUtil;
+import com.mckoi.util.IntegerVector;
 import java.util.zip.*;
-import java.util.Date;
 import java.math.*;
 import java.io.*;
 
@@ -40,6 +41,12 @@ import java.io.*;
 final class DataCellSerialization extends ByteArrayOutputStream
                                                         implements CellInput {
 
+  /**
+   * The bit set in the type of a cell that is kept in a LargeObjectStore.
+   * The cell holds the record of the object in the store and its size.
+   */
+  final static int LARGE_OBJECT_FLAG = 0x08000;
+
   /**
    * A Deflater and Inflater used to compress and uncompress the size of data
    * fields put into the store.
@@ -59,6 +66,22 @@ final class DataCellSerialization extends ByteArrayOutputStream
    */
   private boolean use_compressed;
 
+  /**
+   * If true, the cell is a code in the dictionary of a column (see
+   * StringDictionary).
+   */
+  private boolean is_code;
+
+  /**
+   * If true, the cell is a reference to an object in the LargeObjectStore.
+   */
+  private boolean is_large;
+
+  /**
+   * The store large objects are read from, or null if there isn't one.
+   */
+  private LargeObjectStore large_objects;
+
   /**
    * The type of object.
    */
@@ -77,6 +100,31 @@ final class DataCellSerialization extends ByteArrayOutputStream
   }
 
 
+  /**
+   * Sets the store that cells kept out of the row are read from.
+   */
+  void setLargeObjectStore(LargeObjectStore large_objects) {
+    this.large_objects = large_objects;
+  }
+
+  /**
+   * Adds the records of the objects in the LargeObjectStore that are
+   * referenced by the cells of the given stored row to the list.
+   */
+  static void findLargeObjects(byte[] row, int column_count,
+                               IntegerVector list) {
+    // Skip the row header
+    int pos = 2;
+    for (int i = 0; i < column_count; ++i) {
+      int len = ByteArrayUtil.getInt(row, pos);
+      short s = ByteArrayUtil.getShort(row, pos + 4);
+      if ((s & LARGE_OBJECT_FLAG) != 0) {
+        list.addInt(ByteArrayUtil.getInt(row, pos + 6));
+      }
+      pos += len;
+    }
+  }
+
   /**
    * Returns the number of bytes to skip on the stream to go past the
    * next serialization.
@@ -90,6 +138,15 @@ final class DataCellSerialization extends ByteArrayOutputStream
    * Reads input from the given CellInput object.
    */
   DataCell readSerialization(CellInput din) throws IOException {
+    return readSerialization(din, null, -1);
+  }
+
+  /**
+   * Reads input from the given CellInput object.  If the cell is stored as
+   * a code then it is looked up in the dictionary of the given column.
+   */
+  DataCell readSerialization(CellInput din, StringDictionary dictionary,
+                             int column) throws IOException {
 
     count = 0;
 
@@ -99,6 +156,32 @@ final class DataCellSerialization extends ByteArrayOutputStream
     type = (short) (s & 0x0FFF);
     is_null = (s & 0x02000) != 0;
     use_compressed = (s & 0x04000) != 0;
+    is_code = (s & 0x01000) != 0;
+    is_large = (s & LARGE_OBJECT_FLAG) != 0;
+
+    if (is_code) {
+      if (dictionary == null) {
+        throw new Error("No dictionary to read a coded cell from.");
+      }
+      return dictionary.cellFor(column, din.readInt());
+    }
+    if (is_large) {
+      if (large_objects == null) {
+        throw new Error("No store to read a large object from.");
+      }
+      int record = din.readInt();
+      int size = din.readInt();
+      if (type == Types.DB_BLOB) {
+        return new LargeBlobDataCell(large_objects, record, size);
+      }
+      else if (type == Types.DB_STRING) {
+        return new StringDataCell(Integer.MAX_VALUE,
+                                  large_objects.readString(record, size));
+      }
+      else {
+        throw new Error("(Large) Don't understand type: " + type);
+      }
+    }
 
     // If we are compressed...
     if (use_compressed) {
@@ -165,18 +248,7 @@ final class DataCellSerialization extends ByteArrayOutputStream
       if (type == Types.DB_NUMERIC) {
         int scale = din.readShort();
         int num_len = din.readInt();
-        byte[] buf = new byte[num_len];
-        din.readFully(buf, 0, num_len);
-
-        // Interns to save memory
-        if (scale == 0 && num_len == 1 && buf[0] == 0) {
-          return DataCellFactory.ZERO_DECIMAL_CELL;
-        }
-        else if (scale == 0 && num_len == 1 && buf[0] == 1) {
-          return DataCellFactory.ONE_DECIMAL_CELL;
-        }
-
-        return new DecimalDataCell(buf, scale);
+        return DataCellFactory.readDecimalCell(din, scale, num_len);
       }
       else if (type == Types.DB_STRING) {
         int str_length = din.readInt();
@@ -247,6 +319,12 @@ final class DataCellSerialization extends ByteArrayOutputStream
     if (use_compressed) {
       s |= 0x04000;
     }
+    if (is_code) {
+      s |= 0x01000;
+    }
+    if (is_large) {
+      s |= LARGE_OBJECT_FLAG;
+    }
     out.writeShort(s);
 
     // Write out the data.
@@ -270,10 +348,11 @@ final class DataCellSerialization extends ByteArrayOutputStream
     count = 0;
     is_null = false;
     use_compressed = false;
+    is_code = false;
+    is_large = false;
     type = (short) cell.getExtractionType();
-    Object ob = cell.getCell();
 
-    if (ob == null) {
+    if (cell.isNull()) {
       is_null = true;
       return;
     }
@@ -312,6 +391,37 @@ final class DataCellSerialization extends ByteArrayOutputStream
 
   }
 
+  /**
+   * Sets this up to serialize the given code of a string in the dictionary
+   * of a column in place of the string (see StringDictionary).
+   */
+  void setToSerializeCode(int code) throws IOException {
+    count = 0;
+    is_null = false;
+    use_compressed = false;
+    is_code = true;
+    is_large = false;
+    type = (short) Types.DB_STRING;
+    writeInt(code);
+  }
+
+  /**
+   * Sets this up to serialize a reference to an object of the given type in
+   * the LargeObjectStore in place of the object.  'size' is the number of
+   * bytes of a BLOB or chars of a string.
+   */
+  void setToSerializeLargeObject(int type, int record, int size)
+                                                          throws IOException {
+    count = 0;
+    is_null = false;
+    use_compressed = false;
+    is_code = false;
+    is_large = true;
+    this.type = (short) type;
+    writeInt(record);
+    writeInt(size);
+  }
+
   /**
    * Writes the DataCell to the data buffer in this object.
    */
@@ -319,14 +429,16 @@ final class DataCellSerialization extends ByteArrayOutputStream
 
     // Write out the type of cell this is,
     int type = cell.getExtractionType();
-    Object ob = cell.getCell();
+    // NOTE: A NUMERIC is written from its unscaled value and a TIME from its
+    //   long value so we don't make the BigDecimal or Date of the cell.
+    Object ob = (type == Types.DB_NUMERIC || type == Types.DB_TIME) ?
+                                                     null : cell.getCell();
 
     if (type == Types.DB_NUMERIC) {
       DecimalDataCell ddc = (DecimalDataCell) cell;
-      byte[] buf = ddc.bigint.toByteArray();
-      writeShort((short) ddc.val.scale());
-      writeInt(buf.length);
-      write(buf);
+      writeShort((short) ddc.scale);
+      writeInt(ddc.unscaledByteCount());
+      ddc.writeUnscaled(this);
     }
     else if (type == Types.DB_STRING) {
       String str = (String) ob;
@@ -338,8 +450,7 @@ final class DataCellSerialization extends ByteArrayOutputStream
       writeByte((byte) (bool.booleanValue() ? 1 : 0));
     }
     else if (type == Types.DB_TIME) {
-      Date date = (Date) ob;
-      writeLong(date.getTime());
+      writeLong(((TimeDataCell) cell).getTime());
     }
     else if (type == Types.DB_BLOB) {
       ByteLongObject blob = (ByteLongObject) ob;
@@ -26,6 +26,7 @@ package com.mckoi.database;
 
 import com.mckoi.database.global.SQLTypes;
 import com.mckoi.util.IntegerVector;
+import com.mckoi.util.IntegerBitmap;
 import com.mckoi.debug.*;
 import java.math.BigDecimal;
 import java.util.Vector;
@@ -56,6 +57,12 @@ public final class DataTable extends DefaultDataTable {
    */
   private MutableTableDataSource data_source;
 
+  /**
+   * The journal the reads made through this table are recorded in, or null
+   * if the transaction doesn't check for changes to what it read.
+   */
+  private MasterTableJournal read_journal;
+
 
   /**
    * ------
@@ -93,6 +100,10 @@ public final class DataTable extends DefaultDataTable {
           data_source.getDataTableDef().toTableFieldArray());
     this.connection = connection;
     this.data_source = data_source;
+    if (data_source instanceof MasterTableDataSource.MMutableTableDataSource) {
+      read_journal = ((MasterTableDataSource.MMutableTableDataSource)
+                                               data_source).getReadJournal();
+    }
 //    System.out.println("NEW DATATABLE");
   }
 
@@ -120,7 +131,11 @@ public final class DataTable extends DefaultDataTable {
   protected SelectableScheme getRootColumnScheme(int column) {
     checkReadLock();  // Read op
 
-    return data_source.getColumnScheme(column);
+    SelectableScheme scheme = data_source.getColumnScheme(column);
+    if (read_journal != null) {
+      scheme = new ReadRecordingScheme(scheme, read_journal);
+    }
+    return scheme;
   }
 
   /**
@@ -742,9 +757,94 @@ public final class DataTable extends DefaultDataTable {
   public DataCell getCellContents(int column, int row) {
     checkSafeOperation();  // safe op
 
+    if (read_journal != null) {
+      read_journal.markRowRead(row);
+    }
     return data_source.getCellContents(column, row);
   }
 
+  /**
+   * Finds the sum of the column over the given rows from the columnar store
+   * of the master table (if the column has one).
+   */
+  Object columnarSum(int column, IntegerVector row_set) {
+    checkSafeOperation();  // safe op
+
+    if (data_source instanceof MasterTableDataSource.MMutableTableDataSource) {
+      if (read_journal != null) {
+        read_journal.markRowsRead(row_set);
+      }
+      return ((MasterTableDataSource.MMutableTableDataSource) data_source).
+                                              columnarSum(column, row_set);
+    }
+    return null;
+  }
+
+  /**
+   * Selects the rows of this table through a composite index of the master
+   * table.
+   */
+  IntegerVector compositeIndexSelect(int index, DataCell[] prefix,
+                                     SelectableRange[] ranges) {
+    checkSafeOperation();  // safe op
+
+    if (data_source instanceof MasterTableDataSource.MMutableTableDataSource) {
+      MasterTableDataSource.MMutableTableDataSource source =
+                   (MasterTableDataSource.MMutableTableDataSource) data_source;
+      IntegerVector rows = source.compositeIndexSelect(index, prefix, ranges);
+      if (read_journal != null) {
+        read_journal.addReadRange(source.compositeIndexColumns(index),
+                                  prefix, ranges);
+        read_journal.markRowsRead(rows);
+      }
+      return rows;
+    }
+    return null;
+  }
+
+  /**
+   * Selects the rows in the ranges of the columns that have a BitmapSearch
+   * scheme by intersecting the bitmaps of the columns.
+   */
+  IntegerVector bitmapSelect(int[] columns, SelectableRange[][] ranges,
+                             boolean[] used) {
+    checkSafeOperation();  // safe op
+
+    IntegerBitmap result = null;
+    int bitmap_count = 0;
+    boolean[] selected = new boolean[columns.length];
+    for (int i = 0; i < columns.length; ++i) {
+      if (!used[i] && columns[i] != -1) {
+        // The scheme of the data source, because a scheme that records
+        // reads doesn't give access to the bitmaps.
+        checkReadLock();  // Read op
+        SelectableScheme ss = data_source.getColumnScheme(columns[i]);
+        if (ss instanceof BitmapSearch) {
+          IntegerBitmap rows = ((BitmapSearch) ss).selectBitmap(ranges[i]);
+          result = (result == null) ? rows : result.and(rows);
+          selected[i] = true;
+          ++bitmap_count;
+        }
+      }
+    }
+    if (bitmap_count < 2) {
+      return null;
+    }
+    for (int i = 0; i < columns.length; ++i) {
+      used[i] |= selected[i];
+      if (selected[i] && read_journal != null) {
+        read_journal.addReadRange(new int[] { columns[i] }, new DataCell[0],
+                                  ranges[i]);
+      }
+    }
+    IntegerVector ivec = new IntegerVector(result.size());
+    result.addTo(ivec);
+    if (read_journal != null) {
+      read_journal.markRowsRead(ivec);
+    }
+    return ivec;
+  }
+
   /**
    * Compares the object to the object at the given cell in the table.  The
    * Object may only be one of the types allowed in the database.
@@ -754,6 +854,9 @@ public final class DataTable extends DefaultDataTable {
   public int compareCellTo(DataCell ob, int column, int row) {
     checkSafeOperation();  // safe op
 
+    if (read_journal != null) {
+      read_journal.markRowRead(row);
+    }
     return data_source.compareCellTo(ob, column, row);
   }
 
@@ -764,6 +867,9 @@ public final class DataTable extends DefaultDataTable {
   public RowEnumeration rowEnumeration() {
     checkReadLock();  // read op
 
+    if (read_journal != null) {
+      read_journal.markAllRead();
+    }
     return data_source.rowEnumeration();
   }
 
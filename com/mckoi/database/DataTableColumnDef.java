@@ -237,8 +237,9 @@ public class DataTableColumnDef {
   }
 
   /**
-   * Sets the indexing scheme for this column.  Either 'InsertSearch' or
-   * 'BlindSearch'.  If not set, then default to insert search.
+   * Sets the indexing scheme for this column.  Either 'InsertSearch',
+   * 'BlindSearch', 'BTree', 'Hash' or 'Bitmap'.  If not set, then default
+   * to insert search.
    */
   public void setIndexScheme(String index_scheme) {
     index_desc = index_scheme;
@@ -433,7 +434,7 @@ public class DataTableColumnDef {
 
   /**
    * Returns the name of the scheme we use to index this column.  It will
-   * be either 'InsertSearch' or 'BlindSearch'.
+   * be either 'InsertSearch', 'BlindSearch', 'BTree', 'Hash' or 'Bitmap'.
    */
   public String getIndexScheme() {
     if (index_desc.equals("")) {
@@ -65,6 +65,12 @@ public class DataTableDef {
    */
   private ArrayList column_list;
 
+  /**
+   * The list of CompositeIndexDef objects that are the definitions of the
+   * multi-column indexes on the table.
+   */
+  private ArrayList composite_index_list;
+
 //  /**
 //   * The check expression that must parse to true for a new column to be
 //   * added to this table.
@@ -83,6 +89,7 @@ public class DataTableDef {
    */
   public DataTableDef() {
     column_list = new ArrayList();
+    composite_index_list = new ArrayList();
     table_type_class = "";
     schema = "";
     immutable = false;
@@ -96,6 +103,7 @@ public class DataTableDef {
     name = table_def.name;
     table_type_class = table_def.table_type_class;
     column_list = (ArrayList) table_def.column_list.clone();
+    composite_index_list = (ArrayList) table_def.composite_index_list.clone();
 //    if (table_def.legacy_check_expression != null) {
 //      legacy_check_expression =
 //                        new Expression(table_def.legacy_check_expression);
@@ -283,6 +291,53 @@ public class DataTableDef {
     addColumn(col_def);
   }
 
+  /**
+   * Adds a composite index over the given columns of this table.  The order
+   * of the columns is the order of the key in the index, so the index can
+   * be used to select on any leading sub-set of the columns.
+   */
+  public void addCompositeIndex(String index_name, String[] columns) {
+    checkMutable();
+    if (findCompositeIndex(index_name, false) != -1) {
+      throw new Error("Duplicated index name: " + index_name);
+    }
+    for (int i = 0; i < columns.length; ++i) {
+      if (findColumnName(columns[i]) == -1) {
+        throw new Error("Index column not found: " + columns[i]);
+      }
+    }
+    composite_index_list.add(new CompositeIndexDef(index_name,
+                                            (String[]) columns.clone()));
+  }
+
+  /**
+   * Removes the composite index at the given position from this table.
+   */
+  public void removeCompositeIndex(int n) {
+    checkMutable();
+    composite_index_list.remove(n);
+  }
+
+  /**
+   * Adds all the composite indexes in the given DataTableDef that are over
+   * columns that are also in this table.  This is used when a table is
+   * redefined so the indexes of the old definition are kept.
+   */
+  public void copyCompositeIndexesFrom(DataTableDef table_def) {
+    checkMutable();
+    for (int n = 0; n < table_def.compositeIndexCount(); ++n) {
+      String index_name = table_def.compositeIndexName(n);
+      String[] columns = table_def.compositeIndexColumns(n);
+      boolean all_found = findCompositeIndex(index_name, false) == -1;
+      for (int i = 0; i < columns.length && all_found; ++i) {
+        all_found = findColumnName(columns[i]) != -1;
+      }
+      if (all_found) {
+        addCompositeIndex(index_name, columns);
+      }
+    }
+  }
+
 //  public void setCheckExpression(Expression expression) {
 //    this.check_expression = expression;
 //    resolveColumns(expression);
@@ -325,6 +380,39 @@ public class DataTableDef {
     return -1;
   }
 
+  public int compositeIndexCount() {
+    return composite_index_list.size();
+  }
+
+  public String compositeIndexName(int n) {
+    return ((CompositeIndexDef) composite_index_list.get(n)).name;
+  }
+
+  /**
+   * Returns the names of the columns of the composite index at the given
+   * position, in key order.
+   */
+  public String[] compositeIndexColumns(int n) {
+    return (String[])
+              ((CompositeIndexDef) composite_index_list.get(n)).columns.clone();
+  }
+
+  /**
+   * Returns the position of the composite index with the given name, or -1
+   * if there is no index with the name.
+   */
+  public int findCompositeIndex(String index_name, boolean ignore_case) {
+    int size = compositeIndexCount();
+    for (int i = 0; i < size; ++i) {
+      String name = compositeIndexName(i);
+      if (ignore_case ? name.equalsIgnoreCase(index_name) :
+                        name.equals(index_name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
 //  public Expression getCheckExpression() {
 //    return check_expression;
 //  }
@@ -373,7 +461,10 @@ public class DataTableDef {
    * Writes this DataTableDef file to the data output stream.
    */
   void write(DataOutputStream out) throws IOException {
-    out.writeInt(2);  // Version number
+    // Version 3 is only written when there are composite indexes so a
+    // table without them can still be read by older versions.
+    int composite_count = composite_index_list.size();
+    out.writeInt(composite_count == 0 ? 2 : 3);  // Version number
 
     out.writeUTF(name);
     out.writeUTF(schema);   // Added in version 2
@@ -383,6 +474,21 @@ public class DataTableDef {
       ((DataTableColumnDef) column_list.get(i)).write(out);
     }
 
+    // -- Added in version 3 --
+    // Write the composite index list.
+    if (composite_count > 0) {
+      out.writeInt(composite_count);
+      for (int i = 0; i < composite_count; ++i) {
+        CompositeIndexDef index_def =
+                          (CompositeIndexDef) composite_index_list.get(i);
+        out.writeUTF(index_def.name);
+        out.writeInt(index_def.columns.length);
+        for (int n = 0; n < index_def.columns.length; ++n) {
+          out.writeUTF(index_def.columns[n]);
+        }
+      }
+    }
+
 //    // -- Added in version 2 --
 //    // Write the constraint list.
 //    out.writeInt(constraint_list.size());
@@ -481,7 +587,7 @@ public class DataTableDef {
 ////      }
 
     }
-    else if (ver == 2) {
+    else if (ver == 2 || ver == 3) {
 
       dtf.name = in.readUTF();
       dtf.schema = in.readUTF();
@@ -493,6 +599,18 @@ public class DataTableDef {
         DataTableColumnDef col_def = DataTableColumnDef.read(in);
         dtf.column_list.add(col_def);
       }
+      if (ver == 3) {
+        size = in.readInt();
+        for (int i = 0; i < size; ++i) {
+          String index_name = in.readUTF();
+          String[] columns = new String[in.readInt()];
+          for (int n = 0; n < columns.length; ++n) {
+            columns[n] = in.readUTF();
+          }
+          dtf.composite_index_list.add(
+                                 new CompositeIndexDef(index_name, columns));
+        }
+      }
 //      size = in.readInt();
 //      for (int i = 0; i < size; ++i) {
 //        DataTableConstraintDef col_def =
@@ -509,4 +627,28 @@ public class DataTableDef {
     return dtf;
   }
 
+  // ---------- Inner classes ----------
+
+  /**
+   * The definition of a composite index.
+   */
+  private static final class CompositeIndexDef {
+
+    /**
+     * The name of the index.
+     */
+    final String name;
+
+    /**
+     * The columns of the index in key order.
+     */
+    final String[] columns;
+
+    CompositeIndexDef(String name, String[] columns) {
+      this.name = name;
+      this.columns = columns;
+    }
+
+  }
+
 }
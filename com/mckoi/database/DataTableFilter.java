@@ -172,6 +172,30 @@ public class DataTableFilter extends AbstractDataTable {
     }
   }
 
+  /**
+   * Routes the columnar sum to the parent table.
+   */
+  final Object columnarSum(int column, IntegerVector row_set) {
+    return parent.columnarSum(column, row_set);
+  }
+
+  /**
+   * Routes the composite index select to the parent table.  The rows and
+   * columns of this table are the same as the parent.
+   */
+  final IntegerVector compositeIndexSelect(int index, DataCell[] prefix,
+                                           SelectableRange[] ranges) {
+    return parent.compositeIndexSelect(index, prefix, ranges);
+  }
+
+  /**
+   * Routes the bitmap select to the parent table.
+   */
+  final IntegerVector bitmapSelect(int[] columns, SelectableRange[][] ranges,
+                                   boolean[] used) {
+    return parent.bitmapSelect(columns, ranges, used);
+  }
+
   /**
    * Return the list of DataTable and row sets that make up the raw information
    * in this table.  This is identical to the DataTable method except it
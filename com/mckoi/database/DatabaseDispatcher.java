@@ -102,7 +102,9 @@ class DatabaseDispatcher extends Thread {
               evt = (DatabaseEvent) event_queue.get(0);
               long diff = evt.time_to_run_event - System.currentTimeMillis();
               // If we got to wait for the event then do so now...
-              if (diff >= 0) {
+              // NOTE: 'wait(0)' waits forever, so an event that is due now
+              //   must be run rather than waited on.
+              if (diff > 0) {
                 evt = null;
                 wait((int) diff);
               }
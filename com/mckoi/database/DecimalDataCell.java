@@ -27,6 +27,7 @@ package com.mckoi.database;
 import java.io.IOException;
 import java.io.DataInput;
 import java.io.DataOutput;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
@@ -83,6 +84,32 @@ public class DecimalDataCell extends DataCell {
     return val;
   }
 
+  public boolean isNull() {
+    return is_null;
+  }
+
+  /**
+   * Returns the unscaled value of the number as the two's complement form
+   * made by 'BigInteger.toByteArray'.
+   */
+  byte[] unscaledBytes() {
+    return bigint.toByteArray();
+  }
+
+  /**
+   * Returns the number of bytes in the array returned by 'unscaledBytes'.
+   */
+  int unscaledByteCount() {
+    return (bigint.bitLength() / 8) + 1;
+  }
+
+  /**
+   * Writes the bytes returned by 'unscaledBytes' to the given stream.
+   */
+  void writeUnscaled(OutputStream out) throws IOException {
+    out.write(unscaledBytes());
+  }
+
   public int getExtractionType() {
     return com.mckoi.database.global.Types.DB_NUMERIC;
   }
@@ -91,7 +118,12 @@ public class DecimalDataCell extends DataCell {
     DecimalDataCell c = (DecimalDataCell) cell;
     if (!c.is_null) {
       if (!is_null) {
-        return val.compareTo(c.val);
+        if (this instanceof LongDecimalDataCell &&
+            c instanceof LongDecimalDataCell) {
+          return ((LongDecimalDataCell) this).compareToLong(
+                                                   (LongDecimalDataCell) c);
+        }
+        return ((BigDecimal) getCell()).compareTo((BigDecimal) c.getCell());
       }
       else {
         return -1;
@@ -116,8 +148,8 @@ public class DecimalDataCell extends DataCell {
   }
 
   public void writeTo(DataOutput out) throws IOException {
-    if (val != null) {
-      byte[] buf = bigint.toByteArray();
+    if (!is_null) {
+      byte[] buf = unscaledBytes();
       out.writeShort((short) scale);
       out.writeShort((short) buf.length);
       out.write(buf);
@@ -202,6 +202,13 @@ public class FilterTable extends Table {
     }
   }
 
+  /**
+   * Routes the columnar sum to the parent table.
+   */
+  Object columnarSum(int column, IntegerVector row_set) {
+    return parent.columnarSum(column, row_set);
+  }
+
   /**
    * Return the list of DataTable and row sets that make up the raw information
    * in this table.
@@ -25,7 +25,9 @@
 package com.mckoi.database;
 
 import java.io.*;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import com.mckoi.util.ByteArrayUtil;
 import com.mckoi.util.IntegerVector;
 import com.mckoi.util.UserTerminal;
@@ -95,6 +97,17 @@ public final class FixedSizeDataStore {
    */
   private final static boolean SECTORS_CACHED = true;
 
+  /**
+   * The most sectors that are read ahead at once.
+   */
+  private final static int MAX_READ_AHEAD = 512;
+
+  /**
+   * The number of sectors that must be read in sequence before we start
+   * reading ahead.
+   */
+  private final static int READ_AHEAD_THRESHOLD = 2;
+
 
 //  private static int unique_store_key = 0;
 //  private int this_store_key;
@@ -175,6 +188,55 @@ public final class FixedSizeDataStore {
    */
   private Cache sector_cache;
 
+  /**
+   * The BufferPool sectors are cached in instead of 'sector_cache' if the
+   * store shares a pool with other stores (may be null).
+   */
+  private BufferPool buffer_pool;
+
+  /**
+   * The number of sectors read into the cache in one read when the store is
+   * being read in sequence, or 0 if sectors are not read ahead.
+   */
+  private int read_ahead_count;
+
+  /**
+   * The buffer sectors are read ahead into.
+   */
+  private byte[] read_ahead_buffer;
+
+  /**
+   * The last sector read by 'readSector' and the number of sectors read in
+   * sequence before it.  This is used to detect a scan of the store.
+   */
+  private int last_read_sector = -2;
+  private int sequential_reads;
+
+  /**
+   * The Stats object read ahead statistics are recorded in (may be null).
+   */
+  private com.mckoi.util.Stats stats;
+
+  /**
+   * The lock held while the cache is used, so sectors may be read by
+   * 'getSectorShared' at the same time as the store is used by the thread
+   * that owns it.
+   */
+  private final Object shared_lock = new Object();
+
+  /**
+   * Incremented every time the cache is changed by the owner of the store.
+   * A sector read by 'getSectorShared' is only put in the cache if this
+   * didn't change while it was read, so a stale copy of a sector that was
+   * written during the read is never cached.
+   */
+  private int cache_version = 0;
+
+  /**
+   * Read only files over the store that aren't in use by 'getSectorShared'.
+   */
+  private final ArrayList shared_files = new ArrayList();
+
 
   /**
    * Constructs the data store.  If 'sector_size' <= 0 then we determine
@@ -256,17 +318,25 @@ public final class FixedSizeDataStore {
     // If the buffered sector is already loaded then don't re-read.
     if (buffered_sector != sector) {
 
-      if (sector_cache != null) {
+      trackSequence(sector);
+
+      if (isCached()) {
         // If this sector is in the cache then use the cached entry instead.
-        Integer cacheKey = new Integer(sector);
-        byte[] sbuf = (byte[]) sector_cache.get(cacheKey);
-        if (sbuf == null) {
+        byte[] sbuf = getCachedSector(sector);
+        if (sbuf == null && read_ahead_count > 0 &&
+            sequential_reads >= READ_AHEAD_THRESHOLD &&
+            sector < sectorCount()) {
+          // If the store is being scanned then read the next sectors into
+          // the cache with one read rather than a read for each sector.
+          readAhead(sector);
+        }
+        else if (sbuf == null) {
           // If not in the cache then read from the file.
           seekSector(sector);
           data_store.read(sector_buffer, 0, sector_size);
           sbuf = new byte[sector_size];
           System.arraycopy(sector_buffer, 0, sbuf, 0, sector_size);
-          sector_cache.put(cacheKey, sbuf);
+          putCachedSector(sector, sbuf);
         }
         else {
           // Otherwise, read the cached entry.
@@ -283,6 +353,236 @@ public final class FixedSizeDataStore {
     }
   }
 
+  /**
+   * Records a read of the given sector so we know if the store is being read
+   * in sequence.  We allow a small step forward so deleted sectors in a scan
+   * don't break the sequence.
+   */
+  private void trackSequence(int sector) {
+    if (sector > last_read_sector && sector <= last_read_sector + 2) {
+      ++sequential_reads;
+    }
+    else {
+      sequential_reads = 0;
+    }
+    last_read_sector = sector;
+  }
+
+  /**
+   * Returns an array with the contents of the given sector.  The data of the
+   * sector starts at 'getSectorDataOffset()' in the array.  If the sector is
+   * cached then the cached array is returned so no copy of the sector is
+   * made, otherwise the sector is read into the internal buffer and it is
+   * returned.
+   * <p>
+   * The array must not be changed, and it is only valid until the next time
+   * a sector is read from this store.
+   */
+  byte[] getSectorBuffer(int sector) throws IOException {
+    if (buffered_sector != sector && isCached()) {
+      byte[] sbuf = getCachedSector(sector);
+      if (sbuf != null) {
+        trackSequence(sector);
+        return sbuf;
+      }
+    }
+    readSector(sector);
+    return sector_buffer;
+  }
+
+  /**
+   * Returns the offset of the data of a sector in the array returned by
+   * 'getSectorBuffer'.
+   */
+  int getSectorDataOffset() {
+    return EXTRA_SECTOR_SIZE;
+  }
+
+  /**
+   * Returns an array with the contents of the given sector, as with
+   * 'getSectorBuffer'.  Unlike the other methods of this store, this doesn't
+   * use the file pointer or the sector buffer of the store, so it may be
+   * called by many threads at once and at the same time as the thread that
+   * owns the store uses it.  The returned array is not the sector buffer so
+   * it stays valid after other sectors are read.
+   * <p>
+   * The sector must not be written or deleted while this is called.
+   */
+  byte[] getSectorShared(int sector) throws IOException {
+    int version;
+    synchronized (shared_lock) {
+      if (isCached()) {
+        byte[] sbuf = getCachedSector(sector);
+        if (sbuf != null) {
+          return sbuf;
+        }
+      }
+      version = cache_version;
+    }
+
+    byte[] sbuf = new byte[sector_size];
+    RandomAccessFile file = null;
+    synchronized (shared_files) {
+      if (shared_files.size() > 0) {
+        file = (RandomAccessFile) shared_files.remove(shared_files.size() - 1);
+      }
+    }
+    if (file == null) {
+      file = new RandomAccessFile(data_file, "r");
+    }
+    try {
+      file.seek(((long) sector * sector_size) + sector_offset);
+      file.readFully(sbuf, 0, sector_size);
+    }
+    finally {
+      synchronized (shared_files) {
+        shared_files.add(file);
+      }
+    }
+
+    synchronized (shared_lock) {
+      if (isCached() && version == cache_version) {
+        if (buffer_pool != null) {
+          buffer_pool.put(this, sector, sbuf, sbuf.length);
+        }
+        else {
+          sector_cache.put(new Integer(sector), sbuf);
+        }
+      }
+    }
+    return sbuf;
+  }
+
+  /**
+   * Reads 'length' bytes across the chain of sectors that starts with the
+   * given sector into the buffer.  As with 'getSectorShared' this may be
+   * called by many threads at once, and the sectors of the chain must not
+   * be written or deleted while this is called.
+   */
+  void readAcrossShared(int sector_head, byte[] buf, int offset, int length)
+                                                          throws IOException {
+    int ssize = getSectorSize();
+    int walk = sector_head;
+    while (length > 0) {
+      if (walk == -1) {
+        throw new IOException("Sector chain is shorter than the record.");
+      }
+      byte[] sbuf = getSectorShared(walk);
+      if ((sbuf[0] & DELETED) != 0) {
+        throw new IOException("Can not read across a deleted chain.");
+      }
+      int amount_read = Math.min(length, ssize);
+      System.arraycopy(sbuf, EXTRA_SECTOR_SIZE, buf, offset, amount_read);
+      offset += amount_read;
+      length -= amount_read;
+      walk = ByteArrayUtil.getInt(sbuf, 1);
+    }
+  }
+
+  /**
+   * Closes the files opened by 'getSectorShared'.
+   */
+  private void closeSharedFiles() throws IOException {
+    synchronized (shared_files) {
+      for (int i = 0; i < shared_files.size(); ++i) {
+        ((RandomAccessFile) shared_files.get(i)).close();
+      }
+      shared_files.clear();
+    }
+  }
+
+  /**
+   * Returns true if sectors read from the store are cached.
+   */
+  private boolean isCached() {
+    return sector_cache != null || buffer_pool != null;
+  }
+
+  /**
+   * Returns the cached copy of the given sector, or null if the sector is
+   * not cached.
+   */
+  private byte[] getCachedSector(int sector) {
+    synchronized (shared_lock) {
+      if (buffer_pool != null) {
+        return (byte[]) buffer_pool.get(this, sector);
+      }
+      return (byte[]) sector_cache.get(new Integer(sector));
+    }
+  }
+
+  /**
+   * Puts a copy of the given sector in the cache.
+   */
+  private void putCachedSector(int sector, byte[] sbuf) {
+    synchronized (shared_lock) {
+      ++cache_version;
+      if (buffer_pool != null) {
+        buffer_pool.put(this, sector, sbuf, sbuf.length);
+      }
+      else {
+        sector_cache.put(new Integer(sector), sbuf);
+      }
+    }
+  }
+
+  /**
+   * Removes the given sector from the cache if sectors are cached.
+   */
+  private void removeCachedSector(int sector) {
+    synchronized (shared_lock) {
+      ++cache_version;
+      if (buffer_pool != null) {
+        buffer_pool.remove(this, sector);
+      }
+      else if (sector_cache != null) {
+        sector_cache.remove(new Integer(sector));
+      }
+    }
+  }
+
+  /**
+   * Removes all the sectors of this store from the cache if sectors are
+   * cached.
+   */
+  private void removeAllCachedSectors() {
+    synchronized (shared_lock) {
+      ++cache_version;
+      if (buffer_pool != null) {
+        buffer_pool.removeAll(this);
+      }
+      else if (sector_cache != null) {
+        sector_cache.removeAll();
+      }
+    }
+  }
+
+  /**
+   * Reads the given sector and the sectors after it (up to
+   * 'read_ahead_count') into the cache with one read, and fills the
+   * 'sector_buffer' with the given sector.
+   */
+  private void readAhead(int sector) throws IOException {
+    int count = Math.min(read_ahead_count, sectorCount() - sector);
+    if (read_ahead_buffer == null) {
+      read_ahead_buffer = new byte[read_ahead_count * sector_size];
+    }
+    seekSector(sector);
+    data_store.readFully(read_ahead_buffer, 0, count * sector_size);
+    for (int i = 0; i < count; ++i) {
+      byte[] sbuf = new byte[sector_size];
+      System.arraycopy(read_ahead_buffer, i * sector_size,
+                       sbuf, 0, sector_size);
+      putCachedSector(sector + i, sbuf);
+    }
+    System.arraycopy(read_ahead_buffer, 0, sector_buffer, 0, sector_size);
+
+    if (stats != null) {
+      stats.increment("FixedSizeDataStore.read_ahead.reads");
+      stats.add(count, "FixedSizeDataStore.read_ahead.sectors");
+    }
+  }
+
   /**
    * Sets the length of the data store to the given size.  This has a side-
    * effect of setting the file pointer to the end of the file.
@@ -353,11 +653,11 @@ public final class FixedSizeDataStore {
     // Check just to make sure,
     if (length <= sector_size) {
       data_store.write(sector_buffer, 0, length);
-      if (sector_cache != null) {
+      if (isCached()) {
         // Copy this into the cache.
         byte[] sbuf = new byte[sector_size];
         System.arraycopy(sector_buffer, 0, sbuf, 0, length);
-        sector_cache.put(new Integer(sector), sbuf);
+        putCachedSector(sector, sbuf);
       }
     }
     else {
@@ -504,6 +804,46 @@ public final class FixedSizeDataStore {
 
   // ---------- Public methods ----------
 
+  /**
+   * Sets the number of bytes of sectors that are read into the cache at once
+   * when the store is read in sequence (for example, by a table scan).  0
+   * turns off reading ahead.  This must be called after the store is open
+   * and it has no effect if the store is not cached.
+   */
+  public void setReadAheadSize(int size) {
+    if (!isCached()) {
+      return;
+    }
+    int count = Math.min(MAX_READ_AHEAD, size / sector_size);
+    read_ahead_count = (count > 1) ? count : 0;
+    read_ahead_buffer = null;
+    if (sector_cache != null) {
+      // Make room in the cache for the sectors read ahead.
+      sector_cache = new Cache(64 + read_ahead_count);
+    }
+  }
+
+  /**
+   * Sets the BufferPool this store caches its sectors in.  The pool is
+   * shared with other stores and replaces the cache of this store.  It has
+   * no effect if the pool is null or the store is not cached.
+   */
+  void setBufferPool(BufferPool pool) {
+    if (pool == null || !isCached()) {
+      return;
+    }
+    removeAllCachedSectors();
+    buffer_pool = pool;
+    sector_cache = null;
+  }
+
+  /**
+   * Sets the Stats object read ahead statistics are recorded in.
+   */
+  public void setStats(com.mckoi.util.Stats stats) {
+    this.stats = stats;
+  }
+
   /**
    * Returns the size of the data store file.  This is the total number of
    * bytes stored in the data store.
@@ -767,10 +1107,12 @@ public final class FixedSizeDataStore {
 
     // Close the file
     data_store.close();
+    closeSharedFiles();
     // Help the GC
     data_store = null;
     sector_buffer = null;
     buffered_sector = -2;
+    removeAllCachedSectors();
 
   }
 
@@ -1147,10 +1489,8 @@ public final class FixedSizeDataStore {
       // Write the new header for the sector.
       seekSector(walk);
       data_store.write(sector_buffer, 0, 5);
-      if (sector_cache != null) {
-        // Remove this from the cache.
-        sector_cache.remove(new Integer(walk));
-      }
+      // Remove this from the cache.
+      removeCachedSector(walk);
       // Delete 1 from the used sector count.
       --used_sector_count;
 
@@ -1244,6 +1584,69 @@ public final class FixedSizeDataStore {
     return addSector(buf, 0, buf.length);
   }
 
+  /**
+   * Adds a new sector into the store at the given sector number.  The
+   * sector must either be deleted or past the end of the store.  If it's
+   * past the end then the sectors between the end and the given sector are
+   * added to the chain of deleted sectors.  This is used to place records
+   * at the same position they have in another store.
+   * <p>
+   * A deleted sector is found by walking the chain of deleted sectors from
+   * the head so this is quickest when the sector was recently deleted.
+   */
+  public int addSectorAt(int sector, byte[] buf, int offset, int length)
+                                                          throws IOException {
+    int ssize = getSectorSize();
+    if (length > ssize) {
+      throw new IOException("Sector too large to add to store.");
+    }
+
+    int scount = sectorCount();
+    if (sector > scount) {
+      // Extend the store and add the new sectors before this one to the
+      // chain of deleted sectors.
+      setDataStoreSize(((long) sector * sector_size) + sector_offset);
+      byte[] mark_buffer = new byte[5];
+      mark_buffer[0] = DELETED;
+      for (int i = scount; i < sector; ++i) {
+        ByteArrayUtil.setInt(delete_head, mark_buffer, 1);
+        seekSector(i);
+        data_store.write(mark_buffer, 0, 5);
+        delete_head = i;
+      }
+    }
+    else if (sector < scount) {
+      // Find the sector in the chain of deleted sectors.
+      int previous = -1;
+      int walk = delete_head;
+      while (walk != sector) {
+        if (walk == -1) {
+          throw new IOException("Sector " + sector + " is not deleted.");
+        }
+        readSector(walk);
+        previous = walk;
+        walk = ByteArrayUtil.getInt(sector_buffer, 1);
+      }
+      // And take it out of the chain.
+      readSector(sector);
+      int next = ByteArrayUtil.getInt(sector_buffer, 1);
+      if (previous == -1) {
+        delete_head = next;
+      }
+      else {
+        readSector(previous);
+        ByteArrayUtil.setInt(next, sector_buffer, 1);
+        seekSector(previous);
+        data_store.write(sector_buffer, 0, 5);
+        removeCachedSector(previous);
+      }
+    }
+
+    // Write a new sector buffer entry,
+    return writeBufToSector(sector, -1, buf, offset, length);
+
+  }
+
   /**
    * Calculates the number of sectors the given length of bytes will span.
    */
@@ -1405,6 +1808,38 @@ public final class FixedSizeDataStore {
 
   }
 
+  /**
+   * Makes a copy of the file of this store through a separate stream so
+   * that the store can continue to be read and written while the copy is
+   * made.  Sectors that change while the copy is in progress may be copied
+   * in any state, so the copy is only useful if the caller knows the
+   * sectors it needs can not change (for example, they are pinned by a
+   * snapshot), and the copy is then made consistent with
+   * 'rebuildDeletedSectors' or 'repair'.
+   * <p>
+   * @param path the directory to copy this file to.
+   */
+  public void streamCopyTo(File path) throws IOException {
+    String fname = data_file.getName();
+
+    FileInputStream fin = new FileInputStream(data_file);
+    FileOutputStream fout = new FileOutputStream(new File(path, fname));
+    try {
+      int BUF_SIZE = 65536;     // 64k copy buffer.
+      byte[] buf = new byte[BUF_SIZE];
+      int read = fin.read(buf, 0, BUF_SIZE);
+      while (read >= 0) {
+        fout.write(buf, 0, read);
+        read = fin.read(buf, 0, BUF_SIZE);
+      }
+    }
+    finally {
+      fout.close();
+      fin.close();
+    }
+
+  }
+
   /**
    * Attempts to repair this data store to a correct state.  The UserTerminal
    * object can be used to ask the user questions and to output information
@@ -1604,6 +2039,130 @@ public final class FixedSizeDataStore {
     }
   }
 
+  /**
+   * Rebuilds the chain of deleted sectors so that it is in ascending sector
+   * order, and cuts any deleted sectors at the end of the file off the store.
+   * Because deleted sectors are reclaimed from the head of the chain, data
+   * added after this is called is written to the lowest free sectors first.
+   * Unlike 'clearDeletedSectors' this does not move any used sectors so
+   * chains of used sectors stay valid.
+   * <p>
+   * As the order of the deleted chain changes, this can not be called while
+   * the store is locked.
+   * <p>
+   * Returns the number of deleted sectors left in the store.
+   */
+  public int sortDeletedSectors() throws IOException {
+
+    if (locked()) {
+      throw new IOException(
+                          "Store is locked, can not reclaim deleted sectors.");
+    }
+    if (delete_head == -1) {
+      return 0;
+    }
+
+    int scount = sectorCount();
+
+    // Walk the chain of deleted sectors.
+    IntegerVector deleted = new IntegerVector();
+    int walk = delete_head;
+    while (walk != -1) {
+      if (deleted.size() >= scount) {
+        throw new IOException("Cycle in the chain of deleted sectors.");
+      }
+      deleted.addInt(walk);
+      readSector(walk);
+      walk = ByteArrayUtil.getInt(sector_buffer, 1);
+    }
+    int[] sectors = deleted.toIntArray();
+    Arrays.sort(sectors);
+
+    // The deleted sectors at the end of the file are cut off.
+    int delete_count = sectors.length;
+    while (delete_count > 0 && sectors[delete_count - 1] == scount - 1) {
+      --delete_count;
+      --scount;
+    }
+
+    // Relink the remaining sectors in order.
+    byte[] mark_buffer = new byte[5];
+    mark_buffer[0] = DELETED;
+    for (int i = 0; i < delete_count; ++i) {
+      int next = (i < delete_count - 1) ? sectors[i + 1] : -1;
+      ByteArrayUtil.setInt(next, mark_buffer, 1);
+      seekSector(sectors[i]);
+      data_store.write(mark_buffer, 0, 5);
+      removeCachedSector(sectors[i]);
+    }
+    for (int i = delete_count; i < sectors.length; ++i) {
+      removeCachedSector(sectors[i]);
+    }
+    buffered_sector = -2;
+
+    delete_head = (delete_count > 0) ? sectors[0] : -1;
+    // Synchronize the header before the file is made smaller.
+    synch();
+
+    long new_size = ((long) scount * sector_size) + sector_offset;
+    if (new_size < data_store_size) {
+      data_store.setLength(new_size);
+      data_store_size = new_size;
+    }
+
+    return delete_count;
+  }
+
+  /**
+   * Marks every sector that is not set in 'used' as deleted and rebuilds the
+   * chain of deleted sectors in ascending order.  Deleted sectors at the end
+   * of the file are cut off the store.  This is used to make a copy made by
+   * 'streamCopyTo' consistent once the used sectors are known.
+   * <p>
+   * This can not be called while the store is locked.
+   */
+  public void rebuildDeletedSectors(BitSet used) throws IOException {
+
+    if (locked()) {
+      throw new IOException(
+                          "Store is locked, can not reclaim deleted sectors.");
+    }
+
+    // Cut the deleted sectors at the end of the file.
+    int scount = sectorCount();
+    while (scount > 0 && !used.get(scount - 1)) {
+      --scount;
+    }
+    long new_size = ((long) scount * sector_size) + sector_offset;
+    if (new_size < data_store_size) {
+      data_store.setLength(new_size);
+      data_store_size = new_size;
+    }
+
+    // Link the rest of the deleted sectors in order.
+    byte[] mark_buffer = new byte[5];
+    mark_buffer[0] = DELETED;
+    int row_count = 0;
+    int last_deleted = -1;
+    for (int i = scount - 1; i >= 0; --i) {
+      if (used.get(i)) {
+        ++row_count;
+      }
+      else {
+        ByteArrayUtil.setInt(last_deleted, mark_buffer, 1);
+        seekSector(i);
+        data_store.write(mark_buffer, 0, 5);
+        last_deleted = i;
+      }
+    }
+    removeAllCachedSectors();
+    buffered_sector = -2;
+
+    delete_head = last_deleted;
+    used_sector_count = row_count;
+    synch();
+  }
+
 // [ It's a bad idea to use this when there are sector chains because it
 //   reorganizes the chain of deleted sectors.  The order of deleted sectors is
 //   important when dirty reading deleted information from the store (when a
@@ -1661,10 +2220,8 @@ public final class FixedSizeDataStore {
         mark_buffer[4] = (byte) ((v >>>  0) & 0xFF);
         seekSector(i);
         data_store.write(mark_buffer, 0, 5);
-        if (sector_cache != null) {
-          // Remove from cache
-          sector_cache.remove(new Integer(i));
-        }
+        // Remove from cache
+        removeCachedSector(i);
         delete_head = i;
 
         ++delete_count;
@@ -844,6 +844,24 @@ public class FunctionTable extends DefaultDataTable {
       return cell.getCell();
     }
 
+    /**
+     * Returns the sum of the given variable over this group as found from a
+     * columnar store at the root of the reference table.  Returns null if
+     * the variable is not backed by a columnar store.
+     */
+    Object columnarSum(Variable variable) {
+      int col_index = getReferenceTable().fastFindFieldName(variable);
+      if (col_index == -1) {
+        throw new Error("Can't find column: " + variable);
+      }
+
+      ensureGroup();
+
+      // NOTE: 'columnarSum' mangles the row set so we give it a copy.
+      return getReferenceTable().columnarSum(col_index,
+                                             new IntegerVector(group));
+    }
+
     public VariableResolver getVariableResolver(int set_index) {
       TableGVResolver resolver = createVariableResolver();
       resolver.setIndex(set_index);
@@ -61,6 +61,16 @@ final class GTStatisticsDataSource extends GTDataSource {
    */
   public GTStatisticsDataSource init() {
 
+    // Publish the cell cache counters before the stats are read.
+    DataCellCache cache = getSystem().getDataCellCache();
+    if (cache != null) {
+      cache.publishStats();
+    }
+    OffHeapCellCache offheap_cache = getSystem().getOffHeapCellCache();
+    if (offheap_cache != null) {
+      offheap_cache.publishStats();
+    }
+
     synchronized (stats) {
       stats.set((int) (Runtime.getRuntime().freeMemory() / 1024),
                                                     "Runtime.memory.freeKB");
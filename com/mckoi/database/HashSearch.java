@@ -0,0 +1,776 @@
+/**
+ * com.mckoi.database.HashSearch  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import com.mckoi.util.IntegerVector;
+import com.mckoi.util.IntegerIterator;
+import com.mckoi.util.BlockIntegerList;
+import com.mckoi.util.IntegerListInterface;
+import com.mckoi.util.ByteArrayUtil;
+import com.mckoi.util.Cache;
+import java.math.BigDecimal;
+import java.io.*;
+
+/**
+ * A SelectableScheme that stores the index of a column as a hash table in
+ * the pages of the table's IndexStore.  An equality select (a range that is
+ * a single value) hashes the value and only reads the rows in one bucket,
+ * so a lookup costs the same regardless of the size of the table.  This
+ * is intended for key/value style columns that are only ever searched by
+ * equality (for example, the id of a record).
+ * <p>
+ * The table is a linear hash table.  When the average number of entries in
+ * a bucket goes over the load limit the next bucket in turn is split in
+ * two, and when it goes below a quarter of the limit the last bucket is
+ * merged back in to its pair.  The table is therefore resized one bucket
+ * at a time as rows are added and removed.  An entry in a bucket is the
+ * hash of the value and the row number, and a bucket is stored as a chain
+ * of pages.
+ * <p>
+ * The hash table has no order so all other selects (ranges, first/last,
+ * and ordering a set of rows) are made by scanning the table as BlindSearch
+ * does.
+ * <p>
+ * As with BTreeSearch, a bucket read from the store is immutable and is
+ * cached by page number.  A changed bucket is private to the scheme and is
+ * written to the store when the IndexSet the scheme was created from is
+ * committed.  The size of the table and the page of each bucket are stored
+ * in the index list of the column in the IndexSet.
+ * <p>
+ * This scheme is selected by setting the index scheme of a column to
+ * "Hash" (see DataTableColumnDef.setIndexScheme).
+ *
+ * @author agent
+ */
+
+public final class HashSearch extends BlindSearch
+                              implements IndexSet.CommitListener {
+
+  /**
+   * The type marker stored in the first byte of a bucket page.
+   */
+  private static final byte BUCKET = 3;
+
+  /**
+   * The size of the page header (type byte + short entry count + int next
+   * page).
+   */
+  private static final int HEADER_SIZE = 7;
+
+  /**
+   * The size of an entry (int hash + int row).
+   */
+  private static final int ENTRY_SIZE = 8;
+
+  /**
+   * The number of values at the start of the root list before the bucket
+   * pages (level, split and entry count).
+   */
+  private static final int ROOT_HEADER = 3;
+
+  /**
+   * The IndexSet the table is stored in.
+   */
+  private IndexSet index_set;
+
+  /**
+   * The list in the IndexSet that stores the size of the table and the
+   * page of each bucket.  Empty if the table has never been written.
+   */
+  private IntegerListInterface root_list;
+
+  /**
+   * The cache of immutable buckets keyed by the first page of the bucket.
+   * This is shared by all the schemes of the column in the master table.
+   */
+  private final Cache bucket_cache;
+
+  /**
+   * The size of a page and the number of entries that fit in a page.
+   */
+  private final int page_size;
+  private final int page_entries;
+
+  /**
+   * The average number of entries in a bucket above which a bucket is
+   * split.
+   */
+  private final int load_limit;
+
+  /**
+   * The linear hash state.  There are (1 << level) + split buckets.  The
+   * buckets before 'split' have been split in the current level.
+   */
+  private int level;
+  private int split;
+  private int bucket_count;
+
+  /**
+   * The number of entries in the table.
+   */
+  private int entry_count;
+
+  /**
+   * The first page of each bucket, or -1 if the bucket is empty or private.
+   */
+  private int[] bucket_pages;
+
+  /**
+   * The private buckets of this scheme (null for a bucket that has not been
+   * changed).
+   */
+  private Bucket[] private_buckets;
+
+  /**
+   * The pages of the buckets that were copied or removed since the table
+   * was read from the IndexSet.
+   */
+  private IntegerVector replaced_pages;
+
+  /**
+   * Set to true when the table is changed.
+   */
+  private boolean changed;
+
+  /**
+   * Constructs the scheme over the hash table stored in the given IndexSet.
+   * The table is read from the index list 'column + 1' of the set.
+   */
+  HashSearch(TableDataSource table, int column,
+             IndexSet index_set, Cache bucket_cache) {
+    super(table, column);
+    this.index_set = index_set;
+    this.bucket_cache = bucket_cache;
+    this.page_size = index_set.getPageSize();
+    this.page_entries = (page_size - HEADER_SIZE) / ENTRY_SIZE;
+    this.load_limit = Math.max((page_entries * 3) / 4, 1);
+    this.replaced_pages = new IntegerVector();
+
+    root_list = index_set.getIndex(column + 1);
+    if (root_list.size() >= ROOT_HEADER + 1) {
+      level = root_list.get(0);
+      split = root_list.get(1);
+      entry_count = root_list.get(2);
+      bucket_count = root_list.size() - ROOT_HEADER;
+      if (bucket_count != (1 << level) + split) {
+        throw new Error("HashSearch table size is corrupt.");
+      }
+      bucket_pages = new int[bucket_count];
+      IntegerIterator i = root_list.iterator(ROOT_HEADER, root_list.size() - 1);
+      for (int n = 0; n < bucket_count; ++n) {
+        bucket_pages[n] = i.next();
+      }
+    }
+    else {
+      level = 0;
+      split = 0;
+      entry_count = 0;
+      bucket_count = 1;
+      bucket_pages = new int[] { -1 };
+    }
+    private_buckets = new Bucket[bucket_pages.length];
+
+    // The table is written when the set is committed.
+    index_set.addCommitListener(this);
+  }
+
+  /**
+   * Constructs this as a copy of the given scheme.  Private buckets are
+   * copied, buckets read from the store are shared.
+   */
+  private HashSearch(TableDataSource table, HashSearch from,
+                     boolean immutable) {
+    super(table, from.getColumn());
+    // The copy reads pages from the same set but it isn't registered to
+    // write the table when the set is committed.
+    this.index_set = from.index_set;
+    this.root_list = null;
+    this.bucket_cache = from.bucket_cache;
+    this.page_size = from.page_size;
+    this.page_entries = from.page_entries;
+    this.load_limit = from.load_limit;
+    this.replaced_pages = new IntegerVector();
+
+    this.level = from.level;
+    this.split = from.split;
+    this.bucket_count = from.bucket_count;
+    this.entry_count = from.entry_count;
+    this.bucket_pages = new int[from.bucket_pages.length];
+    System.arraycopy(from.bucket_pages, 0, bucket_pages, 0, bucket_count);
+    this.private_buckets = new Bucket[from.private_buckets.length];
+    for (int i = 0; i < bucket_count; ++i) {
+      Bucket b = from.private_buckets[i];
+      if (b != null) {
+        private_buckets[i] = b.copy();
+      }
+    }
+
+    if (immutable) {
+      setImmutable();
+    }
+  }
+
+  // ---------- Buckets ----------
+
+  /**
+   * A bucket of the table.  Entries are not in any order.
+   */
+  private static final class Bucket {
+
+    /**
+     * The pages this bucket is stored in, or null if this is a private
+     * bucket that has not been written yet.
+     */
+    int[] pages;
+
+    int size;
+    int[] hashes;
+    int[] rows;
+
+    Bucket(int capacity) {
+      hashes = new int[capacity];
+      rows = new int[capacity];
+    }
+
+    void add(int hash, int row) {
+      if (size >= rows.length) {
+        int new_size = rows.length * 2 + 4;
+        int[] new_hashes = new int[new_size];
+        int[] new_rows = new int[new_size];
+        System.arraycopy(hashes, 0, new_hashes, 0, size);
+        System.arraycopy(rows, 0, new_rows, 0, size);
+        hashes = new_hashes;
+        rows = new_rows;
+      }
+      hashes[size] = hash;
+      rows[size] = row;
+      ++size;
+    }
+
+    /**
+     * Removes the given entry, returns false if it isn't in the bucket.
+     */
+    boolean remove(int hash, int row) {
+      for (int i = 0; i < size; ++i) {
+        if (rows[i] == row && hashes[i] == hash) {
+          --size;
+          hashes[i] = hashes[size];
+          rows[i] = rows[size];
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Returns a private copy of this bucket.
+     */
+    Bucket copy() {
+      Bucket b = new Bucket(Math.max(size + 1, 8));
+      b.size = size;
+      System.arraycopy(hashes, 0, b.hashes, 0, size);
+      System.arraycopy(rows, 0, b.rows, 0, size);
+      return b;
+    }
+
+  }
+
+  /**
+   * Returns the hash code of a value.  Values that compare as equal have
+   * the same hash code.
+   */
+  private static int hashOf(DataCell cell) {
+    Object ob = cell.getCell();
+    int h;
+    if (ob == null) {
+      h = 0;
+    }
+    else if (ob instanceof BigDecimal) {
+      // Numerically equal values with a different scale (1.0 and 1.00)
+      // compare as equal so we hash the double value.
+      long bits = Double.doubleToLongBits(((BigDecimal) ob).doubleValue());
+      h = (int) (bits ^ (bits >>> 32));
+    }
+    else {
+      h = ob.hashCode();
+    }
+    // Spread the bits because the table is addressed by the low bits.
+    h ^= (h >>> 16);
+    h *= 0x85EBCA6B;
+    h ^= (h >>> 13);
+    return h;
+  }
+
+  /**
+   * Returns the bucket the given hash code is in.
+   */
+  private int bucketOf(int hash) {
+    int b = hash & ((1 << level) - 1);
+    if (b < split) {
+      b = hash & ((2 << level) - 1);
+    }
+    return b;
+  }
+
+  /**
+   * Returns the given bucket, or null if the bucket is empty.
+   */
+  private Bucket bucketAt(int i) {
+    Bucket b = private_buckets[i];
+    if (b != null) {
+      return b;
+    }
+    int page = bucket_pages[i];
+    return (page == -1) ? null : loadBucket(page);
+  }
+
+  /**
+   * Returns a private copy of the given bucket that may be changed.
+   */
+  private Bucket writableBucket(int i) {
+    Bucket b = private_buckets[i];
+    if (b == null) {
+      int page = bucket_pages[i];
+      if (page == -1) {
+        b = new Bucket(8);
+      }
+      else {
+        Bucket stored = loadBucket(page);
+        replacePages(stored);
+        b = stored.copy();
+      }
+      bucket_pages[i] = -1;
+      private_buckets[i] = b;
+    }
+    changed = true;
+    return b;
+  }
+
+  /**
+   * Notes that the pages of the given bucket are no longer used by this
+   * table.
+   */
+  private void replacePages(Bucket b) {
+    if (b.pages != null) {
+      for (int n = 0; n < b.pages.length; ++n) {
+        replaced_pages.addInt(b.pages[n]);
+      }
+    }
+  }
+
+  /**
+   * Makes sure the bucket arrays have room for one more bucket.
+   */
+  private void ensureCapacity() {
+    if (bucket_count >= bucket_pages.length) {
+      int new_size = bucket_pages.length * 2;
+      int[] new_pages = new int[new_size];
+      Bucket[] new_buckets = new Bucket[new_size];
+      System.arraycopy(bucket_pages, 0, new_pages, 0, bucket_count);
+      System.arraycopy(private_buckets, 0, new_buckets, 0, bucket_count);
+      bucket_pages = new_pages;
+      private_buckets = new_buckets;
+    }
+  }
+
+  /**
+   * Splits the next bucket in turn, adding one bucket to the table.
+   */
+  private void splitBucket() {
+    int half = 1 << level;
+    int from = split;
+    int to = split + half;
+    int mask = (2 << level) - 1;
+
+    ensureCapacity();
+    Bucket src = writableBucket(from);
+    Bucket dest = new Bucket(Math.max(src.size / 2, 8));
+    int i = 0;
+    while (i < src.size) {
+      int hash = src.hashes[i];
+      if ((hash & mask) != from) {
+        dest.add(hash, src.rows[i]);
+        --src.size;
+        src.hashes[i] = src.hashes[src.size];
+        src.rows[i] = src.rows[src.size];
+      }
+      else {
+        ++i;
+      }
+    }
+    bucket_pages[to] = -1;
+    private_buckets[to] = dest;
+    ++bucket_count;
+
+    ++split;
+    if (split == half) {
+      ++level;
+      split = 0;
+    }
+    getSystem().stats().increment("HashSearch.bucket_splits");
+  }
+
+  /**
+   * Merges the last bucket in to its pair, removing one bucket from the
+   * table.
+   */
+  private void mergeBucket() {
+    if (split == 0) {
+      --level;
+      split = 1 << level;
+    }
+    --split;
+    int last = bucket_count - 1;
+
+    Bucket src = bucketAt(last);
+    if (src != null) {
+      Bucket dest = writableBucket(split);
+      for (int i = 0; i < src.size; ++i) {
+        dest.add(src.hashes[i], src.rows[i]);
+      }
+      if (private_buckets[last] == null) {
+        replacePages(src);
+      }
+    }
+    bucket_pages[last] = -1;
+    private_buckets[last] = null;
+    --bucket_count;
+    changed = true;
+  }
+
+  // ---------- Storage ----------
+
+  /**
+   * Reads the bucket that starts at the given page from the cache or the
+   * store.
+   */
+  private Bucket loadBucket(int page) {
+    Integer key = new Integer(page);
+    synchronized (bucket_cache) {
+      Bucket b = (Bucket) bucket_cache.get(key);
+      if (b != null) {
+        return b;
+      }
+    }
+
+    Bucket b = new Bucket(page_entries);
+    IntegerVector pages = new IntegerVector(2);
+    try {
+      int p = page;
+      while (p != -1) {
+        byte[] buf = index_set.readPage(p);
+        if (buf[0] != BUCKET) {
+          throw new IOException("Page " + p + " is not a HashSearch bucket.");
+        }
+        int size = ByteArrayUtil.getShort(buf, 1) & 0x0FFFF;
+        int pos = HEADER_SIZE;
+        for (int i = 0; i < size; ++i) {
+          b.add(ByteArrayUtil.getInt(buf, pos),
+                ByteArrayUtil.getInt(buf, pos + 4));
+          pos += ENTRY_SIZE;
+        }
+        pages.addInt(p);
+        p = ByteArrayUtil.getInt(buf, 3);
+        getSystem().stats().increment("HashSearch.pages_read");
+      }
+    }
+    catch (IOException e) {
+      Debug().writeException(e);
+      throw new Error("IO Error: " + e.getMessage());
+    }
+    b.pages = pages.toIntArray();
+
+    synchronized (bucket_cache) {
+      bucket_cache.put(key, b);
+    }
+    return b;
+  }
+
+  /**
+   * Writes the given private bucket to the store and returns the first page
+   * of the bucket, or -1 if the bucket is empty.
+   */
+  private int writeBucket(IndexSet set, Bucket b) throws IOException {
+    if (b.size == 0) {
+      return -1;
+    }
+    int page_count = (b.size + page_entries - 1) / page_entries;
+    int[] pages = new int[page_count];
+    // Write the pages from the end of the chain so each page knows the
+    // page after it.
+    int next = -1;
+    for (int n = page_count - 1; n >= 0; --n) {
+      int start = n * page_entries;
+      int count = Math.min(b.size - start, page_entries);
+      byte[] buf = new byte[page_size];
+      buf[0] = BUCKET;
+      ByteArrayUtil.setShort((short) count, buf, 1);
+      ByteArrayUtil.setInt(next, buf, 3);
+      int pos = HEADER_SIZE;
+      for (int i = start; i < start + count; ++i) {
+        ByteArrayUtil.setInt(b.hashes[i], buf, pos);
+        ByteArrayUtil.setInt(b.rows[i], buf, pos + 4);
+        pos += ENTRY_SIZE;
+      }
+      next = set.writePage(buf);
+      pages[n] = next;
+      getSystem().stats().increment("HashSearch.pages_written");
+    }
+    b.pages = pages;
+
+    synchronized (bucket_cache) {
+      bucket_cache.put(new Integer(next), b);
+    }
+    return next;
+  }
+
+  // ---------- Implemented from IndexSet.CommitListener ----------
+
+  /**
+   * Writes all the private buckets to the store and updates the root list
+   * in the set.
+   */
+  public void indexSetCommit(IndexSet set) throws IOException {
+    if (set != index_set) {
+      throw new Error("Committed an IndexSet this scheme is not part of.");
+    }
+    if (!changed) {
+      return;
+    }
+
+    for (int i = 0; i < replaced_pages.size(); ++i) {
+      set.deletePage(replaced_pages.intAt(i));
+    }
+    replaced_pages = new IntegerVector();
+
+    for (int i = 0; i < bucket_count; ++i) {
+      Bucket b = private_buckets[i];
+      if (b != null) {
+        bucket_pages[i] = writeBucket(set, b);
+        private_buckets[i] = null;
+      }
+    }
+
+    // Only the changed values of the root list are updated.
+    setRootValue(0, level);
+    setRootValue(1, split);
+    setRootValue(2, entry_count);
+    for (int i = 0; i < bucket_count; ++i) {
+      setRootValue(ROOT_HEADER + i, bucket_pages[i]);
+    }
+    while (root_list.size() > ROOT_HEADER + bucket_count) {
+      root_list.remove(root_list.size() - 1);
+    }
+    changed = false;
+  }
+
+  /**
+   * Sets the value at the given position of the root list.
+   */
+  private void setRootValue(int pos, int val) {
+    if (pos >= root_list.size()) {
+      root_list.add(val);
+    }
+    else if (root_list.get(pos) != val) {
+      root_list.remove(pos);
+      root_list.add(val, pos);
+    }
+  }
+
+  // ---------- Modification ----------
+
+  /**
+   * Inserts a row into the table.  This will always be thread safe, table
+   * changes cause a write lock which prevents reads while we are writing to
+   * the table.
+   */
+  public void insert(int row) {
+    if (isImmutable()) {
+      throw new Error("Tried to change an immutable scheme.");
+    }
+    int hash = hashOf(getCellContents(row));
+    writableBucket(bucketOf(hash)).add(hash, row);
+    ++entry_count;
+    if (entry_count > bucket_count * load_limit) {
+      splitBucket();
+    }
+  }
+
+  /**
+   * Removes a row from the table.  This will always be thread safe, table
+   * changes cause a write lock which prevents reads while we are writing to
+   * the table.
+   */
+  public void remove(int row) {
+    if (isImmutable()) {
+      throw new Error("Tried to change an immutable scheme.");
+    }
+    int hash = hashOf(getCellContents(row));
+    if (!writableBucket(bucketOf(hash)).remove(hash, row)) {
+      throw new Error("Row " + row + " was not found in the HashSearch.");
+    }
+    --entry_count;
+    if (bucket_count > 1 && entry_count < (bucket_count * load_limit) / 4) {
+      mergeBucket();
+    }
+  }
+
+  /**
+   * Reads the entire state of the scheme from the input stream.  Throws an
+   * exception if the scheme is not empty.
+   */
+  public void readFrom(InputStream in) throws IOException {
+    if (entry_count != 0) {
+      throw new RuntimeException(
+                      "Error reading scheme, already a set in the Scheme");
+    }
+    DataInputStream din = new DataInputStream(in);
+    int vec_size = din.readInt();
+    for (int i = 0; i < vec_size; ++i) {
+      int row = din.readInt();
+      if (row < 0) {
+        throw new IOException("Scheme contains out of table bounds index.");
+      }
+      insert(row);
+    }
+  }
+
+  /**
+   * Writes the entire state of the scheme to the output stream.
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    DataOutputStream dout = new DataOutputStream(out);
+    IntegerVector rows = selectAll();
+    int sz = rows.size();
+    dout.writeInt(sz);
+    for (int i = 0; i < sz; ++i) {
+      dout.writeInt(rows.intAt(i));
+    }
+  }
+
+  /**
+   * Returns a copy of this scheme.  The copy shares the immutable buckets of
+   * the table with this scheme and can not be written to the store.
+   */
+  public SelectableScheme copy(TableDataSource table, boolean immutable) {
+    return new HashSearch(table, this, immutable);
+  }
+
+  /**
+   * Disposes this scheme.
+   */
+  public void dispose() {
+    bucket_pages = null;
+    private_buckets = null;
+    root_list = null;
+    index_set = null;
+    replaced_pages = null;
+  }
+
+  // ---------- Select operations ----------
+
+  /**
+   * Returns true if the range is a single value that can be looked up in
+   * the hash table.
+   */
+  private static boolean isSingleValue(SelectableRange range) {
+    Object start = range.getStart();
+    Object end = range.getEnd();
+    if (range.getStartFlag() != SelectableRange.FIRST_VALUE ||
+        range.getEndFlag() != SelectableRange.LAST_VALUE ||
+        !(start instanceof DataCell) || !(end instanceof DataCell)) {
+      return false;
+    }
+    return start == end ||
+           (start.getClass() == end.getClass() &&
+            ((DataCell) start).compareTo((DataCell) end) == 0);
+  }
+
+  /**
+   * Adds the rows with the given value to 'ivec' in ascending row order.
+   */
+  private void addEqual(DataCell cell, IntegerVector ivec) {
+    int hash = hashOf(cell);
+    Bucket b = bucketAt(bucketOf(hash));
+    getSystem().stats().increment("HashSearch.lookups");
+    if (b == null) {
+      return;
+    }
+    IntegerVector found = new IntegerVector();
+    for (int i = 0; i < b.size; ++i) {
+      if (b.hashes[i] == hash) {
+        int row = b.rows[i];
+        if (getCellContents(row).compareTo(cell) == 0) {
+          found.addInt(row);
+        }
+      }
+    }
+    found.quickSort();
+    ivec.append(found);
+  }
+
+  /**
+   * Returns all the rows in the table in order.  The rows are sorted in one
+   * go rather than by the insert sort of BlindSearch.
+   */
+  public IntegerVector selectAll() {
+    IntegerVector row_set = new IntegerVector(entry_count + 1);
+    RowEnumeration e = getTable().rowEnumeration();
+    while (e.hasMoreRows()) {
+      row_set.addInt(e.nextRowIndex());
+    }
+    BlockIntegerList order = internalOrderIndexSet(row_set);
+    IntegerVector ivec = new IntegerVector(row_set.size());
+    IntegerIterator i = order.iterator();
+    while (i.hasNext()) {
+      ivec.addInt(row_set.intAt(i.next()));
+    }
+    return ivec;
+  }
+
+  public IntegerVector selectRange(SelectableRange range) {
+    if (isSingleValue(range)) {
+      IntegerVector ivec = new IntegerVector();
+      addEqual((DataCell) range.getStart(), ivec);
+      return ivec;
+    }
+    return super.selectRange(range);
+  }
+
+  public IntegerVector selectRange(SelectableRange[] ranges) {
+    for (int i = 0; i < ranges.length; ++i) {
+      if (!isSingleValue(ranges[i])) {
+        return super.selectRange(ranges);
+      }
+    }
+    // The ranges are in order so the result is in order.
+    IntegerVector ivec = new IntegerVector();
+    for (int i = 0; i < ranges.length; ++i) {
+      addEqual((DataCell) ranges[i].getStart(), ivec);
+    }
+    return ivec;
+  }
+
+}
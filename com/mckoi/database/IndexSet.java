@@ -24,6 +24,7 @@
 
 package com.mckoi.database;
 
+import java.io.IOException;
 import com.mckoi.util.IntegerListInterface;
 
 /**
@@ -46,4 +47,52 @@ public interface IndexSet {
    */
   void dispose();
 
+  // ---------- Paged structures ----------
+  // An index that is not a list of integers (for example, the nodes of a
+  // BTreeSearch scheme) may store its pages in the same store as the lists.
+
+  /**
+   * Returns the size in bytes of a page in this set.
+   */
+  int getPageSize();
+
+  /**
+   * Returns the content of a page that was written by 'writePage'.  The
+   * returned array is 'getPageSize()' bytes long.
+   */
+  byte[] readPage(int page) throws IOException;
+
+  /**
+   * Writes a new page to the store and returns the page number.  This may
+   * only be called by a CommitListener while this set is being committed.
+   */
+  int writePage(byte[] buf) throws IOException;
+
+  /**
+   * Notes that the given page is no longer referenced by the state being
+   * committed.  The page is reclaimed once no older set can see it.  This
+   * may only be called by a CommitListener while this set is being
+   * committed.
+   */
+  void deletePage(int page);
+
+  /**
+   * Adds a listener that is notified when this set is committed.  The
+   * listener is notified before the index lists are written so it may
+   * update them.
+   */
+  void addCommitListener(CommitListener listener);
+
+  /**
+   * A listener that is notified when an IndexSet is committed.
+   */
+  public static interface CommitListener {
+
+    /**
+     * Called when the given set is being committed.
+     */
+    void indexSetCommit(IndexSet index_set) throws IOException;
+
+  }
+
 }
@@ -101,9 +101,14 @@ public final class IndexStore {
    *                      (short) of each block in this list.
    *   9 + (n * (4 + 4 + 4 + 2)) .... [ next block ] ....
    * </pre>
+   * Each entry is kept in its own array so a version of the list can share
+   * the entries that didn't change with the version before it.  The arrays
+   * of a version are never changed once the version is made, so a snapshot
+   * is taken by holding the current version of the list, and a commit only
+   * makes new arrays for the entries it changed.  The entries are joined
+   * together when the list is written to the file.
    */
-  private ByteBuffer index_table_list;
-  private byte[] index_table_list_buf;
+  private byte[][] index_tables;
 
   /**
    * The start sector where the block allocation information is currently
@@ -142,6 +147,13 @@ public final class IndexStore {
   private Cache sector_cache;
 //  private long cache_hit = 0, cache_miss = 0, cache_access = 0;
 
+  /**
+   * The BufferPool the int[] array blocks are cached in instead of
+   * 'sector_cache' if this store shares a pool with other stores (may be
+   * null).
+   */
+  private BufferPool buffer_pool;
+
   /**
    * Constructs the IndexStore.
    *
@@ -158,6 +170,33 @@ public final class IndexStore {
 
   // ---------- Private methods ----------
 
+  /**
+   * Returns the cached int[] array block of the given sector, or null if it
+   * is not cached.
+   */
+  private int[] getCachedBlock(int sector) {
+    if (buffer_pool != null) {
+      return (int[]) buffer_pool.get(this, sector);
+    }
+    synchronized (sector_cache) {
+      return (int[]) sector_cache.get(new Integer(sector));
+    }
+  }
+
+  /**
+   * Puts the int[] array block of the given sector in the cache.
+   */
+  private void putCachedBlock(int sector, int[] array) {
+    if (buffer_pool != null) {
+      buffer_pool.put(this, sector, array, array.length * 4);
+    }
+    else {
+      synchronized (sector_cache) {
+        sector_cache.put(new Integer(sector), array);
+      }
+    }
+  }
+
   /**
    * Reads the index table allocation list in to the ByteBuffer object.  The
    * position of the table allocation list can be determined by looking in the
@@ -170,12 +209,47 @@ public final class IndexStore {
     allocation_sector = ByteArrayUtil.getInt(buf, 0);
     allocation_length = ByteArrayUtil.getInt(buf, 4);
     unique_id = ByteArrayUtil.getLong(buf, 8);
-    // Read the entire allocation information into the ByteBuffer
+    // Read the entire allocation information and split it into the entry
+    // of each list.
     buf = new byte[allocation_length];
     index_store.readAcross(allocation_sector, buf, 0, allocation_length);
-    index_table_list_buf = new byte[allocation_length];
-    index_table_list = new ByteBuffer(index_table_list_buf);
-    index_table_list.put(buf);
+    index_tables = splitTables(buf);
+  }
+
+  /**
+   * Splits an allocation table read from the file into the entry of each
+   * index list.
+   */
+  private static byte[][] splitTables(byte[] table) {
+    ArrayList entries = new ArrayList();
+    int p = 0;
+    while (p < table.length) {
+      int block_count = ByteArrayUtil.getInt(table, p + 1);
+      int entry_size = 1 + 4 + 4 + (block_count * (4 + 4 + 4 + 2));
+      byte[] entry = new byte[entry_size];
+      System.arraycopy(table, p, entry, 0, entry_size);
+      entries.add(entry);
+      p += entry_size;
+    }
+    return (byte[][]) entries.toArray(new byte[entries.size()][]);
+  }
+
+  /**
+   * Joins the entries of the index lists into the allocation table that is
+   * written to the file.
+   */
+  private static byte[] joinTables(byte[][] tables) {
+    int size = 0;
+    for (int i = 0; i < tables.length; ++i) {
+      size += tables[i].length;
+    }
+    byte[] table = new byte[size];
+    int p = 0;
+    for (int i = 0; i < tables.length; ++i) {
+      System.arraycopy(tables[i], 0, table, p, tables[i].length);
+      p += tables[i].length;
+    }
+    return table;
   }
 
   /**
@@ -205,6 +279,18 @@ public final class IndexStore {
 
   // ---------- Public methods ----------
 
+  /**
+   * Sets the BufferPool the blocks of this store are cached in.  The pool is
+   * shared with other stores and replaces the cache of this store.  It has
+   * no effect if the pool is null.
+   */
+  synchronized void setBufferPool(BufferPool pool) {
+    if (pool != null) {
+      buffer_pool = pool;
+      sector_cache = null;
+    }
+  }
+
   /**
    * Returns true if the index store file exists.
    */
@@ -346,6 +432,7 @@ public final class IndexStore {
       BlockIntegerList sector_list = new BlockIntegerList();
 
       // Set to the start of the buffer
+      ByteBuffer index_table_list = new ByteBuffer(joinTables(index_tables));
       index_table_list.position(0);
 
       // Look at all the information in index_table_list and make sure it
@@ -449,7 +536,13 @@ public final class IndexStore {
    * Deletes the store.  Must have been closed before this is called.
    */
   public synchronized void delete() {
-    index_store.delete();
+    if (index_store == null) {
+      // The store was never opened.
+      file.delete();
+    }
+    else {
+      index_store.delete();
+    }
   }
 
   /**
@@ -460,12 +553,56 @@ public final class IndexStore {
     index_store.copyTo(path);
   }
 
+  /**
+   * Copies the version of the index lists in the given IndexSet to the
+   * given path while changes continue to be committed to this store.  The
+   * sectors of the lists in the set are not deleted until the set is
+   * disposed, so they can be copied without locking the store.  Other
+   * sectors are cleaned up in the copy by a repair, and the allocation
+   * table of the set is then written to the copy.
+   * <p>
+   * 'index_set' must be an IndexSet returned by 'getSnapshotIndexSet' that
+   * has not been changed, and it must not be disposed until this returns.
+   */
+  public void snapshotCopyTo(IndexSet index_set, File path)
+                                                          throws IOException {
+    SnapshotIndexSet snapshot = (SnapshotIndexSet) index_set;
+    long copy_unique_id;
+    synchronized (this) {
+      copy_unique_id = unique_id;
+    }
+
+    index_store.streamCopyTo(path);
+
+    FixedSizeDataStore copy = new FixedSizeDataStore(
+                  new File(path, file.getName()), -1, false, debug);
+    copy.open(false);
+    try {
+      // Any sector that isn't deleted in the copy is kept.  Sectors that were
+      // changed during the copy are at worst left as unused space.
+      copy.repair();
+      byte[] table = snapshot.copyAllocationTable();
+      int sector = copy.writeAcross(table, 0, table.length);
+      byte[] buf = new byte[32];
+      ByteArrayUtil.setInt(sector, buf, 0);
+      ByteArrayUtil.setInt(table.length, buf, 4);
+      ByteArrayUtil.setLong(copy_unique_id, buf, 8);
+      copy.writeReservedBuffer(buf, 0, 32);
+    }
+    finally {
+      copy.close();
+    }
+  }
+
   /**
    * Cleanly closes the index store.
    */
   public synchronized void close() throws IOException {
     index_store.close();
     sector_cache = null;
+    if (buffer_pool != null) {
+      buffer_pool.removeAll(this);
+    }
     memory_index_set_list = null;
     index_set_garbage = null;
   }
@@ -479,10 +616,10 @@ public final class IndexStore {
     // Grab hold of the old allocation information
     int old_sector = allocation_sector;
     int old_length = allocation_length;
-    // Write the index_table_list to the store
-    allocation_length = index_table_list_buf.length;
-    allocation_sector =
-        index_store.writeAcross(index_table_list_buf, 0, allocation_length);
+    // Write the index_tables to the store
+    byte[] table = joinTables(index_tables);
+    allocation_length = table.length;
+    allocation_sector = index_store.writeAcross(table, 0, allocation_length);
 
     // Write to the reserved area thus 'committing' the changes
     ByteArrayUtil.setInt(allocation_sector, flush_buffer, 0);
@@ -539,29 +676,28 @@ public final class IndexStore {
    */
   public synchronized void addIndexLists(int count, byte type) {
 
-    int add_size = count * (1 + 4 + 4);
-    ByteBuffer old_buffer = index_table_list;
-
-    // Create a new buffer
-    index_table_list_buf = new byte[old_buffer.limit() + add_size];
-    index_table_list = new ByteBuffer(index_table_list_buf);
-    // Put the old buffer in to the new buffer
-    old_buffer.position(0);
-    index_table_list.put(old_buffer);
+    // Create a new version of the list with the old entries in it
+    int old_count = index_tables.length;
+    byte[][] new_tables = new byte[old_count + count][];
+    System.arraycopy(index_tables, 0, new_tables, 0, old_count);
     // For each new list
     for (int i = 0; i < count; ++i) {
+      byte[] entry_buf = new byte[1 + 4 + 4];
+      ByteBuffer entry = new ByteBuffer(entry_buf);
       // The type of the block
-      index_table_list.putByte(type);
+      entry.putByte(type);
       // The number of blocks in the table list
-      index_table_list.putInt(0);
+      entry.putInt(0);
       // The sector of statistics information (defaults to -1)
-      index_table_list.putInt(-1);
+      entry.putInt(-1);
+      new_tables[old_count + i] = entry_buf;
 //      // Fill with empty entries
 //      for (int n = 0; n < INITIAL_BLOCK_SPARE_SPACE; ++n) {
 //        index_table_list.putInt(0);
 //        index_table_list.putShort((short) 0);
 //      }
     }
+    index_tables = new_tables;
   }
 
   /**
@@ -594,8 +730,8 @@ public final class IndexStore {
       throw new Error("IndexSet was not in the list!");
     }
 
-    // Add to the list of garbage if it has deleted sectors
-    if (s_index_set.hasDeletedSectors()) {
+    // Add to the list of garbage if it was committed and has deleted sectors
+    if (s_index_set.commit_id_key != -1 && s_index_set.hasDeletedSectors()) {
       index_set_garbage.add(index_set);
 
 //      // Check sorted
@@ -628,12 +764,12 @@ public final class IndexStore {
         lowest_id = ((SnapshotIndexSet) memory_index_set_list.get(0)).getID();
       }
 
-      // Delete all sectors in the garbage list that have an id lower than
-      // this.
+      // Delete all sectors in the garbage list that were committed before
+      // this set was made.
       boolean deleted;
       do {
         SnapshotIndexSet set = (SnapshotIndexSet) index_set_garbage.get(0);
-        deleted = set.getID() < lowest_id;
+        deleted = set.commit_id_key <= lowest_id;
 //        System.out.println(index_set_garbage.size());
         if (deleted) {
           // The list of sectors to delete
@@ -683,8 +819,7 @@ public final class IndexStore {
   public synchronized IndexSet getSnapshotIndexSet() {
     // We must guarentee that we can't generate SnapshotIndexSet
     // concurrently because it maintains its own ID key system.
-    IndexSet index_set =
-               new SnapshotIndexSet(index_table_list_buf, allocation_length);
+    IndexSet index_set = new SnapshotIndexSet(index_tables);
     addIndexSetToList(index_set);
     return index_set;
   }
@@ -692,13 +827,15 @@ public final class IndexStore {
   /**
    * Commits changes made to a snapshop of an IndexSet as being permanent
    * changes to the state of the index store.  This will generate an error if
-   * the given IndexSet is not the last set returned from the
-   * 'getSnapshotIndexSet' method.
+   * the given IndexSet is not a snapshot of the version of the indexes that
+   * is currently committed.
    * <p>
    * For this to be used, during the transaction commit function a
    * 'getSnapshopIndexSet' must be obtained, changes made to it from info in
    * the journal, then a call to this method.  There must be a guarentee that
-   * 'getSnapshotIndexSet' is not called again during this process.
+   * no other set is committed during this process.  Other snapshots may be
+   * made during this process; they are of the version before the commit, so
+   * the sectors the commit deletes are kept until they are disposed.
    * <p>
    * NOTE: This doesn't write the updated information to the file.  You must
    *   call 'flush' to write the information to the store.
@@ -708,18 +845,17 @@ public final class IndexStore {
    */
   public synchronized void commitIndexSet(IndexSet index_set) {
 
-    // index_set must be the last in the list of memory_index_set_list
-    if (memory_index_set_list.get(memory_index_set_list.size() - 1) !=
-        index_set) {
+    SnapshotIndexSet iset = (SnapshotIndexSet) index_set;
+
+    // index_set must be a snapshot of the committed version
+    if (iset.tables != index_tables) {
       throw new Error("Can not commit IndexSet because it is not current.");
     }
 
-    SnapshotIndexSet iset = (SnapshotIndexSet) index_set;
-
-    byte[] new_buffer = iset.commit();
-    index_table_list_buf = new_buffer;
-    index_table_list =
-        new ByteBuffer(index_table_list_buf, 0, index_table_list_buf.length);
+    index_tables = iset.commit();
+    // Every set made before this point may use the sectors the commit
+    // deleted.
+    iset.commit_id_key = SET_ID_KEY;
 
 //    try {
 //      System.out.println("Index status: " + statusString());
@@ -767,14 +903,10 @@ public final class IndexStore {
     private long set_id;
 
     /**
-     * A snapshot of the allocation table.
-     */
-    private ByteBuffer buf;
-
-    /**
-     * The length of the allocation table.
+     * The version of the entries of the index lists this is a snapshot of,
+     * or null if the set is disposed.  The arrays are never changed.
      */
-    private int buf_length;
+    private byte[][] tables;
 
     /**
      * The list of IndexIntegerList objects that have been returned via the
@@ -788,6 +920,18 @@ public final class IndexStore {
      */
     private IntegerVector deleted_sectors;
 
+    /**
+     * The IndexSet.CommitListener objects notified when this set commits.
+     */
+    private ArrayList commit_listeners;
+
+    /**
+     * The id the next set was to be given when this set was committed, or
+     * -1 if this set isn't committed.  The sectors this set deleted are
+     * deleted once every set with a lower id is disposed.
+     */
+    private long commit_id_key = -1;
+
 //    /**
 //     * For debugging.
 //     */
@@ -797,24 +941,15 @@ public final class IndexStore {
     /**
      * Constructor.
      */
-    public SnapshotIndexSet(byte[] in_buf, int length) {
+    public SnapshotIndexSet(byte[][] tables) {
 //      DEBUG_CONSTRUCTOR = new Error();
 
       this.set_id = SET_ID_KEY;
       ++SET_ID_KEY;
 
-      // Wrap around a new ByteBuffer but we DON'T make a copy of the byte
-      // array itself.  We must be careful that the underlying byte[] array
-      // is protected from modifications (it's immutable).
-      this.buf = new ByteBuffer(in_buf);
-      this.buf_length = length;
-
-//      // Copy the snapshot of the buffer in to a new ByteBuffer object.
-//      byte[] new_buf = new byte[in_buf.limit()];
-//      in_buf.position(0);
-//      in_buf.get(new_buf, 0, new_buf.length);
-//      this.buf = new ByteBuffer(new_buf);
-//      this.buf_length = length;
+      // We DON'T make a copy of the tables.  The version is shared with the
+      // store and the other snapshots of it, and is never changed.
+      this.tables = tables;
 
 //      this.integer_lists = new ArrayList();
     }
@@ -834,11 +969,10 @@ public final class IndexStore {
     }
 
     /**
-     * Returns the ByteBuffer for the snapshot of this store when it was
-     * created.
+     * Returns a copy of the allocation table of this snapshot.
      */
-    private ByteBuffer getByteBuffer() {
-      return buf;
+    byte[] copyAllocationTable() {
+      return joinTables(tables);
     }
 
     /**
@@ -863,11 +997,12 @@ public final class IndexStore {
     }
 
     /**
-     * Creates a new buffer for an index store if it is committed.  This
-     * also sets up the 'deleted_sectors' list which is a list of records
-     * deleted when this store commits.
+     * Creates the new version of the index list entries for an index store
+     * if it is committed.  Only the entries of the lists that changed are
+     * made again.  This also sets up the 'deleted_sectors' list which is a
+     * list of records deleted when this store commits.
      */
-    byte[] commit() {
+    byte[][] commit() {
 
       if (deleted_sectors != null) {
         throw new Error("'deleted_sectors' contains sectors to delete.");
@@ -875,6 +1010,21 @@ public final class IndexStore {
 
       deleted_sectors = new IntegerVector();
 
+      // Let any paged structures write their pages and update their lists
+      // before the lists are made immutable.
+      if (commit_listeners != null) {
+        try {
+          for (int i = 0; i < commit_listeners.size(); ++i) {
+            ((CommitListener) commit_listeners.get(i)).indexSetCommit(this);
+          }
+        }
+        catch (IOException e) {
+          debug.writeException(e);
+          throw new Error(e.getMessage());
+        }
+        commit_listeners = null;
+      }
+
       // Look for any indices that have changed in the IndexSet.
       IndexIntegerList[] lists = getAllLists();
 
@@ -884,122 +1034,84 @@ public final class IndexStore {
         lists[i].setImmutable();
       }
 
-      // The new buffer we are making
-      ByteArrayOutputStream bout = new ByteArrayOutputStream();
-      DataOutputStream dout = new DataOutputStream(bout);
-
-      // The original snapshot buffer
-      ByteBuffer snapshot_buf = getByteBuffer();
-
-      synchronized (snapshot_buf) {
-        int buf_size = snapshot_buf.limit();
-        snapshot_buf.position(0);
-
-        try {
-
-          int index_num = 0;
-          while (snapshot_buf.position() < buf_size) {
-            // Read the information for this block
-            byte list_type = snapshot_buf.getByte();
-            int blocks_count = snapshot_buf.getInt();
-            int stat_sector = snapshot_buf.getInt();
-            byte[] buf = new byte[blocks_count * ( 4 + 4 + 4 + 2 )];
-            snapshot_buf.get(buf, 0, buf.length);
-
-//          System.out.println("blocks_count = " + blocks_count);
-//          System.out.println("blocks_capacity = " + blocks_capacity);
-
-            // Is this index in the list of tables that changed?
-            IndexIntegerList list = null;
-            for (int i = 0; i < sz && list == null; ++i) {
-              if (lists[i].getIndexNumber() == index_num) {
-                // Found this number
-                list = lists[i];
-              }
+      // The new version shares the entries of the lists that didn't change
+      // with this snapshot.
+      byte[][] new_tables = new byte[tables.length][];
+      System.arraycopy(tables, 0, new_tables, 0, tables.length);
+
+      try {
+
+        for (int i = 0; i < sz; ++i) {
+          IndexIntegerList list = lists[i];
+          int index_num = list.getIndexNumber();
+          // The type and the stat sector of the list don't change
+          byte[] old_entry = tables[index_num];
+          byte list_type = old_entry[0];
+          int stat_sector = ByteArrayUtil.getInt(old_entry, 1 + 4);
+
+          // The blocks that were deleted (if any).
+          MappedListBlock[] deleted_blocks = list.getDeletedBlocks();
+          for (int n = 0; n < deleted_blocks.length; ++n) {
+            // Put all deleted blocks on the list to GC
+            MappedListBlock block = (MappedListBlock) deleted_blocks[n];
+            // Make sure the block is mapped to a sector
+            int sector = block.getIndexSector();
+            if (sector != -1) {
+              deleted_sectors.addInt(sector);
             }
+          }
 
-            // We found the list in the set
-            if (list != null) {
-
-              // The blocks that were deleted (if any).
-              MappedListBlock[] deleted_blocks = list.getDeletedBlocks();
-              for (int n = 0; n < deleted_blocks.length; ++n) {
-                // Put all deleted blocks on the list to GC
-                MappedListBlock block = (MappedListBlock) deleted_blocks[n];
-                // Make sure the block is mapped to a sector
-                int sector = block.getIndexSector();
-                if (sector != -1) {
-                  deleted_sectors.addInt(sector);
-                }
-              }
-
-              // So we need to construct a new set.
-              // The blocks in the list,
-              MappedListBlock[] blocks = list.getAllBlocks();
-              blocks_count = blocks.length;
-              dout.writeByte(list_type);
-              dout.writeInt(blocks_count);
-              dout.writeInt(stat_sector);
-              // For each block
-              for (int n = 0; n < blocks_count; ++n) {
-                MappedListBlock block = blocks[n];
-                int bottom_int = 0;
-                int top_int = 0;
-                short block_size = (short) block.size();
-                if (block_size > 0) {
-                  bottom_int = block.bottomInt();
-                  top_int = block.topInt();
-                }
-                int block_sector = block.getIndexSector();
-                // Is the block new or was it changed?
-                if (block_sector == -1 || block.hasChanged()) {
-                  // If this isn't -1 then put this sector on the list of
-                  // sectors to delete during GC.
-                  if (block_sector != -1) {
-                    deleted_sectors.addInt(block_sector);
-                  }
-                  // This is a new block or a block that's been changed
-                  // Write the block to the file system
-                  block_sector = block.writeToStore();
-                }
-                // Write the sector
-                dout.writeInt(bottom_int);
-                dout.writeInt(top_int);
-                dout.writeInt(block_sector);
-                dout.writeShort(block_size);
-              }
-
+          // So we need to construct a new entry.
+          // The blocks in the list,
+          MappedListBlock[] blocks = list.getAllBlocks();
+          int blocks_count = blocks.length;
+          ByteArrayOutputStream bout = new ByteArrayOutputStream(
+                              1 + 4 + 4 + (blocks_count * (4 + 4 + 4 + 2)));
+          DataOutputStream dout = new DataOutputStream(bout);
+          dout.writeByte(list_type);
+          dout.writeInt(blocks_count);
+          dout.writeInt(stat_sector);
+          // For each block
+          for (int n = 0; n < blocks_count; ++n) {
+            MappedListBlock block = blocks[n];
+            int bottom_int = 0;
+            int top_int = 0;
+            short block_size = (short) block.size();
+            if (block_size > 0) {
+              bottom_int = block.bottomInt();
+              top_int = block.topInt();
             }
-            // We didn't find the list
-            else {
-
-              // So what we do is copy the contents of the buffer
-              dout.writeByte(list_type);
-              dout.writeInt(blocks_count);
-              dout.writeInt(stat_sector);
-              dout.write(buf, 0, buf.length);
-
+            int block_sector = block.getIndexSector();
+            // Is the block new or was it changed?
+            if (block_sector == -1 || block.hasChanged()) {
+              // If this isn't -1 then put this sector on the list of
+              // sectors to delete during GC.
+              if (block_sector != -1) {
+                deleted_sectors.addInt(block_sector);
+              }
+              // This is a new block or a block that's been changed
+              // Write the block to the file system
+              block_sector = block.writeToStore();
             }
-
-            ++index_num;
+            // Write the sector
+            dout.writeInt(bottom_int);
+            dout.writeInt(top_int);
+            dout.writeInt(block_sector);
+            dout.writeShort(block_size);
           }
-
-          // Flush the stream (strictly not necessary).
           dout.flush();
 
+          new_tables[index_num] = bout.toByteArray();
         }
-        catch (IOException e) {
-          debug.writeException(e);
-          throw new Error(e.getMessage());
-        }
-
-      }  // synchronized (snapshot_buf)
 
-      // The finished array
-      byte[] arr = bout.toByteArray();
+      }
+      catch (IOException e) {
+        debug.writeException(e);
+        throw new Error(e.getMessage());
+      }
 
-      // return the new buffer.
-      return arr;
+      // return the new version.
+      return new_tables;
 
     }
 
@@ -1016,8 +1128,7 @@ public final class IndexStore {
 //      int[] sector_list;
 //      short[] block_size;
       int original_n = n;
-      // Synchronize 'buf' for safe access.
-      synchronized(buf) {
+      synchronized(this) {
 
         // Create if not exist.
         if (integer_lists == null) {
@@ -1034,14 +1145,7 @@ public final class IndexStore {
           }
         }
 
-        buf.position(0);
-        while (n > 0) {
-          byte list_type = buf.getByte();  // Ignore
-          int offset = buf.getInt();
-          int stat_sector = buf.getInt();  // Ignore
-          buf.position(buf.position() + (offset * (4 + 4 + 4 + 2)));
-          --n;
-        }
+        ByteBuffer buf = new ByteBuffer(tables[n]);
         int list_type = buf.getByte();
         int list_size = buf.getInt();
         int list_stat_sector = buf.getInt();
@@ -1071,13 +1175,13 @@ public final class IndexStore {
         integer_lists.add(ilist);
         return ilist;
 
-      } // synchronized(buf)
+      } // synchronized(this)
 
     }
 
     public void dispose() {
       // Dispose all the integer lists created by this object.
-      synchronized (buf) {
+      synchronized (this) {
         if (integer_lists != null) {
           for (int i = 0; i < integer_lists.size(); ++i) {
             IndexIntegerList ilist = (IndexIntegerList) integer_lists.get(i);
@@ -1085,13 +1189,49 @@ public final class IndexStore {
           }
           integer_lists = null;
         }
+        commit_listeners = null;
+        tables = null;
       }
-      buf = null;
       removeIndexSetFromList(this);
     }
 
+    public int getPageSize() {
+      return block_size * 4;
+    }
+
+    public byte[] readPage(int page) throws IOException {
+      synchronized (IndexStore.this) {
+        return index_store.getSector(page);
+      }
+    }
+
+    public int writePage(byte[] page_buf) throws IOException {
+      if (deleted_sectors == null) {
+        throw new Error("Pages may only be written during commit.");
+      }
+      synchronized (IndexStore.this) {
+        return index_store.addSector(page_buf, 0, page_buf.length);
+      }
+    }
+
+    public void deletePage(int page) {
+      if (deleted_sectors == null) {
+        throw new Error("Pages may only be deleted during commit.");
+      }
+      deleted_sectors.addInt(page);
+    }
+
+    public void addCommitListener(CommitListener listener) {
+      synchronized (this) {
+        if (commit_listeners == null) {
+          commit_listeners = new ArrayList();
+        }
+        commit_listeners.add(listener);
+      }
+    }
+
     public void finalize() {
-      if (buf != null) {
+      if (tables != null) {
         debug.write(Lvl.WARNING, this, "IndexStore was not disposed!");
         // We remove it manually from the index set list
         removeIndexSetFromList(this);
@@ -1182,9 +1322,7 @@ public final class IndexStore {
       }
 
       // Write this sector to the cache
-      synchronized (sector_cache) {
-        sector_cache.put(new Integer(index_sector), array);
-      }
+      putCachedBlock(index_sector, array);
 
       // Once written, the block is invalidated
       lock = null;
@@ -1209,12 +1347,9 @@ public final class IndexStore {
         }
 
         // Pull this from a cache
-        Object elem;
-        synchronized (sector_cache) {
-          elem = sector_cache.get(new Integer(index_sector));
-        }
+        int[] elem = getCachedBlock(index_sector);
         if (elem != null) {
-          array = (int[]) elem;
+          array = elem;
           mutable_block = false;
           prepareMutate(immutable);
           return array;
@@ -1250,9 +1385,7 @@ public final class IndexStore {
 //          p += 4;
 //        }
         // Put in the cache
-        synchronized (sector_cache) {
-          sector_cache.put(new Integer(index_sector), (int[]) array);
-        }
+        putCachedBlock(index_sector, array);
         mutable_block = false;
         prepareMutate(immutable);
         return array;
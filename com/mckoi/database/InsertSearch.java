@@ -90,6 +90,13 @@ public final class InsertSearch extends SelectableScheme {
    */
   private RIDList rid_list;
 
+  /**
+   * The normalized key prefixes of the rows in this column in the master
+   * table, or null if the comparisons in searches always read the cell.
+   * This object may be shared between other schemes.
+   */
+  private KeyPrefixList key_prefixes;
+
 
 
 //  private String CONST_TRACE;
@@ -194,6 +201,7 @@ public final class InsertSearch extends SelectableScheme {
     RECORD_UID = from.RECORD_UID;
 
     rid_list = from.rid_list;
+    key_prefixes = from.key_prefixes;
 //    hash_uid_difference = from.hash_uid_difference;
 
 //    // Copy other variables.
@@ -223,6 +231,40 @@ public final class InsertSearch extends SelectableScheme {
     this.rid_list = rid_list;
   }
 
+  /**
+   * Sets the KeyPrefixList for this scheme for this column.
+   */
+  void setKeyPrefixList(KeyPrefixList key_prefixes) {
+    this.key_prefixes = key_prefixes;
+  }
+
+  /**
+   * A search key with the normalized prefix of the cell.
+   */
+  private static final class PrefixedKey {
+    final DataCell cell;
+    final long prefix;
+    PrefixedKey(DataCell cell, long prefix) {
+      this.cell = cell;
+      this.prefix = prefix;
+    }
+  }
+
+  /**
+   * Returns the object to search 'set_list' for the given cell with.  If
+   * the cell has a normalized prefix this is a PrefixedKey, otherwise the
+   * cell itself.
+   */
+  private Object searchKey(DataCell cell) {
+    if (key_prefixes != null) {
+      long prefix = key_prefixes.prefixOf(cell);
+      if (prefix != KeyPrefixList.NO_PREFIX) {
+        return new PrefixedKey(cell, prefix);
+      }
+    }
+    return cell;
+  }
+
   /**
    * Sets the internal comparator that enables us to sort and lookup on the
    * data in this column.
@@ -235,7 +277,29 @@ public final class InsertSearch extends SelectableScheme {
         return cell1.compareTo(cell2);
       }
 
+      private int prefixCompare(int index, PrefixedKey key) {
+        long row_prefix = key_prefixes.rowPrefix(index);
+        if (row_prefix >= 0) {
+          // Only read the cell if the prefixes are the same
+          if (row_prefix < key.prefix) {
+            return -1;
+          }
+          else if (row_prefix > key.prefix) {
+            return 1;
+          }
+          return internalCompare(index, key.cell);
+        }
+        DataCell cell1 = getCellContents(index);
+        if (row_prefix == KeyPrefixList.UNKNOWN) {
+          key_prefixes.setRowPrefix(index, key_prefixes.prefixOf(cell1));
+        }
+        return cell1.compareTo(key.cell);
+      }
+
       public int compare(int index, Object val) {
+        if (val instanceof PrefixedKey) {
+          return prefixCompare(index, (PrefixedKey) val);
+        }
         return internalCompare(index, (DataCell) val);
       }
       public int compare(int index1, int index2) {
@@ -261,7 +325,7 @@ public final class InsertSearch extends SelectableScheme {
     }
 
     DataCell cell = getCellContents(row);
-    set_list.insertSort(cell, row, set_comparator);
+    set_list.insertSort(searchKey(cell), row, set_comparator);
 
 //    [ This is now done when we insert a record into the master table ]
 //    if (rid_list != null) {
@@ -296,7 +360,7 @@ public final class InsertSearch extends SelectableScheme {
     }
 
     DataCell cell = getCellContents(row);
-    int removed = set_list.removeSort(cell, row, set_comparator);
+    int removed = set_list.removeSort(searchKey(cell), row, set_comparator);
 
     if (removed != row) {
       throw new Error("Removed value different than row asked to remove.  " +
@@ -769,6 +833,7 @@ public final class InsertSearch extends SelectableScheme {
     // Close and invalidate.
     set_list = null;
     rid_list = null;
+    key_prefixes = null;
     set_comparator = null;
   }
 
@@ -1072,7 +1137,7 @@ public final class InsertSearch extends SelectableScheme {
         else {
           cell = (DataCell) val;
         }
-        p = set_list.searchFirst(cell, safeSetComparator());
+        p = set_list.searchFirst(searchKey(cell), safeSetComparator());
         // (If value not found)
         if (p < 0) {
           return -(p + 1);
@@ -1090,7 +1155,7 @@ public final class InsertSearch extends SelectableScheme {
         else {
           cell = (DataCell) val;
         }
-        p = set_list.searchLast(cell, safeSetComparator());
+        p = set_list.searchLast(searchKey(cell), safeSetComparator());
         // (If value not found)
         if (p < 0) {
           return -(p + 1) - 1;
@@ -1108,7 +1173,7 @@ public final class InsertSearch extends SelectableScheme {
         else {
           cell = (DataCell) val;
         }
-        p = set_list.searchFirst(cell, safeSetComparator());
+        p = set_list.searchFirst(searchKey(cell), safeSetComparator());
         // (If value not found)
         if (p < 0) {
           return -(p + 1) - 1;
@@ -1126,7 +1191,7 @@ public final class InsertSearch extends SelectableScheme {
         else {
           cell = (DataCell) val;
         }
-        p = set_list.searchLast(cell, safeSetComparator());
+        p = set_list.searchLast(searchKey(cell), safeSetComparator());
         // (If value not found)
         if (p < 0) {
           return -(p + 1);
@@ -291,6 +291,11 @@ final class InternalFunctionFactory extends FunctionFactory {
       return ob2;
     }
 
+    Object evalColumnarAggregate(FunctionTable.TableGroupResolver group,
+                                 Variable v) {
+      return group.columnarSum(v);
+    }
+
     public Object postEvalAggregate(GroupResolver group, QueryContext context,
                                     Object result) {
       // Find the average from the sum result
@@ -323,6 +328,11 @@ final class InternalFunctionFactory extends FunctionFactory {
       return ob2;
     }
 
+    Object evalColumnarAggregate(FunctionTable.TableGroupResolver group,
+                                 Variable v) {
+      return group.columnarSum(v);
+    }
+
 
   }
 
@@ -0,0 +1,189 @@
+/**
+ * com.mckoi.database.KeyPrefixList  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import java.math.BigDecimal;
+import com.mckoi.database.global.Types;
+
+/**
+ * A normalized key prefix for each row of a column in a master table.  This
+ * is an optimization for the binary searches of InsertSearch.  The index
+ * lists in the IndexStore only contain row numbers, so every comparison in
+ * a search must read a cell from the table.  A prefix is a 62 bit order
+ * preserving encoding of the start of a value, such that if the prefix of
+ * 'a' is less than the prefix of 'b' then 'a' is less than 'b'.  Most
+ * comparisons in a search are resolved on the prefix alone and only
+ * comparisons with equal prefixes read the cell.
+ * <p>
+ * The prefixes of the supported types are;
+ * <pre>
+ *   NUMERIC - the order preserving bits of the double value.
+ *   STRING  - the first 4 characters.
+ *   BOOLEAN - 0 for false, 1 for true.
+ *   TIME    - the time in milliseconds.
+ * </pre>
+ * NULL cells have no prefix because the order of NULL differs between the
+ * types.
+ * <p>
+ * As with RIDList, a prefix is stored for a row when it is added to the
+ * master table.  Rows that were added before the list was created get
+ * their prefix the first time they are compared.
+ *
+ * @author agent
+ */
+
+final class KeyPrefixList {
+
+  /**
+   * Returned by 'prefixOf' for a cell that has no prefix.
+   */
+  static final long NO_PREFIX = -1;
+
+  /**
+   * Returned by 'rowPrefix' for a row whose prefix is not known.
+   */
+  static final long UNKNOWN = -2;
+
+  /**
+   * The type of the column.
+   */
+  private final int db_type;
+
+  /**
+   * The prefix of each row.
+   */
+  private long[] prefixes;
+
+  /**
+   * Constructs the list for a column of the given type.
+   */
+  KeyPrefixList(DataTableColumnDef column_def) {
+    this.db_type = column_def.getDBType();
+    this.prefixes = new long[0];
+  }
+
+  /**
+   * Returns true if a KeyPrefixList can be made for the given column.
+   */
+  static boolean isSupportedType(DataTableColumnDef column_def) {
+    int type = column_def.getDBType();
+    return type == Types.DB_NUMERIC || type == Types.DB_STRING ||
+           type == Types.DB_BOOLEAN || type == Types.DB_TIME;
+  }
+
+  /**
+   * Maps a long to a non-negative 62 bit value with the same order.
+   */
+  private static long toPrefix(long v) {
+    return (v ^ Long.MIN_VALUE) >>> 2;
+  }
+
+  /**
+   * Returns the prefix of the given cell, or NO_PREFIX if the cell has no
+   * prefix in this column.
+   */
+  long prefixOf(DataCell cell) {
+    if (cell.isNull()) {
+      return NO_PREFIX;
+    }
+    if (db_type == Types.DB_TIME && cell instanceof TimeDataCell) {
+      // The time is read from the cell so a Date isn't made.
+      return toPrefix(((TimeDataCell) cell).getTime());
+    }
+    Object ob = cell.getCell();
+    if (db_type == Types.DB_NUMERIC && cell instanceof DecimalDataCell) {
+      // doubleValue is correctly rounded so it never reverses the order of
+      // two values.
+      long bits = Double.doubleToLongBits(((BigDecimal) ob).doubleValue());
+      if (bits < 0) {
+        bits ^= Long.MAX_VALUE;
+      }
+      return toPrefix(bits);
+    }
+    else if (db_type == Types.DB_STRING && cell instanceof StringDataCell) {
+      String str = (String) ob;
+      int len = Math.min(str.length(), 4);
+      long v = 0;
+      for (int i = 0; i < 4; ++i) {
+        v <<= 16;
+        if (i < len) {
+          v |= str.charAt(i);
+        }
+      }
+      // 'v' is ordered as an unsigned value.
+      return v >>> 2;
+    }
+    else if (db_type == Types.DB_BOOLEAN && cell instanceof BooleanDataCell) {
+      return ((Boolean) ob).booleanValue() ? 1 : 0;
+    }
+    return NO_PREFIX;
+  }
+
+  /**
+   * Returns the prefix of the given row, NO_PREFIX if the row has no
+   * prefix or UNKNOWN if the prefix of the row is not known.
+   */
+  synchronized long rowPrefix(int row) {
+    if (row < prefixes.length) {
+      return prefixes[row];
+    }
+    return UNKNOWN;
+  }
+
+  /**
+   * Sets the prefix of the given row.
+   */
+  synchronized void setRowPrefix(int row, long prefix) {
+    if (row >= prefixes.length) {
+      int new_size = Math.max(row + 1, (prefixes.length * 3) / 2 + 64);
+      long[] new_prefixes = new long[new_size];
+      System.arraycopy(prefixes, 0, new_prefixes, 0, prefixes.length);
+      for (int i = prefixes.length; i < new_size; ++i) {
+        new_prefixes[i] = UNKNOWN;
+      }
+      prefixes = new_prefixes;
+    }
+    prefixes[row] = prefix;
+  }
+
+  /**
+   * Sets the prefix of the row from the given cell.  This is called when a
+   * row is added to the master table.
+   */
+  void put(int row, DataCell cell) {
+    setRowPrefix(row, prefixOf(cell));
+  }
+
+  /**
+   * Clears the given row.  This is called when the row is hard removed from
+   * the master table.
+   */
+  synchronized void remove(int row) {
+    if (row < prefixes.length) {
+      prefixes[row] = UNKNOWN;
+    }
+  }
+
+}
@@ -0,0 +1,118 @@
+/**
+ * com.mckoi.database.LargeBlobDataCell  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import com.mckoi.database.global.ByteLongObject;
+import java.io.IOException;
+import java.io.DataOutput;
+import java.io.DataInput;
+
+/**
+ * A BLOB that is kept in the LargeObjectStore of a table rather than in the
+ * row.  The cell only holds the record number and size of the blob, so it's
+ * cheap to read and cache.  The data is read from the store each time
+ * 'getCell' is called, or a piece at a time with 'readPart'.
+ * <p>
+ * The cell is valid while the row it was read from can't be removed from
+ * the table (for example, while the result it's part of is open).
+ *
+ * @author agent
+ */
+
+final class LargeBlobDataCell extends BlobDataCell {
+
+  /**
+   * The store the blob is in.
+   */
+  private final LargeObjectStore store;
+
+  /**
+   * The record of the blob in the store and its size in bytes.
+   */
+  private final int record;
+  private final int size;
+
+  /**
+   * Constructs the cell.
+   */
+  LargeBlobDataCell(LargeObjectStore store, int record, int size) {
+    super(Integer.MAX_VALUE);
+    this.store = store;
+    this.record = record;
+    this.size = size;
+  }
+
+  /**
+   * Reads all of the blob from the store.
+   */
+  private byte[] readAll() {
+    try {
+      return store.read(record, size);
+    }
+    catch (IOException e) {
+      throw new Error("IO Error reading large object: " + e.getMessage());
+    }
+  }
+
+  // ---------- Implemented from BlobDataCell ----------
+
+  public Object getCell() {
+    return new ByteLongObject(readAll());
+  }
+
+  public boolean isNull() {
+    return false;
+  }
+
+  public boolean isStoredOutOfRow() {
+    return true;
+  }
+
+  public long length() {
+    return size;
+  }
+
+  public void readPart(long position, byte[] buf, int offset, int length)
+                                                          throws IOException {
+    if (position < 0 || position + length > size) {
+      throw new IOException("Read past the end of the BLOB.");
+    }
+    store.read(record, position, buf, offset, length);
+  }
+
+  public int currentSizeOf() {
+    return 4 + 8 + 8;
+  }
+
+  public void writeTo(DataOutput out) throws IOException {
+    out.writeInt(size);
+    out.write(readAll());
+  }
+
+  public void readFrom(DataInput in) throws IOException {
+    throw new Error("A large object cell can't be read.");
+  }
+
+}
@@ -0,0 +1,252 @@
+/**
+ * com.mckoi.database.LargeObjectStore  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import java.io.*;
+import com.mckoi.debug.DebugLogger;
+import com.mckoi.util.UserTerminal;
+
+/**
+ * The store of the large strings and binary objects of a table that are
+ * kept out of the rows.  A row holds the record number and the size of a
+ * large object in place of its data, so reading the other cells of the row
+ * doesn't read the object, and the object is read only when it's used.
+ * <p>
+ * Each object is one uncompressed record in a VariableSizeDataStore, so any
+ * part of an object can be read without reading the parts before it.  This
+ * is how a BLOB is streamed to a client in pieces (see LargeBlobDataCell).
+ * The store files aren't created until the first object is written.
+ * <p>
+ * An object is never changed once it is written.  It is deleted when the
+ * row that references it is removed from the table.
+ *
+ * @author agent
+ */
+
+final class LargeObjectStore {
+
+  /**
+   * The size of the sectors of a new store.
+   */
+  private final static int SECTOR_SIZE = 2048;
+
+  /**
+   * The name of the store files (without the .axi/.dss extension).
+   */
+  private final File file;
+
+  /**
+   * The debug log.
+   */
+  private final DebugLogger debug;
+
+  /**
+   * True if objects can't be written to the store.
+   */
+  private boolean read_only;
+
+  /**
+   * The store, or null if it isn't open because it doesn't exist yet.
+   */
+  private VariableSizeDataStore store;
+
+  /**
+   * The sector chain of the object that was last read, so reading an object
+   * in pieces only follows its chain once.
+   */
+  private int chain_record = -1;
+  private int[] chain;
+
+  /**
+   * Constructs the store with the given file name.
+   */
+  LargeObjectStore(File file, DebugLogger debug) {
+    this.file = file;
+    this.debug = debug;
+  }
+
+  /**
+   * Opens the store if it exists.  If 'read_only' is false the store is
+   * created when the first object is written.
+   */
+  synchronized void open(boolean read_only) throws IOException {
+    this.read_only = read_only;
+    VariableSizeDataStore s = new VariableSizeDataStore(file, debug);
+    if (s.exists()) {
+      s.open(read_only);
+      store = s;
+    }
+  }
+
+  /**
+   * Repairs the store if it exists.  The store must be open.
+   */
+  synchronized void fix(UserTerminal terminal) throws IOException {
+    if (store != null) {
+      store.fix(terminal);
+    }
+  }
+
+  /**
+   * Returns true if there are objects in the store.
+   */
+  synchronized boolean hasObjects() {
+    return store != null && store.usedRecordCount() > 0;
+  }
+
+  /**
+   * Writes a new object to the store and returns its record number.
+   */
+  synchronized int write(byte[] buf, int offset, int length)
+                                                          throws IOException {
+    if (store == null) {
+      if (read_only) {
+        throw new Error("Large object store is read only.");
+      }
+      store = new VariableSizeDataStore(file, SECTOR_SIZE, debug);
+      store.open(false);
+    }
+    OutputStream out = store.getRecordOutputStream();
+    out.write(buf, offset, length);
+    // Closing the stream writes the last sector of the record.
+    out.close();
+    return store.completeRecordStreamWrite();
+  }
+
+  /**
+   * Writes a new string object to the store and returns its record number.
+   */
+  int writeString(String str) throws IOException {
+    int len = str.length();
+    byte[] buf = new byte[len * 2];
+    for (int i = 0; i < len; ++i) {
+      char c = str.charAt(i);
+      buf[i * 2] = (byte) (c >>> 8);
+      buf[(i * 2) + 1] = (byte) c;
+    }
+    return write(buf, 0, buf.length);
+  }
+
+  /**
+   * Reads 'length' bytes from 'position' in the given object into the
+   * buffer.
+   */
+  synchronized void read(int record, long position,
+                         byte[] buf, int offset, int length)
+                                                          throws IOException {
+    if (store == null) {
+      throw new IOException("Large object " + record + " doesn't exist.");
+    }
+    if (record != chain_record) {
+      chain = store.getRecordSectorChain(record);
+      chain_record = record;
+    }
+    store.readRecordPart(chain, position, buf, offset, length);
+  }
+
+  /**
+   * Reads the whole of an object of the given size in bytes.
+   */
+  byte[] read(int record, int size) throws IOException {
+    byte[] buf = new byte[size];
+    read(record, 0, buf, 0, size);
+    return buf;
+  }
+
+  /**
+   * Reads the whole of a string object with the given number of chars.
+   */
+  String readString(int record, int length) throws IOException {
+    byte[] buf = read(record, length * 2);
+    char[] chars = new char[length];
+    for (int i = 0; i < length; ++i) {
+      chars[i] = (char) (((buf[i * 2] & 0x0FF) << 8) |
+                         (buf[(i * 2) + 1] & 0x0FF));
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Deletes the given object.
+   */
+  synchronized void delete(int record) throws IOException {
+    store.delete(record);
+    if (record == chain_record) {
+      chain_record = -1;
+      chain = null;
+    }
+  }
+
+  /**
+   * Makes sure the objects written to the store are stored on disk.
+   */
+  synchronized void hardSynch() throws IOException {
+    if (store != null) {
+      store.hardSynch();
+    }
+  }
+
+  /**
+   * Copies the store to the given directory.
+   */
+  synchronized void copyTo(File path) throws IOException {
+    if (store != null) {
+      store.copyTo(path);
+    }
+  }
+
+  /**
+   * Copies the files of the store to the given directory while the store
+   * continues to be used (see VariableSizeDataStore.streamCopyTo).  Returns
+   * false if the store doesn't exist.
+   */
+  synchronized boolean streamCopyTo(File path) throws IOException {
+    if (store != null) {
+      store.streamCopyTo(path);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Closes the store.
+   */
+  synchronized void close() throws IOException {
+    if (store != null) {
+      store.close();
+      store = null;
+    }
+    chain_record = -1;
+    chain = null;
+  }
+
+  /**
+   * Deletes the store files.  The store must be closed.
+   */
+  synchronized void delete() {
+    new VariableSizeDataStore(file, debug).delete();
+  }
+
+}
@@ -0,0 +1,191 @@
+/**
+ * com.mckoi.database.LongDecimalDataCell  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+/**
+ * A NUMERIC value whose unscaled value fits in a long.  Most of the numbers
+ * in a database (keys, counts and amounts with a few decimal places) are
+ * like this, so they are read, compared and written as a long and a scale
+ * without making a BigInteger.  The BigDecimal returned by 'getCell' is only
+ * made when it is asked for.
+ * <p>
+ * The value is stored in exactly the same form as a DecimalDataCell, so the
+ * two can be mixed in the same column.
+ *
+ * @author agent
+ */
+
+final class LongDecimalDataCell extends DecimalDataCell {
+
+  /**
+   * The largest difference in scale of two values that is compared as
+   * longs.  10^18 still fits in a long.
+   */
+  private final static int MAX_SCALE_DIFF = 18;
+
+  /**
+   * Powers of 10 up to 10^MAX_SCALE_DIFF.
+   */
+  private final static long[] POW10 = new long[MAX_SCALE_DIFF + 1];
+  static {
+    long v = 1;
+    for (int i = 0; i <= MAX_SCALE_DIFF; ++i) {
+      POW10[i] = v;
+      v = v * 10;
+    }
+  }
+
+  /**
+   * The unscaled value.
+   */
+  private final long value;
+
+  /**
+   * Constructs the cell with the given unscaled value and scale.
+   */
+  LongDecimalDataCell(long value, int scale) {
+    super();
+    this.is_null = false;
+    this.value = value;
+    this.scale = scale;
+  }
+
+  /**
+   * Constructs the cell for the given BigDecimal whose unscaled value is
+   * 'value'.
+   */
+  LongDecimalDataCell(BigDecimal val, long value) {
+    this(value, val.scale());
+    this.val = val;
+  }
+
+  /**
+   * Returns the unscaled value.
+   */
+  long getUnscaledLong() {
+    return value;
+  }
+
+  /**
+   * Returns the number of bytes of the two's complement form of the unscaled
+   * value with as few bytes as possible.  This is the length of the array
+   * returned by 'BigInteger.toByteArray'.
+   */
+  int unscaledByteCount() {
+    long v = value < 0 ? ~value : value;
+    int bytes = 1;
+    while (bytes < 8 && (v >>> ((bytes * 8) - 1)) != 0) {
+      ++bytes;
+    }
+    return bytes;
+  }
+
+  /**
+   * Returns a new LongDecimalDataCell for the given BigDecimal if its
+   * unscaled value fits in a long, otherwise returns null.
+   */
+  static LongDecimalDataCell fromBigDecimal(BigDecimal val) {
+    java.math.BigInteger unscaled = val.unscaledValue();
+    if (unscaled.bitLength() < 64) {
+      return new LongDecimalDataCell(val, unscaled.longValue());
+    }
+    return null;
+  }
+
+  /**
+   * Returns true if 'v' multiplied by 10^n fits in a long.
+   */
+  private static boolean canRescale(long v, int n) {
+    if (n > MAX_SCALE_DIFF) {
+      return false;
+    }
+    long mul = POW10[n];
+    return v <= Long.MAX_VALUE / mul && v >= Long.MIN_VALUE / mul;
+  }
+
+  /**
+   * Compares this value with the given value.  The values are compared as
+   * longs if the smaller scale can be raised to the larger one without
+   * overflow, otherwise as BigDecimal.
+   */
+  int compareToLong(LongDecimalDataCell cell) {
+    long v1 = value;
+    long v2 = cell.value;
+    int diff = scale - cell.scale;
+    if (diff > 0) {
+      if (!canRescale(v2, diff)) {
+        return compareAsBigDecimal(cell);
+      }
+      v2 = v2 * POW10[diff];
+    }
+    else if (diff < 0) {
+      if (!canRescale(v1, -diff)) {
+        return compareAsBigDecimal(cell);
+      }
+      v1 = v1 * POW10[-diff];
+    }
+    return v1 < v2 ? -1 : (v1 > v2 ? 1 : 0);
+  }
+
+  /**
+   * Compares this value with the given value as BigDecimal.
+   */
+  private int compareAsBigDecimal(DecimalDataCell cell) {
+    return ((BigDecimal) getCell()).compareTo((BigDecimal) cell.getCell());
+  }
+
+  // ---------- Implemented from DecimalDataCell ----------
+
+  public Object getCell() {
+    // NOTE: It doesn't matter if two threads make the BigDecimal at the same
+    //   time because they are equal.
+    BigDecimal v = val;
+    if (v == null) {
+      v = BigDecimal.valueOf(value, scale);
+      val = v;
+    }
+    return v;
+  }
+
+  byte[] unscaledBytes() {
+    int len = unscaledByteCount();
+    byte[] buf = new byte[len];
+    for (int i = 0; i < len; ++i) {
+      buf[i] = (byte) (value >>> ((len - 1 - i) * 8));
+    }
+    return buf;
+  }
+
+  void writeUnscaled(OutputStream out) throws IOException {
+    for (int i = unscaledByteCount() - 1; i >= 0; --i) {
+      out.write((int) (value >>> (i * 8)) & 0x0FF);
+    }
+  }
+
+}
@@ -25,6 +25,7 @@
 package com.mckoi.database;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.InflaterInputStream;
 import java.io.*;
@@ -34,6 +35,8 @@ import com.mckoi.util.IntegerVector;
 import com.mckoi.util.ByteArrayUtil;
 import com.mckoi.util.UserTerminal;
 import com.mckoi.util.Cache;
+import com.mckoi.database.global.ByteLongObject;
+import com.mckoi.database.global.Types;
 import com.mckoi.debug.*;
 
 /**
@@ -59,6 +62,31 @@ import com.mckoi.debug.*;
 
 final class MasterTableDataSource {
 
+  /**
+   * The number of BTreeSearch nodes (or HashSearch buckets, or BitmapSearch
+   * values) cached for each column that uses a paged index scheme.
+   */
+  private static final int BTREE_NODE_CACHE_SIZE = 256;
+
+  /**
+   * The extension of the file the built RIDList objects of a table are
+   * written to when it is closed, and the magic number at its start.
+   */
+  private static final String RID_LIST_EXT = ".rid";
+  private static final int RID_LIST_MAGIC = 0x0a1d0001;
+
+  /**
+   * The extension of the file the dictionaries of the dictionary encoded
+   * columns of a table are stored in.
+   */
+  private static final String DICTIONARY_EXT = ".dct";
+
+  /**
+   * The extension of the files of the store the large strings and BLOBs of
+   * a table are kept in.
+   */
+  private static final String LARGE_OBJECT_EXT = ".lob";
+
   // ---------- System information ----------
 
   /**
@@ -90,6 +118,12 @@ final class MasterTableDataSource {
    */
   private boolean is_read_only;
 
+  /**
+   * True if this table is in a read only replica.  The table may only be
+   * changed by applying the commit logs of the primary.
+   */
+  private final boolean is_replica;
+
   /**
    * True if the table should be dropped.
    */
@@ -133,12 +167,70 @@ final class MasterTableDataSource {
    */
   private IndexStore index_store;
 
+  /**
+   * True if 'open' put off opening the index store until the indexes are
+   * first needed (see 'ensureIndexStoreOpen').
+   */
+  private boolean index_store_deferred;
+
+  /**
+   * The IndexSet objects handed out by 'createIndexSet' while the opening of
+   * the index store is put off.
+   */
+  private ArrayList deferred_index_sets;
+
+  /**
+   * The directory the files of this table are in.
+   */
+  private File path;
+
   /**
    * The list of RIDList objects for each column in this table.  This is
    * a sorting optimization.
    */
   private RIDList[] column_rid_list;
 
+  /**
+   * The list of KeyPrefixList objects for each column in this table.  This
+   * is a search optimization.
+   */
+  private KeyPrefixList[] column_key_prefixes;
+
+  /**
+   * The cache of BTreeSearch nodes for each column in this table that uses
+   * the "BTree" index scheme, of HashSearch buckets for each column that
+   * uses the "Hash" index scheme, or of BitmapSearch values for each column
+   * that uses the "Bitmap" index scheme.  All are keyed by the page number
+   * in the index store.
+   */
+  private Cache[] column_btree_cache;
+
+  /**
+   * The list of ColumnarStore objects for each column in this table, or
+   * null for a column that isn't mirrored in a columnar store.  This is an
+   * aggregate optimization.
+   */
+  private ColumnarStore[] column_stores;
+
+  /**
+   * The dictionaries of the dictionary encoded string columns in this table.
+   * The dictionaries are always opened so rows written while a column was
+   * encoded can be read after the column is no longer encoded.
+   */
+  private StringDictionary dictionary;
+
+  /**
+   * For each column, true if the strings written to the column are
+   * dictionary encoded.
+   */
+  private boolean[] column_dictionary;
+
+  /**
+   * The store of the strings and BLOBs of this table that are too large to
+   * keep in the rows.
+   */
+  private LargeObjectStore large_objects;
+
 
   // ---------- Cached information ----------
 
@@ -152,6 +244,11 @@ final class MasterTableDataSource {
    */
   private final DataCellCache cache;
 
+  /**
+   * A reference to the OffHeapCellCache object (null if disabled).
+   */
+  private final OffHeapCellCache offheap_cache;
+
   /**
    * The number of columns in this table.  This is a cached optimization.
    */
@@ -164,9 +261,16 @@ final class MasterTableDataSource {
                                             new DataCellSerialization();
 
   /**
-   * The persistant object we use to read information from a row stream.
+   * The CellReader of each thread that reads cells from this table.
    */
-  private CellInputStream cell_in;
+  private final ThreadLocal cell_readers = new ThreadLocal();
+
+  /**
+   * Incremented every time a row is removed or replaced, so a CellReader
+   * doesn't use the position it remembers in a row that changed.  Changed
+   * and read while synchronized over this object.
+   */
+  private int row_changes = 0;
 
   // --------- Parent information ----------
 
@@ -185,6 +289,27 @@ final class MasterTableDataSource {
    */
   private MasterTableGarbageCollector garbage_collector;
 
+  // ---------- Commit latch ----------
+
+  /**
+   * True while a commit holds the commit latch of this table.  All access
+   * is synchronized over 'commit_latch'.
+   */
+  private boolean commit_latched = false;
+  private final Object commit_latch = new Object();
+
+  // ---------- Store latch ----------
+
+  /**
+   * The number of threads reading from the data store without the lock of
+   * this object, and true while a thread is changing the structure of the
+   * data store (see 'latchStore').  All access is synchronized over
+   * 'store_latch'.
+   */
+  private int shared_reads = 0;
+  private boolean store_latched = false;
+  private final Object store_latch = new Object();
+
   // ----------- Stat keys -----------
 
   /**
@@ -195,6 +320,9 @@ final class MasterTableDataSource {
   private String file_hits_key;
   private String delete_hits_key;
   private String insert_hits_key;
+  private String compact_moved_key;
+  private String compact_reclaimed_key;
+  private String compact_free_key;
 
 
   /**
@@ -210,12 +338,12 @@ final class MasterTableDataSource {
     this.open_transactions = open_transactions;
     this.garbage_collector = new MasterTableGarbageCollector(this);
     this.cache = system.getDataCellCache();
+    this.offheap_cache = system.getOffHeapCellCache();
+    this.is_replica = (system.getReplicaLogDirectory() != null);
     is_closed = true;
 
     DATA_CELL_CACHING = (cache != null);
 
-    cell_in = new CellInputStream(null);
-
     commit_journals_event =
              system.createEvent(new TransactionJournalCleanUpEvent());
 
@@ -293,8 +421,8 @@ final class MasterTableDataSource {
    * successfully committed against this table that have an 'commit_id' that
    * is greater or equal to the given.
    * <p>
-   * This is part of the conglomerate commit check phase and will be on a
-   * commit_lock.
+   * This is part of the conglomerate commit check phase and will be on the
+   * commit latch of this table.
    */
   synchronized MasterTableJournal[] findAllJournalsSince(long commit_id) {
     return table_indices.findAllJournalsSince(commit_id);
@@ -337,6 +465,13 @@ final class MasterTableDataSource {
     // Flush the indices.
     index_store.flush();
 
+    // Synchronize the dictionaries and large objects before the rows that
+    // use them.
+    if (!system.dontSynchFileSystem()) {
+      dictionary.hardSynch();
+      large_objects.hardSynch();
+    }
+
     // Synchronize the data store.
     if (!system.dontSynchFileSystem()) {
       data_store.hardSynch();
@@ -378,16 +513,67 @@ final class MasterTableDataSource {
         column_rid_list[column] = rid_list;
       }
       iis.setRIDList(rid_list);
+      if (system.keyPrefixesEnabled() &&
+          KeyPrefixList.isSupportedType(column_def)) {
+        KeyPrefixList key_prefixes = column_key_prefixes[column];
+        if (key_prefixes == null) {
+          key_prefixes = new KeyPrefixList(column_def);
+          column_key_prefixes[column] = key_prefixes;
+        }
+        iis.setKeyPrefixList(key_prefixes);
+      }
       return iis;
     }
     else if (scheme_type.equals("BlindSearch")) {
       return new BlindSearch(table, column);
     }
+    else if (scheme_type.equals("BTree")) {
+      Cache node_cache = column_btree_cache[column];
+      if (node_cache == null) {
+        node_cache = new Cache(BTREE_NODE_CACHE_SIZE);
+        column_btree_cache[column] = node_cache;
+      }
+      return new BTreeSearch(table, column, index_set, node_cache);
+    }
+    else if (scheme_type.equals("Hash")) {
+      Cache bucket_cache = column_btree_cache[column];
+      if (bucket_cache == null) {
+        bucket_cache = new Cache(BTREE_NODE_CACHE_SIZE);
+        column_btree_cache[column] = bucket_cache;
+      }
+      return new HashSearch(table, column, index_set, bucket_cache);
+    }
+    else if (scheme_type.equals("Bitmap")) {
+      Cache value_cache = column_btree_cache[column];
+      if (value_cache == null) {
+        value_cache = new Cache(BTREE_NODE_CACHE_SIZE);
+        column_btree_cache[column] = value_cache;
+      }
+      return new BitmapSearch(table, column, index_set, value_cache);
+    }
     else {
       throw new Error("Unknown scheme type");
     }
   }
 
+  /**
+   * Creates a CompositeIndex object for the given composite index of this
+   * table from the index set.  The index list of composite index 'n' is
+   * after the lists of the master index and the columns.
+   */
+  CompositeIndex createCompositeIndex(IndexSet index_set,
+                                      TableDataSource table, int n) {
+    DataTableDef table_def = getDataTableDef();
+    String[] column_names = table_def.compositeIndexColumns(n);
+    int[] columns = new int[column_names.length];
+    for (int i = 0; i < columns.length; ++i) {
+      columns[i] = table_def.findColumnName(column_names[i]);
+    }
+    IntegerListInterface index_list =
+                  index_set.getIndex(table_def.columnCount() + 1 + n);
+    return new CompositeIndex(table, columns, index_list);
+  }
+
   /**
    * Creates a minimal TableDataSource object that represents this
    * MasterTableDataSource.  It does not implement the 'getColumnScheme'
@@ -456,6 +642,7 @@ final class MasterTableDataSource {
     }
 
     change.setCommitID(commit_id);
+    index_set = storeIndexSet(index_set);
 
     try {
 
@@ -593,9 +780,28 @@ final class MasterTableDataSource {
    * NOTE: Not synchronized because we synchronize in the IndexStore object.
    */
   IndexSet createIndexSet() {
+    synchronized (this) {
+      if (index_store_deferred) {
+        // The index store is opened the first time the set is used.
+        DeferredIndexSet index_set = new DeferredIndexSet();
+        deferred_index_sets.add(index_set);
+        return index_set;
+      }
+    }
     return index_store.getSnapshotIndexSet();
   }
 
+  /**
+   * Returns the IndexSet from the IndexStore that the given set returned by
+   * 'createIndexSet' represents.
+   */
+  private IndexSet storeIndexSet(IndexSet index_set) {
+    if (index_set instanceof DeferredIndexSet) {
+      return ((DeferredIndexSet) index_set).getStoreIndexSet();
+    }
+    return index_set;
+  }
+
   /**
    * Returns a MutableTableDataSource object that represents this data source
    * at the given commit_id time.  Any modifications to the returned table
@@ -710,6 +916,154 @@ final class MasterTableDataSource {
     return new String(buf) + tid + new String(osified_name);
   }
 
+  /**
+   * Sets the codec the data store uses to compress new rows of the given
+   * table, the buffer pool it caches sectors in and the size of its read
+   * ahead as configured in the TransactionSystem.
+   */
+  private void setupDataStoreCodec(TableName table_name) {
+    int codec_id = system.getTableDataCodec(table_name);
+    if (codec_id != -1) {
+      data_store.setCodec(codec_id);
+    }
+    data_store.setStats(system.stats());
+    data_store.setBufferPool(system.getBufferPool());
+    data_store.setReadAheadSize(system.getReadAheadSize());
+  }
+
+  /**
+   * Opens the index store if 'open' put it off.  Each IndexSet handed out
+   * by 'createIndexSet' while it was put off is given a snapshot of the
+   * indexes in the store.  This is the version of the table the sets were
+   * created for, because no change can be committed to the table until the
+   * index store is open.
+   */
+  private synchronized void ensureIndexStoreOpen() {
+    if (index_store_deferred) {
+      try {
+        index_store.open(is_read_only);
+        index_store.init();
+        readRIDLists();
+      }
+      catch (IOException e) {
+        Debug().writeException(e);
+        throw new Error("IO Error: " + e.getMessage());
+      }
+      index_store_deferred = false;
+      for (int i = 0; i < deferred_index_sets.size(); ++i) {
+        DeferredIndexSet index_set =
+                             (DeferredIndexSet) deferred_index_sets.get(i);
+        index_set.store_index_set = index_store.getSnapshotIndexSet();
+      }
+      deferred_index_sets = null;
+      system.stats().increment("MasterTableDataSource.deferred_opens");
+    }
+  }
+
+  /**
+   * Writes the RIDList objects that are built to a file so they can be read
+   * by 'readRIDLists' when the table is next opened.  The file records the
+   * number of records in the data store so a list is not read for a
+   * different version of the table.
+   */
+  private void writeRIDLists() throws IOException {
+    boolean any_built = false;
+    for (int i = 0; i < column_count; ++i) {
+      if (column_rid_list[i] != null && column_rid_list[i].isBuilt()) {
+        any_built = true;
+      }
+    }
+    if (!any_built) {
+      return;
+    }
+
+    File f = new File(path, file_name + RID_LIST_EXT);
+    DataOutputStream dout = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(f)));
+    try {
+      dout.writeInt(RID_LIST_MAGIC);
+      dout.writeInt(data_store.rawRecordCount());
+      dout.writeInt(data_store.usedRecordCount());
+      for (int i = 0; i < column_count; ++i) {
+        if (column_rid_list[i] != null) {
+          column_rid_list[i].writeTo(dout);
+        }
+      }
+      // The end of the lists
+      dout.writeInt(-1);
+    }
+    finally {
+      dout.close();
+    }
+  }
+
+  /**
+   * Reads the RIDList objects written by 'writeRIDLists' when the table was
+   * last closed, if there are any.  The file is deleted once it is read so
+   * the lists are never read again after the table has changed.
+   */
+  private void readRIDLists() throws IOException {
+    File f = new File(path, file_name + RID_LIST_EXT);
+    if (!f.exists()) {
+      return;
+    }
+    if (system.lookupComparisonListEnabled()) {
+      DataInputStream din = new DataInputStream(
+                         new BufferedInputStream(new FileInputStream(f)));
+      try {
+        if (din.readInt() == RID_LIST_MAGIC &&
+            din.readInt() == data_store.rawRecordCount() &&
+            din.readInt() == data_store.usedRecordCount()) {
+          RIDList[] rid_lists = new RIDList[column_count];
+          int column = din.readInt();
+          while (column != -1) {
+            if (column < 0 || column >= column_count) {
+              throw new IOException("Column out of range: " + column);
+            }
+            rid_lists[column] = new RIDList(this, column);
+            rid_lists[column].readFrom(din);
+            column = din.readInt();
+          }
+          for (int i = 0; i < column_count; ++i) {
+            if (column_rid_list[i] == null) {
+              column_rid_list[i] = rid_lists[i];
+            }
+          }
+        }
+      }
+      catch (IOException e) {
+        // The lists are built again if the file is not complete.
+        Debug().write(Lvl.WARNING, this,
+                      "Unable to read " + f + ": " + e.getMessage());
+      }
+      finally {
+        din.close();
+      }
+    }
+    if (!is_read_only) {
+      f.delete();
+    }
+  }
+
+  /**
+   * Opens the dictionaries of the dictionary encoded columns of this table.
+   */
+  private void openDictionary() throws IOException {
+    File f = new File(path, file_name + DICTIONARY_EXT);
+    dictionary = new StringDictionary(f, table_def.columnCount());
+    dictionary.open(is_read_only);
+  }
+
+  /**
+   * Opens the store of the large objects of this table.
+   */
+  private void openLargeObjectStore() throws IOException {
+    File f = new File(path, file_name + LARGE_OBJECT_EXT);
+    large_objects = new LargeObjectStore(f, Debug());
+    large_objects.open(is_read_only);
+    data_cell_serializer.setLargeObjectStore(large_objects);
+  }
+
   /**
    * Loads the internal variables.
    */
@@ -726,9 +1080,32 @@ final class MasterTableDataSource {
     file_hits_key = "MasterTableDataSource.Hits.File." + n;
     delete_hits_key = "MasterTableDataSource.Hits.Delete." + n;
     insert_hits_key = "MasterTableDataSource.Hits.Insert." + n;
+    compact_moved_key = "MasterTableDataSource.Compaction.Moved." + n;
+    compact_reclaimed_key = "MasterTableDataSource.Compaction.Reclaimed." + n;
+    compact_free_key = "MasterTableDataSource.Compaction.FreeSectors." + n;
+    garbage_collector.setupStatKeys(n);
 
     column_count = table_def.columnCount();
 
+    // Set up the columnar stores for any columns configured to have one.
+    column_stores = new ColumnarStore[column_count];
+    for (int i = 0; i < column_count; ++i) {
+      DataTableColumnDef column_def = table_def.columnAt(i);
+      if (ColumnarStore.isSupportedType(column_def) &&
+          system.columnarStoreEnabled(getTableName(), column_def.getName())) {
+        column_stores[i] = new ColumnarStore(this, i);
+      }
+    }
+
+    // The string columns that are dictionary encoded.
+    column_dictionary = new boolean[column_count];
+    for (int i = 0; i < column_count; ++i) {
+      DataTableColumnDef column_def = table_def.columnAt(i);
+      column_dictionary[i] = column_def.getDBType() == Types.DB_STRING &&
+          system.dictionaryEncodingEnabled(getTableName(),
+                                           column_def.getName());
+    }
+
     is_closed = false;
 
   }
@@ -764,26 +1141,35 @@ final class MasterTableDataSource {
     TableName table_name = table_def.getTableName();
     // Generate the name of the store file name.
     file_name = makeTableFileName(table_id, table_name);
+    this.path = path;
 
     // Create the store.
     data_store = new VariableSizeDataStore(new File(path, file_name),
                                            data_sector_size, Debug());
     // Open the store in read/write mode
     data_store.open(false);
+    setupDataStoreCodec(table_name);
 
     // Create table indices
     table_indices = new MultiVersionTableIndices(getSystem(),
                                           table_name, table_def.columnCount());
     // The column rid list cache
     column_rid_list = new RIDList[table_def.columnCount()];
+    // The column key prefix lists
+    column_key_prefixes = new KeyPrefixList[table_def.columnCount()];
+    // The BTreeSearch node caches
+    column_btree_cache = new Cache[table_def.columnCount()];
 
     // Open table indices
     index_store = new IndexStore(new File(path, file_name + ".iid"), Debug());
+    index_store.setBufferPool(system.getBufferPool());
     // Open the table index file.
     index_store.create(index_sector_size);
     index_store.init();
-    // Make room for columns+1 indices in the index store file
-    index_store.addIndexLists(table_def.columnCount() + 1, (byte) 1);
+    // Make room for columns+1 indices in the index store file, plus one for
+    // each composite index.
+    index_store.addIndexLists(table_def.columnCount() + 1 +
+                              table_def.compositeIndexCount(), (byte) 1);
     index_store.flush();
 
     // Save the table definition to the new store.
@@ -800,6 +1186,10 @@ final class MasterTableDataSource {
     this.file_name = file_name;
     this.table_def = table_def;
 
+    // Open the dictionaries and large objects of the table.
+    openDictionary();
+    openLargeObjectStore();
+
     // Load internal state
     loadInternal();
 
@@ -842,9 +1232,11 @@ final class MasterTableDataSource {
 
     // Set the file name.
     this.file_name = file_name;
+    this.path = path;
 
     // Load the table definition from the store.
     table_def = loadDataTableDef();
+    setupDataStoreCodec(table_def.getTableName());
 
     // Set the column count
     column_count = table_def.columnCount();
@@ -854,9 +1246,14 @@ final class MasterTableDataSource {
                            table_def.getTableName(), table_def.columnCount());
     // The column rid list cache
     column_rid_list = new RIDList[table_def.columnCount()];
+    // The column key prefix lists
+    column_key_prefixes = new KeyPrefixList[table_def.columnCount()];
+    // The BTreeSearch node caches
+    column_btree_cache = new Cache[table_def.columnCount()];
 
     // Open table indices
     index_store = new IndexStore(new File(path, file_name + ".iid"), Debug());
+    index_store.setBufferPool(system.getBufferPool());
     // If the index store doesn't exist then create it.
     if (!index_store.exists()) {
       if (!read_only) {
@@ -891,12 +1288,23 @@ final class MasterTableDataSource {
                          "Can not create .iid index file in read-only mode.");
       }
     }
+    else if (!need_check && system.lazyTableOpenEnabled()) {
+      // The index file is opened the first time the indexes are used, so a
+      // table that isn't used doesn't slow down opening the database.
+      index_store_deferred = true;
+      deferred_index_sets = new ArrayList();
+    }
     else {
       // Open the table index file.
       index_store.open(read_only);
       index_store.init();
+      readRIDLists();
     }
 
+    // Open the dictionaries and large objects of the table.
+    openDictionary();
+    openLargeObjectStore();
+
     // Load internal state
     loadInternal();
 
@@ -909,6 +1317,11 @@ final class MasterTableDataSource {
       doOpeningScan();
     }
 
+    // If the data file has free space, compact it in the background.
+    if (!read_only && data_store.freeSectorCount() > 0) {
+      garbage_collector.markCompactionDue();
+    }
+
 //    // Schedule a full garbage collector sweep.
 //    garbage_collector.markFullSweep();
 //    garbage_collector.scheduleCollection();
@@ -937,10 +1350,15 @@ final class MasterTableDataSource {
 
     // Set the file name.
     this.file_name = file_name;
+    this.path = path;
 
     // Load the table definition from the store.
     table_def = loadDataTableDef();
 
+    // Open the dictionaries and large objects so the cells can be read.
+    openDictionary();
+    openLargeObjectStore();
+
   }
 
   /**
@@ -954,22 +1372,46 @@ final class MasterTableDataSource {
       // Merge all journal changes when we close
       mergeJournalChanges(Integer.MAX_VALUE);
 
-      if (!is_read_only) {
-        // Synchronize the current state with the file system.
-        index_store.flush();
-        //table_indices.synchronizeIndexFile();
+      // The index store isn't open if the table wasn't used.
+      if (!index_store_deferred) {
+        if (!is_read_only) {
+          // Synchronize the current state with the file system.
+          index_store.flush();
+          //table_indices.synchronizeIndexFile();
+        }
+        // Close the index store.
+        index_store.close();
       }
-      // Close the index store.
-      index_store.close();
     }
 
-    data_store.close();
+    // Write the RID lists so they needn't be built again when the table is
+    // next opened.
+    if (!is_read_only && !pending_dropped && !index_store_deferred) {
+      writeRIDLists();
+    }
+
+    latchStore();
+    try {
+      data_store.close();
+    }
+    finally {
+      unlatchStore();
+    }
+    if (dictionary != null) {
+      dictionary.close();
+    }
+    if (large_objects != null) {
+      large_objects.close();
+    }
 
     // Are we pending to be dropped?
     if (pending_dropped) {
       Debug().write(Lvl.MESSAGE, this, "Dropping: " + getFileName());
       data_store.delete();
       index_store.delete();
+      new File(path, file_name + RID_LIST_EXT).delete();
+      dictionary.delete();
+      large_objects.delete();
     }
 
     table_id = -1;
@@ -977,6 +1419,13 @@ final class MasterTableDataSource {
     table_def = null;
     table_indices = null;
     column_rid_list = null;
+    column_key_prefixes = null;
+    column_btree_cache = null;
+    column_stores = null;
+    dictionary = null;
+    column_dictionary = null;
+    large_objects = null;
+    data_cell_serializer.setLargeObjectStore(null);
     is_closed = true;
   }
 
@@ -1003,7 +1452,46 @@ final class MasterTableDataSource {
    * conglomerate.  The data is referenced by commiting the change where it
    * eventually migrates into the master index and schemes.
    */
+  /**
+   * If the given cell is a string or BLOB larger than the large object
+   * threshold then it is written to the large object store and the
+   * serializer is set up with the reference to it.  Returns the cell that
+   * represents the value from now on, or null if the cell is to be kept in
+   * the row.
+   */
+  private DataCell serializeLargeObject(DataCell cell) throws IOException {
+    int threshold = system.getLargeObjectThreshold();
+    if (threshold <= 0 || cell.isNull()) {
+      return null;
+    }
+    int type = cell.getExtractionType();
+    if (type == Types.DB_BLOB) {
+      BlobDataCell blob_cell = (BlobDataCell) cell;
+      if (blob_cell.length() <= threshold) {
+        return null;
+      }
+      ByteLongObject blob = (ByteLongObject) blob_cell.getCell();
+      int size = blob.length();
+      int record = large_objects.write(blob.getByteArray(), 0, size);
+      data_cell_serializer.setToSerializeLargeObject(type, record, size);
+      return new LargeBlobDataCell(large_objects, record, size);
+    }
+    else if (type == Types.DB_STRING) {
+      String str = (String) cell.getCell();
+      if (str.length() * 2 <= threshold) {
+        return null;
+      }
+      int record = large_objects.writeString(str);
+      data_cell_serializer.setToSerializeLargeObject(type, record,
+                                                     str.length());
+      return cell;
+    }
+    return null;
+  }
+
   synchronized int addRow(RowData data) throws IOException {
+    // The RID lists must be read before they are changed.
+    ensureIndexStoreOpen();
 
 //    System.out.println("Writing: " + data);
 
@@ -1015,12 +1503,37 @@ final class MasterTableDataSource {
     temp_out.writeShort(0);
 
     int row_cells = data.getColumnCount();
+    // The cells that are put in the cache in place of the cells of the row,
+    // or null if there aren't any.
+    DataCell[] cache_cells = null;
 
     // Write out the data,
     for (int i = 0; i < row_cells; ++i) {
       DataCell cell = data.getCellData(i);
-      data_cell_serializer.setToSerialize(cell);
+      // A string in a dictionary encoded column is written as its code
+      // unless the dictionary is full.
+      int code = -1;
+      if (column_dictionary[i] && !cell.isNull()) {
+        code = dictionary.codeFor(i, (String) cell.getCell());
+      }
+      DataCell large_cell = null;
+      if (code >= 0) {
+        data_cell_serializer.setToSerializeCode(code);
+      }
+      else {
+        large_cell = serializeLargeObject(cell);
+        if (large_cell == null) {
+          data_cell_serializer.setToSerialize(cell);
+        }
+      }
       data_cell_serializer.writeSerialization(temp_out);
+      // The cell cache doesn't keep the data of a large BLOB.
+      if (large_cell != null) {
+        if (cache_cells == null) {
+          cache_cells = new DataCell[row_cells];
+        }
+        cache_cells[i] = large_cell;
+      }
     }
 
     // Close the stream and complete it.
@@ -1031,7 +1544,15 @@ final class MasterTableDataSource {
     if (DATA_CELL_CACHING) {
       for (int i = 0; i < row_cells; ++i) {
         // Put the row/column/DataCell into the cache.
-        cache.put(table_id, record_index, i, data.getCellData(i));
+        DataCell cell = (cache_cells != null && cache_cells[i] != null) ?
+                                      cache_cells[i] : data.getCellData(i);
+        cache.put(table_id, record_index, i, cell);
+      }
+    }
+    // The record index may be reused so remove any old off heap cells.
+    if (offheap_cache != null) {
+      for (int i = 0; i < row_cells; ++i) {
+        offheap_cache.remove(table_id, record_index, i);
       }
     }
 
@@ -1045,6 +1566,15 @@ final class MasterTableDataSource {
       if (rid_list != null) {
         rid_list.insertRID(data.getCellData(i), row_number);
       }
+      KeyPrefixList key_prefixes = column_key_prefixes[i];
+      if (key_prefixes != null) {
+        key_prefixes.put(row_number, data.getCellData(i));
+      }
+      // Likewise for any columnar stores.
+      ColumnarStore column_store = column_stores[i];
+      if (column_store != null) {
+        column_store.put(row_number, data.getCellData(i));
+      }
     }
 
     // Update stats
@@ -1055,6 +1585,116 @@ final class MasterTableDataSource {
 
   }
 
+  /**
+   * Returns the stored form of the given row.  This is the form written by
+   * 'addRow' and it may be written to a replica of this table with
+   * 'addRawRow'.  If the table has dictionaries then the strings stored as
+   * codes are written in full so the row can be read without the
+   * dictionaries of this table.
+   */
+  synchronized byte[] readRawRow(int row_index) throws IOException {
+    if (!dictionary.hasEntries() && !large_objects.hasObjects()) {
+      return data_store.readRecord(row_index + 1);
+    }
+    ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    DataOutputStream dout = new DataOutputStream(bout);
+    dout.writeShort(0);
+    for (int i = 0; i < column_count; ++i) {
+      data_cell_serializer.setToSerialize(getCellContents(i, row_index));
+      data_cell_serializer.writeSerialization(dout);
+    }
+    dout.flush();
+    return bout.toByteArray();
+  }
+
+  /**
+   * Returns true if a row may be written to the given row index with
+   * 'addRawRow'.  This is true if the index is deleted or past the end of
+   * the table.  If the row at the index is committed removed and it is safe
+   * to remove it then it is reclaimed here.  Returns false if the row is
+   * committed removed but may still be seen by an open transaction.
+   */
+  synchronized boolean canAddRawRow(int row_index) throws IOException {
+    int record_index = row_index + 1;
+    if (record_index >= data_store.rawRecordCount() ||
+        data_store.recordDeleted(record_index)) {
+      return true;
+    }
+    int type_key = data_store.readRecordType(record_index);
+    if ((type_key & 0x0F0) != 0x020) {
+      throw new Error("Row " + row_index + " of " + getName() +
+                      " is not committed removed.");
+    }
+    if (!isRootLocked()) {
+      // A replica only merges its journals when it commits, so merge the
+      // changes no open transaction can see now or the row may never be
+      // reclaimed.
+      mergeJournalChanges(open_transactions.minimumCommitID(null));
+      if (!hasTransactionChangesPending()) {
+        doHardRowRemove(row_index);
+        garbage_collector.markRowAsReclaimed(row_index);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Adds a row in its stored form (as returned by 'readRawRow') at the given
+   * row index.  This is used to apply the commit logs of a primary to a
+   * replica so a row has the same index in both tables.  'canAddRawRow'
+   * must have returned true for the index.
+   * <p>
+   * As with 'addRow', this does not effect the master index or column
+   * schemes.
+   */
+  synchronized void addRawRow(int row_index, byte[] record)
+                                                         throws IOException {
+    // The RID lists must be read before they are changed.
+    ensureIndexStoreOpen();
+    int record_index = row_index + 1;
+    latchStore();
+    try {
+      data_store.writeRecordAt(record_index, record, 0, record.length);
+    }
+    finally {
+      unlatchStore();
+    }
+    ++row_changes;
+
+    // Remove any cells of the old row at this index from the caches.
+    for (int i = 0; i < column_count; ++i) {
+      if (DATA_CELL_CACHING) {
+        cache.remove(table_id, record_index, i);
+      }
+      if (offheap_cache != null) {
+        offheap_cache.remove(table_id, record_index, i);
+      }
+    }
+
+    // Update the rid lists, prefixes and columnar stores as in 'addRow'.
+    for (int i = 0; i < column_count; ++i) {
+      RIDList rid_list = column_rid_list[i];
+      KeyPrefixList key_prefixes = column_key_prefixes[i];
+      ColumnarStore column_store = column_stores[i];
+      if (rid_list != null || key_prefixes != null || column_store != null) {
+        DataCell cell = getCellContents(i, row_index);
+        if (rid_list != null) {
+          rid_list.insertRID(cell, row_index);
+        }
+        if (key_prefixes != null) {
+          key_prefixes.put(row_index, cell);
+        }
+        if (column_store != null) {
+          column_store.put(row_index, cell);
+        }
+      }
+    }
+
+    // Update stats
+    system.stats().increment(insert_hits_key);
+  }
+
   /**
    * Returns the number of bytes the row takes up in the data file.  This is
    * the actual space used.  If a cell is compressed then it includes the
@@ -1068,6 +1708,7 @@ final class MasterTableDataSource {
 
     // Open a stream for this row.
     InputStream in = data_store.getRecordInputStream(row_number);
+    CellInputStream cell_in = cellReader().stream_in;
     cell_in.setParentStream(in);
 
     cell_in.skip(2);
@@ -1096,6 +1737,8 @@ final class MasterTableDataSource {
    * There is no checking in this method.
    */
   private synchronized void doHardRowRemove(int row_index) throws IOException {
+    // The RID lists must be read before they are changed.
+    ensureIndexStoreOpen();
 
     // If we have a rid_list for any of the columns, then update the indexing
     // there,
@@ -1104,10 +1747,35 @@ final class MasterTableDataSource {
       if (rid_list != null) {
         rid_list.removeRID(row_index);
       }
+      KeyPrefixList key_prefixes = column_key_prefixes[i];
+      if (key_prefixes != null) {
+        key_prefixes.remove(row_index);
+      }
+      ColumnarStore column_store = column_stores[i];
+      if (column_store != null) {
+        column_store.remove(row_index);
+      }
+    }
+
+    // Delete the large objects of the row.
+    if (large_objects.hasObjects()) {
+      IntegerVector records = new IntegerVector();
+      DataCellSerialization.findLargeObjects(
+                  data_store.readRecord(row_index + 1), column_count, records);
+      for (int i = 0; i < records.size(); ++i) {
+        large_objects.delete(records.intAt(i));
+      }
     }
 
     // And then delete the row perminantly from the data store.
-    data_store.delete(row_index + 1);
+    latchStore();
+    try {
+      data_store.delete(row_index + 1);
+    }
+    finally {
+      unlatchStore();
+    }
+    ++row_changes;
 
     // Update stats
     system.stats().increment(delete_hits_key);
@@ -1175,6 +1843,42 @@ final class MasterTableDataSource {
     }
   }
 
+  /**
+   * Performs one step of the background compaction of the data file.  This
+   * moves up to 'max_records' rows from the end of the data file into free
+   * space nearer the start and makes the file smaller.  Row indexes do not
+   * change so the indices are not effected.  Returns true if rows were
+   * moved and there may be more to do.
+   * <p>
+   * This can only happen when there are no root locks on the table and no
+   * transaction changes pending, because deleted rows may still be read
+   * until then.
+   */
+  synchronized boolean compactStep(int max_records) throws IOException {
+    if (is_closed || isReadOnly() || isRootLocked() ||
+        hasTransactionChangesPending()) {
+      return false;
+    }
+
+    long size_before = data_store.totalStoreSize();
+    int moved;
+    latchStore();
+    try {
+      moved = data_store.compactStep(max_records);
+    }
+    finally {
+      unlatchStore();
+    }
+    long reclaimed = size_before - data_store.totalStoreSize();
+
+    // Update stats
+    system.stats().add(moved, compact_moved_key);
+    system.stats().add((int) reclaimed, compact_reclaimed_key);
+    system.stats().set(data_store.freeSectorCount(), compact_free_key);
+
+    return moved > 0;
+  }
+
   /**
    * Returns true if the given record index is a deleted record.
    */
@@ -1241,11 +1945,15 @@ final class MasterTableDataSource {
     // Copy the same block size as the original
     temp_store.create(index_store.getBlockSize());
     temp_store.init();
-    temp_store.addIndexLists(column_count + 1, (byte) 1);
+    int composite_count = getDataTableDef().compositeIndexCount();
+    temp_store.addIndexLists(column_count + 1 + composite_count, (byte) 1);
 
     // Get the index of rows in this table
     IndexSet index_set = temp_store.getSnapshotIndexSet();
 
+    // The BTreeSearch node caches refer to pages in the old store.
+    column_btree_cache = new Cache[column_count];
+
     // The master index,
     IntegerListInterface master_index = index_set.getIndex(0);
 
@@ -1257,6 +1965,11 @@ final class MasterTableDataSource {
     for (int i = 0; i < column_count; ++i) {
       cols[i] = createSelectableSchemeForColumn(index_set, table, i);
     }
+    // And the composite indexes.
+    CompositeIndex[] composites = new CompositeIndex[composite_count];
+    for (int i = 0; i < composite_count; ++i) {
+      composites[i] = createCompositeIndex(index_set, table, i);
+    }
 
     // For each row
     int row_count = rawRowCount();
@@ -1274,6 +1987,9 @@ final class MasterTableDataSource {
           for (int n = 0; n < column_count; ++n) {
             cols[n].insert(i);
           }
+          for (int n = 0; n < composite_count; ++n) {
+            composites[n].insert(i);
+          }
         }
       }  // if not deleted
     }  // for each row
@@ -1301,6 +2017,7 @@ final class MasterTableDataSource {
 
     // Copy and open the new reference
     index_store =  new IndexStore(actual_name, Debug());
+    index_store.setBufferPool(system.getBufferPool());
     index_store.open(false);
     index_store.init();
 
@@ -1413,8 +2130,80 @@ final class MasterTableDataSource {
    * lock to prevent committed changes to the database.
    */
   synchronized void copyTo(File path) throws IOException {
+    ensureIndexStoreOpen();
     data_store.copyTo(path);
     index_store.copyTo(path);
+    dictionary.copyTo(path);
+    large_objects.copyTo(path);
+  }
+
+  /**
+   * Copies the version of this table in the given IndexSet to the given
+   * directory in the file system.  Unlike 'copyTo', changes may be committed
+   * to the table while the copy is made.  Rows are never changed once they
+   * are written, and the IndexStore doesn't reuse the sectors of a snapshot
+   * until it is disposed, so the files are copied as they are and the copy
+   * is then fixed so only the rows in the version are kept.
+   * <p>
+   * The caller must hold a root lock on this table while this is called so
+   * the rows in the version are not reclaimed, and 'index_set' must be a
+   * snapshot from 'createIndexSet' that isn't disposed until this returns.
+   */
+  void snapshotCopyTo(IndexSet index_set, File path) throws IOException {
+    // NOTE: Not synchronized so commits aren't blocked while the files are
+    //   copied.  The stream copies don't touch the state of the open stores.
+    index_set = storeIndexSet(index_set);
+    data_store.streamCopyTo(path);
+    index_store.snapshotCopyTo(index_set, path);
+    // The strings used by the rows in the version were added to the
+    // dictionaries before the rows were committed.
+    dictionary.copyTo(path);
+    boolean large_objects_copied = large_objects.streamCopyTo(path);
+
+    VariableSizeDataStore copy =
+           new VariableSizeDataStore(new File(path, file_name), Debug());
+    copy.open(false);
+    try {
+      // Record 0 is the table definition, then one record per row.  Rows in
+      // the version are all committed added, even if they were removed after
+      // the snapshot.
+      BitSet records = new BitSet();
+      records.set(0);
+      IntegerIterator i = index_set.getIndex(0).iterator();
+      while (i.hasNext()) {
+        int row = i.next();
+        records.set(row + 1);
+        copy.writeRecordType(row + 1, 0x010);
+      }
+      copy.keepRecords(records);
+
+      // Keep the large objects of the rows in the version.
+      if (large_objects_copied) {
+        BitSet objects = new BitSet();
+        IntegerVector list = new IntegerVector();
+        i = index_set.getIndex(0).iterator();
+        while (i.hasNext()) {
+          list.clear();
+          DataCellSerialization.findLargeObjects(
+                       copy.readRecord(i.next() + 1), column_count, list);
+          for (int n = 0; n < list.size(); ++n) {
+            objects.set(list.intAt(n));
+          }
+        }
+        VariableSizeDataStore lob_copy = new VariableSizeDataStore(
+                      new File(path, file_name + LARGE_OBJECT_EXT), Debug());
+        lob_copy.open(false);
+        try {
+          lob_copy.keepRecords(objects);
+        }
+        finally {
+          lob_copy.close();
+        }
+      }
+    }
+    finally {
+      copy.close();
+    }
   }
 
   /**
@@ -1427,24 +2216,51 @@ final class MasterTableDataSource {
 
   // ---- Optimization that saves some cycles -----
 
-  private short s_run_total_hits = 0;
-  private short s_run_file_hits = 0;
+  /**
+   * The hits on this table that haven't been added to the database stats
+   * yet.
+   * <p>
+   * NOTE: These are counted without a lock because 'getCellContents' is
+   *   called by many threads at once, so a few hits may not be counted.
+   */
+  private int s_run_total_hits = 0;
+  private int s_run_file_hits = 0;
 
   /**
-   * Some variables that are used for optimization in the 'getCellContents'
-   * method.
+   * The lock held while the hit counters are added to the database stats.
    */
-  private int OPT_last_row = -1;
-  private int OPT_last_col = -1;
-  private int OPT_last_skip_offset = -1;
+  private final Object hit_stats_lock = new Object();
+
+  /**
+   * Returns the CellReader of the current thread for this table.
+   */
+  private CellReader cellReader() {
+    CellReader reader = (CellReader) cell_readers.get();
+    if (reader == null) {
+      reader = new CellReader();
+      cell_readers.set(reader);
+    }
+    return reader;
+  }
 
   /**
    * Returns the cell contents of the given cell in the table.  This will
    * look up the cell in the file if it can't be found in the cell cache.  This
    * method is undefined if row has been removed or was not returned by
    * the 'addRow' method.
-   */
-  synchronized DataCell getCellContents(int column, int row) {
+   * <p>
+   * This isn't synchronized so threads that read from this table don't wait
+   * for each other.  The cells of a row never change while the row can be
+   * read (a row isn't reclaimed while the table is root locked), the caches
+   * are safe to use from many threads, and each thread decodes cells with
+   * its own CellReader.  A row that is stored uncompressed is read with
+   * 'VariableSizeDataStore.readRecordShared' under a shared hold of the
+   * store latch, which only waits while the structure of the store is
+   * changed (see 'latchStore').  A compressed row is read from a stream
+   * over the store, which changes the state of the store, so it is read
+   * while synchronized over this object.
+   */
+  DataCell getCellContents(int column, int row) {
 
     // NOTES:
     // This is called *A LOT*.  It's a key part of the 20% of the program
@@ -1458,8 +2274,9 @@ final class MasterTableDataSource {
     // impact on column scans and searches.  The cell cache takes some of this
     // performance bottleneck away.
     // However, a better implementation of this method is made difficult by
-    // the fact that sector spans can be compressed.  We should perhaps
-    // revise the low level data storage so only sectors can be compressed.
+    // the fact that sector spans can be compressed.  When a RecordCodec is
+    // configured for the table the store compresses rows in independent
+    // blocks, so skipping to a cell only decodes the blocks the cell is in.
 
     if (row < 0) {
       throw new Error("'row' is < 0");
@@ -1467,10 +2284,14 @@ final class MasterTableDataSource {
 
     // If the database stats need updating then do so now.
     if (s_run_total_hits >= 400) {
-      system.stats().add(s_run_total_hits, total_hits_key);
-      system.stats().add(s_run_file_hits, file_hits_key);
-      s_run_total_hits = 0;
-      s_run_file_hits = 0;
+      synchronized (hit_stats_lock) {
+        if (s_run_total_hits >= 400) {
+          system.stats().add(s_run_total_hits, total_hits_key);
+          system.stats().add(s_run_file_hits, file_hits_key);
+          s_run_total_hits = 0;
+          s_run_file_hits = 0;
+        }
+      }
     }
     // Increment the total hits counter
     ++s_run_total_hits;
@@ -1486,59 +2307,63 @@ final class MasterTableDataSource {
         return cell;
       }
     }
+    // Then the off heap cache.
+    if (offheap_cache != null) {
+      cell = offheap_cache.get(table_id, row, column);
+      if (cell != null) {
+        if (DATA_CELL_CACHING) {
+          cache.put(table_id, row, column, cell);
+        }
+        return cell;
+      }
+    }
 
     // Increment the file hits counter
     ++s_run_file_hits;
 
-    // We maintain a cache of byte[] arrays that contain the rows read in
-    // from the file.  If consequtive reads are made to the same row, then
-    // this will cause lots of fast cache hits.
-
+    CellReader reader = cellReader();
     try {
 
-      // Open a stream for this row.
-      InputStream in = data_store.getRecordInputStream(row);
-      cell_in.setParentStream(in);
-
-      // NOTE: This is an optimization for a common sequence of pulling cells
-      //   from a row.  It remembers the index of the last column read in, and
-      //   if the next column requested is > than the last column read, then
-      //   it trivially skips the file pointer to the old point.
-      //   Variables starting with 'OPT_' are member variables used for
-      //   keeping the optimization state information.
-
-      int start_col;
-      if (OPT_last_row == row && column >= OPT_last_col) {
-        cell_in.skip(OPT_last_skip_offset);
-        start_col = OPT_last_col;
-      }
-      else {
-        cell_in.skip(2);
-        OPT_last_row = row;
-        OPT_last_skip_offset = 2;
-        OPT_last_col = 0;
-        start_col = 0;
+      cell = null;
+      // A thread that holds the lock of this object may be changing the
+      // store (for example, 'addRawRow') so it reads the store directly.
+      if (!Thread.holdsLock(this)) {
+        beginSharedRead();
+        try {
+          byte[] record_buf = data_store.readRecordShared(row);
+          if (record_buf != null) {
+            cell = readCellFromBuffer(reader, record_buf, column);
+          }
+        }
+        finally {
+          endSharedRead();
+        }
       }
 
-      for (int i = start_col; i < column; ++i) {
-        int len = data_cell_serializer.skipSerialization(cell_in);
-        if (len <= 0) {
-          throw new Error("Corrupt data - cell size is <= 0");
+      if (cell == null) {
+        synchronized (this) {
+          // If the row is stored uncompressed in one sector then the cell is
+          // decoded straight from the array of the sector, otherwise it's
+          // read from a stream over the row.
+          byte[] record_buf = data_store.getRecordBuffer(row);
+          if (record_buf != null) {
+            cell = readCellFromBuffer(reader, record_buf, column);
+          }
+          else {
+            cell = readCellFromStream(reader, row, column);
+          }
         }
-        cell_in.skip(len);
-        ++OPT_last_col;
-        OPT_last_skip_offset += len + 4;     // ( +4 for the header )
       }
-      // Read the cell
-      cell = data_cell_serializer.readSerialization(cell_in);
-
-      // And close the reader.
-      cell_in.close();
 
       // And put in the cache and return it.
       if (DATA_CELL_CACHING) {
         cache.put(table_id, row, column, cell);
       }
+      // NOTE: A large BLOB isn't put in the off heap cache because it would
+      //   be read from the store to serialize it.
+      if (offheap_cache != null && !(cell instanceof LargeBlobDataCell)) {
+        offheap_cache.put(table_id, row, column, cell);
+      }
       return cell;
 
     }
@@ -1550,12 +2375,106 @@ final class MasterTableDataSource {
 
   }
 
+  /**
+   * Reads the cell of the given column from a row that is stored in the given
+   * array (see VariableSizeDataStore.getRecordBuffer and readRecordShared).
+   * The cells before the column are skipped by reading the length at the
+   * start of each cell.
+   */
+  private DataCell readCellFromBuffer(CellReader reader, byte[] record_buf,
+                                      int column) throws IOException {
+    // Skip the row header
+    int pos = data_store.getRecordBufferOffset() + 2;
+    for (int i = 0; i < column; ++i) {
+      // The length includes the 4 bytes of the length itself.
+      int len = ByteArrayUtil.getInt(record_buf, pos);
+      if (len <= 4) {
+        throw new Error("Corrupt data - cell size is <= 0");
+      }
+      pos += len;
+    }
+    reader.buffer_in.setArray(record_buf, pos, record_buf.length - pos);
+    reader.serializer.setLargeObjectStore(large_objects);
+    return reader.serializer.readSerialization(reader.buffer_in,
+                                               dictionary, column);
+  }
+
+  /**
+   * Reads the cell of the given column from a stream over the given row of
+   * the data store.  This must be called while synchronized over this
+   * object.
+   */
+  private DataCell readCellFromStream(CellReader reader, int row, int column)
+                                                          throws IOException {
+
+    // Open a stream for this row.
+    InputStream in = data_store.getRecordInputStream(row);
+    CellInputStream cell_in = reader.stream_in;
+    cell_in.setParentStream(in);
+
+    // NOTE: This is an optimization for a common sequence of pulling cells
+    //   from a row.  It remembers the index of the last column read in, and
+    //   if the next column requested is > than the last column read, then
+    //   it trivially skips the file pointer to the old point.  The position
+    //   is forgotten if a row of the table is removed or replaced because
+    //   the row index may then be used by a different row.
+
+    int start_col;
+    if (reader.last_row == row && reader.last_changes == row_changes &&
+        column >= reader.last_col) {
+      cell_in.skip(reader.last_skip_offset);
+      start_col = reader.last_col;
+    }
+    else {
+      cell_in.skip(2);
+      reader.last_row = row;
+      reader.last_changes = row_changes;
+      reader.last_skip_offset = 2;
+      reader.last_col = 0;
+      start_col = 0;
+    }
+
+    for (int i = start_col; i < column; ++i) {
+      int len = data_cell_serializer.skipSerialization(cell_in);
+      if (len <= 0) {
+        throw new Error("Corrupt data - cell size is <= 0");
+      }
+      cell_in.skip(len);
+      ++reader.last_col;
+      reader.last_skip_offset += len + 4;     // ( +4 for the header )
+    }
+    // Read the cell
+    reader.serializer.setLargeObjectStore(large_objects);
+    DataCell cell = reader.serializer.readSerialization(cell_in,
+                                                        dictionary, column);
+
+    // And close the reader.
+    cell_in.close();
+
+    return cell;
+
+  }
+
+  /**
+   * Returns the sum of the given column over the given set of rows in this
+   * table using the columnar store for the column.  Returns null if the
+   * column isn't mirrored in a columnar store, in which case the sum must be
+   * found by looking up each cell.
+   */
+  synchronized Object columnarSum(int column, IntegerVector rows) {
+    ColumnarStore column_store = column_stores[column];
+    if (column_store == null) {
+      return null;
+    }
+    return column_store.sum(rows);
+  }
+
   /**
    * Compares the contents of the given cell with the cell found at the given
    * position in the table and returns either LESS_THAN, GREATER_THAN or
-   * EQUAL.
+   * EQUAL.  This isn't synchronized (see 'getCellContents').
    */
-  synchronized int compareCellTo(DataCell object, int column, int row) {
+  int compareCellTo(DataCell object, int column, int row) {
 
     DataCell object2 = getCellContents(column, row);
     int result = object.compareTo(object2);
@@ -1602,6 +2521,97 @@ final class MasterTableDataSource {
     }
   }
 
+  /**
+   * Waits until no other commit holds the commit latch of this table and
+   * then takes it.  A commit holds the latch of each table it changes or
+   * checks until it has committed, so only commits that use the same table
+   * happen one at a time (see TableDataConglomerate.processCommit).
+   * <p>
+   * NOTE: This is not synchronized over this object so readers of the table
+   *   are not blocked while a commit waits for the latch.
+   */
+  void latchForCommit() {
+    synchronized (commit_latch) {
+      while (commit_latched) {
+        try {
+          commit_latch.wait();
+        }
+        catch (InterruptedException e) {}
+      }
+      commit_latched = true;
+    }
+  }
+
+  /**
+   * Gives up the commit latch of this table.
+   */
+  void unlatchForCommit() {
+    synchronized (commit_latch) {
+      commit_latched = false;
+      commit_latch.notifyAll();
+    }
+  }
+
+  /**
+   * Waits until no thread holds the store latch exclusively and then takes
+   * a shared hold of it.  A thread with a shared hold may read rows from
+   * the data store with 'readRecordShared' without the lock of this object.
+   */
+  private void beginSharedRead() {
+    synchronized (store_latch) {
+      while (store_latched) {
+        try {
+          store_latch.wait();
+        }
+        catch (InterruptedException e) {}
+      }
+      ++shared_reads;
+    }
+  }
+
+  /**
+   * Gives up a shared hold of the store latch.
+   */
+  private void endSharedRead() {
+    synchronized (store_latch) {
+      --shared_reads;
+      if (shared_reads == 0) {
+        store_latch.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Takes the store latch exclusively, waiting until the threads reading
+   * from the data store without the lock of this object have finished.
+   * This is held while the structure of the data store changes in a way
+   * that can effect a committed row (a row is removed, replaced or moved,
+   * or the store is closed).  Adding a row doesn't need the latch because
+   * it doesn't change the sectors of the rows that can be read.  This must
+   * be called while synchronized over this object.
+   */
+  private void latchStore() {
+    synchronized (store_latch) {
+      store_latched = true;
+      while (shared_reads > 0) {
+        try {
+          store_latch.wait();
+        }
+        catch (InterruptedException e) {}
+      }
+    }
+  }
+
+  /**
+   * Gives up the exclusive hold of the store latch.
+   */
+  private void unlatchStore() {
+    synchronized (store_latch) {
+      store_latched = false;
+      store_latch.notifyAll();
+    }
+  }
+
   /**
    * Returns true if the table is currently under a root lock (has 1 or more
    * root locks on it).
@@ -1626,6 +2636,7 @@ final class MasterTableDataSource {
    * Atomically returns the next 'unique_id' value from this file.
    */
   synchronized long nextUniqueID() {
+    ensureIndexStoreOpen();
     return index_store.nextUniqueID();
   }
 
@@ -1635,6 +2646,7 @@ final class MasterTableDataSource {
    * converting from one file to another.
    */
   synchronized void setUniqueID(long value) {
+    ensureIndexStoreOpen();
     index_store.setUniqueID(value);
   }
 
@@ -1671,6 +2683,7 @@ final class MasterTableDataSource {
 
     // Set the file name.
     this.file_name = file_name;
+    this.path = path;
 
     // Load the table definition from the store.
     table_def = loadDataTableDef();
@@ -1683,6 +2696,10 @@ final class MasterTableDataSource {
                            table_def.getTableName(), table_def.columnCount());
     // The column rid list cache
     column_rid_list = new RIDList[table_def.columnCount()];
+    // The column key prefix lists
+    column_key_prefixes = new KeyPrefixList[table_def.columnCount()];
+    // The BTreeSearch node caches
+    column_btree_cache = new Cache[table_def.columnCount()];
 
     // Open table indices
     index_store = new IndexStore(new File(path, file_name + ".iid"), Debug());
@@ -1691,6 +2708,11 @@ final class MasterTableDataSource {
     // Attempt to fix the table index file.
     boolean index_store_stable = index_store.fix(terminal);
 
+    // Open the dictionaries and large objects of the table.
+    openDictionary();
+    openLargeObjectStore();
+    large_objects.fix(terminal);
+
     // Load internal state
     loadInternal();
 
@@ -1714,6 +2736,85 @@ final class MasterTableDataSource {
 
   // ---------- Inner classes ----------
 
+  /**
+   * The objects a thread uses to decode the cells it reads from the data
+   * store, and the position of the last cell it read from a row stream (see
+   * 'readCellFromStream').
+   */
+  private static final class CellReader {
+    final DataCellSerialization serializer = new DataCellSerialization();
+    final CellBufferInputStream buffer_in = new CellBufferInputStream();
+    final CellInputStream stream_in = new CellInputStream(null);
+    int last_row = -1;
+    int last_col = -1;
+    int last_skip_offset = -1;
+    int last_changes = -1;
+  }
+
+  /**
+   * An IndexSet returned by 'createIndexSet' while the opening of the index
+   * store is put off.  The index store is opened the first time the set is
+   * used.
+   */
+  private final class DeferredIndexSet implements IndexSet {
+
+    /**
+     * The snapshot from the index store, set when the store is opened.
+     */
+    private IndexSet store_index_set;
+
+    /**
+     * Opens the index store if it isn't open yet, and returns the snapshot
+     * from it.
+     */
+    IndexSet getStoreIndexSet() {
+      synchronized (MasterTableDataSource.this) {
+        ensureIndexStoreOpen();
+        if (store_index_set == null) {
+          throw new Error("IndexSet is disposed.");
+        }
+        return store_index_set;
+      }
+    }
+
+    public IntegerListInterface getIndex(int n) {
+      return getStoreIndexSet().getIndex(n);
+    }
+
+    public void dispose() {
+      synchronized (MasterTableDataSource.this) {
+        if (store_index_set != null) {
+          store_index_set.dispose();
+          store_index_set = null;
+        }
+        else if (deferred_index_sets != null) {
+          deferred_index_sets.remove(this);
+        }
+      }
+    }
+
+    public int getPageSize() {
+      return getStoreIndexSet().getPageSize();
+    }
+
+    public byte[] readPage(int page) throws IOException {
+      return getStoreIndexSet().readPage(page);
+    }
+
+    public int writePage(byte[] buf) throws IOException {
+      return getStoreIndexSet().writePage(buf);
+    }
+
+    public void deletePage(int page) {
+      getStoreIndexSet().deletePage(page);
+    }
+
+    public void addCommitListener(CommitListener listener) {
+      getStoreIndexSet().addCommitListener(listener);
+    }
+
+  }
+
   /**
    * A RawDiagnosticTable implementation that provides direct access to the
    * root data of this table source bypassing any indexing schemes.  This
@@ -1768,8 +2869,7 @@ final class MasterTableDataSource {
    * A MutableTableDataSource object as returned by the
    * 'createTableDataSourceAtCommit' method.
    */
-  private final class MMutableTableDataSource
-                                           implements MutableTableDataSource {
+  final class MMutableTableDataSource implements MutableTableDataSource {
 
     /**
      * The Transaction object that this MutableTableDataSource was
@@ -1812,6 +2912,18 @@ final class MasterTableDataSource {
      */
     private SelectableScheme[] column_schemes;
 
+    /**
+     * The 'recovery point' to which the composite indexes in this table
+     * source have rebuilt to.
+     */
+    private int[] composite_rebuilds;
+
+    /**
+     * The CompositeIndex array that represents the composite indexes of the
+     * table within this transaction.
+     */
+    private CompositeIndex[] composite_indexes;
+
     /**
      * A journal of changes to this source since it was created.
      */
@@ -1829,6 +2941,9 @@ final class MasterTableDataSource {
       row_list_rebuild = 0;
       scheme_rebuilds = new int[col_count];
       column_schemes = new SelectableScheme[col_count];
+      int composite_count = getDataTableDef().compositeIndexCount();
+      composite_rebuilds = new int[composite_count];
+      composite_indexes = new CompositeIndex[composite_count];
       table_journal = new MasterTableJournal(getTableID());
     }
 
@@ -1930,6 +3045,15 @@ final class MasterTableDataSource {
       return MasterTableDataSource.this.compareCellTo(cell, column, row);
     }
 
+    /**
+     * Returns the sum of the column over the given rows from the columnar
+     * store of the master table, or null if there is no columnar store for
+     * the column.
+     */
+    Object columnarSum(int column, IntegerVector rows) {
+      return MasterTableDataSource.this.columnarSum(column, rows);
+    }
+
     // NOTE: Returns an immutable version of the scheme...
     public synchronized SelectableScheme getColumnScheme(int column) {
       SelectableScheme scheme = column_schemes[column];
@@ -1966,12 +3090,64 @@ final class MasterTableDataSource {
       return scheme;
     }
 
+    /**
+     * Returns the composite index at the given position in the table
+     * definition, as it is within this transaction.
+     */
+    private synchronized CompositeIndex getCompositeIndex(int n) {
+      CompositeIndex index = composite_indexes[n];
+      if (index == null) {
+        index = createCompositeIndex(index_set, this, n);
+        composite_indexes[n] = index;
+      }
+
+      // Are there journal entries pending on this index since?
+      int rebuild_index = composite_rebuilds[n];
+      int journal_count = table_journal.entries();
+      while (rebuild_index < journal_count) {
+        byte command = table_journal.getCommand(rebuild_index);
+        int row_index = table_journal.getRowIndex(rebuild_index);
+        if (command == 1) {
+          index.insert(row_index);
+        }
+        else if (command == 2) {
+          index.remove(row_index);
+        }
+        else {
+          throw new Error("Unrecognised journal command.");
+        }
+        ++rebuild_index;
+      }
+      composite_rebuilds[n] = rebuild_index;
+
+      return index;
+    }
+
+    /**
+     * Selects the rows of this table through the composite index at the
+     * given position in the table definition.  See 'CompositeIndex.select'.
+     */
+    IntegerVector compositeIndexSelect(int n, DataCell[] prefix,
+                                       SelectableRange[] ranges) {
+      IntegerVector rows = getCompositeIndex(n).select(prefix, ranges);
+      getSystem().stats().increment("CompositeIndex.selects");
+      return rows;
+    }
+
+    /**
+     * Returns the columns of the composite index at the given position in
+     * the table definition in key order.
+     */
+    int[] compositeIndexColumns(int n) {
+      return getCompositeIndex(n).getColumns();
+    }
+
     // ---------- Table Modification ----------
 
     public int addRow(RowData row_data) {
 
       // Check this isn't a read only source
-      if (isReadOnly()) {
+      if (isReadOnly() || is_replica) {
         throw new Error("Can not add row - table is read only.");
       }
 
@@ -2014,7 +3190,7 @@ final class MasterTableDataSource {
     public void removeRow(int row_index) {
 
       // Check this isn't a read only source
-      if (isReadOnly()) {
+      if (isReadOnly() || is_replica) {
         throw new Error("Can not remove row - table is read only.");
       }
 
@@ -2041,7 +3217,7 @@ final class MasterTableDataSource {
     public int updateRow(int row_index, RowData row_data) {
 
       // Check this isn't a read only source
-      if (isReadOnly()) {
+      if (isReadOnly() || is_replica) {
         throw new Error("Can not update row - table is read only.");
       }
 
@@ -2097,6 +3273,16 @@ final class MasterTableDataSource {
       return table_journal;
     }
 
+    /**
+     * Returns the journal the queries of the transaction record what they
+     * read from this table in, or null if the transaction doesn't check
+     * for changes to what it read when it commits.
+     */
+    MasterTableJournal getReadJournal() {
+      return transaction.transactionErrorOnDirtySelect() ? table_journal
+                                                         : null;
+    }
+
     public void dispose() {
       // Dispose and invalidate the schemes
       // This is really a safety measure to ensure the schemes can't be
@@ -34,6 +34,18 @@ import java.io.IOException;
  * is committed deleted from a master table, this object is notified.  When
  * the master table has no root locks on it, then the garbage collector
  * can kick in and mark all deleted rows as reclaimable.
+ * <p>
+ * Rows are reclaimed in batches of at most 'gc_batch_size' rows.  The table
+ * is only locked while a batch is reclaimed, and the next batch is posted
+ * on the dispatcher after the lock is released, so a query reading the
+ * table waits for one batch at most rather than the whole collection.  The
+ * collection stops when the table is root locked and goes on from where it
+ * stopped when the last root lock is removed.
+ * <p>
+ * After rows are reclaimed, the collector also compacts the data file of
+ * the table in the background.  Each compaction step moves a small batch of
+ * rows into free space nearer the start of the file, and steps are spaced
+ * by the 'compaction_interval' so they happen between commits.
  *
  * @author Tobias Downer
  */
@@ -51,6 +63,11 @@ final class MasterTableGarbageCollector {
    */
   private boolean full_sweep_due;
 
+  /**
+   * The next row of the table to be checked by the full sweep.
+   */
+  private int sweep_position;
+
   /**
    * The list of all rows from the master table that we have been notified
    * of being deleted.
@@ -65,6 +82,47 @@ final class MasterTableGarbageCollector {
    */
   private Object collection_event;
 
+  /**
+   * Set to true when the collection event is posted and hasn't run yet.
+   */
+  private boolean collection_pending;
+
+  /**
+   * The background compaction event.
+   */
+  private Object compaction_event;
+
+  /**
+   * Set to true when rows have been reclaimed and the data file of the
+   * table may need compacting.
+   */
+  private boolean compaction_due;
+
+  /**
+   * Set to true when the compaction event is posted and hasn't run yet.
+   */
+  private boolean compaction_pending;
+
+  /**
+   * The time rows were first marked to be reclaimed since the last time all
+   * marked rows were reclaimed, or 0 if there are no rows to reclaim.
+   */
+  private long first_mark_time;
+
+  /**
+   * The time the first batch of the current collection was reclaimed, and
+   * the number of rows reclaimed by the collection so far.
+   */
+  private long collection_start_time;
+  private int collection_count;
+
+  /**
+   * The stat keys.
+   */
+  private String reclaimed_key;
+  private String lag_key;
+  private String rate_key;
+
   /**
    * Constructs the garbage collector.
    */
@@ -75,6 +133,8 @@ final class MasterTableGarbageCollector {
 
     collection_event =
                 data_source.getSystem().createEvent(new CollectionEvent());
+    compaction_event =
+                data_source.getSystem().createEvent(new CompactionEvent());
   }
 
   /**
@@ -84,6 +144,24 @@ final class MasterTableGarbageCollector {
     return data_source.Debug();
   }
 
+  /**
+   * Sets up the stat keys with the name of the table.
+   */
+  void setupStatKeys(String n) {
+    reclaimed_key = "MasterTableDataSource.GC.Reclaimed." + n;
+    lag_key = "MasterTableDataSource.GC.Lag." + n;
+    rate_key = "MasterTableDataSource.GC.RowsPerSecond." + n;
+  }
+
+  /**
+   * Records the time rows were first marked to be reclaimed.
+   */
+  private void marked() {
+    if (first_mark_time == 0) {
+      first_mark_time = System.currentTimeMillis();
+    }
+  }
+
   /**
    * Called by the MasterTableDataSoruce to notify the collector that a row
    * has been marked as committed deleted.
@@ -97,6 +175,21 @@ final class MasterTableGarbageCollector {
       if (b == false) {
         throw new Error("Row marked twice for deletion.");
       }
+      marked();
+    }
+  }
+
+  /**
+   * Called by the MasterTableDataSource to notify the collector that a row
+   * marked as deleted was reclaimed by the table and so mustn't be
+   * reclaimed again.
+   * <p>
+   * SYNCHRONIZATION: We must be synchronized over 'data_source' when this
+   *   is called.  (This is guarenteed if called from MasterTableDataSource).
+   */
+  void markRowAsReclaimed(int row_index) {
+    if (full_sweep_due == false) {
+      deleted_rows.removeSort(row_index);
     }
   }
 
@@ -109,6 +202,8 @@ final class MasterTableGarbageCollector {
    */
   void markFullSweep() {
     full_sweep_due = true;
+    sweep_position = 0;
+    marked();
     if (deleted_rows.size() > 0) {
       deleted_rows = new BlockIntegerList();
     }
@@ -127,10 +222,40 @@ final class MasterTableGarbageCollector {
    * from the database dispatcher thread.
    */
   void scheduleCollection() {
-    if (full_sweep_due || deleted_rows.size() > 0) {
+    // The event isn't posted again if it's pending, so a table that is
+    // often root locked doesn't keep putting off the collection.
+    if (!collection_pending && (full_sweep_due || deleted_rows.size() > 0)) {
       // Currently waits 300ms
+      collection_pending = true;
       data_source.getSystem().postEvent(300, collection_event);
     }
+    if (compaction_due) {
+      scheduleCompaction();
+    }
+  }
+
+  /**
+   * Called to notify the collector that the data file of the table has free
+   * space and should be compacted in the background.
+   * <p>
+   * SYNCHRONIZATION: We must be synchronized over 'data_source' when this
+   *   is called.  (This is guarenteed if called from MasterTableDataSource).
+   */
+  void markCompactionDue() {
+    compaction_due = true;
+    scheduleCompaction();
+  }
+
+  /**
+   * Schedules the next step of the background compaction if it isn't
+   * already scheduled and compaction is enabled.
+   */
+  private void scheduleCompaction() {
+    TransactionSystem system = data_source.getSystem();
+    if (!compaction_pending && system.getCompactionBatchSize() > 0) {
+      compaction_pending = true;
+      system.postEvent(system.getCompactionInterval(), compaction_event);
+    }
   }
 
 
@@ -142,6 +267,9 @@ final class MasterTableGarbageCollector {
    * dispatcher thread that performs the garbage collection of committed
    * deleted rows on the data source.  This can not delete rows from a table
    * that has its roots locked.
+   * <p>
+   * Each time this is run it reclaims one batch of rows, and if there are
+   * more rows to reclaim it posts itself to run again.
    */
   private class CollectionEvent implements Runnable {
 
@@ -150,10 +278,12 @@ final class MasterTableGarbageCollector {
       try {
         int check_count = 0;
         int delete_count = 0;
+        boolean more = false;
 
         // Synchronize over the master data table source so no other threads
-        // can interfere when we collect this information.
+        // can interfere while this batch is collected.
         synchronized (data_source) {
+          collection_pending = false;
 
           if (data_source.isClosed()) {
             return;
@@ -164,36 +294,68 @@ final class MasterTableGarbageCollector {
           // referenced by transactions or result sets.
           if (!data_source.isRootLocked() &&
               !data_source.hasTransactionChangesPending()) {
+            TransactionSystem system = data_source.getSystem();
+            int batch_size = Math.max(1, system.getGCBatchSize());
+            long start_time = System.currentTimeMillis();
+
             // Are we due a full sweep?
             if (full_sweep_due) {
               int raw_row_count = data_source.rawRowCount();
-              for (int i = 0; i < raw_row_count; ++i) {
+              while (sweep_position < raw_row_count &&
+                     check_count < batch_size) {
                 // Synchronized in data_source.
-                boolean b = data_source.hardCheckAndReclaimRow(i);
+                boolean b = data_source.hardCheckAndReclaimRow(
+                                                          sweep_position);
                 if (b) {
                   ++delete_count;
                 }
                 ++check_count;
+                ++sweep_position;
+              }
+              if (sweep_position >= raw_row_count) {
+                full_sweep_due = false;
+                sweep_position = 0;
               }
-              full_sweep_due = false;
             }
             else {
-              // Are there any rows marked as deleted?
+              // Remove rows marked as deleted from the end of the list.
               int size = deleted_rows.size();
-              if (size > 0) {
-                // Go remove all rows marked as deleted.
-                for (int i = 0; i < size; ++i) {
-                  int row_index = deleted_rows.get(i);
-                  // Synchronized in data_source.
-                  data_source.hardRemoveRow(row_index);
-                  ++delete_count;
-                  ++check_count;
-                }
+              while (size > 0 && check_count < batch_size) {
+                --size;
+                int row_index = deleted_rows.remove(size);
+                // Synchronized in data_source.
+                data_source.hardRemoveRow(row_index);
+                ++delete_count;
+                ++check_count;
               }
-              deleted_rows = new BlockIntegerList();
+            }
+            more = full_sweep_due || deleted_rows.size() > 0;
+
+            if (delete_count > 0) {
+              markCompactionDue();
             }
 
             if (check_count > 0) {
+              long now = System.currentTimeMillis();
+              if (collection_count == 0) {
+                collection_start_time = start_time;
+              }
+              collection_count += delete_count;
+              system.stats().add(delete_count, reclaimed_key);
+              // The time the oldest row still to be reclaimed has waited.
+              system.stats().set(
+                        (int) (first_mark_time == 0 ? 0 :
+                               now - first_mark_time), lag_key);
+              if (!more) {
+                // The rate of the whole collection, including the time
+                // between the batches.
+                long time = Math.max(1, now - collection_start_time);
+                system.stats().set(
+                        (int) ((collection_count * 1000L) / time), rate_key);
+                collection_count = 0;
+                first_mark_time = 0;
+              }
+
               if (Debug().isInterestedIn(Lvl.INFORMATION)) {
                 Debug().write(Lvl.INFORMATION, this,
                           "Row GC: [" + data_source.getName() +
@@ -206,8 +368,17 @@ final class MasterTableGarbageCollector {
 //                                 "] check_count=" + check_count +
 //                                 " delete_count=" + delete_count);
             }
+            else if (!more) {
+              first_mark_time = 0;
+            }
 
           } // if not roots locked and not transactions pending
+
+          // Reclaim the next batch after the lock on the table is released.
+          if (more) {
+            collection_pending = true;
+            data_source.getSystem().postEvent(0, collection_event);
+          }
         } // synchronized
       }
       catch (IOException e) {
@@ -218,4 +389,52 @@ final class MasterTableGarbageCollector {
 
   }
 
+  /**
+   * The background compaction event.  Each time this is run it performs one
+   * step of the compaction of the data file, and if there is more to do it
+   * schedules itself to run again.  If the table is root locked, the step is
+   * tried again when the last root lock is removed.
+   */
+  private class CompactionEvent implements Runnable {
+
+    public void run() {
+
+      try {
+        synchronized (data_source) {
+          compaction_pending = false;
+
+          if (data_source.isClosed()) {
+            return;
+          }
+
+          if (data_source.isRootLocked() ||
+              data_source.hasTransactionChangesPending()) {
+            // Try again when the root lock is released.
+            return;
+          }
+
+          TransactionSystem system = data_source.getSystem();
+          boolean more =
+                 data_source.compactStep(system.getCompactionBatchSize());
+          if (more) {
+            scheduleCompaction();
+          }
+          else {
+            compaction_due = false;
+            if (Debug().isInterestedIn(Lvl.INFORMATION)) {
+              Debug().write(Lvl.INFORMATION, this,
+                        "Compaction of [" + data_source.getName() +
+                        "] finished.");
+            }
+          }
+        }
+      }
+      catch (IOException e) {
+        Debug().writeException(e);
+      }
+
+    }
+
+  }
+
 }
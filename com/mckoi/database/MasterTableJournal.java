@@ -25,6 +25,8 @@
 package com.mckoi.database;
 
 import com.mckoi.util.IntegerVector;
+import com.mckoi.util.IntegerBitmap;
+import java.util.ArrayList;
 import java.io.*;
 
 /**
@@ -74,6 +76,23 @@ final class MasterTableJournal {
    */
   private IntegerVector command_parameters;
 
+  /**
+   * The maximum number of key ranges recorded as read from a table before
+   * the journal records that the whole table was read instead.
+   */
+  private final static int MAX_READ_RANGES = 256;
+
+  /**
+   * The rows of the table the transaction read, the ranges of keys it
+   * selected rows with (KeyRange) and whether it read every row of the
+   * table.  These are only recorded when a select from a table another
+   * transaction changes is an error, and are discarded when the transaction
+   * commits (see 'testReadClash').
+   */
+  private IntegerBitmap read_rows;
+  private ArrayList read_ranges;
+  private boolean read_all;
+
   /**
    * Constructs the master table journal.
    */
@@ -128,6 +147,76 @@ final class MasterTableJournal {
     addParameter(row_index);
   }
 
+  // ---------- Reads ----------
+  // The reads are recorded by DataTable as the queries of the transaction
+  // read the table.
+
+  /**
+   * Records that the transaction read the given row.
+   */
+  void markRowRead(int row_index) {
+    if (!read_all) {
+      if (read_rows == null) {
+        read_rows = new IntegerBitmap();
+      }
+      read_rows.add(row_index);
+    }
+  }
+
+  /**
+   * Records that the transaction read the given rows.
+   */
+  void markRowsRead(IntegerVector rows) {
+    if (!read_all) {
+      int size = rows.size();
+      for (int i = 0; i < size; ++i) {
+        markRowRead(rows.intAt(i));
+      }
+    }
+  }
+
+  /**
+   * Records that the transaction read every row of the table, so a row
+   * added to or removed from the table by any other transaction changes
+   * what it read.
+   */
+  void markAllRead() {
+    read_all = true;
+    read_rows = null;
+    read_ranges = null;
+  }
+
+  /**
+   * Records that the transaction selected rows from the table where the
+   * values of the given columns equal 'prefix' and, if 'ranges' isn't null,
+   * the value of the column after the prefix is within one of 'ranges'.
+   * For a select on one column 'prefix' is empty.
+   */
+  void addReadRange(int[] columns, DataCell[] prefix,
+                    SelectableRange[] ranges) {
+    if (!read_all) {
+      if (read_ranges == null) {
+        read_ranges = new ArrayList();
+      }
+      if (read_ranges.size() >= MAX_READ_RANGES) {
+        // Too many ranges to test each row against, so be conservative.
+        markAllRead();
+      }
+      else {
+        read_ranges.add(new KeyRange(columns, prefix, ranges));
+      }
+    }
+  }
+
+  /**
+   * Discards the reads recorded in this journal.
+   */
+  void clearReads() {
+    read_all = false;
+    read_rows = null;
+    read_ranges = null;
+  }
+
   // ---------- Getters ----------
   // These methods assume the journal has been setup and no more entries
   // will be made.
@@ -256,6 +345,43 @@ final class MasterTableJournal {
   }
 
 
+  /**
+   * Throws a transaction clash exception if the given journal, committed by
+   * another transaction on the table 'master' after this transaction
+   * started, changed anything the reads recorded in this journal saw.  A
+   * removed row clashes if this transaction read it, and an added row
+   * clashes if its key is in a range this transaction selected from, or if
+   * the transaction read the whole table.
+   */
+  void testReadClash(MasterTableJournal journal, MasterTableDataSource master)
+                                                 throws TransactionException {
+    for (int n = 0; n < journal.entries(); ++n) {
+      int row_index = journal.getRowIndex(n);
+      boolean clash;
+      if (read_all) {
+        clash = true;
+      }
+      else if (journal.getCommand(n) == TABLE_REMOVE) {
+        clash = read_rows != null && read_rows.contains(row_index);
+      }
+      else {
+        clash = false;
+        int size = read_ranges == null ? 0 : read_ranges.size();
+        for (int i = 0; i < size && !clash; ++i) {
+          clash = ((KeyRange) read_ranges.get(i)).contains(master, row_index);
+        }
+      }
+      if (clash) {
+        throw new TransactionException(
+           TransactionException.DIRTY_TABLE_SELECT,
+           "Concurrent Serializable Transaction Conflict(4): " +
+           "Select from table that has committed changes: " +
+           master.getName() + " ( row: " + row_index + " )");
+      }
+    }
+  }
+
+
   // ---------- Stream serialization methods ----------
 
   /**
@@ -316,4 +442,78 @@ final class MasterTableJournal {
     return new String(buf);
   }
 
+  // ---------- Inner classes ----------
+
+  /**
+   * A range of keys a transaction selected rows of a table with.
+   */
+  private static final class KeyRange {
+
+    /**
+     * The columns of the key, the values the first columns must equal, and
+     * the ranges the value of the column after them must be within (or null
+     * if it can be anything).
+     */
+    private final int[] columns;
+    private final DataCell[] prefix;
+    private final SelectableRange[] ranges;
+
+    KeyRange(int[] columns, DataCell[] prefix, SelectableRange[] ranges) {
+      this.columns = columns;
+      this.prefix = prefix;
+      this.ranges = ranges;
+    }
+
+    /**
+     * Returns true if the key of the given row of the table is within this
+     * range.
+     */
+    boolean contains(MasterTableDataSource master, int row_index) {
+      for (int i = 0; i < prefix.length; ++i) {
+        DataCell cell = master.getCellContents(columns[i], row_index);
+        if (cell.compareTo(prefix[i]) != 0) {
+          return false;
+        }
+      }
+      if (ranges == null) {
+        return true;
+      }
+      DataCell cell =
+               master.getCellContents(columns[prefix.length], row_index);
+      for (int i = 0; i < ranges.length; ++i) {
+        if (inRange(ranges[i], cell)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Returns true if the cell is within the range.  A bound that isn't a
+     * value (FIRST_IN_SET or LAST_IN_SET) doesn't limit the range.
+     */
+    private static boolean inRange(SelectableRange range, DataCell cell) {
+      Object start = range.getStart();
+      if (start instanceof DataCell) {
+        int c = cell.compareTo((DataCell) start);
+        if (c < 0 ||
+            (c == 0 &&
+             range.getStartFlag() == SelectableRange.AFTER_LAST_VALUE)) {
+          return false;
+        }
+      }
+      Object end = range.getEnd();
+      if (end instanceof DataCell) {
+        int c = cell.compareTo((DataCell) end);
+        if (c > 0 ||
+            (c == 0 &&
+             range.getEndFlag() == SelectableRange.BEFORE_FIRST_VALUE)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+  }
+
 }
@@ -171,8 +171,8 @@ final class MultiVersionTableIndices {
    * successfully committed against this table that have an 'commit_id' that
    * is greater or equal to the given.
    * <p>
-   * This is part of the conglomerate commit check phase and will be on a
-   * commit_lock.
+   * This is part of the conglomerate commit check phase and will be on the
+   * commit latch of the table.
    */
   MasterTableJournal[] findAllJournalsSince(long commit_id) {
 
@@ -0,0 +1,625 @@
+/**
+ * com.mckoi.database.OffHeapCellCache  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import com.mckoi.util.Stats;
+import com.mckoi.debug.*;
+
+/**
+ * A second tier cell cache that stores serialized DataCell objects in direct
+ * (off heap) memory.  This tier is checked by MasterTableDataSource after
+ * the DataCellCache misses and before the cell is read from the data store.
+ * Because the cells are kept as bytes outside the Java heap, a very large
+ * cache does not put any pressure on the garbage collector.
+ * <p>
+ * The cache is split into segments that each have their own lock.  Each
+ * segment has a budget of pages of direct memory.  A page is carved into
+ * fixed size slots of one of the slot size classes (32, 64, 128, ...
+ * bytes), and a cell is stored in a slot of the smallest class it fits in.
+ * Pages are allocated to a class as the class needs them.  When all the
+ * pages of a segment have been allocated, a class makes room by evicting
+ * one of its own slots with the 'clock' algorithm.  A class that has no
+ * pages at that point takes the last page of the least recently used class.
+ * <p>
+ * The index from key to slot is kept in primitive arrays on the heap
+ * (about 20 bytes per entry).
+ *
+ * @author agent
+ */
+
+final class OffHeapCellCache {
+
+  /**
+   * The size of the smallest slot class.
+   */
+  private static final int MIN_SLOT_SIZE = 32;
+
+  /**
+   * The size of a page of direct memory.
+   */
+  private static final int PAGE_SIZE = 256 * 1024;
+
+  /**
+   * The maximum number of segments.
+   */
+  private static final int MAX_SEGMENTS = 16;
+
+  /**
+   * Bits of an encoded slot id that hold the slot index (the rest is the
+   * class).
+   */
+  private static final int SLOT_BITS = 26;
+  private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+
+  /**
+   * The TransactionSystem that this cache is from.
+   */
+  private final TransactionSystem system;
+
+  /**
+   * The largest serialized cell we store.
+   */
+  private final int max_entry_size;
+
+  /**
+   * The number of slot classes and the size of a page.
+   */
+  private final int class_count;
+  private final int page_size;
+
+  /**
+   * The segments of the cache.
+   */
+  private final Segment[] segments;
+  private final int segment_mask;
+
+  /**
+   * Constructs the cache.
+   *
+   * @param max_cache_size the maximum amount of direct memory in bytes.
+   * @param max_entry_size the largest serialized cell that is cached.
+   */
+  OffHeapCellCache(TransactionSystem system,
+                   long max_cache_size, int max_entry_size) {
+    this.system = system;
+
+    int classes = 1;
+    while ((MIN_SLOT_SIZE << (classes - 1)) < max_entry_size) {
+      ++classes;
+    }
+    this.class_count = classes;
+    this.max_entry_size = max_entry_size;
+    this.page_size = Math.max(PAGE_SIZE, MIN_SLOT_SIZE << (classes - 1));
+
+    // Each segment should have enough pages to give every class a few.
+    int seg_count = 1;
+    while (seg_count < MAX_SEGMENTS &&
+           (max_cache_size / (seg_count * 2) / page_size) >= classes * 4) {
+      seg_count *= 2;
+    }
+    segments = new Segment[seg_count];
+    segment_mask = seg_count - 1;
+    int seg_pages = (int) Math.max(1, max_cache_size / seg_count / page_size);
+    for (int i = 0; i < seg_count; ++i) {
+      segments[i] = new Segment(seg_pages);
+    }
+  }
+
+  /**
+   * Returns the table key and row packed into a long.
+   */
+  private static long packKey(int table_key, int row) {
+    return ((long) table_key << 32) | (row & 0x0FFFFFFFFL);
+  }
+
+  /**
+   * Returns the hash code of the given key.
+   */
+  private static int hashKey(long key, int column) {
+    long h = key ^ ((long) column * 0x9E3779B97F4A7C15L);
+    h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+    h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+    return (int) (h ^ (h >>> 33));
+  }
+
+  private Segment segmentFor(int hash) {
+    return segments[(hash >>> 24) & segment_mask];
+  }
+
+  /**
+   * Gets a DataCell from the cache.  Returns null if the cell is not in the
+   * cache.
+   */
+  DataCell get(int table_key, int row, int column) {
+    long key = packKey(table_key, row);
+    int hash = hashKey(key, column);
+    return segmentFor(hash).get(key, (char) column, hash);
+  }
+
+  /**
+   * Puts a DataCell in the cache.  Cells that serialize to more than the
+   * maximum entry size are ignored.
+   */
+  void put(int table_key, int row, int column, DataCell cell) {
+    long key = packKey(table_key, row);
+    int hash = hashKey(key, column);
+    segmentFor(hash).put(key, (char) column, hash, cell);
+  }
+
+  /**
+   * Removes a cell from the cache.  This must be called when the contents
+   * of the cell changes (for example, when a row index is reused).
+   */
+  void remove(int table_key, int row, int column) {
+    long key = packKey(table_key, row);
+    int hash = hashKey(key, column);
+    segmentFor(hash).remove(key, (char) column, hash);
+  }
+
+  /**
+   * Publishes the counters of the cache to the system statistics.
+   */
+  void publishStats() {
+    Stats stats = system.stats();
+    long hits = 0, misses = 0, evictions = 0, bytes = 0;
+    int pages = 0, nodes = 0;
+    for (int i = 0; i < segments.length; ++i) {
+      Segment seg = segments[i];
+      synchronized (seg) {
+        hits += seg.hits;
+        misses += seg.misses;
+        evictions += seg.evictions;
+        bytes += seg.bytes;
+        pages += seg.page_count;
+        nodes += seg.count;
+      }
+    }
+    stats.set((int) hits, "OffHeapCellCache.hits");
+    stats.set((int) misses, "OffHeapCellCache.misses");
+    stats.set((int) evictions, "OffHeapCellCache.evictions");
+    stats.set((int) (bytes / 1024), "OffHeapCellCache.current_cache_size_kb");
+    stats.set((int) (((long) pages * page_size) / 1024),
+              "OffHeapCellCache.allocated_kb");
+    stats.set(nodes, "OffHeapCellCache.current_node_count");
+  }
+
+  // ---------- Inner classes ----------
+
+  /**
+   * A ByteArrayOutputStream that exposes its buffer.
+   */
+  private static final class ExposedByteArrayOutputStream
+                                              extends ByteArrayOutputStream {
+    ExposedByteArrayOutputStream(int size) {
+      super(size);
+    }
+    byte[] getBuffer() {
+      return buf;
+    }
+  }
+
+  /**
+   * The slots of one size class in a segment.  'lengths' is -1 for a free
+   * slot.  The 'chain' array links the hash chains and the free list.
+   */
+  private static final class SlotClass {
+
+    final int index;
+    final int slot_size;
+    final int slots_per_page;
+    int[] pages = new int[4];
+    int page_count = 0;
+
+    long[] keys = new long[0];
+    char[] columns = new char[0];
+    int[] lengths = new int[0];
+    int[] chain = new int[0];
+    boolean[] referenced = new boolean[0];
+
+    int free_head = -1;
+    int hand = 0;
+
+    /**
+     * The segment tick of the last time a slot of this class was used.
+     */
+    long last_used = 0;
+
+    SlotClass(int index, int slot_size, int page_size) {
+      this.index = index;
+      this.slot_size = slot_size;
+      this.slots_per_page = page_size / slot_size;
+    }
+
+    int capacity() {
+      return page_count * slots_per_page;
+    }
+
+    /**
+     * Adds the given segment page to this class.
+     */
+    void addPage(int page) {
+      if (page_count == pages.length) {
+        int[] new_pages = new int[page_count * 2];
+        System.arraycopy(pages, 0, new_pages, 0, page_count);
+        pages = new_pages;
+      }
+      int old_capacity = capacity();
+      pages[page_count] = page;
+      ++page_count;
+      int capacity = capacity();
+
+      long[] new_keys = new long[capacity];
+      char[] new_columns = new char[capacity];
+      int[] new_lengths = new int[capacity];
+      int[] new_chain = new int[capacity];
+      boolean[] new_referenced = new boolean[capacity];
+      System.arraycopy(keys, 0, new_keys, 0, old_capacity);
+      System.arraycopy(columns, 0, new_columns, 0, old_capacity);
+      System.arraycopy(lengths, 0, new_lengths, 0, old_capacity);
+      System.arraycopy(chain, 0, new_chain, 0, old_capacity);
+      System.arraycopy(referenced, 0, new_referenced, 0, old_capacity);
+      keys = new_keys;
+      columns = new_columns;
+      lengths = new_lengths;
+      chain = new_chain;
+      referenced = new_referenced;
+
+      for (int i = old_capacity; i < capacity; ++i) {
+        lengths[i] = -1;
+        chain[i] = (i + 1 < capacity) ? i + 1 : free_head;
+      }
+      free_head = old_capacity;
+    }
+
+    /**
+     * Removes the last page from this class and returns it.  The slots of
+     * the page must all be free.
+     */
+    int removeLastPage() {
+      --page_count;
+      int capacity = capacity();
+      // Rebuild the free list without the slots of the removed page.
+      free_head = -1;
+      for (int i = capacity - 1; i >= 0; --i) {
+        if (lengths[i] == -1) {
+          chain[i] = free_head;
+          free_head = i;
+        }
+      }
+      if (hand >= capacity) {
+        hand = 0;
+      }
+      return pages[page_count];
+    }
+
+  }
+
+  /**
+   * A segment of the cache.  All access to a segment is synchronized over
+   * the segment object.
+   */
+  private final class Segment {
+
+    /**
+     * The direct memory pages of this segment.
+     */
+    private java.nio.ByteBuffer[] page_buffers;
+    int page_count;
+    private int max_pages;
+
+    /**
+     * The slot classes.
+     */
+    private final SlotClass[] classes;
+
+    /**
+     * The head encoded slot id of each hash bucket (-1 if empty).
+     */
+    private final int[] buckets;
+
+    /**
+     * Counters.
+     */
+    long hits, misses, evictions, bytes;
+    int count;
+
+    /**
+     * Incremented every time a slot is used.
+     */
+    private long tick = 0;
+
+    /**
+     * Objects used to serialize and deserialize cells.
+     */
+    private final DataCellSerialization serializer;
+    private final ExposedByteArrayOutputStream bout;
+    private final DataOutputStream dout;
+    private final CellInputStream cell_in;
+    private final byte[] read_buf;
+
+    Segment(int max_pages) {
+      this.max_pages = max_pages;
+      this.page_buffers = new java.nio.ByteBuffer[max_pages];
+      this.page_count = 0;
+      classes = new SlotClass[class_count];
+      for (int i = 0; i < class_count; ++i) {
+        classes[i] = new SlotClass(i, MIN_SLOT_SIZE << i, page_size);
+      }
+      // One bucket for every 256 bytes of the segment.
+      long seg_bytes = (long) max_pages * page_size;
+      int bucket_count = 1024;
+      while (bucket_count < (1 << 22) && bucket_count < seg_bytes / 256) {
+        bucket_count *= 2;
+      }
+      buckets = new int[bucket_count];
+      for (int i = 0; i < bucket_count; ++i) {
+        buckets[i] = -1;
+      }
+      serializer = new DataCellSerialization();
+      bout = new ExposedByteArrayOutputStream(1024);
+      dout = new DataOutputStream(bout);
+      cell_in = new CellInputStream(null);
+      read_buf = new byte[MIN_SLOT_SIZE << (class_count - 1)];
+    }
+
+    /**
+     * Returns the 'next' link of the given encoded slot.
+     */
+    private int nextOf(int id) {
+      return classes[id >>> SLOT_BITS].chain[id & SLOT_MASK];
+    }
+
+    private void setNext(int id, int next) {
+      classes[id >>> SLOT_BITS].chain[id & SLOT_MASK] = next;
+    }
+
+    /**
+     * Returns the encoded slot id of the given key or -1 if not found.
+     */
+    private int find(long key, char column, int hash) {
+      int id = buckets[hash & (buckets.length - 1)];
+      while (id != -1) {
+        SlotClass c = classes[id >>> SLOT_BITS];
+        int i = id & SLOT_MASK;
+        if (c.keys[i] == key && c.columns[i] == column) {
+          return id;
+        }
+        id = c.chain[i];
+      }
+      return -1;
+    }
+
+    /**
+     * Unlinks the given slot from its hash chain and frees it.
+     */
+    private void removeSlot(int id) {
+      SlotClass c = classes[id >>> SLOT_BITS];
+      int i = id & SLOT_MASK;
+      int b = hashKey(c.keys[i], c.columns[i]) & (buckets.length - 1);
+      int cur = buckets[b];
+      int prev = -1;
+      while (cur != id) {
+        prev = cur;
+        cur = nextOf(cur);
+      }
+      if (prev == -1) {
+        buckets[b] = c.chain[i];
+      }
+      else {
+        setNext(prev, c.chain[i]);
+      }
+      bytes -= c.lengths[i];
+      --count;
+      c.lengths[i] = -1;
+      c.referenced[i] = false;
+      c.chain[i] = c.free_head;
+      c.free_head = i;
+    }
+
+    /**
+     * Returns the direct memory buffer positioned at the given slot.
+     */
+    private java.nio.ByteBuffer position(SlotClass c, int i) {
+      java.nio.ByteBuffer page =
+                          page_buffers[c.pages[i / c.slots_per_page]];
+      page.position((i % c.slots_per_page) * c.slot_size);
+      return page;
+    }
+
+    /**
+     * Tries to allocate a new page of direct memory.  Returns -1 if the
+     * segment can't have any more pages.
+     */
+    private int allocatePage() {
+      if (page_count >= max_pages) {
+        return -1;
+      }
+      try {
+        page_buffers[page_count] =
+                               java.nio.ByteBuffer.allocateDirect(page_size);
+      }
+      catch (OutOfMemoryError e) {
+        // Out of direct memory (see -XX:MaxDirectMemorySize) so stop
+        // allocating in this segment.
+        system.Debug().write(Lvl.ERROR, OffHeapCellCache.this,
+               "Unable to allocate off heap cache page: " + e.getMessage());
+        max_pages = page_count;
+        return -1;
+      }
+      ++page_count;
+      return page_count - 1;
+    }
+
+    /**
+     * Takes the last page from the least recently used class other than the
+     * given class, evicting the cells that are stored in the page.  Returns
+     * -1 if no other class has a page.
+     */
+    private int reclaimPage(SlotClass c) {
+      SlotClass victim = null;
+      for (int n = 0; n < classes.length; ++n) {
+        SlotClass v = classes[n];
+        if (v != c && v.page_count > 0 &&
+            (victim == null || v.last_used < victim.last_used)) {
+          victim = v;
+        }
+      }
+      if (victim == null) {
+        return -1;
+      }
+      int start = (victim.page_count - 1) * victim.slots_per_page;
+      int end = start + victim.slots_per_page;
+      for (int i = start; i < end; ++i) {
+        if (victim.lengths[i] >= 0) {
+          removeSlot((victim.index << SLOT_BITS) | i);
+          ++evictions;
+        }
+      }
+      return victim.removeLastPage();
+    }
+
+    /**
+     * Returns a free slot in the given class, evicting a slot if needed.
+     * Returns -1 if a slot could not be found.
+     */
+    private int allocateSlot(SlotClass c) {
+      if (c.free_head == -1) {
+        int page = allocatePage();
+        if (page != -1) {
+          c.addPage(page);
+        }
+        else if (c.capacity() == 0) {
+          // This class has no pages so take one from another class
+          page = reclaimPage(c);
+          if (page == -1) {
+            return -1;
+          }
+          c.addPage(page);
+        }
+        else {
+          // Evict with the clock
+          int capacity = c.capacity();
+          while (true) {
+            int i = c.hand;
+            c.hand = (c.hand + 1) % capacity;
+            if (c.lengths[i] >= 0) {
+              if (c.referenced[i]) {
+                c.referenced[i] = false;
+              }
+              else {
+                removeSlot((c.index << SLOT_BITS) | i);
+                ++evictions;
+                break;
+              }
+            }
+          }
+        }
+      }
+      int i = c.free_head;
+      c.free_head = c.chain[i];
+      return i;
+    }
+
+    synchronized DataCell get(long key, char column, int hash) {
+      int id = find(key, column, hash);
+      if (id == -1) {
+        ++misses;
+        return null;
+      }
+      ++hits;
+      SlotClass c = classes[id >>> SLOT_BITS];
+      int i = id & SLOT_MASK;
+      c.referenced[i] = true;
+      c.last_used = ++tick;
+      int len = c.lengths[i];
+      position(c, i).get(read_buf, 0, len);
+      try {
+        cell_in.setParentStream(new ByteArrayInputStream(read_buf, 0, len));
+        return serializer.readSerialization(cell_in);
+      }
+      catch (IOException e) {
+        system.Debug().writeException(e);
+        throw new Error("IO Error reading off heap cache: " + e.getMessage());
+      }
+    }
+
+    synchronized void put(long key, char column, int hash, DataCell cell) {
+      int id = find(key, column, hash);
+      if (id != -1) {
+        removeSlot(id);
+      }
+
+      bout.reset();
+      try {
+        serializer.setToSerialize(cell);
+        serializer.writeSerialization(dout);
+        dout.flush();
+      }
+      catch (IOException e) {
+        system.Debug().writeException(e);
+        throw new Error("IO Error writing off heap cache: " + e.getMessage());
+      }
+      int len = bout.size();
+      if (len > max_entry_size) {
+        return;
+      }
+
+      int class_index = 0;
+      while ((MIN_SLOT_SIZE << class_index) < len) {
+        ++class_index;
+      }
+      SlotClass c = classes[class_index];
+      int i = allocateSlot(c);
+      if (i == -1) {
+        return;
+      }
+      position(c, i).put(bout.getBuffer(), 0, len);
+
+      int b = hash & (buckets.length - 1);
+      c.keys[i] = key;
+      c.columns[i] = column;
+      c.lengths[i] = len;
+      c.referenced[i] = true;
+      c.last_used = ++tick;
+      c.chain[i] = buckets[b];
+      buckets[b] = (class_index << SLOT_BITS) | i;
+      bytes += len;
+      ++count;
+    }
+
+    synchronized void remove(long key, char column, int hash) {
+      int id = find(key, column, hash);
+      if (id != -1) {
+        removeSlot(id);
+      }
+    }
+
+  }
+
+}
@@ -151,6 +151,14 @@ class OuterTable extends VirtualTable implements RootTable {
 
   }
 
+  /**
+   * The outer rows in this table do not reference a row in the parent so
+   * the sum can not be found from the columnar store.
+   */
+  Object columnarSum(int column, IntegerVector row_set) {
+    return null;
+  }
+
   /**
    * Returns an object that represents the information in the given cell
    * in the table.
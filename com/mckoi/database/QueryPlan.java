@@ -27,6 +27,7 @@ package com.mckoi.database;
 import java.util.List;
 import java.util.ArrayList;
 import com.mckoi.database.global.NullObject;
+import com.mckoi.util.IntegerVector;
 
 /**
  * Various helper methods for constructing a plan tree, and the plan node
@@ -72,6 +73,233 @@ public class QueryPlan {
     }
   }
 
+  /**
+   * Returns the value if the given set of ranges selects a single value that
+   * is not NULL (eg. from 'a = 3'), otherwise returns null.
+   */
+  private static DataCell equalityValue(SelectableRange[] ranges) {
+    if (ranges.length == 1) {
+      SelectableRange range = ranges[0];
+      Object start = range.getStart();
+      Object end = range.getEnd();
+      if (range.getStartFlag() == SelectableRange.FIRST_VALUE &&
+          range.getEndFlag() == SelectableRange.LAST_VALUE &&
+          start instanceof DataCell && end instanceof DataCell) {
+        DataCell cell = (DataCell) start;
+        if (cell.getCell() != null && cell.compareTo((DataCell) end) == 0) {
+          return cell;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the position of the given value in the array, or -1 if it is
+   * not found.
+   */
+  private static int indexOf(int[] array, int val) {
+    for (int i = 0; i < array.length; ++i) {
+      if (array[i] == val) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Selects the given ranges of the given columns from the table.  If the
+   * table has a composite index with a key made from the columns that are
+   * selected by a single value (and the ranges of the column after the key)
+   * then the index is used to select the rows.  Otherwise, if 2 or more of
+   * the columns have a bitmap index the bitmaps are combined to select the
+   * rows.  The ranges of the remaining columns are selected from the result.
+   */
+  private static Table multiColumnRangeSelect(Table t, Variable[] columns,
+                                              SelectableRange[][] ranges) {
+    if (t.getRowCount() == 0) {
+      return t;
+    }
+    int sz = columns.length;
+    DataTableDef def = t.getDataTableDef();
+    int composite_count = (def == null) ? 0 : def.compositeIndexCount();
+
+    int[] col_index = new int[sz];
+    DataCell[] equal = new DataCell[sz];
+    for (int i = 0; i < sz; ++i) {
+      col_index[i] = t.findFieldName(columns[i]);
+      equal[i] = equalityValue(ranges[i]);
+    }
+
+    // Find the composite index with the longest key.  An index is only
+    // worth using if the key has 2 or more columns, or 1 column and a
+    // range on the column after it.
+    int best_index = -1;
+    int best_key_size = 0;
+    int best_range_pos = -1;
+    int best_score = 2;
+    for (int n = 0; n < composite_count; ++n) {
+      String[] index_columns = def.compositeIndexColumns(n);
+      int key_size = 0;
+      int range_pos = -1;
+      while (key_size < index_columns.length) {
+        int p = indexOf(col_index,
+                        def.findColumnName(index_columns[key_size]));
+        if (p == -1) {
+          break;
+        }
+        else if (equal[p] == null) {
+          if (ranges[p].length > 0) {
+            range_pos = p;
+          }
+          break;
+        }
+        ++key_size;
+      }
+      int score = (key_size * 2) + (range_pos == -1 ? 0 : 1);
+      if (key_size > 0 && score > best_score) {
+        best_index = n;
+        best_key_size = key_size;
+        best_range_pos = range_pos;
+        best_score = score;
+      }
+    }
+
+    boolean[] selected = new boolean[sz];
+    Table result = t;
+    if (best_index != -1) {
+      String[] index_columns = def.compositeIndexColumns(best_index);
+      DataCell[] key = new DataCell[best_key_size];
+      for (int i = 0; i < best_key_size; ++i) {
+        int p = indexOf(col_index, def.findColumnName(index_columns[i]));
+        key[i] = equal[p];
+        selected[p] = true;
+      }
+      SelectableRange[] key_range = null;
+      if (best_range_pos != -1) {
+        key_range = ranges[best_range_pos];
+        selected[best_range_pos] = true;
+      }
+      IntegerVector rows = t.compositeIndexSelect(best_index, key, key_range);
+      if (rows != null) {
+        VirtualTable table = new VirtualTable(t);
+        table.set(t, rows);
+        result = table;
+      }
+      else {
+        selected = new boolean[sz];
+      }
+    }
+    if (result == t) {
+      IntegerVector rows = t.bitmapSelect(col_index, ranges, selected);
+      if (rows != null) {
+        VirtualTable table = new VirtualTable(t);
+        table.set(t, rows);
+        result = table;
+      }
+    }
+
+    // Select the ranges of the columns that weren't selected by the index.
+    for (int i = 0; i < sz; ++i) {
+      if (!selected[i]) {
+        result = result.rangeSelect(columns[i], ranges[i]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Joins the rows of 'probe' with the rows of 'table' where the values in
+   * the 'probe_vars' columns equal the 'table_vars' columns, by looking up
+   * the values of each row of 'probe' in a composite index of 'table'.
+   * The composite index key must contain 2 or more of the columns.  The
+   * 'joined' array is set to true for each pair of columns in the key, the
+   * other pairs are not joined by this method.  Returns null if 'table' has
+   * no composite index that can be used.
+   */
+  private static Table compositeEquiJoin(Table table, Table probe,
+                      Variable[] table_vars, Variable[] probe_vars,
+                      boolean[] joined) {
+    DataTableDef def = table.getDataTableDef();
+    if (def == null) {
+      return null;
+    }
+    int sz = table_vars.length;
+    int[] col_index = new int[sz];
+    for (int i = 0; i < sz; ++i) {
+      col_index[i] = table.findFieldName(table_vars[i]);
+    }
+
+    // Find the composite index with the longest key.
+    int best_index = -1;
+    int[] best_key = null;
+    for (int n = 0; n < def.compositeIndexCount(); ++n) {
+      String[] index_columns = def.compositeIndexColumns(n);
+      IntegerVector key = new IntegerVector();
+      for (int i = 0; i < index_columns.length; ++i) {
+        int p = indexOf(col_index, def.findColumnName(index_columns[i]));
+        if (p == -1) {
+          break;
+        }
+        key.addInt(p);
+      }
+      if (key.size() >= 2 &&
+          (best_key == null || key.size() > best_key.length)) {
+        best_index = n;
+        best_key = key.toIntArray();
+      }
+    }
+    if (best_index == -1) {
+      return null;
+    }
+
+    int key_size = best_key.length;
+    TableField[] key_fields = new TableField[key_size];
+    int[] probe_cols = new int[key_size];
+    for (int i = 0; i < key_size; ++i) {
+      key_fields[i] = table.getFieldAt(col_index[best_key[i]]);
+      probe_cols[i] = probe.findFieldName(probe_vars[best_key[i]]);
+    }
+
+    IntegerVector table_row_set = new IntegerVector();
+    IntegerVector probe_row_set = new IntegerVector();
+
+    RowEnumeration e = probe.rowEnumeration();
+    each_row:
+    while (e.hasMoreRows()) {
+      int row_index = e.nextRowIndex();
+      DataCell[] key = new DataCell[key_size];
+      for (int i = 0; i < key_size; ++i) {
+        Object ob = probe.getCellContents(probe_cols[i], row_index).getCell();
+        // NULL is not equal to anything.
+        if (ob == null) {
+          continue each_row;
+        }
+        key[i] = DataCellFactory.generateDataCell(key_fields[i], ob);
+      }
+      IntegerVector rows = table.compositeIndexSelect(best_index, key, null);
+      if (rows == null) {
+        return null;
+      }
+      int rows_size = rows.size();
+      for (int i = 0; i < rows_size; ++i) {
+        probe_row_set.addInt(row_index);
+      }
+      table_row_set.append(rows);
+    }
+
+    for (int i = 0; i < key_size; ++i) {
+      joined[best_key[i]] = true;
+    }
+
+    Table[] tabs = new Table[] { table, probe };
+    IntegerVector[] row_sets = new IntegerVector[]
+                                            { table_row_set, probe_row_set };
+    VirtualTable out_table = new VirtualTable(tabs);
+    out_table.set(tabs, row_sets);
+    return out_table;
+  }
+
 
 
   // ---------- Plan node implementations ----------
@@ -350,15 +578,16 @@ public class QueryPlan {
      * <p>
      * If non 'and' operators are found then the reduction stops.
      */
-    private ArrayList createAndList(ArrayList list, Expression exp) {
+    private static ArrayList createAndList(ArrayList list, Expression exp) {
       return exp.breakByOperator(list, "and");
     }
 
     /**
      * Updates a range with the given expression.
      */
-    private void updateRange(QueryContext context, SelectableRangeSet range,
-                             TableField field, Expression e) {
+    private static void updateRange(QueryContext context,
+                                    SelectableRangeSet range,
+                                    TableField field, Expression e) {
       Operator op = (Operator) e.last();
       Expression[] exps = e.split();
       // Evaluate to an object
@@ -374,10 +603,10 @@ public class QueryPlan {
      * Calculates a list of SelectableRange objects that represent the range
      * of the expression.
      */
-    private void calcRange(final QueryContext context,
-                           final TableField field,
-                           final SelectableRangeSet range,
-                           final Expression exp) {
+    private static void calcRange(final QueryContext context,
+                                  final TableField field,
+                                  final SelectableRangeSet range,
+                                  final Expression exp) {
       Operator op = (Operator) exp.last();
       if (op.isLogical()) {
         if (op.is("and")) {
@@ -563,23 +792,37 @@ public class QueryPlan {
     public Table evaluate(QueryContext context) {
       Table t = child.evaluate(context);
 
-      // PENDING: Exploit multi-column indexes when they are implemented...
-
-      // We select each column in turn
-      Operator EQUALS_OP = Operator.get("=");
+      // Make each value into a range and select through a composite index
+      // if there is one.
+      SelectableRange[][] ranges = new SelectableRange[columns.length][];
       for (int i = 0; i < columns.length; ++i) {
-        t = t.simpleSelect(context, columns[i], EQUALS_OP, values[i]);
+        int col = t.findFieldName(columns[i]);
+        if (col == -1) {
+          throw new Error("Couldn't find column reference in table: " +
+                          columns[i]);
+        }
+        Object ob = values[i].evaluate(null, null, context);
+        DataCell cell = DataCellFactory.generateDataCell(t.getFieldAt(col), ob);
+        SelectableRangeSet range = new SelectableRangeSet();
+        range.intersect(Operator.get("="), cell);
+        ranges[i] = range.toSelectableRangeArray();
       }
 
-      return t;
+      return multiColumnRangeSelect(t, columns, ranges);
     }
 
     public ArrayList discoverTableNames(ArrayList list) {
-      throw new Error("PENDING");
+      for (int i = 0; i < values.length; ++i) {
+        list = values[i].discoverTableNames(list);
+      }
+      return super.discoverTableNames(list);
     }
 
     public ArrayList discoverCorrelatedVariables(int level, ArrayList list) {
-      throw new Error("PENDING");
+      for (int i = 0; i < values.length; ++i) {
+        list = values[i].discoverCorrelatedVariables(level, list);
+      }
+      return super.discoverCorrelatedVariables(level, list);
     }
 
     public Object clone() throws CloneNotSupportedException {
@@ -590,6 +833,105 @@ public class QueryPlan {
       return node;
     }
 
+    public String titleString() {
+      StringBuffer buf = new StringBuffer();
+      buf.append("MULTI EQUI: ");
+      for (int i = 0; i < columns.length; ++i) {
+        if (i > 0) {
+          buf.append(", ");
+        }
+        buf.append(columns[i]);
+        buf.append(" = ");
+        buf.append(values[i]);
+      }
+      return buf.toString();
+    }
+
+  }
+
+  /**
+   * The node for performing a range select on a group of columns of the
+   * child node.  Each column has a range expression of the form described
+   * in RangeSelectNode.  This is a separate node instead of chained
+   * RangeSelectNode's so that we might exploit a composite index with a key
+   * made from the columns selected by a single value (eg. 'a = 3 AND b = 5
+   * AND c > 7' on an index of (a, b, c)).
+   */
+  public static class MultiColumnRangeSelectNode extends SingleQueryPlanNode {
+
+    /**
+     * The list of columns to select the range of.
+     */
+    private Variable[] columns;
+
+    /**
+     * The range expression of each column.
+     */
+    private Expression[] expressions;
+
+    public MultiColumnRangeSelectNode(QueryPlanNode child,
+                            Variable[] columns, Expression[] expressions) {
+      super(child);
+      this.columns = columns;
+      this.expressions = expressions;
+    }
+
+    public Table evaluate(QueryContext context) {
+      Table t = child.evaluate(context);
+
+      // Calculate the range of each column
+      SelectableRange[][] ranges = new SelectableRange[columns.length][];
+      for (int i = 0; i < columns.length; ++i) {
+        int col = t.findFieldName(columns[i]);
+        if (col == -1) {
+          throw new Error("Couldn't find column reference in table: " +
+                          columns[i]);
+        }
+        SelectableRangeSet range = new SelectableRangeSet();
+        RangeSelectNode.calcRange(context, t.getFieldAt(col), range,
+                                  expressions[i]);
+        ranges[i] = range.toSelectableRangeArray();
+      }
+
+      return multiColumnRangeSelect(t, columns, ranges);
+    }
+
+    public ArrayList discoverTableNames(ArrayList list) {
+      for (int i = 0; i < expressions.length; ++i) {
+        list = expressions[i].discoverTableNames(list);
+      }
+      return super.discoverTableNames(list);
+    }
+
+    public ArrayList discoverCorrelatedVariables(int level, ArrayList list) {
+      for (int i = 0; i < expressions.length; ++i) {
+        list = expressions[i].discoverCorrelatedVariables(level, list);
+      }
+      return super.discoverCorrelatedVariables(level, list);
+    }
+
+    public Object clone() throws CloneNotSupportedException {
+      MultiColumnRangeSelectNode node =
+                                (MultiColumnRangeSelectNode) super.clone();
+      node.columns = (Variable[]) columns.clone();
+      node.expressions = (Expression[]) expressions.clone();
+      cloneArray(node.columns);
+      cloneArray(node.expressions);
+      return node;
+    }
+
+    public String titleString() {
+      StringBuffer buf = new StringBuffer();
+      buf.append("MULTI RANGE: ");
+      for (int i = 0; i < expressions.length; ++i) {
+        if (i > 0) {
+          buf.append(" AND ");
+        }
+        buf.append(expressions[i]);
+      }
+      return buf.toString();
+    }
+
   }
 
   /**
@@ -1354,7 +1696,9 @@ public class QueryPlan {
    * An equi-join is the most common type of join.
    * <p>
    * At query runtime, this decides the best best way to perform the join,
-   * either by
+   * either by looking up each row of one table in a composite index of the
+   * other table, or by joining on the first pair of columns and selecting
+   * the rest of the pairs from the result.
    */
   public static class EquiJoinNode extends BranchQueryPlanNode {
 
@@ -1381,35 +1725,48 @@ public class QueryPlan {
       // Solve the right branch result
       Table right_result = right.evaluate(context);
 
-      // PENDING: This needs to migrate to a better implementation that
-      //   exploits multi-column indexes if one is defined that can be used.
-
-      Variable first_left = left_columns[0];
-      Variable first_right = right_columns[0];
-
       Operator EQUALS_OP = Operator.get("=");
 
-      Table result = left_result.simpleJoin(context, right_result,
-           first_left, EQUALS_OP, new Expression(first_right));
-
       int sz = left_columns.length;
+      // The pairs of columns that have been joined.
+      boolean[] joined = new boolean[sz];
+
+      // If either table has a composite index over 2 or more of the columns
+      // then join through the index.
+      Table result = compositeEquiJoin(left_result, right_result,
+                                       left_columns, right_columns, joined);
+      if (result == null) {
+        result = compositeEquiJoin(right_result, left_result,
+                                   right_columns, left_columns, joined);
+      }
+      // Otherwise join on the first pair of columns
+      if (result == null) {
+        Variable first_left = left_columns[0];
+        Variable first_right = right_columns[0];
+        result = left_result.simpleJoin(context, right_result,
+             first_left, EQUALS_OP, new Expression(first_right));
+        joined[0] = true;
+      }
+
       // If there are columns left to equi-join, we resolve the rest with a
       // single exhaustive select of the form,
       //   ( table1.col2 = table2.col2 AND table1.col3 = table2.col3 AND ... )
-      if (sz > 1) {
-        // Form the expression
-        Expression rest_expression = new Expression();
-        for (int i = 1; i < sz; ++i) {
-          Variable left_var = left_columns[i];
-          Variable right_var = right_columns[i];
-          rest_expression.addElement(left_var);
-          rest_expression.addElement(right_var);
-          rest_expression.addOperator(EQUALS_OP);
-        }
-        Operator AND_OP = Operator.get("and");
-        for (int i = 2; i < sz; ++i) {
-          rest_expression.addOperator(AND_OP);
+      Expression rest_expression = null;
+      for (int i = 0; i < sz; ++i) {
+        if (!joined[i]) {
+          Expression exp = new Expression(left_columns[i]);
+          exp.addElement(right_columns[i]);
+          exp.addOperator(EQUALS_OP);
+          if (rest_expression == null) {
+            rest_expression = exp;
+          }
+          else {
+            rest_expression = new Expression(rest_expression,
+                                             Operator.get("and"), exp);
+          }
         }
+      }
+      if (rest_expression != null) {
         result = result.exhaustiveSelect(context, rest_expression);
       }
 
@@ -1423,6 +1780,20 @@ public class QueryPlan {
       return node;
     }
 
+    public String titleString() {
+      StringBuffer buf = new StringBuffer();
+      buf.append("EQUI JOIN: ");
+      for (int i = 0; i < left_columns.length; ++i) {
+        if (i > 0) {
+          buf.append(", ");
+        }
+        buf.append(left_columns[i]);
+        buf.append(" = ");
+        buf.append(right_columns[i]);
+      }
+      return buf.toString();
+    }
+
   }
 
   /**
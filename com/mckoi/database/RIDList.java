@@ -588,6 +588,55 @@ final class RIDList {
 
   }
 
+  /**
+   * Writes the list to the given stream if it is built, so it can be read
+   * by 'readFrom' instead of being built again.  Nothing is written if the
+   * list isn't built.
+   */
+  void writeTo(DataOutputStream dout) throws IOException {
+    synchronized (modification_lock) {
+      if (!is_built) {
+        return;
+      }
+      dout.writeInt(column);
+      dout.writeInt(hash_rid_difference);
+      dout.writeInt(set_list.size());
+      IntegerIterator i = set_list.iterator();
+      while (i.hasNext()) {
+        dout.writeInt(i.next());
+      }
+      int size = rid_list.size();
+      dout.writeInt(size);
+      for (int n = 0; n < size; ++n) {
+        dout.writeInt(rid_list.intAt(n));
+      }
+    }
+  }
+
+  /**
+   * Reads a list written by 'writeTo' (after the column number) so the list
+   * is built without reading the column from the master table.
+   */
+  void readFrom(DataInputStream din) throws IOException {
+    synchronized (modification_lock) {
+      hash_rid_difference = din.readInt();
+      int size = din.readInt();
+      IntegerVector set = new IntegerVector(size);
+      for (int n = 0; n < size; ++n) {
+        set.addInt(din.readInt());
+      }
+      size = din.readInt();
+      IntegerVector rids = new IntegerVector(size + 128);
+      for (int n = 0; n < size; ++n) {
+        rids.addInt(din.readInt());
+      }
+      set_list = new BlockIntegerList(set);
+      rid_list = rids;
+      build_state = 4;
+      is_built = true;
+    }
+  }
+
   /**
    * Quick way of determining if the RID list has been built.
    */
@@ -0,0 +1,145 @@
+/**
+ * com.mckoi.database.ReadRecordingScheme  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import com.mckoi.util.IntegerVector;
+import com.mckoi.util.BlockIntegerList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A SelectableScheme that records the selects made on the scheme of a
+ * column of a table in a transaction in the journal of the table, so the
+ * transaction can tell at commit time whether a concurrent transaction
+ * changed what it read (see MasterTableJournal.testReadClash).  A range
+ * select records the range and the rows selected.  Selecting every row, or
+ * the first or last values, records that the whole table was read.
+ * <p>
+ * All operations are made on the scheme this wraps.
+ *
+ * @author agent
+ */
+
+final class ReadRecordingScheme extends SelectableScheme {
+
+  /**
+   * The scheme the selects are made on.
+   */
+  private final SelectableScheme scheme;
+
+  /**
+   * The journal the reads are recorded in.
+   */
+  private final MasterTableJournal journal;
+
+  /**
+   * Constructs the scheme.
+   */
+  ReadRecordingScheme(SelectableScheme scheme, MasterTableJournal journal) {
+    super(scheme.getTable(), scheme.getColumn());
+    this.scheme = scheme;
+    this.journal = journal;
+  }
+
+  /**
+   * Records a select of the given ranges that returned the given rows.
+   */
+  private IntegerVector recordRange(SelectableRange[] ranges,
+                                    IntegerVector rows) {
+    journal.addReadRange(new int[] { getColumn() }, new DataCell[0], ranges);
+    journal.markRowsRead(rows);
+    return rows;
+  }
+
+  // ---------- Implemented from SelectableScheme ----------
+
+  public void writeTo(OutputStream out) throws IOException {
+    scheme.writeTo(out);
+  }
+
+  public void readFrom(InputStream in) throws IOException {
+    scheme.readFrom(in);
+  }
+
+  public SelectableScheme copy(TableDataSource table, boolean immutable) {
+    return scheme.copy(table, immutable);
+  }
+
+  public void dispose() {
+    scheme.dispose();
+  }
+
+  void insert(int row) {
+    scheme.insert(row);
+  }
+
+  void remove(int row) {
+    scheme.remove(row);
+  }
+
+  BlockIntegerList internalOrderIndexSet(IntegerVector row_set) {
+    return scheme.internalOrderIndexSet(row_set);
+  }
+
+  SelectableScheme getSubsetScheme(Table table, int table_column) {
+    return scheme.getSubsetScheme(table, table_column);
+  }
+
+  public IntegerVector selectAll() {
+    journal.markAllRead();
+    return scheme.selectAll();
+  }
+
+  IntegerVector selectFirst() {
+    journal.markAllRead();
+    return scheme.selectFirst();
+  }
+
+  IntegerVector selectNotFirst() {
+    journal.markAllRead();
+    return scheme.selectNotFirst();
+  }
+
+  IntegerVector selectLast() {
+    journal.markAllRead();
+    return scheme.selectLast();
+  }
+
+  IntegerVector selectNotLast() {
+    journal.markAllRead();
+    return scheme.selectNotLast();
+  }
+
+  IntegerVector selectRange(SelectableRange range) {
+    return recordRange(new SelectableRange[] { range },
+                       scheme.selectRange(range));
+  }
+
+  IntegerVector selectRange(SelectableRange[] ranges) {
+    return recordRange(ranges, scheme.selectRange(ranges));
+  }
+
+}
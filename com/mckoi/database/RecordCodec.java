@@ -0,0 +1,350 @@
+/**
+ * com.mckoi.database.RecordCodec  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.DataFormatException;
+
+/**
+ * A compression codec used by VariableSizeDataStore to encode the blocks
+ * of a record.  Each codec has a unique id that is stored with the record
+ * in the allocation index so a record can always be decoded regardless of
+ * the codec that is currently configured for the store.
+ * <p>
+ * The available codecs are;
+ * <pre>
+ *   NONE    - records are not compressed.
+ *   LZF     - a fast LZ77 type codec (the LZF format).  Compression is not
+ *             as good as deflate but encoding and decoding is many times
+ *             faster.
+ *   DEFLATE - java.util.zip deflate compression.
+ * </pre>
+ * <p>
+ * NOTE: Codec objects keep internal state and are not thread safe.  Each
+ *   store must create its own codec objects via the 'create' method.
+ *
+ * @author agent
+ */
+
+abstract class RecordCodec {
+
+  /**
+   * The codec ids.  These are stored persistently so must not change.
+   * Ids must be between 1 and 7 because they are stored in 3 bits of the
+   * record type key.
+   */
+  static final int NONE    = 0;
+  static final int LZF     = 1;
+  static final int DEFLATE = 2;
+
+  /**
+   * Returns the id of this codec.
+   */
+  abstract int getID();
+
+  /**
+   * Returns the name of this codec.
+   */
+  abstract String getName();
+
+  /**
+   * Encodes 'length' bytes of 'src' starting at 'offset' into 'dest'
+   * starting at 'dest_offset'.  At most 'max_length' bytes may be written
+   * into 'dest'.  Returns the number of bytes written into 'dest' or -1 if
+   * the encoded form would not fit in 'max_length' bytes.
+   */
+  abstract int encode(byte[] src, int offset, int length,
+                      byte[] dest, int dest_offset, int max_length);
+
+  /**
+   * Decodes 'length' bytes of 'src' starting at 'offset' into exactly
+   * 'dest_length' bytes of 'dest' starting at 'dest_offset'.  Throws an
+   * IOException if the encoded data is corrupt.
+   */
+  abstract void decode(byte[] src, int offset, int length,
+                       byte[] dest, int dest_offset, int dest_length)
+                                                        throws IOException;
+
+  /**
+   * Creates a new codec object for the given codec id.  Returns null for
+   * the NONE codec.
+   */
+  static RecordCodec create(int id) {
+    if (id == NONE) {
+      return null;
+    }
+    else if (id == LZF) {
+      return new LZFCodec();
+    }
+    else if (id == DEFLATE) {
+      return new DeflateCodec();
+    }
+    throw new Error("Unknown record codec id: " + id);
+  }
+
+  /**
+   * Returns the codec id for the given codec name ('none', 'lzf' or
+   * 'deflate').  Returns -1 if the name is not known.
+   */
+  static int idForName(String name) {
+    name = name.trim().toLowerCase();
+    if (name.equals("none")) {
+      return NONE;
+    }
+    else if (name.equals("lzf") || name.equals("lz")) {
+      return LZF;
+    }
+    else if (name.equals("deflate")) {
+      return DEFLATE;
+    }
+    return -1;
+  }
+
+  // ---------- Implementations ----------
+
+  /**
+   * The LZF codec.  The encoded form is a sequence of literal runs and back
+   * references.  A control byte < 32 is followed by (ctrl + 1) literal
+   * bytes.  Otherwise the top 3 bits of the control byte is the length of
+   * the back reference - 2 (if 7 then the next byte is added to the length)
+   * and the bottom 5 bits and the following byte is the offset - 1.
+   */
+  static final class LZFCodec extends RecordCodec {
+
+    private static final int HASH_LOG = 12;
+    private static final int MAX_OFFSET = 8192;
+    private static final int MAX_REF = 264;
+    private static final int MAX_LITERAL = 32;
+
+    /**
+     * The hash table of positions in the input.
+     */
+    private final int[] hash_table = new int[1 << HASH_LOG];
+
+    int getID() {
+      return LZF;
+    }
+
+    String getName() {
+      return "lzf";
+    }
+
+    int encode(byte[] src, int offset, int length,
+               byte[] dest, int dest_offset, int max_length) {
+      int[] htab = hash_table;
+      for (int i = 0; i < htab.length; ++i) {
+        htab[i] = -1;
+      }
+
+      int ip = offset;
+      final int in_end = offset + length;
+      int op = dest_offset;
+      final int out_end = dest_offset + max_length;
+
+      // Reserve a control byte for the first literal run.
+      if (op >= out_end) {
+        return -1;
+      }
+      ++op;
+      int lit = 0;
+
+      while (ip < in_end) {
+        boolean matched = false;
+        if (ip + 2 < in_end) {
+          int v = ((src[ip] & 0x0FF) << 16) | ((src[ip + 1] & 0x0FF) << 8) |
+                  (src[ip + 2] & 0x0FF);
+          int h = (v * -1640531535) >>> (32 - HASH_LOG);
+          int ref = htab[h];
+          htab[h] = ip;
+          int off = ip - ref - 1;
+          if (ref >= offset && off < MAX_OFFSET &&
+              src[ref] == src[ip] && src[ref + 1] == src[ip + 1] &&
+              src[ref + 2] == src[ip + 2]) {
+
+            int max_len = Math.min(in_end - ip, MAX_REF);
+            int len = 3;
+            while (len < max_len && src[ref + len] == src[ip + len]) {
+              ++len;
+            }
+
+            // Room for the back reference and the next control byte.
+            if (op + 4 > out_end) {
+              return -1;
+            }
+            // Close the current literal run.
+            if (lit > 0) {
+              dest[op - lit - 1] = (byte) (lit - 1);
+            }
+            else {
+              --op;
+            }
+            int l = len - 2;
+            if (l < 7) {
+              dest[op++] = (byte) ((l << 5) + (off >> 8));
+            }
+            else {
+              dest[op++] = (byte) ((7 << 5) + (off >> 8));
+              dest[op++] = (byte) (l - 7);
+            }
+            dest[op++] = (byte) off;
+            // Reserve the control byte of the next literal run.
+            ++op;
+            lit = 0;
+            ip += len;
+            matched = true;
+          }
+        }
+
+        if (!matched) {
+          if (op >= out_end) {
+            return -1;
+          }
+          dest[op++] = src[ip++];
+          ++lit;
+          if (lit == MAX_LITERAL) {
+            dest[op - lit - 1] = (byte) (lit - 1);
+            lit = 0;
+            if (op >= out_end) {
+              return -1;
+            }
+            ++op;
+          }
+        }
+      }
+
+      // Close the last literal run.
+      if (lit > 0) {
+        dest[op - lit - 1] = (byte) (lit - 1);
+      }
+      else {
+        --op;
+      }
+      return op - dest_offset;
+    }
+
+    void decode(byte[] src, int offset, int length,
+                byte[] dest, int dest_offset, int dest_length)
+                                                        throws IOException {
+      int ip = offset;
+      final int in_end = offset + length;
+      int op = dest_offset;
+      final int out_end = dest_offset + dest_length;
+
+      while (ip < in_end) {
+        int ctrl = src[ip++] & 0x0FF;
+        if (ctrl < 32) {
+          int n = ctrl + 1;
+          if (op + n > out_end || ip + n > in_end) {
+            throw new IOException("Corrupt block (LZF literal run).");
+          }
+          System.arraycopy(src, ip, dest, op, n);
+          ip += n;
+          op += n;
+        }
+        else {
+          int len = ctrl >> 5;
+          // The offset byte (and the length byte if len is 7) follows.
+          if (ip + ((len == 7) ? 2 : 1) > in_end) {
+            throw new IOException("Corrupt block (LZF back reference).");
+          }
+          if (len == 7) {
+            len += src[ip++] & 0x0FF;
+          }
+          len += 2;
+          int distance = ((ctrl & 0x01F) << 8) + (src[ip++] & 0x0FF) + 1;
+          int ref = op - distance;
+          if (distance > op - dest_offset || op + len > out_end) {
+            throw new IOException("Corrupt block (LZF back reference).");
+          }
+          // NOTE: The regions may overlap so we copy byte by byte.
+          for (int i = 0; i < len; ++i) {
+            dest[op++] = dest[ref++];
+          }
+        }
+      }
+
+      if (op != out_end) {
+        throw new IOException("Corrupt block (LZF length mismatch).");
+      }
+    }
+
+  }
+
+  /**
+   * The deflate codec.
+   */
+  static final class DeflateCodec extends RecordCodec {
+
+    private Deflater deflater;
+    private Inflater inflater;
+
+    int getID() {
+      return DEFLATE;
+    }
+
+    String getName() {
+      return "deflate";
+    }
+
+    int encode(byte[] src, int offset, int length,
+               byte[] dest, int dest_offset, int max_length) {
+      if (deflater == null) {
+        deflater = new Deflater();
+      }
+      deflater.reset();
+      deflater.setInput(src, offset, length);
+      deflater.finish();
+      int size = deflater.deflate(dest, dest_offset, max_length);
+      if (!deflater.finished()) {
+        return -1;
+      }
+      return size;
+    }
+
+    void decode(byte[] src, int offset, int length,
+                byte[] dest, int dest_offset, int dest_length)
+                                                        throws IOException {
+      if (inflater == null) {
+        inflater = new Inflater();
+      }
+      inflater.reset();
+      inflater.setInput(src, offset, length);
+      int count;
+      try {
+        count = inflater.inflate(dest, dest_offset, dest_length);
+      }
+      catch (DataFormatException e) {
+        throw new IOException("Corrupt deflate data: " + e.getMessage());
+      }
+      if (count != dest_length) {
+        throw new IOException("Corrupt deflate data (length mismatch).");
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,201 @@
+/**
+ * com.mckoi.database.ReplicaApplier  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import java.io.*;
+import com.mckoi.debug.*;
+
+/**
+ * Applies the commit logs written by a primary (see ReplicationLog) to a
+ * conglomerate that is a read only replica of the primary.  The replica
+ * must start as a copy of the primary made by 'liveCopyTo', which records
+ * the sequence number of the last log in the copy.
+ * <p>
+ * The logs are applied in order by an event on the database dispatcher
+ * thread that checks for new logs every 'replica_poll_interval' ms, so the
+ * replica is no more out of date than that plus the time to apply.  A log
+ * that adds a row at an index a query on the replica may still read is put
+ * off until the query has finished.
+ *
+ * @author agent
+ */
+
+final class ReplicaApplier {
+
+  /**
+   * The most logs applied by one event before other events get a turn.
+   */
+  private final static int MAX_BATCH = 64;
+
+  /**
+   * The conglomerate the logs are applied to.
+   */
+  private final TableDataConglomerate conglomerate;
+
+  /**
+   * The directory of logs.
+   */
+  private final File log_path;
+
+  /**
+   * The event that applies the logs.
+   */
+  private final Object apply_event;
+
+  /**
+   * The sequence number of the last log applied.
+   */
+  private long applied;
+
+  /**
+   * Set when the applier is stopped.
+   */
+  private volatile boolean stopped;
+
+  /**
+   * Constructs the applier for the given conglomerate.  'applied' is the
+   * sequence number of the last log applied to the conglomerate, or -1 if
+   * it is not known.
+   */
+  ReplicaApplier(TableDataConglomerate conglomerate, File log_path,
+                 long applied) {
+    this.conglomerate = conglomerate;
+    this.log_path = log_path;
+    this.applied = applied;
+    this.apply_event = getSystem().createEvent(new Runnable() {
+      public void run() {
+        applyLogs();
+      }
+    });
+  }
+
+  /**
+   * Returns the TransactionSystem.
+   */
+  private TransactionSystem getSystem() {
+    return conglomerate.getSystem();
+  }
+
+  /**
+   * Returns the DebugLogger object.
+   */
+  private DebugLogger Debug() {
+    return getSystem().Debug();
+  }
+
+  /**
+   * Starts applying the logs.
+   */
+  synchronized void start() {
+    if (applied < 0) {
+      Debug().write(Lvl.ERROR, this,
+            "The replica has no log position.  A replica must be a copy " +
+            "made with 'liveCopyTo' from a primary that writes commit logs.");
+      stopped = true;
+      return;
+    }
+    getSystem().postEvent(0, apply_event);
+  }
+
+  /**
+   * Stops applying the logs.
+   */
+  void stop() {
+    stopped = true;
+  }
+
+  /**
+   * Stops the applier with the given error.
+   */
+  private void fail(String message) {
+    Debug().write(Lvl.ERROR, this, message);
+    stopped = true;
+  }
+
+  /**
+   * Applies the logs that are waiting in the directory.
+   */
+  private synchronized void applyLogs() {
+    if (stopped) {
+      return;
+    }
+
+    int count = 0;
+    try {
+      while (count < MAX_BATCH) {
+        ReplicationLog.Entry entry =
+                                 ReplicationLog.read(log_path, applied + 1);
+        if (entry == null) {
+          // If the next log was deleted before we got to it then we can't
+          // go on.
+          long first = ReplicationLog.firstSequence(log_path);
+          if (first > applied + 1) {
+            fail("Log " + (applied + 1) + " was deleted before it was " +
+                 "applied.  The replica must be copied from the primary " +
+                 "again.");
+            return;
+          }
+          break;
+        }
+        if (entry.type != ReplicationLog.DATA_CHANGE) {
+          fail("Log " + entry.sequence + " creates or drops tables.  The " +
+               "replica must be copied from the primary again.");
+          return;
+        }
+        if (!conglomerate.applyReplicatedCommit(entry.sequence,
+                                        entry.journals, entry.records)) {
+          // A row can't be written yet because a query may read it.
+          getSystem().stats().increment("Replication.apply_waits");
+          break;
+        }
+        applied = entry.sequence;
+        ++count;
+
+        getSystem().stats().increment("Replication.logs_applied");
+        getSystem().stats().set((int) applied,
+                                "Replication.applied_sequence");
+        getSystem().stats().set(
+                 (int) (System.currentTimeMillis() - entry.time),
+                 "Replication.lag_ms");
+      }
+    }
+    catch (IOException e) {
+      Debug().writeException(e);
+      fail("IO Error applying log " + (applied + 1) + ": " +
+           e.getMessage());
+      return;
+    }
+    catch (Error e) {
+      Debug().writeException(e);
+      fail("Error applying log " + (applied + 1) + ": " + e.getMessage());
+      return;
+    }
+
+    // Check again now if the batch was full, otherwise wait.
+    getSystem().postEvent(count >= MAX_BATCH ? 0 :
+                          getSystem().getReplicaPollInterval(), apply_event);
+  }
+
+}
@@ -0,0 +1,350 @@
+/**
+ * com.mckoi.database.ReplicationLog  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import java.io.*;
+
+/**
+ * A directory of commit logs that ships the changes committed to a
+ * conglomerate to one or more read only replicas.  Each commit is written
+ * to its own file in the directory named by a sequence number that goes up
+ * by one with each commit.  A replica (see ReplicaApplier) reads the logs in
+ * sequence order and applies them to a copy of the conglomerate made by
+ * 'liveCopyTo'.
+ * <p>
+ * A row in a replica has the same row index as the row in the primary, so
+ * a log only needs the journal of each changed table and the stored form
+ * of each row added.  A log file is written to a temporary file and then
+ * renamed so a replica never reads a part written log.
+ * <p>
+ * The sequence number of the last log is found from the names of the files
+ * in the directory, so the last log is never deleted.
+ *
+ * @author agent
+ */
+
+final class ReplicationLog {
+
+  /**
+   * The magic number at the start of each log.
+   */
+  private final static int MAGIC = 0x0e1fc0de;
+
+  /**
+   * The log contains changes to the rows of tables.
+   */
+  final static byte DATA_CHANGE = 1;
+
+  /**
+   * The log records that tables were created or dropped.  A replica can not
+   * apply this and must be copied from the primary again.
+   */
+  final static byte STRUCTURE_CHANGE = 2;
+
+  /**
+   * The extension of a log file.
+   */
+  private final static String LOG_EXT = ".rlog";
+
+  /**
+   * The extension of the file in a conglomerate's directory that stores the
+   * sequence number of the last log applied to it.
+   */
+  private final static String POSITION_EXT = ".rpos";
+
+  /**
+   * The directory of logs.
+   */
+  private final File log_path;
+
+  /**
+   * The number of logs kept in the directory.
+   */
+  private final int retention;
+
+  /**
+   * The sequence number of the last log written.
+   */
+  private long sequence;
+
+  /**
+   * Constructs the log over the given directory.
+   */
+  ReplicationLog(File log_path, int retention) {
+    this.log_path = log_path;
+    this.retention = Math.max(1, retention);
+    this.sequence = lastSequence(log_path);
+  }
+
+  /**
+   * Returns the sequence number of the last log written.
+   */
+  synchronized long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Writes a log with the given type and body and returns its sequence
+   * number.  The log that falls out of the retention window is deleted.
+   */
+  synchronized long write(byte type, byte[] body) throws IOException {
+    long seq = sequence + 1;
+
+    File temp_file = new File(log_path, seq + ".tmp");
+    FileOutputStream fout = new FileOutputStream(temp_file);
+    try {
+      DataOutputStream dout =
+                    new DataOutputStream(new BufferedOutputStream(fout));
+      dout.writeInt(MAGIC);
+      dout.writeLong(seq);
+      dout.writeByte(type);
+      dout.write(body);
+      dout.flush();
+      fout.getFD().sync();
+    }
+    finally {
+      fout.close();
+    }
+    if (!temp_file.renameTo(logFile(log_path, seq))) {
+      throw new IOException("Unable to rename log file: " + temp_file);
+    }
+    sequence = seq;
+
+    logFile(log_path, seq - retention).delete();
+    return seq;
+  }
+
+  // ---------- Log encoding ----------
+
+  /**
+   * Encodes the body of a DATA_CHANGE log for the given table journals.  The
+   * stored form of each added row is read from the master table so this
+   * must be called before the rows can be reclaimed.
+   */
+  static byte[] encodeDataChange(MasterTableJournal[] journals,
+                   MasterTableDataSource[] masters) throws IOException {
+    ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    DataOutputStream dout = new DataOutputStream(bout);
+    dout.writeInt(journals.length);
+    for (int i = 0; i < journals.length; ++i) {
+      MasterTableJournal journal = journals[i];
+      int size = journal.entries();
+      dout.writeInt(journal.getTableID());
+      dout.writeInt(size);
+      for (int n = 0; n < size; ++n) {
+        byte command = journal.getCommand(n);
+        int row_index = journal.getRowIndex(n);
+        dout.writeByte(command);
+        dout.writeInt(row_index);
+        if (command == MasterTableJournal.TABLE_ADD) {
+          byte[] record = masters[i].readRawRow(row_index);
+          dout.writeInt(record.length);
+          dout.write(record);
+        }
+      }
+    }
+    dout.flush();
+    return bout.toByteArray();
+  }
+
+  /**
+   * Reads the log with the given sequence number from the directory.
+   * Returns null if there is no such log.
+   */
+  static Entry read(File log_path, long seq) throws IOException {
+    File f = logFile(log_path, seq);
+    if (!f.exists()) {
+      return null;
+    }
+    Entry entry = new Entry();
+    entry.time = f.lastModified();
+    DataInputStream din = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(f)));
+    try {
+      if (din.readInt() != MAGIC || din.readLong() != seq) {
+        throw new IOException("Log file is corrupt: " + f);
+      }
+      entry.sequence = seq;
+      entry.type = din.readByte();
+      if (entry.type == DATA_CHANGE) {
+        int table_count = din.readInt();
+        entry.journals = new MasterTableJournal[table_count];
+        entry.records = new byte[table_count][][];
+        for (int i = 0; i < table_count; ++i) {
+          MasterTableJournal journal = new MasterTableJournal(din.readInt());
+          int size = din.readInt();
+          byte[][] records = new byte[size][];
+          for (int n = 0; n < size; ++n) {
+            byte command = din.readByte();
+            int row_index = din.readInt();
+            journal.addEntry(command, row_index);
+            if (command == MasterTableJournal.TABLE_ADD) {
+              records[n] = new byte[din.readInt()];
+              din.readFully(records[n]);
+            }
+          }
+          entry.journals[i] = journal;
+          entry.records[i] = records;
+        }
+      }
+    }
+    finally {
+      din.close();
+    }
+    return entry;
+  }
+
+  // ---------- Log files ----------
+
+  /**
+   * Returns the file of the log with the given sequence number.
+   */
+  private static File logFile(File log_path, long seq) {
+    String num = Long.toString(seq);
+    StringBuffer buf = new StringBuffer();
+    for (int i = num.length(); i < 16; ++i) {
+      buf.append('0');
+    }
+    buf.append(num);
+    buf.append(LOG_EXT);
+    return new File(log_path, buf.toString());
+  }
+
+  /**
+   * Returns the sequence number of the first log (if 'first' is true) or the
+   * last log in the directory, or 0 if there are no logs.
+   */
+  private static long findSequence(File log_path, boolean first) {
+    long found = 0;
+    String[] files = log_path.list();
+    if (files != null) {
+      for (int i = 0; i < files.length; ++i) {
+        String f = files[i];
+        if (f.endsWith(LOG_EXT)) {
+          try {
+            long seq = Long.parseLong(
+                            f.substring(0, f.length() - LOG_EXT.length()));
+            if (found == 0 || (first ? seq < found : seq > found)) {
+              found = seq;
+            }
+          }
+          catch (NumberFormatException e) {
+            // Not a log file
+          }
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Returns the sequence number of the last log in the directory, or 0 if
+   * there are no logs.
+   */
+  static long lastSequence(File log_path) {
+    return findSequence(log_path, false);
+  }
+
+  /**
+   * Returns the sequence number of the first log in the directory, or 0 if
+   * there are no logs.
+   */
+  static long firstSequence(File log_path) {
+    return findSequence(log_path, true);
+  }
+
+  /**
+   * Writes the sequence number of the last log applied to the conglomerate
+   * with the given name in the given directory.
+   */
+  static void writePosition(File path, String name, long seq)
+                                                          throws IOException {
+    RandomAccessFile f =
+             new RandomAccessFile(new File(path, name + POSITION_EXT), "rw");
+    try {
+      f.seek(0);
+      f.writeLong(seq);
+      f.getFD().sync();
+    }
+    finally {
+      f.close();
+    }
+  }
+
+  /**
+   * Reads the sequence number of the last log applied to the conglomerate
+   * with the given name in the given directory.  Returns -1 if it is not
+   * known.
+   */
+  static long readPosition(File path, String name) throws IOException {
+    File f = new File(path, name + POSITION_EXT);
+    if (!f.exists()) {
+      return -1;
+    }
+    DataInputStream din = new DataInputStream(new FileInputStream(f));
+    try {
+      return din.readLong();
+    }
+    finally {
+      din.close();
+    }
+  }
+
+  // ---------- Inner classes ----------
+
+  /**
+   * A log read from the directory.
+   */
+  static final class Entry {
+
+    /**
+     * The sequence number of the log.
+     */
+    long sequence;
+
+    /**
+     * The type of log (DATA_CHANGE or STRUCTURE_CHANGE).
+     */
+    byte type;
+
+    /**
+     * The time the log was written.
+     */
+    long time;
+
+    /**
+     * The journal of each table changed (DATA_CHANGE only).
+     */
+    MasterTableJournal[] journals;
+
+    /**
+     * The stored form of each row added, by table and journal entry.  The
+     * entry is null if it is not a TABLE_ADD.
+     */
+    byte[][][] records;
+
+  }
+
+}
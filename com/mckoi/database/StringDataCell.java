@@ -82,6 +82,12 @@ public final class StringDataCell extends DataCell {
 
   public int compareTo(DataCell cell) {
 
+    // The cells of a dictionary encoded column with the same string are the
+    // same object.
+    if (cell == this) {
+      return 0;
+    }
+
 //    String d = ((StringDataCell) cell).val;
     Object d = cell.getCell();
     if (d != null) {
@@ -0,0 +1,313 @@
+/**
+ * com.mckoi.database.StringDictionary  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * The dictionaries of the string columns of a table that are dictionary
+ * encoded.  A string in a dictionary encoded column is stored in the row as
+ * an int code, and the code is looked up in the dictionary of the column
+ * when the cell is read.  All the cells of a column with the same string
+ * are the same StringDataCell object, so the cells take no memory of their
+ * own in the cell cache and two equal cells compare without looking at the
+ * strings.
+ * <p>
+ * The dictionaries are kept in memory and the file is only appended to, so
+ * a code never changes once it is given out.  A new string is written to
+ * the file before the row that uses it, and the file is synchronized before
+ * the data store when a change is committed.  A column's dictionary holds up
+ * to MAX_ENTRIES strings, after which new strings are stored in full in the
+ * row as they would be in a column that isn't encoded.
+ *
+ * @author agent
+ */
+
+final class StringDictionary {
+
+  /**
+   * The magic number at the start of the file.
+   */
+  private final static int MAGIC = 0x0d1c0001;
+
+  /**
+   * The most strings in the dictionary of one column.
+   */
+  final static int MAX_ENTRIES = 65536;
+
+  /**
+   * The file the dictionaries are stored in.
+   */
+  private final File file;
+
+  /**
+   * The file open for appending, or null if it isn't open.
+   */
+  private RandomAccessFile data;
+
+  /**
+   * True if strings can't be added to the dictionaries.
+   */
+  private boolean read_only;
+
+  /**
+   * The length of the valid part of the file.
+   */
+  private long length;
+
+  /**
+   * True if strings were added since the file was last synchronized.
+   */
+  private boolean dirty;
+
+  /**
+   * For each column, the list of StringDataCell by code and a map from the
+   * string to the Integer code.  Both are null for a column that has no
+   * dictionary yet.
+   */
+  private final ArrayList[] column_cells;
+  private final HashMap[] column_codes;
+
+  /**
+   * Constructs the dictionaries for a table with the given number of
+   * columns stored in the given file.
+   */
+  StringDictionary(File file, int column_count) {
+    this.file = file;
+    this.column_cells = new ArrayList[column_count];
+    this.column_codes = new HashMap[column_count];
+  }
+
+  /**
+   * Returns true if the file of the dictionaries exists.
+   */
+  boolean exists() {
+    return file.exists();
+  }
+
+  /**
+   * Reads the dictionaries from the file if it exists.  If 'read_only' is
+   * false the file is opened so new strings can be added.  The file isn't
+   * created until the first string is added.
+   */
+  synchronized void open(boolean read_only) throws IOException {
+    this.read_only = read_only;
+    length = 0;
+    if (file.exists()) {
+      DataInputStream din = new DataInputStream(
+                         new BufferedInputStream(new FileInputStream(file)));
+      try {
+        if (din.readInt() != MAGIC) {
+          throw new IOException("Dictionary file is corrupt: " + file);
+        }
+        length = 4;
+        while (true) {
+          int column;
+          String str;
+          try {
+            column = din.readInt();
+            int str_length = din.readInt();
+            char[] chars = new char[str_length];
+            for (int i = 0; i < str_length; ++i) {
+              chars[i] = din.readChar();
+            }
+            str = new String(chars);
+            length += 8 + (str_length * 2);
+          }
+          catch (EOFException e) {
+            // The end of the file, or a string that was only partly written
+            // before a crash which is thrown away.
+            break;
+          }
+          if (column < 0 || column >= column_cells.length) {
+            throw new IOException("Dictionary file is corrupt: " + file);
+          }
+          addEntry(column, str);
+        }
+      }
+      finally {
+        din.close();
+      }
+    }
+
+    if (!read_only && length > 0) {
+      openForAppend();
+    }
+  }
+
+  /**
+   * Opens the file for appending, creating it if it doesn't exist.
+   */
+  private void openForAppend() throws IOException {
+    data = new RandomAccessFile(file, "rw");
+    if (length == 0) {
+      data.writeInt(MAGIC);
+      length = 4;
+      dirty = true;
+    }
+    // Cut off any string that was only partly written.
+    data.setLength(length);
+    data.seek(length);
+  }
+
+  /**
+   * Adds the string to the dictionary of the column in memory and returns
+   * its code.
+   */
+  private int addEntry(int column, String str) {
+    ArrayList cells = column_cells[column];
+    if (cells == null) {
+      cells = new ArrayList();
+      column_cells[column] = cells;
+      column_codes[column] = new HashMap();
+    }
+    int code = cells.size();
+    str = str.intern();
+    cells.add(new StringDataCell(Integer.MAX_VALUE, str));
+    column_codes[column].put(str, new Integer(code));
+    return code;
+  }
+
+  /**
+   * Returns the code of the given string in the dictionary of the column,
+   * adding the string if it isn't in the dictionary.  Returns -1 if the
+   * string isn't in the dictionary and the dictionary is full, in which
+   * case the string must be stored in full.
+   */
+  synchronized int codeFor(int column, String str) throws IOException {
+    HashMap codes = column_codes[column];
+    if (codes != null) {
+      Integer code = (Integer) codes.get(str);
+      if (code != null) {
+        return code.intValue();
+      }
+      if (column_cells[column].size() >= MAX_ENTRIES) {
+        return -1;
+      }
+    }
+    if (read_only) {
+      throw new Error("Dictionary is read only.");
+    }
+    if (data == null) {
+      openForAppend();
+    }
+
+    // Write the string to the file before it is used.
+    ByteArrayOutputStream bout =
+                            new ByteArrayOutputStream(8 + str.length() * 2);
+    DataOutputStream dout = new DataOutputStream(bout);
+    dout.writeInt(column);
+    dout.writeInt(str.length());
+    dout.writeChars(str);
+    dout.flush();
+    data.write(bout.toByteArray());
+    length += bout.size();
+    dirty = true;
+
+    return addEntry(column, str);
+  }
+
+  /**
+   * Returns the cell with the given code in the dictionary of the column.
+   */
+  synchronized DataCell cellFor(int column, int code) {
+    ArrayList cells = column_cells[column];
+    if (cells == null || code < 0 || code >= cells.size()) {
+      throw new Error("Code " + code + " is not in the dictionary of " +
+                      "column " + column + " in " + file);
+    }
+    return (DataCell) cells.get(code);
+  }
+
+  /**
+   * Returns true if any column has a dictionary.
+   */
+  synchronized boolean hasEntries() {
+    for (int i = 0; i < column_cells.length; ++i) {
+      if (column_cells[i] != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Makes sure the strings added to the dictionaries are stored on disk.
+   */
+  synchronized void hardSynch() throws IOException {
+    if (dirty && data != null) {
+      data.getFD().sync();
+      dirty = false;
+    }
+  }
+
+  /**
+   * Copies the valid part of the file to the given directory.
+   */
+  synchronized void copyTo(File path) throws IOException {
+    if (length == 0) {
+      return;
+    }
+    InputStream in = new FileInputStream(file);
+    OutputStream out =
+                  new FileOutputStream(new File(path, file.getName()));
+    try {
+      byte[] buf = new byte[8192];
+      long to_copy = length;
+      while (to_copy > 0) {
+        int read = in.read(buf, 0, (int) Math.min(buf.length, to_copy));
+        if (read == -1) {
+          throw new IOException("Unexpected end of " + file);
+        }
+        out.write(buf, 0, read);
+        to_copy -= read;
+      }
+    }
+    finally {
+      in.close();
+      out.close();
+    }
+  }
+
+  /**
+   * Closes the file.
+   */
+  synchronized void close() throws IOException {
+    if (data != null) {
+      data.close();
+      data = null;
+    }
+  }
+
+  /**
+   * Deletes the file.  The dictionaries must be closed.
+   */
+  synchronized void delete() {
+    file.delete();
+  }
+
+}
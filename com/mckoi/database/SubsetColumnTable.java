@@ -268,6 +268,13 @@ public final class SubsetColumnTable extends FilterTable
     super.setToRowTableDomain(column_map[column], row_set, ancestor);
   }
 
+  /**
+   * Routes the columnar sum to the mapped column in the parent table.
+   */
+  final Object columnarSum(int column, IntegerVector row_set) {
+    return parent.columnarSum(column_map[column], row_set);
+  }
+
   /**
    * Return the list of DataTable and row sets that make up the raw information
    * in this table.
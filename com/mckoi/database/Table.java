@@ -174,6 +174,46 @@ public abstract class Table implements TableDataSource {
    */
   abstract RawTableInformation resolveToRawTable(RawTableInformation info);
 
+  /**
+   * Given a set of rows in this table, this trickles down through the Table
+   * hierarchy to find the sum of the given column from a columnar store at
+   * the root of the hierarchy.  Returns null if the column is not backed by
+   * a columnar store, in which case the sum must be found by looking at
+   * each cell.
+   * <p>
+   * NOTE: The contents of 'row_set' are mangled by this method.
+   */
+  Object columnarSum(int column, IntegerVector row_set) {
+    return null;
+  }
+
+  /**
+   * Selects the rows of this table through the composite index at the given
+   * position in the DataTableDef of this table.  The composite index
+   * belongs to the master table at the root of the hierarchy so this is
+   * only possible if this table is a direct view of the master table.
+   * Returns null if the select can not be done through the index.
+   * <p>
+   * See 'CompositeIndex.select' for a description of the arguments.
+   */
+  IntegerVector compositeIndexSelect(int index, DataCell[] prefix,
+                                     SelectableRange[] ranges) {
+    return null;
+  }
+
+  /**
+   * Selects the rows of this table that are in the ranges of 2 or more of
+   * the given columns by combining the bitmaps of the columns that have a
+   * BitmapSearch scheme.  'used' is set to true for each column that was
+   * selected, the ranges of the other columns must still be selected from
+   * the result.  Returns null if less than 2 of the columns can be selected
+   * this way.  The returned rows are in ascending order.
+   */
+  IntegerVector bitmapSelect(int[] columns, SelectableRange[][] ranges,
+                             boolean[] used) {
+    return null;
+  }
+
   /**
    * Returns an object that represents the information in the given cell
    * in the table.  This will generally be an expensive algorithm, so calls
@@ -27,6 +27,8 @@ package com.mckoi.database;
 import java.io.*;
 import java.util.Iterator;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import com.mckoi.util.IntegerListInterface;
@@ -197,13 +199,36 @@ public class TableDataConglomerate {
    */
   private FileOutputStream conglomerate_file_lock;
 
+  // ---------- Replication ----------
+
+  /**
+   * The log each commit is written to for read only replicas, or null if
+   * commits are not shipped to replicas.
+   */
+  private ReplicationLog replication_log;
+
+  /**
+   * The object that applies the commit logs of the primary if this is a
+   * read only replica, or null if this is not a replica.
+   */
+  private ReplicaApplier replica_applier;
+
+  /**
+   * The sequence number of the last commit log applied if this is a read
+   * only replica.
+   */
+  private long replica_sequence;
+
 
   // ---------- Locks ----------
 
   /**
-   * This lock is obtained when we go to commit a change to the table.
-   * Grabbing this lock ensures that no other commits can occur at the same
-   * time on this conglomerate.
+   * This lock is obtained when the state of the conglomerate is changed, for
+   * example when a commit makes its changes visible.  Grabbing this lock
+   * ensures that no transaction sees the changes of a commit half done.
+   * Commits to different tables check and prepare their changes at the same
+   * time under the commit latch of each table they use (see
+   * 'processCommit').
    */
   Object commit_lock = new Object();
 
@@ -931,6 +956,28 @@ public class TableDataConglomerate {
     // We possibly have things to clean up if there are deleted columns.
     cleanUpConglomerate();
 
+    // Start shipping or applying commit logs.
+    setupReplication();
+
+  }
+
+  /**
+   * Sets up the log that commits are written to for read only replicas, or
+   * if this is a replica starts applying the logs of the primary.
+   */
+  private void setupReplication() throws IOException {
+    File log_path = getSystem().getReplicationLogDirectory();
+    if (log_path != null && !read_only) {
+      replication_log = new ReplicationLog(log_path,
+                                  getSystem().getReplicationLogRetention());
+    }
+    File replica_path = getSystem().getReplicaLogDirectory();
+    if (replica_path != null) {
+      replica_sequence = ReplicationLog.readPosition(getPath(), getName());
+      replica_applier =
+                  new ReplicaApplier(this, replica_path, replica_sequence);
+      replica_applier.start();
+    }
   }
 
   /**
@@ -938,6 +985,9 @@ public class TableDataConglomerate {
    * closed.  When closed, any use of this object is undefined.
    */
   public void close() throws IOException {
+    if (replica_applier != null) {
+      replica_applier.stop();
+    }
     synchronized (commit_lock) {
 
       // We possibly have things to clean up.
@@ -1025,32 +1075,124 @@ public class TableDataConglomerate {
 
   /**
    * Makes a complete copy of this database at the given path in the file
-   * system.  This may take a while to complete, and the conglomerate is put
-   * under a 'commit_lock' while this is in progress.  This means that new
-   * transactions will not be able to be created or committed.
+   * system.  The copy is of the version of the database that is committed
+   * when this is called.  The conglomerate is only put under a 'commit_lock'
+   * while that version is pinned (in the same way a transaction is started),
+   * so new transactions can be created and committed while the tables are
+   * copied.
    * <p>
-   * Open result sets will be able to continue to download information, and
-   * transaction operations will work provided a table is not being copied at
-   * the time.
+   * Until the copy finishes, the tables are root locked so the space of
+   * deleted rows isn't reclaimed and the index sectors of the pinned
+   * version are not reused.
    * <p>
    * The conglomerate must be open before this method is called.
    */
   public void liveCopyTo(File path) throws IOException {
-    // We are under a commit lock,
+    MasterTableDataSource[] tables;
+    IndexSet[] index_sets;
+
+    // Pin the committed version under a commit lock,
     synchronized (commit_lock) {
 
       // Copy the state file first
       state_file.copyTo(path);
-      // Copy all the tables in the conglomerate.
+      // And the position in the commit logs the copy is at, so the copy
+      // can be a replica of this conglomerate.
+      if (replication_log != null) {
+        ReplicationLog.writePosition(path, getName(),
+                                     replication_log.getSequence());
+      }
+      else if (replica_applier != null) {
+        ReplicationLog.writePosition(path, getName(), replica_sequence);
+      }
       int size = table_list.size();
+      tables = new MasterTableDataSource[size];
+      index_sets = new IndexSet[size];
       for (int i = 0; i < size; ++i) {
-        MasterTableDataSource master =
-                                    (MasterTableDataSource) table_list.get(i);
-        master.copyTo(path);
+        tables[i] = (MasterTableDataSource) table_list.get(i);
+        index_sets[i] = tables[i].createIndexSet();
+        tables[i].addRootLock();
+      }
+
+    }
+
+    try {
+      // Copy all the tables in the conglomerate.
+      long in_time = System.currentTimeMillis();
+      for (int i = 0; i < tables.length; ++i) {
+        tables[i].snapshotCopyTo(index_sets[i], path);
       }
       // That's it...
       getSystem().stats().increment("TableDataConglomerate.liveCopies");
+      getSystem().stats().add((int) (System.currentTimeMillis() - in_time),
+                              "TableDataConglomerate.liveCopyTime");
+    }
+    finally {
+      for (int i = 0; i < tables.length; ++i) {
+        index_sets[i].dispose();
+        tables[i].removeRootLock();
+      }
+    }
+  }
+
+  /**
+   * Applies a commit from the commit logs of the primary to this
+   * conglomerate, which is a read only replica of the primary.  'records'
+   * is the stored form of each row added by the journals.  The rows are
+   * written at the same row index they have in the primary and then the
+   * journals are committed as in 'processCommit', without the checks that
+   * already passed in the primary.
+   * <p>
+   * Returns false and changes nothing if a row can't be written yet because
+   * an open transaction may still read the old row at its index.
+   */
+  boolean applyReplicatedCommit(long sequence, MasterTableJournal[] journals,
+                                byte[][][] records) throws IOException {
+    synchronized (commit_lock) {
+      int count = journals.length;
+      MasterTableDataSource[] masters = new MasterTableDataSource[count];
+      for (int i = 0; i < count; ++i) {
+        masters[i] = getMasterTable(journals[i].getTableID());
+      }
+
+      // Check the row indexes of the added rows are free.
+      for (int i = 0; i < count; ++i) {
+        MasterTableJournal journal = journals[i];
+        int size = journal.entries();
+        for (int n = 0; n < size; ++n) {
+          if (journal.getCommand(n) == MasterTableJournal.TABLE_ADD &&
+              !masters[i].canAddRawRow(journal.getRowIndex(n))) {
+            return false;
+          }
+        }
+      }
+
+      // Write the added rows.
+      for (int i = 0; i < count; ++i) {
+        MasterTableJournal journal = journals[i];
+        int size = journal.entries();
+        for (int n = 0; n < size; ++n) {
+          if (journal.getCommand(n) == MasterTableJournal.TABLE_ADD) {
+            masters[i].addRawRow(journal.getRowIndex(n), records[i][n]);
+          }
+        }
+      }
+
+      // Update the indexes and commit the change to each table.
+      for (int i = 0; i < count; ++i) {
+        IndexSet index_set = masters[i].createIndexSet();
+        RootTableDataSource root =
+                              new RootTableDataSource(masters[i], index_set);
+        root.updateIndexes(journals[i]);
+        masters[i].commitTransactionChange(commit_id, journals[i], index_set);
+        root.dispose();
+      }
+      // Move to the next commit id as when a transaction closes.
+      ++commit_id;
 
+      ReplicationLog.writePosition(getPath(), getName(), sequence);
+      replica_sequence = sequence;
+      return true;
     }
   }
 
@@ -2034,6 +2176,10 @@ public class TableDataConglomerate {
    * <li> If there are then rollback this transaction and throw an error.
    * <li> Otherwise commit the transaction.
    * </ul>
+   * A commit only holds the commit latches of the tables it uses while it
+   * does this (see 'commitLatchTables'), so commits that use different
+   * tables happen at the same time.  The changes are made visible and the
+   * transaction is closed under the 'commit_lock' at the end.
    *
    * @param transaction the transaction to commit from.
    * @param visible_tables the list of visible tables at the end of the commit
@@ -2081,17 +2227,40 @@ public class TableDataConglomerate {
       return;
     }
 
+    // A replica can only be changed by the commit logs of the primary.
+    if (replica_applier != null) {
+      closeTransaction(transaction);
+      throw new Error("Can not commit changes to a read only replica.");
+    }
+
     // This flag is set to true when entries from the changes tables are
     // at a point of no return.  If this is false it is safe to rollback
     // changes if necessary.
     boolean entries_committed = false;
+    // Set to true when the transaction is closed.
+    boolean transaction_closed = false;
 
-    // Grab the commit lock.
-    synchronized (commit_lock) {
+    // The tables we hold the commit latch of and the number of them that are
+    // latched.
+    MasterTableDataSource[] latched_tables = null;
+    int latched_count = 0;
+
+    try {
       // Our factory used for constraint checks.
       RootTableDataSourceFactory table_factory = null;
       try {
 
+        // ---- Commit latch stage ----
+
+        latched_tables = commitLatchTables(transaction, changed_tables,
+                              selected_from_tables,
+                              created_tables.size() > 0 ||
+                              dropped_tables.size() > 0 ||
+                              constraint_altered_tables.size() > 0);
+        for (; latched_count < latched_tables.length; ++latched_count) {
+          latched_tables[latched_count].latchForCommit();
+        }
+
         // ---- Commit check stage ----
 
         long tran_commit_id = transaction.getCommitID();
@@ -2104,7 +2273,8 @@ public class TableDataConglomerate {
 //          System.out.println(selected_from_tables);
 
           // For each table that this transaction selected from, if there are
-          // any committed changes then generate a transaction error.
+          // any committed changes to the rows or the ranges of keys the
+          // transaction read then generate a transaction error.
           for (int i = 0; i < selected_from_tables.size(); ++i) {
             MasterTableDataSource selected_table =
                           (MasterTableDataSource) selected_from_tables.get(i);
@@ -2113,17 +2283,43 @@ public class TableDataConglomerate {
             MasterTableJournal[] journals_since =
                           selected_table.findAllJournalsSince(tran_commit_id);
             if (journals_since.length > 0) {
-              // Yes, there are changes so generate transaction error and
-              // rollback.
-              throw new TransactionException(
-                TransactionException.DIRTY_TABLE_SELECT,
-                    "Concurrent Serializable Transaction Conflict(4): " +
-                    "Select from table that has committed changes: " +
-                    selected_table.getName());
+              // The journals that recorded the reads of the table.
+              ArrayList read_journals = new ArrayList();
+              for (int n = 0; n < touched_tables.size(); ++n) {
+                MasterTableJournal table_journal = ((MutableTableDataSource)
+                                       touched_tables.get(n)).getJournal();
+                if (table_journal.getTableID() ==
+                                              selected_table.getTableID()) {
+                  read_journals.add(table_journal);
+                }
+              }
+              if (read_journals.size() == 0) {
+                // We don't know what was read so generate transaction error
+                // and rollback.
+                throw new TransactionException(
+                  TransactionException.DIRTY_TABLE_SELECT,
+                      "Concurrent Serializable Transaction Conflict(4): " +
+                      "Select from table that has committed changes: " +
+                      selected_table.getName());
+              }
+              for (int n = 0; n < journals_since.length; ++n) {
+                for (int p = 0; p < read_journals.size(); ++p) {
+                  // This will throw an exception if the change clashes with
+                  // a read.
+                  ((MasterTableJournal) read_journals.get(p)).testReadClash(
+                                        journals_since[n], selected_table);
+                }
+              }
             }
           }
         }
 
+        // The reads aren't needed once they are checked.
+        for (int i = 0; i < touched_tables.size(); ++i) {
+          ((MutableTableDataSource) touched_tables.get(i)).
+                                                   getJournal().clearReads();
+        }
+
         // For each journal,
         for (int i = 0; i < changed_tables.length; ++i) {
           MasterTableJournal change_journal = changed_tables[i];
@@ -2133,8 +2329,11 @@ public class TableDataConglomerate {
           MasterTableDataSource master = getMasterTable(table_id);
 
           // Check this table is still in the committed tables list.
-          if (!created_tables.contains(table_id) &&
-              !committed_tables.contains(master)) {
+          boolean is_committed;
+          synchronized (commit_lock) {
+            is_committed = committed_tables.contains(master);
+          }
+          if (!created_tables.contains(table_id) && !is_committed) {
             // This table is no longer a committed table, so rollback
             throw new TransactionException(
                   TransactionException.TABLE_DROPPED,
@@ -2306,24 +2505,54 @@ public class TableDataConglomerate {
         //   It would be more robust if all indexes are committed in one go,
         //   then all table flag data.
 
-        // Set flag to indicate we have committed entries.
-        entries_committed = true;
-
-        // For each change to each table,
-        for (int i = 0; i < changed_tables.length; ++i) {
-          // Get the journal that details the change to the table.
-          MasterTableJournal change_journal = changed_tables[i];
-          // Get the master table with this table id.
-          MasterTableDataSource master = changed_master_tables[i];
-          // Commit the changes to the table.
-          // We use 'this.commit_id' which is the current commit level we are
-          // at.
-          master.commitTransactionChange(this.commit_id, change_journal,
-                                         changed_table_index_set[i]);
-          // Dispose the table source
-          changed_table_source[i].dispose();
+        // If commits are shipped to replicas then make the log of this
+        // commit now.  The rows added are read here because once the
+        // change is committed a row added and removed in this transaction
+        // may be reclaimed.
+        byte replication_type = 0;
+        byte[] replication_body = null;
+        if (replication_log != null) {
+          if (created_tables.size() > 0 || dropped_tables.size() > 0) {
+            replication_type = ReplicationLog.STRUCTURE_CHANGE;
+            replication_body = new byte[0];
+          }
+          else if (changed_tables_count > 0) {
+            replication_type = ReplicationLog.DATA_CHANGE;
+            try {
+              replication_body = ReplicationLog.encodeDataChange(
+                                      changed_tables, changed_master_tables);
+            }
+            catch (IOException e) {
+              Debug().writeException(e);
+              throw new Error("IO Error: " + e.getMessage());
+            }
+          }
         }
 
+        // Make the changes visible.  This is the only part of the commit
+        // that is on the commit lock, so a new transaction sees all of the
+        // changes or none of them and 'commit_id' only moves on once the
+        // changes are committed.
+        synchronized (commit_lock) {
+
+          // Set flag to indicate we have committed entries.
+          entries_committed = true;
+
+          // For each change to each table,
+          for (int i = 0; i < changed_tables.length; ++i) {
+            // Get the journal that details the change to the table.
+            MasterTableJournal change_journal = changed_tables[i];
+            // Get the master table with this table id.
+            MasterTableDataSource master = changed_master_tables[i];
+            // Commit the changes to the table.
+            // We use 'this.commit_id' which is the current commit level we are
+            // at.
+            master.commitTransactionChange(this.commit_id, change_journal,
+                                           changed_table_index_set[i]);
+            // Dispose the table source
+            changed_table_source[i].dispose();
+          }
+
 // [ The older semantics of the table commit methods ]
 //        // For each change to each table,
 //        for (int i = 0; i < changed_tables.length; ++i) {
@@ -2341,19 +2570,40 @@ public class TableDataConglomerate {
 //          master.commitTransactionChange(this.commit_id, change_journal);
 //        }
 
-        // Only do this if we've created or dropped tables.
-        if (created_tables.size() > 0 || dropped_tables.size() > 0) {
-          // Update the committed tables in the conglomerate.
-          // This will update and synchronize the headers in this conglomerate.
-          commitToTables(created_tables, dropped_tables);
+          // Only do this if we've created or dropped tables.
+          if (created_tables.size() > 0 || dropped_tables.size() > 0) {
+            // Update the committed tables in the conglomerate.
+            // This will update and synchronize the headers in this
+            // conglomerate.
+            commitToTables(created_tables, dropped_tables);
 //          commitToTables(visible_tables);
-        }
+          }
 
-        // Mark each dropped table.
-        for (int i = 0; i < dropped_tables.size(); ++i) {
-          int table_id = dropped_tables.intAt(i);
-          markAsCommittedDropped(table_id);
-        }
+          // Mark each dropped table.
+          for (int i = 0; i < dropped_tables.size(); ++i) {
+            int table_id = dropped_tables.intAt(i);
+            markAsCommittedDropped(table_id);
+          }
+
+          // Write the log of this commit for the replicas.  The commit has
+          // happened so if this fails the replicas will stop at the gap.
+          if (replication_body != null) {
+            try {
+              replication_log.write(replication_type, replication_body);
+              getSystem().stats().increment("Replication.logs_written");
+            }
+            catch (IOException e) {
+              Debug().write(Lvl.ERROR, this,
+                       "Unable to write replication log: " + e.getMessage());
+              Debug().writeException(e);
+            }
+          }
+
+          // Close the transaction, which moves on the 'commit_id'.
+          closeTransaction(transaction);
+          transaction_closed = true;
+
+        }  // synchronized (commit_lock)
 
       }
       finally {
@@ -2395,12 +2645,20 @@ public class TableDataConglomerate {
         finally {
           // Always ensure a transaction close, even if we have an exception.
           // Notify the conglomerate that this transaction has closed.
-          closeTransaction(transaction);
+          if (!transaction_closed) {
+            closeTransaction(transaction);
+          }
         }
 
       }
 
-    }  // synchronized (commit_lock)
+    }
+    finally {
+      // Give up the commit latches in the opposite order they were taken.
+      for (int i = latched_count - 1; i >= 0; --i) {
+        latched_tables[i].unlatchForCommit();
+      }
+    }
 
 
 // [ NOTE: Not needed because journal entries are merged when they are
@@ -2427,6 +2685,92 @@ public class TableDataConglomerate {
 
   }
 
+  /**
+   * Returns the tables a commit must hold the commit latch of, ordered by
+   * table id so every commit takes its latches in the same order.  These are
+   * the tables the commit changes, the tables that the constraint checks of
+   * the changes read (the tables the foreign keys of the changed tables
+   * refer to, and the tables with foreign keys that refer to the changed
+   * tables), and the tables the transaction selected from if a dirty select
+   * is an error.  A commit that creates or drops tables or alters
+   * constraints latches every table so it happens alone.
+   */
+  private MasterTableDataSource[] commitLatchTables(Transaction transaction,
+                 MasterTableJournal[] changed_tables,
+                 ArrayList selected_from_tables, boolean structure_changed) {
+
+    ArrayList tables = new ArrayList();
+    if (structure_changed) {
+      synchronized (commit_lock) {
+        tables.addAll(table_list);
+      }
+    }
+    else {
+      for (int i = 0; i < changed_tables.length; ++i) {
+        MasterTableDataSource master =
+                               getMasterTable(changed_tables[i].getTableID());
+        addLatchTable(tables, master);
+        TableName table_name = master.getTableName();
+        Transaction.ColumnGroupReference[] refs =
+                        transaction.queryTableForeignKeyReferences(table_name);
+        for (int n = 0; n < refs.length; ++n) {
+          addLatchTable(tables,
+                        findCommittedMasterTable(refs[n].ref_table_name));
+        }
+        refs = transaction.queryTableImportedForeignKeyReferences(table_name);
+        for (int n = 0; n < refs.length; ++n) {
+          addLatchTable(tables,
+                        findCommittedMasterTable(refs[n].key_table_name));
+        }
+      }
+      if (transaction.transactionErrorOnDirtySelect()) {
+        for (int i = 0; i < selected_from_tables.size(); ++i) {
+          addLatchTable(tables,
+                    (MasterTableDataSource) selected_from_tables.get(i));
+        }
+      }
+    }
+
+    MasterTableDataSource[] arr = (MasterTableDataSource[]) tables.toArray(
+                                  new MasterTableDataSource[tables.size()]);
+    Arrays.sort(arr, new Comparator() {
+      public int compare(Object ob1, Object ob2) {
+        int id1 = ((MasterTableDataSource) ob1).getTableID();
+        int id2 = ((MasterTableDataSource) ob2).getTableID();
+        return id1 < id2 ? -1 : (id1 == id2 ? 0 : 1);
+      }
+    });
+    return arr;
+  }
+
+  /**
+   * Adds a table to the list of tables a commit latches if it isn't null
+   * and isn't in the list already.
+   */
+  private static void addLatchTable(ArrayList tables,
+                                    MasterTableDataSource master) {
+    if (master != null && !tables.contains(master)) {
+      tables.add(master);
+    }
+  }
+
+  /**
+   * Returns the committed MasterTableDataSource with the given name, or null
+   * if there isn't one.
+   */
+  private MasterTableDataSource findCommittedMasterTable(TableName name) {
+    synchronized (commit_lock) {
+      for (int i = 0; i < committed_tables.size(); ++i) {
+        MasterTableDataSource t =
+                              (MasterTableDataSource) committed_tables.get(i);
+        if (t.getTableName().equals(name)) {
+          return t;
+        }
+      }
+      return null;
+    }
+  }
+
   /**
    * Rollbacks a transaction and invalidates any changes that the transaction
    * made to the database.  The rows that this transaction changed are given
@@ -2654,6 +2998,9 @@ public class TableDataConglomerate {
    */
   MasterTableDataSource createMasterTable(DataTableDef table_def,
                                 int data_sector_size, int index_sector_size) {
+    if (replica_applier != null) {
+      throw new Error("Can not create a table in a read only replica.");
+    }
     synchronized (commit_lock) {
       try {
 
@@ -2736,6 +3083,11 @@ public class TableDataConglomerate {
      */
     private SelectableScheme[] schemes;
 
+    /**
+     * The composite indexes of the table.
+     */
+    private CompositeIndex[] composites;
+
     /**
      * Constructs the RootTableDataSource.
      */
@@ -2752,6 +3104,12 @@ public class TableDataConglomerate {
         schemes[i] = master_table.createSelectableSchemeForColumn(
                                                        index_set, this, i);
       }
+      int composite_count =
+                   master_table.getDataTableDef().compositeIndexCount();
+      composites = new CompositeIndex[composite_count];
+      for (int i = 0; i < composite_count; ++i) {
+        composites[i] = master_table.createCompositeIndex(index_set, this, i);
+      }
       master_table.addRootLock();
     }
 
@@ -2831,6 +3189,24 @@ public class TableDataConglomerate {
 //        System.out.println("" + n + ": " + (System.currentTimeMillis() - t));
       }
 
+      // For each composite index
+      for (int n = 0; n < composites.length; ++n) {
+        CompositeIndex cur_index = composites[n];
+        for (int i = 0; i < size; ++i) {
+          byte b = change.getCommand(i);
+          int row_index = change.getRowIndex(i);
+          if (b == MasterTableJournal.TABLE_ADD) {
+            cur_index.insert(row_index);
+          }
+          else if (b == MasterTableJournal.TABLE_REMOVE) {
+            cur_index.remove(row_index);
+          }
+          else {
+            throw new Error("Unknown row change code: " + b);
+          }
+        }
+      }
+
     }
 
     /**
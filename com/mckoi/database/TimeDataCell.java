@@ -45,27 +45,69 @@ import java.io.DataOutput;
 public class TimeDataCell extends DataCell {
 
   /**
-   * The long value that stores the number of seconds this time represents.
+   * The number of milliseconds since the 1st Jan 1970 this time represents.
    */
-  Date date;
+  private long time;
+
+  /**
+   * True if the cell is 'null'.
+   */
+  private boolean is_null;
+
+  /**
+   * The Date returned by 'getCell', or null if it hasn't been made yet.  The
+   * cell is stored, compared and indexed by 'time' so the Date is only made
+   * when the value is asked for as an object.
+   */
+  private Date date;
 
   /**
    * The Constructor.
    */
   public TimeDataCell(long date) {
-    this.date = new Date(date);
+    this.time = date;
+    this.is_null = false;
   }
 
   public TimeDataCell(Date date) {
-    this.date = date;
+    if (date == null) {
+      this.is_null = true;
+    }
+    else {
+      this.time = date.getTime();
+      this.is_null = false;
+      this.date = date;
+    }
   }
 
   public TimeDataCell() {
-    this.date = null;
+    this.is_null = true;
+  }
+
+  /**
+   * Returns the number of milliseconds since the 1st Jan 1970 this time
+   * represents.  The cell must not be 'null'.
+   */
+  long getTime() {
+    return time;
+  }
+
+  public boolean isNull() {
+    return is_null;
   }
 
   public Object getCell() {
-    return date;
+    if (is_null) {
+      return null;
+    }
+    // NOTE: It doesn't matter if two threads make the Date at the same time
+    //   because they are equal.
+    Date d = date;
+    if (d == null) {
+      d = new Date(time);
+      date = d;
+    }
+    return d;
   }
 
   public int getExtractionType() {
@@ -73,15 +115,15 @@ public class TimeDataCell extends DataCell {
   }
 
   public int compareTo(DataCell cell) {
-    Date targ = ((TimeDataCell) cell).date;
+    TimeDataCell targ = (TimeDataCell) cell;
 
-    if (targ != null) {
-      if (date != null) {
+    if (!targ.is_null) {
+      if (!is_null) {
         // neither date nor targ are 'null'
-        if (date.before(targ)) {
+        if (time < targ.time) {
           return -1;
         }
-        else if (date.equals(targ)) {
+        else if (time == targ.time) {
           return 0;
         }
         else {
@@ -94,7 +136,7 @@ public class TimeDataCell extends DataCell {
       }
     }
     else {
-      if (date != null) {
+      if (!is_null) {
         // If only targ 'null' return greater
         return 1;
       }
@@ -115,9 +157,9 @@ public class TimeDataCell extends DataCell {
   }
 
   public void writeTo(DataOutput out) throws IOException {
-    if (date != null) {
+    if (!is_null) {
       out.writeByte(1);
-      out.writeLong(date.getTime());
+      out.writeLong(time);
     }
     else {
       out.writeByte(0);
@@ -127,11 +169,13 @@ public class TimeDataCell extends DataCell {
   public void readFrom(DataInput in) throws IOException {
     byte stat = in.readByte();
     if (stat == 0) {
-      date = null;
+      is_null = true;
     }
     else {
-      date = new Date(in.readLong());
+      time = in.readLong();
+      is_null = false;
     }
+    date = null;
   }
 
 //  public static Date readDateFrom(DataInput in) throws IOException {
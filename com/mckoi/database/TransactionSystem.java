@@ -31,6 +31,7 @@ import com.mckoi.database.control.DBConfig;
 import java.io.File;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
 //import java.util.ResourceBundle;
 //import java.util.MissingResourceException;
 import java.util.Properties;
@@ -69,6 +70,18 @@ public class TransactionSystem {
    */
   private boolean lookup_comparison_list_enabled = false;
 
+  /**
+   * Set to true if InsertSearch indexes keep a normalized key prefix for
+   * each row.
+   */
+  private boolean key_prefixes_enabled = true;
+
+  /**
+   * Set to true if the index file of a table is opened the first time the
+   * table is used rather than when the database is opened.
+   */
+  private boolean lazy_table_open_enabled = true;
+
   /**
    * Set to true if the database is in read only mode.  This is set from the
    * configuration file.
@@ -122,6 +135,83 @@ public class TransactionSystem {
    */
   private DataCellCache data_cell_cache = null;
 
+  /**
+   * The off heap second tier of the cell cache, or null if disabled.
+   */
+  private OffHeapCellCache offheap_cell_cache = null;
+
+  /**
+   * The list of column patterns (eg. 'APP.Amount.Amount' or 'APP.Amount.*')
+   * that are mirrored in a ColumnarStore.  This is null if no columns are
+   * mirrored.
+   */
+  private List columnar_store_columns = null;
+
+  /**
+   * The list of column patterns of the string columns that are dictionary
+   * encoded.  This is null if no columns are encoded.
+   */
+  private List dictionary_columns = null;
+
+  /**
+   * The RecordCodec id used to compress table data, or -1 if table data is
+   * compressed as it was before codecs were configurable.
+   */
+  private int data_compression = -1;
+
+  /**
+   * Maps from table name (String) to RecordCodec id (Integer) for tables
+   * that override 'data_compression'.
+   */
+  private HashMap data_compression_tables = new HashMap();
+
+  /**
+   * The maximum number of records moved by each step of the background
+   * compaction of a table's data file.  0 if compaction is disabled.
+   */
+  private int compaction_batch_size = 0;
+
+  /**
+   * The time in ms between each step of the background compaction.
+   */
+  private int compaction_interval = 1000;
+
+  /**
+   * The maximum number of deleted rows of a table reclaimed by the garbage
+   * collector while the table is locked.
+   */
+  private int gc_batch_size = 256;
+
+  /**
+   * The number of bytes of a table's data file read at once when the file
+   * is read in sequence.  0 if reading ahead is disabled.
+   */
+  private int read_ahead_size = 0;
+
+  /**
+   * The size in bytes above which a string or BLOB is kept out of the row
+   * in the table's large object store.  0 if large objects are kept in the
+   * row.
+   */
+  private int large_object_threshold = 0;
+
+  /**
+   * The pool that the pages of all the table stores are cached in, or null
+   * if each store has its own cache.
+   */
+  private BufferPool buffer_pool;
+
+  /**
+   * The number of commit logs kept in the replication log directory.
+   */
+  private int replication_log_retention = 10000;
+
+  /**
+   * The time in ms between each check for new commit logs when this is a
+   * read only replica.
+   */
+  private int replica_poll_interval = 500;
+
   /**
    * The list of FunctionFactory objects that handle different functions from
    * SQL.
@@ -148,6 +238,18 @@ public class TransactionSystem {
    */
   private File log_directory;
 
+  /**
+   * The directory commit logs are written to for replicas, or null if
+   * commits are not shipped to replicas.
+   */
+  private File replication_log_directory;
+
+  /**
+   * The directory of commit logs this database applies as a read only
+   * replica, or null if this is not a replica.
+   */
+  private File replica_log_directory;
+
 
   /**
    * Constructor.
@@ -231,8 +333,8 @@ public class TransactionSystem {
         Debug().write(Lvl.MESSAGE, this,
                 "Internal Data Cache max cell size: " + max_cache_entry_size);
 
-        // Find a prime hash size depending on the size of the cache.
-        int hash_size = DataCellCache.closestPrime(max_cache_size / 55);
+        // The initial hash size depending on the size of the cache.
+        int hash_size = max_cache_size / 55;
 
         // Set up the data_cell_cache
         data_cell_cache = new DataCellCache(this,
@@ -244,12 +346,34 @@ public class TransactionSystem {
                     "Internal Data Cache disabled.");
       }
 
+      // Set up the off heap cell cache (size is in megabytes)
+      int offheap_cache_size = getConfigInt("offheap_cache_size", 0);
+      int offheap_max_entry_size =
+                         getConfigInt("offheap_cache_max_entry_size", 16384);
+      if (offheap_cache_size > 0 && offheap_max_entry_size >= 16) {
+        Debug().write(Lvl.MESSAGE, this,
+                "Off Heap Cache size (MB):          " + offheap_cache_size);
+        offheap_cell_cache = new OffHeapCellCache(this,
+                                   (long) offheap_cache_size * 1024 * 1024,
+                                   offheap_max_entry_size);
+      }
+
       // Are lookup comparison lists enabled?
       lookup_comparison_list_enabled =
                             getConfigBoolean("lookup_comparison_list", false);
       Debug().write(Lvl.MESSAGE, this,
                 "lookup_comparison_list = " + lookup_comparison_list_enabled);
 
+      // Are normalized key prefixes enabled?
+      key_prefixes_enabled = getConfigBoolean("index_key_prefixes", true);
+      Debug().write(Lvl.MESSAGE, this,
+                    "index_key_prefixes = " + key_prefixes_enabled);
+
+      // Are table index files opened when the table is first used?
+      lazy_table_open_enabled = getConfigBoolean("lazy_table_open", true);
+      Debug().write(Lvl.MESSAGE, this,
+                    "lazy_table_open = " + lazy_table_open_enabled);
+
       // Should we open the database in read only mode?
       read_only_access = getConfigBoolean("read_only", false);
       Debug().write(Lvl.MESSAGE, this,
@@ -267,6 +391,93 @@ public class TransactionSystem {
       Debug().write(Lvl.MESSAGE, this, "transaction_error_on_dirty_select = " +
                     transaction_error_on_dirty_select);
 
+      // The columns to mirror in a columnar store
+      String columnar_columns =
+                             getConfigString("columnar_store_columns", null);
+      columnar_store_columns = parseColumnPatterns(columnar_columns);
+      Debug().write(Lvl.MESSAGE, this,
+                    "columnar_store_columns = " + columnar_columns);
+
+      // The string columns to dictionary encode
+      String dict_columns = getConfigString("dictionary_columns", null);
+      dictionary_columns = parseColumnPatterns(dict_columns);
+      Debug().write(Lvl.MESSAGE, this,
+                    "dictionary_columns = " + dict_columns);
+
+      // The default codec used to compress table data
+      String compression = getConfigString("data_compression", null);
+      if (compression != null && compression.trim().length() > 0) {
+        data_compression = RecordCodec.idForName(compression);
+        if (data_compression == -1) {
+          Debug().write(Lvl.ERROR, this,
+                        "Unknown 'data_compression' codec: " + compression);
+        }
+      }
+      Debug().write(Lvl.MESSAGE, this, "data_compression = " + compression);
+
+      // Per table codecs of the form 'schema.table=codec;...'
+      String compression_tables =
+                            getConfigString("data_compression_tables", null);
+      if (compression_tables != null) {
+        List entries = StringUtil.explode(compression_tables, ";");
+        for (int i = 0; i < entries.size(); ++i) {
+          String entry = entries.get(i).toString();
+          int delim = entry.indexOf('=');
+          if (delim != -1) {
+            String table = entry.substring(0, delim).trim();
+            int codec_id = RecordCodec.idForName(entry.substring(delim + 1));
+            if (codec_id != -1) {
+              data_compression_tables.put(table, new Integer(codec_id));
+              continue;
+            }
+          }
+          if (entry.trim().length() > 0) {
+            Debug().write(Lvl.ERROR, this,
+                     "Bad 'data_compression_tables' entry: " + entry);
+          }
+        }
+      }
+
+      // Background compaction of table data files
+      compaction_batch_size = getConfigInt("compaction_batch_size", 0);
+      compaction_interval = getConfigInt("compaction_interval", 1000);
+      Debug().write(Lvl.MESSAGE, this,
+                    "compaction_batch_size = " + compaction_batch_size);
+      Debug().write(Lvl.MESSAGE, this,
+                    "compaction_interval = " + compaction_interval);
+
+      // Garbage collection of deleted rows
+      gc_batch_size = getConfigInt("gc_batch_size", 256);
+      Debug().write(Lvl.MESSAGE, this,
+                    "gc_batch_size = " + gc_batch_size);
+
+      // Read ahead of table data files when they are scanned
+      read_ahead_size = getConfigInt("read_ahead_size", 0);
+      Debug().write(Lvl.MESSAGE, this,
+                    "read_ahead_size = " + read_ahead_size);
+
+      // Strings and BLOBs kept out of the rows
+      large_object_threshold = getConfigInt("large_object_threshold", 0);
+      Debug().write(Lvl.MESSAGE, this,
+                    "large_object_threshold = " + large_object_threshold);
+
+      // The buffer pool shared by all the table stores
+      int buffer_pool_size = getConfigInt("buffer_pool_size", 0);
+      if (buffer_pool_size > 0) {
+        buffer_pool = new BufferPool(buffer_pool_size, stats());
+      }
+      Debug().write(Lvl.MESSAGE, this,
+                    "buffer_pool_size = " + buffer_pool_size);
+
+      // Commit log shipping to read only replicas
+      replication_log_retention =
+                         getConfigInt("replication_log_retention", 10000);
+      replica_poll_interval = getConfigInt("replica_poll_interval", 500);
+      Debug().write(Lvl.MESSAGE, this,
+                "replication_log_retention = " + replication_log_retention);
+      Debug().write(Lvl.MESSAGE, this,
+                "replica_poll_interval = " + replica_poll_interval);
+
       // Case insensitive identifiers?
       ignore_case_for_identifiers =
                        getConfigBoolean("ignore_case_for_identifiers", false);
@@ -393,6 +604,22 @@ public class TransactionSystem {
     return lookup_comparison_list_enabled;
   }
 
+  /**
+   * Returns true if InsertSearch indexes keep a normalized key prefix for
+   * each row so that most comparisons in a search don't read a cell.
+   */
+  public boolean keyPrefixesEnabled() {
+    return key_prefixes_enabled;
+  }
+
+  /**
+   * Returns true if the index file of a table is opened the first time the
+   * table is used rather than when the database is opened.
+   */
+  public boolean lazyTableOpenEnabled() {
+    return lazy_table_open_enabled;
+  }
+
   /**
    * Returns true if all table indices are kept behind a soft reference that
    * can be garbage collected.
@@ -418,12 +645,170 @@ public class TransactionSystem {
 
   /**
    * Returns true if during commit the engine should look for any selects
-   * on a modified table and fail if they are detected.
+   * on a modified table and fail if they are detected.  Only the changes to
+   * the rows and ranges of keys the transaction read are detected (see
+   * MasterTableJournal.testReadClash).
    */
   public boolean transactionErrorOnDirtySelect() {
     return transaction_error_on_dirty_select;
   }
 
+  /**
+   * Returns true if the given column of the given table should be mirrored
+   * in a ColumnarStore.  This is set by the 'columnar_store_columns'
+   * configuration property, which is a ';' deliminated list of patterns
+   * of the form 'schema.table.column'.  A pattern that ends with '*'
+   * matches any column that starts with the text before the '*'.
+   */
+  public boolean columnarStoreEnabled(TableName table_name,
+                                      String column_name) {
+    return matchesColumnPattern(columnar_store_columns,
+                                table_name, column_name);
+  }
+
+  /**
+   * Returns true if the given string column of the given table should be
+   * dictionary encoded (see StringDictionary).  This is set by the
+   * 'dictionary_columns' configuration property, which is a list of
+   * patterns of the same form as 'columnar_store_columns'.
+   */
+  public boolean dictionaryEncodingEnabled(TableName table_name,
+                                           String column_name) {
+    return matchesColumnPattern(dictionary_columns, table_name, column_name);
+  }
+
+  /**
+   * Parses a ';' deliminated list of column patterns.  Returns null if the
+   * list is empty.
+   */
+  private static List parseColumnPatterns(String list) {
+    if (list == null || list.trim().length() == 0) {
+      return null;
+    }
+    List column_patterns = new ArrayList();
+    List patterns = StringUtil.explode(list, ";");
+    for (int i = 0; i < patterns.size(); ++i) {
+      String pattern = patterns.get(i).toString().trim();
+      if (pattern.length() > 0) {
+        column_patterns.add(pattern);
+      }
+    }
+    return column_patterns;
+  }
+
+  /**
+   * Returns true if the given column of the given table matches any of the
+   * patterns in the list.  A pattern that ends with '*' matches any column
+   * that starts with the text before the '*'.
+   */
+  private boolean matchesColumnPattern(List column_patterns,
+                                   TableName table_name, String column_name) {
+    if (column_patterns == null) {
+      return false;
+    }
+    String name = table_name.toString() + "." + column_name;
+    for (int i = 0; i < column_patterns.size(); ++i) {
+      String pattern = (String) column_patterns.get(i);
+      boolean match;
+      if (pattern.endsWith("*")) {
+        String prefix = pattern.substring(0, pattern.length() - 1);
+        match = ignore_case_for_identifiers ?
+                name.toUpperCase().startsWith(prefix.toUpperCase()) :
+                name.startsWith(prefix);
+      }
+      else {
+        match = ignore_case_for_identifiers ?
+                name.equalsIgnoreCase(pattern) : name.equals(pattern);
+      }
+      if (match) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the RecordCodec id used to compress the data of the given table.
+   * This is set by the 'data_compression' and 'data_compression_tables'
+   * configuration properties.  Returns -1 if neither property is set, in
+   * which case data is compressed as it always has been.
+   */
+  int getTableDataCodec(TableName table_name) {
+    Integer codec_id =
+                 (Integer) data_compression_tables.get(table_name.toString());
+    if (codec_id != null) {
+      return codec_id.intValue();
+    }
+    return data_compression;
+  }
+
+  /**
+   * Returns the maximum number of records moved by each step of the
+   * background compaction of a table's data file, or 0 if background
+   * compaction is disabled.
+   */
+  int getCompactionBatchSize() {
+    return compaction_batch_size;
+  }
+
+  /**
+   * Returns the time in ms between each step of the background compaction
+   * of a table's data file.
+   */
+  int getCompactionInterval() {
+    return compaction_interval;
+  }
+
+  /**
+   * Returns the maximum number of deleted rows of a table that are reclaimed
+   * by the garbage collector in one batch while the table is locked.
+   */
+  int getGCBatchSize() {
+    return gc_batch_size;
+  }
+
+  /**
+   * Returns the number of bytes of a table's data file that are read at
+   * once when the file is read in sequence, or 0 if reading ahead is
+   * disabled.
+   */
+  int getReadAheadSize() {
+    return read_ahead_size;
+  }
+
+  /**
+   * Returns the size in bytes above which a string or BLOB is kept out of
+   * the row in the table's large object store, or 0 if they are kept in the
+   * row.
+   */
+  int getLargeObjectThreshold() {
+    return large_object_threshold;
+  }
+
+  /**
+   * Returns the BufferPool the pages of all the table stores are cached in,
+   * or null if each store has its own cache.
+   */
+  BufferPool getBufferPool() {
+    return buffer_pool;
+  }
+
+  /**
+   * Returns the number of commit logs kept in the replication log
+   * directory.  Older logs are deleted.
+   */
+  int getReplicationLogRetention() {
+    return replication_log_retention;
+  }
+
+  /**
+   * Returns the time in ms between each check for new commit logs when this
+   * is a read only replica.
+   */
+  int getReplicaPollInterval() {
+    return replica_poll_interval;
+  }
+
   /**
    * Returns true if the parser should ignore case when searching for
    * schema/table/column identifiers.
@@ -614,6 +999,39 @@ public class TransactionSystem {
     return log_directory;
   }
 
+  /**
+   * Sets the directory that a log of each commit is written to so the
+   * changes can be applied to read only replicas.  If this is not set or is
+   * set to 'null' then no commit logs are written.
+   */
+  public final void setReplicationLogDirectory(File log_path) {
+    this.replication_log_directory = log_path;
+  }
+
+  /**
+   * Returns the directory commit logs are written to, or null if commits
+   * are not shipped to replicas.
+   */
+  public final File getReplicationLogDirectory() {
+    return replication_log_directory;
+  }
+
+  /**
+   * Sets the directory of commit logs that this database applies as a read
+   * only replica.  This must be set before the database is opened.
+   */
+  public final void setReplicaLogDirectory(File log_path) {
+    this.replica_log_directory = log_path;
+  }
+
+  /**
+   * Returns the directory of commit logs this database applies as a read
+   * only replica, or null if this database is not a replica.
+   */
+  public final File getReplicaLogDirectory() {
+    return replica_log_directory;
+  }
+
   // ---------- Trigger methods ----------
 
   /**
@@ -646,6 +1064,14 @@ public class TransactionSystem {
     return data_cell_cache;
   }
 
+  /**
+   * Returns the OffHeapCellCache that is checked after the DataCellCache
+   * misses.  If this returns 'null' then the off heap cache is disabled.
+   */
+  OffHeapCellCache getOffHeapCellCache() {
+    return offheap_cell_cache;
+  }
+
   // ---------- Dispatch methods ----------
 
   /**
@@ -26,8 +26,10 @@ package com.mckoi.database;
 
 import com.mckoi.debug.*;
 import com.mckoi.util.ByteArrayUtil;
+import com.mckoi.util.IntegerVector;
 import com.mckoi.util.UserTerminal;
 import java.io.*;
+import java.util.BitSet;
 import java.util.zip.*;
 
 /**
@@ -52,6 +54,19 @@ import java.util.zip.*;
  * span more than one sector.  It tries compressing the field.  If the field
  * can be compressed into less sectors than if left uncompressed, then the
  * compressed field is put into the data store.
+ * <p>
+ * If a RecordCodec is set for the store (see 'setCodec'), records that
+ * span more than one sector are instead encoded in blocks of BLOCK_SIZE
+ * bytes.  A block coded record is laid out as follows;
+ * <p><pre>
+ *   4 (int) : length      - The uncompressed length of the record.
+ *   4 (int) : block count - The number of blocks (n).
+ *   4 * n   : block ends  - The end offset of each block after the header.
+ *   blocks  : 1 byte flag (0 = stored, 1 = encoded) followed by the data.
+ * </pre>
+ * Because each block is encoded independently, a stream over the record
+ * only needs to decode the blocks that are actually read.  The id of the
+ * codec is kept in bits 2-4 of the record type key.
  *
  * @author Tobias Downer
  */
@@ -68,6 +83,11 @@ public class VariableSizeDataStore {
    */
   private final static int INDEX_SECTOR_SIZE = (4 * 3);
 
+  /**
+   * The number of uncompressed bytes in each block of a block coded record.
+   */
+  private final static int BLOCK_SIZE = 2048;
+
 
   /**
    * A DebugLogger object used to log error messages to.
@@ -102,6 +122,43 @@ public class VariableSizeDataStore {
   private Inflater inflater;
   private byte[] compress_buffer;
 
+  /**
+   * The id of the codec used to compress new records, or -1 if records are
+   * written as before (whole record deflate on 'write', uncompressed when
+   * written via 'getRecordOutputStream').
+   */
+  private int codec_id = -1;
+
+  /**
+   * The codec used to block code new records, or null if new records are
+   * not block coded.
+   */
+  private RecordCodec codec;
+
+  /**
+   * Codec objects used to decode records, indexed by codec id.
+   */
+  private RecordCodec[] decoders = new RecordCodec[8];
+
+  /**
+   * The Stats object compression statistics are recorded in, or null if
+   * statistics are not recorded.
+   */
+  private com.mckoi.util.Stats stats;
+
+  /**
+   * The nanoseconds of decode time not yet added to the 'decode_time_us'
+   * stat.  A single block decodes in a few microseconds so the remainder is
+   * carried over rather than lost to rounding.
+   */
+  private long decode_time_remainder = 0;
+
+  /**
+   * Set when a record output stream is buffered so that it can be block
+   * coded when the record is completed.
+   */
+  private ByteArrayOutputStream record_buffer;
+
 
 
 
@@ -134,12 +191,190 @@ public class VariableSizeDataStore {
 
   // ---------- Private methods ----------
 
+  /**
+   * Returns the codec of the given id used for decoding records.
+   */
+  private RecordCodec getDecoder(int codec_id) {
+    RecordCodec decoder = decoders[codec_id];
+    if (decoder == null) {
+      decoder = RecordCodec.create(codec_id);
+      decoders[codec_id] = decoder;
+    }
+    return decoder;
+  }
+
+  /**
+   * Returns the id of the codec a record is block coded with given its
+   * type key, or 0 if the record is not block coded.
+   */
+  private static int blockCodecID(int type_key) {
+    return (type_key >> 1) & 0x07;
+  }
+
+  /**
+   * Block codes the given data into 'compress_buffer' with the current
+   * codec.  Returns the size of the encoded record in 'compress_buffer' or
+   * -1 if block coding doesn't reduce the number of sectors the record
+   * spans.
+   */
+  private int blockEncode(byte[] buf, int offset, int length)
+                                                       throws IOException {
+    int block_count = blockCount(length);
+    int header_size = 8 + (block_count * 4);
+    // The most space we allow is the space of the record uncompressed.
+    int max_size = header_size + length + block_count;
+    if (compress_buffer == null || compress_buffer.length < max_size) {
+      compress_buffer = new byte[max_size];
+    }
+
+    ByteArrayUtil.setInt(length, compress_buffer, 0);
+    ByteArrayUtil.setInt(block_count, compress_buffer, 4);
+    int p = header_size;
+    for (int i = 0; i < block_count; ++i) {
+      int block_start = offset + (i * BLOCK_SIZE);
+      int block_len = Math.min(BLOCK_SIZE, length - (i * BLOCK_SIZE));
+      // Try and encode the block, if it doesn't get smaller then store it.
+      int size = codec.encode(buf, block_start, block_len,
+                              compress_buffer, p + 1, block_len - 1);
+      if (size == -1) {
+        compress_buffer[p] = 0;
+        System.arraycopy(buf, block_start, compress_buffer, p + 1, block_len);
+        size = block_len;
+      }
+      else {
+        compress_buffer[p] = 1;
+      }
+      p += size + 1;
+      ByteArrayUtil.setInt(p - header_size, compress_buffer, 8 + (i * 4));
+    }
+
+    if (stats != null) {
+      String key = "VariableSizeDataStore.codec." + codec.getName();
+      stats.add(length, key + ".bytes_in");
+      stats.add(p, key + ".bytes_out");
+    }
+
+    if (data_store.calculateSectorSpan(p) <
+        data_store.calculateSectorSpan(length)) {
+      return p;
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the number of blocks a block coded record of the given length
+   * is split into.
+   */
+  private static int blockCount(int length) {
+    return (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+  }
+
+  /**
+   * Decodes a whole block coded record that has been read into
+   * 'compress_buffer' and returns the uncompressed record.
+   */
+  private byte[] blockDecode(int codec_id, int data_length)
+                                                       throws IOException {
+    long time_start = System.nanoTime();
+    RecordCodec decoder = getDecoder(codec_id);
+    if (data_length < 8) {
+      throw new IOException("Corrupt block");
+    }
+    int length = ByteArrayUtil.getInt(compress_buffer, 0);
+    int block_count = ByteArrayUtil.getInt(compress_buffer, 4);
+    if (length < 0 || block_count != blockCount(length) ||
+        block_count > (data_length - 8) / 4) {
+      throw new IOException("Corrupt block");
+    }
+    int header_size = 8 + (block_count * 4);
+    byte[] buf = new byte[length];
+    int block_start = 0;
+    for (int i = 0; i < block_count; ++i) {
+      int block_end = ByteArrayUtil.getInt(compress_buffer, 8 + (i * 4));
+      int block_len = Math.min(BLOCK_SIZE, length - (i * BLOCK_SIZE));
+      int p = header_size + block_start;
+      int encoded_len = block_end - block_start - 1;
+      if (encoded_len < 0 || block_end > data_length - header_size) {
+        throw new IOException("Corrupt block");
+      }
+      if (compress_buffer[p] == 0) {
+        if (encoded_len != block_len) {
+          throw new IOException("Corrupt block");
+        }
+        System.arraycopy(compress_buffer, p + 1, buf, i * BLOCK_SIZE,
+                         block_len);
+      }
+      else {
+        decoder.decode(compress_buffer, p + 1, encoded_len,
+                       buf, i * BLOCK_SIZE, block_len);
+      }
+      block_start = block_end;
+    }
+    recordDecodeStats(decoder, block_count, time_start);
+    return buf;
+  }
+
+  /**
+   * Records the decode statistics.  'time_start' is the System.nanoTime
+   * value taken before the blocks were decoded.
+   */
+  private void recordDecodeStats(RecordCodec decoder, int block_count,
+                                 long time_start) {
+    if (stats != null) {
+      String key = "VariableSizeDataStore.codec." + decoder.getName();
+      stats.add(block_count, key + ".blocks_decoded");
+      decode_time_remainder += System.nanoTime() - time_start;
+      int time_us = (int) (decode_time_remainder / 1000);
+      decode_time_remainder -= time_us * 1000L;
+      stats.add(time_us, key + ".decode_time_us");
+    }
+  }
 
 
 
 
   // ---------- Public methods ----------
 
+  /**
+   * Sets the codec used to compress new records in this store.  The codec
+   * id is one of the RecordCodec constants.  If this is not called then
+   * records are compressed as they always have been.  Changing the codec
+   * has no effect on records already in the store.
+   */
+  public void setCodec(int codec_id) {
+    this.codec_id = codec_id;
+    this.codec = RecordCodec.create(codec_id);
+  }
+
+  /**
+   * Sets the Stats object that compression and read ahead statistics are
+   * recorded in.
+   */
+  public void setStats(com.mckoi.util.Stats stats) {
+    this.stats = stats;
+    allocation_store.setStats(stats);
+    data_store.setStats(stats);
+  }
+
+  /**
+   * Sets the BufferPool the sectors of this store are cached in (see
+   * FixedSizeDataStore.setBufferPool).
+   */
+  void setBufferPool(BufferPool pool) {
+    allocation_store.setBufferPool(pool);
+    data_store.setBufferPool(pool);
+  }
+
+  /**
+   * Sets the number of bytes read at once when the store is read in
+   * sequence (see FixedSizeDataStore.setReadAheadSize).  This must be
+   * called after the store is open.
+   */
+  public void setReadAheadSize(int size) {
+    allocation_store.setReadAheadSize(size);
+    data_store.setReadAheadSize(size);
+  }
+
   /**
    * Synchronizes all the data in memory with the hard copy on disk.
    */
@@ -306,6 +541,162 @@ public class VariableSizeDataStore {
     data_store.copyTo(path);
   }
 
+  /**
+   * Makes a copy of the files of this store while the store continues to be
+   * used.  See 'FixedSizeDataStore.streamCopyTo'.  The copy must be made
+   * consistent with 'keepRecords' before it is used.
+   */
+  public void streamCopyTo(File path) throws IOException {
+    allocation_store.streamCopyTo(path);
+    data_store.streamCopyTo(path);
+  }
+
+  /**
+   * Deletes every record in the store that is not set in 'records', and
+   * rebuilds the free sectors of both files from the sector chains of the
+   * records that are kept.  This is used on a copy made by 'streamCopyTo'.
+   * The allocation entries and sector chains of the kept records must not
+   * have changed while the copy was made.  The chains of records that are
+   * not kept aren't followed so they may be in any state.
+   */
+  public void keepRecords(BitSet records) throws IOException {
+    BitSet data_sectors = new BitSet();
+    int record_count = allocation_store.rawSectorCount();
+    for (int i = 0; i < record_count; ++i) {
+      if (records.get(i)) {
+        allocation_store.getSector(i, index_key);
+        int head = ByteArrayUtil.getInt(index_key, 0);
+        int length = ByteArrayUtil.getInt(index_key, 4);
+        int[] chain = data_store.getSectorChain(head, length);
+        for (int n = 0; n < chain.length; ++n) {
+          data_sectors.set(chain[n]);
+        }
+      }
+    }
+    allocation_store.rebuildDeletedSectors(records);
+    data_store.rebuildDeletedSectors(data_sectors);
+  }
+
+  /**
+   * Returns the highest sector in the given sector chain.
+   */
+  private static int lastSector(int[] chain) {
+    int last = chain[0];
+    for (int i = 1; i < chain.length; ++i) {
+      last = Math.max(last, chain[i]);
+    }
+    return last;
+  }
+
+  /**
+   * Moves the data of up to 'max_records' records from the end of the data
+   * file into free sectors nearer the start, and cuts the free sectors at
+   * the end of the file off the store.  Records keep their index, only the
+   * sector chain the allocation entry points to changes.  Calling this
+   * repeatedly compacts the store a small batch at a time.  The records
+   * moved are the ones whose chains reach furthest into the file.  Every
+   * chain is walked to find this because a chain that has been written into
+   * reused sectors is not necessarily contiguous.
+   * <p>
+   * This does nothing if the store is locked because a locked store may
+   * still be read from deleted records.  Returns the number of records that
+   * were moved, or 0 if there is nothing more to move.
+   */
+  public int compactStep(int max_records) throws IOException {
+    if (locked() || isReadOnly()) {
+      return 0;
+    }
+
+    // Put the free sectors in order and cut the free tail off.
+    if (data_store.sortDeletedSectors() == 0 || max_records <= 0) {
+      return 0;
+    }
+
+    // The size of the store with no free sectors.  Only chains that are
+    // past this point need to move.
+    int used_limit = data_store.getSectorUseCount();
+
+    // Find the records whose chains reach the furthest into the file.
+    // 'lasts' is kept in ascending order.
+    int[] lasts = new int[max_records];
+    int[] records = new int[max_records];
+    int found = 0;
+    int record_count = allocation_store.rawSectorCount();
+    for (int i = 0; i < record_count; ++i) {
+      if (!allocation_store.isSectorDeleted(i)) {
+        allocation_store.getSector(i, index_key);
+        int head = ByteArrayUtil.getInt(index_key, 0);
+        int length = ByteArrayUtil.getInt(index_key, 4);
+        int last = lastSector(data_store.getSectorChain(head, length));
+        if (last >= used_limit &&
+            (found < max_records || last > lasts[0])) {
+          int pos = found;
+          if (found == max_records) {
+            // Drop the lowest.
+            System.arraycopy(lasts, 1, lasts, 0, found - 1);
+            System.arraycopy(records, 1, records, 0, found - 1);
+            --pos;
+          }
+          else {
+            ++found;
+          }
+          while (pos > 0 && lasts[pos - 1] > last) {
+            lasts[pos] = lasts[pos - 1];
+            records[pos] = records[pos - 1];
+            --pos;
+          }
+          lasts[pos] = last;
+          records[pos] = i;
+        }
+      }
+    }
+
+    // Move the records, highest first.  The old chains are deleted at the
+    // end so that the sectors they free aren't reused by this step.
+    IntegerVector old_chains = new IntegerVector();
+    for (int n = found - 1; n >= 0; --n) {
+      int record = records[n];
+      allocation_store.getSector(record, index_key);
+      int head = ByteArrayUtil.getInt(index_key, 0);
+      int length = ByteArrayUtil.getInt(index_key, 4);
+
+      byte[] buf = new byte[length];
+      data_store.readAcross(head, buf, 0, length);
+      int[] old_chain = data_store.getSectorChain(head, length);
+      int new_head = data_store.writeAcross(buf, 0, length);
+      int[] new_chain = data_store.getSectorChain(new_head, length);
+
+      // Only keep the copy if it ends before the old chain,
+      if (lastSector(new_chain) >= lastSector(old_chain)) {
+        // Nothing left that can be moved closer to the start.
+        data_store.deleteAcross(new_head);
+        break;
+      }
+
+      // Point the record at the new chain.
+      allocation_store.getSector(record, index_key);
+      ByteArrayUtil.setInt(new_head, index_key, 0);
+      allocation_store.overwriteSector(record, index_key);
+      old_chains.addInt(head);
+    }
+
+    for (int i = 0; i < old_chains.size(); ++i) {
+      data_store.deleteAcross(old_chains.intAt(i));
+    }
+    // Order the sectors we just freed and cut the tail.
+    data_store.sortDeletedSectors();
+
+    return old_chains.size();
+  }
+
+  /**
+   * Returns the number of deleted sectors in the data file that have not
+   * been reclaimed.
+   */
+  public int freeSectorCount() throws IOException {
+    return data_store.rawSectorCount() - data_store.getSectorUseCount();
+  }
+
   /**
    * Updates the 32-bit type_key int of a record.  Bit 1-8 are reserved for
    * this data store, and are used to indicate such things as whether the
@@ -359,7 +750,18 @@ public class VariableSizeDataStore {
     boolean use_compressed_form = false;
 
     int compress_size = -1;
-    if (COMPRESSED_WRITE_ENABLED) {
+    int type_key = 0;
+    if (codec_id != -1) {
+      // A codec is set so block code the record if it's worth it.
+      if (codec != null && length > sector_size) {
+        compress_size = blockEncode(buf, offset, length);
+        if (compress_size != -1) {
+          use_compressed_form = true;
+          type_key = codec.getID() << 1;
+        }
+      }
+    }
+    else if (COMPRESSED_WRITE_ENABLED) {
       if (length > sector_size) {
         int orig_span = data_store.calculateSectorSpan(length);
 
@@ -381,6 +783,8 @@ public class VariableSizeDataStore {
           // data.
           ByteArrayUtil.setInt(length, compress_buffer, compress_size - 4);
           use_compressed_form = true;
+          // Indicate this run is compressed.
+          type_key = 0x0001;
         }
 
       }
@@ -389,12 +793,9 @@ public class VariableSizeDataStore {
     // Write the data to the data file,
     int v;
     int real_length;
-    int type_key = 0;
     if (use_compressed_form) {
       v = data_store.writeAcross(compress_buffer, 0, compress_size);
       real_length = compress_size;
-      // Indicate this run is compressed.
-      type_key = type_key | 0x0001;
     }
     else {
       v = data_store.writeAcross(buf, offset, length);
@@ -410,6 +811,40 @@ public class VariableSizeDataStore {
     return allocation_store.addSector(index_key);
   }
 
+  /**
+   * Writes a record to the given index position.  The record at the
+   * position must be deleted or past the end of the store.  The record is
+   * stored in the same form as a record written through
+   * 'getRecordOutputStream' so it may be read with 'getRecordInputStream'.
+   */
+  public void writeRecordAt(int record, byte[] buf, int offset, int length)
+                                                          throws IOException {
+    int type_key = 0;
+    int compress_size = -1;
+    if (codec != null && length > data_store.getSectorSize()) {
+      compress_size = blockEncode(buf, offset, length);
+    }
+
+    // Write the data to the data file,
+    int v;
+    int real_length;
+    if (compress_size != -1) {
+      v = data_store.writeAcross(compress_buffer, 0, compress_size);
+      real_length = compress_size;
+      type_key = codec.getID() << 1;
+    }
+    else {
+      v = data_store.writeAcross(buf, offset, length);
+      real_length = length;
+    }
+    ByteArrayUtil.setInt(v, index_key, 0);
+    ByteArrayUtil.setInt(real_length, index_key, 4);
+    ByteArrayUtil.setInt(type_key, index_key, 8);
+
+    // Add to the allocation store last.
+    allocation_store.addSectorAt(record, index_key, 0, index_key.length);
+  }
+
   /**
    * Reads a variable length byte[] array from the given index position.
    * This will read the first n bytes from the element, upto the maximum that
@@ -427,8 +862,21 @@ public class VariableSizeDataStore {
     // Any special keys regarding how the info was stored
     int type_key = ByteArrayUtil.getInt(index_key, 8);
 
+    // If it's block coded, decode the record and copy as much as we can
+    // into the input buffer.
+    int block_codec = blockCodecID(type_key);
+    if (block_codec != 0) {
+      if (compress_buffer == null || compress_buffer.length < data_length) {
+        compress_buffer = new byte[data_length];
+      }
+      data_store.readAcross(chain_head, compress_buffer, 0, data_length);
+      byte[] decoded = blockDecode(block_codec, data_length);
+      int read_amount = Math.min(length, decoded.length);
+      System.arraycopy(decoded, 0, buf, offset, read_amount);
+      return read_amount;
+    }
     // If it's compressed, read in the compressed data to the buffer.
-    if ((type_key & 0x0001) != 0) {
+    else if ((type_key & 0x0001) != 0) {
       if (compress_buffer == null || compress_buffer.length < data_length) {
         compress_buffer = new byte[data_length];
       }
@@ -477,8 +925,17 @@ public class VariableSizeDataStore {
     // Any special keys regarding how the info was stored
     int type_key = ByteArrayUtil.getInt(index_key, 8);
 
+    // If it's block coded, decode the record.
+    int block_codec = blockCodecID(type_key);
+    if (block_codec != 0) {
+      if (compress_buffer == null || compress_buffer.length < data_length) {
+        compress_buffer = new byte[data_length];
+      }
+      data_store.readAcross(chain_head, compress_buffer, 0, data_length);
+      return blockDecode(block_codec, data_length);
+    }
     // If it's compressed, read in the compressed data to the buffer.
-    if ((type_key & 0x0001) != 0) {
+    else if ((type_key & 0x0001) != 0) {
       if (compress_buffer == null || compress_buffer.length < data_length) {
         compress_buffer = new byte[data_length];
       }
@@ -556,7 +1013,14 @@ public class VariableSizeDataStore {
    */
   public OutputStream getRecordOutputStream() throws IOException {
     if (sector_output_stream == null) {
-      sector_output_stream = data_store.getSectorOutputStream();
+      if (codec != null) {
+        // The record is buffered so that it can be block coded.
+        record_buffer = new ByteArrayOutputStream();
+        sector_output_stream = record_buffer;
+      }
+      else {
+        sector_output_stream = data_store.getSectorOutputStream();
+      }
       return sector_output_stream;
     }
     else {
@@ -573,7 +1037,13 @@ public class VariableSizeDataStore {
    * VariableSizeDataStore object.
    */
   public int completeRecordStreamWrite() throws IOException {
-    if (sector_output_stream != null) {
+    if (record_buffer != null) {
+      byte[] buf = record_buffer.toByteArray();
+      record_buffer = null;
+      sector_output_stream = null;
+      return write(buf, 0, buf.length);
+    }
+    else if (sector_output_stream != null) {
       int v = data_store.getSectorOfLastOutputStream();
       int real_length = data_store.getLengthOfLastOutputStream();
       int type_key = 0;
@@ -598,7 +1068,9 @@ public class VariableSizeDataStore {
    * Returns an InputStream that is used to read a record in this store with
    * the given index.
    * <p>
-   * NOTE: This can not handle compressed records.
+   * NOTE: This can not handle records compressed with the whole record
+   *   deflate scheme.  Block coded records are decoded one block at a time
+   *   as they are read.  Skipping over a block does not decode it.
    * <p>
    * NOTE: This does not detect the end of stream (reading past the end of the
    *   record will return undefined data).
@@ -608,9 +1080,112 @@ public class VariableSizeDataStore {
     allocation_store.getSector(record, index_key);
     // Get the head of the chain to read.
     int chain_head = ByteArrayUtil.getInt(index_key, 0);
+    // Is the record block coded?
+    int block_codec = blockCodecID(ByteArrayUtil.getInt(index_key, 8));
 
     // Open the input stream.
-    return data_store.getSectorInputStream(chain_head);
+    InputStream in = data_store.getSectorInputStream(chain_head);
+    if (block_codec != 0) {
+      return new BlockDecodeInputStream(in, getDecoder(block_codec));
+    }
+    return in;
+  }
+
+  /**
+   * Returns the array of the sector the given record is stored in if the
+   * record is stored uncompressed in one sector, otherwise returns null.
+   * The record starts at 'getRecordBufferOffset()' in the array and its
+   * length is 'recordSize(record)'.  This lets a record be decoded straight
+   * from the sector without going through the streams returned by
+   * 'getRecordInputStream'.
+   * <p>
+   * The array must not be changed, and it is only valid until the next time
+   * a record is read from this store.
+   */
+  byte[] getRecordBuffer(int record) throws IOException {
+    // The index of the record to read,
+    allocation_store.getSector(record, index_key);
+    int type_key = ByteArrayUtil.getInt(index_key, 8);
+    int length = ByteArrayUtil.getInt(index_key, 4);
+    if ((type_key & 0x000F) != 0 ||
+        data_store.calculateSectorSpan(length) != 1) {
+      return null;
+    }
+    return data_store.getSectorBuffer(ByteArrayUtil.getInt(index_key, 0));
+  }
+
+  /**
+   * Returns an array that contains the given record if the record is stored
+   * uncompressed, otherwise returns null.  The record starts at
+   * 'getRecordBufferOffset()' in the array.  This is like 'getRecordBuffer'
+   * except it doesn't use the state of this store that is shared between
+   * reads, so it may be called by many threads at once and at the same time
+   * as the thread that owns the store uses it.  The returned array stays
+   * valid after other records are read, and must not be changed.
+   * <p>
+   * The record must not be changed, deleted or moved while this is called.
+   */
+  byte[] readRecordShared(int record) throws IOException {
+    byte[] index = allocation_store.getSectorShared(record);
+    int p = allocation_store.getSectorDataOffset();
+    int chain_head = ByteArrayUtil.getInt(index, p);
+    int length = ByteArrayUtil.getInt(index, p + 4);
+    int type_key = ByteArrayUtil.getInt(index, p + 8);
+    if ((type_key & 0x000F) != 0) {
+      return null;
+    }
+    if (data_store.calculateSectorSpan(length) == 1) {
+      return data_store.getSectorShared(chain_head);
+    }
+    int offset = data_store.getSectorDataOffset();
+    byte[] buf = new byte[offset + length];
+    data_store.readAcrossShared(chain_head, buf, offset, length);
+    return buf;
+  }
+
+  /**
+   * Returns the offset of a record in the array returned by
+   * 'getRecordBuffer' or 'readRecordShared'.
+   */
+  int getRecordBufferOffset() {
+    return data_store.getSectorDataOffset();
+  }
+
+  /**
+   * Returns the sectors the given record is stored in, in order.  The
+   * record must have been written uncompressed through
+   * 'getRecordOutputStream' with no codec set.  The chain is given to
+   * 'readRecordPart' to read a part of the record without reading the
+   * sectors before it.
+   */
+  int[] getRecordSectorChain(int record) throws IOException {
+    allocation_store.getSector(record, index_key);
+    if ((ByteArrayUtil.getInt(index_key, 8) & 0x000F) != 0) {
+      throw new IOException("Record " + record + " is compressed.");
+    }
+    return data_store.getSectorChain(ByteArrayUtil.getInt(index_key, 0),
+                                     ByteArrayUtil.getInt(index_key, 4));
+  }
+
+  /**
+   * Reads 'length' bytes from 'position' in the record with the given
+   * sector chain (see 'getRecordSectorChain') into the buffer.
+   */
+  void readRecordPart(int[] chain, long position,
+                      byte[] buf, int offset, int length) throws IOException {
+    int ssize = data_store.getSectorSize();
+    int data_offset = data_store.getSectorDataOffset();
+    int i = (int) (position / ssize);
+    int p = (int) (position % ssize);
+    while (length > 0) {
+      byte[] sector = data_store.getSectorBuffer(chain[i]);
+      int to_copy = Math.min(length, ssize - p);
+      System.arraycopy(sector, data_offset + p, buf, offset, to_copy);
+      offset += to_copy;
+      length -= to_copy;
+      p = 0;
+      ++i;
+    }
   }
 
 
@@ -640,8 +1215,8 @@ public class VariableSizeDataStore {
   public boolean isCompressed(int record) throws IOException {
     // The index of the record.
     allocation_store.getSector(record, index_key);
-    // Return true if the compressed bit is set.
-    return (ByteArrayUtil.getInt(index_key, 8) & 0x0001) != 0;
+    // Return true if the compressed bit or a block codec is set.
+    return (ByteArrayUtil.getInt(index_key, 8) & 0x000F) != 0;
   }
 
   /**
@@ -748,4 +1323,147 @@ public class VariableSizeDataStore {
     return new String(buffer, 0, read_in);
   }
 
+
+  // ---------- Inner classes ----------
+
+  /**
+   * An InputStream over a block coded record.  Blocks are decoded as they
+   * are read, and skipping over a block entirely does not decode it.
+   * <p>
+   * NOTE: Like the sector input stream this wraps, this can only move
+   *   forward through the record.
+   */
+  private final class BlockDecodeInputStream extends InputStream {
+
+    /**
+     * The sector input stream over the encoded record.
+     */
+    private final DataInputStream in;
+
+    /**
+     * The codec used to decode blocks.
+     */
+    private final RecordCodec decoder;
+
+    /**
+     * The uncompressed length of the record and the end offsets of each
+     * block.
+     */
+    private final int length;
+    private final int[] block_ends;
+
+    /**
+     * The position in the encoded block data that 'in' is at.
+     */
+    private int encoded_pos;
+
+    /**
+     * The position in the uncompressed record of the next byte to read.
+     */
+    private int pos;
+
+    /**
+     * The index of the block in 'block_buf', or -1 if none decoded.
+     */
+    private int block_index = -1;
+    private final byte[] block_buf = new byte[BLOCK_SIZE];
+    private byte[] encoded_buf;
+
+    BlockDecodeInputStream(InputStream in, RecordCodec decoder)
+                                                        throws IOException {
+      this.in = new DataInputStream(in);
+      this.decoder = decoder;
+      length = this.in.readInt();
+      int block_count = this.in.readInt();
+      if (length < 0 || block_count != blockCount(length)) {
+        throw new IOException("Corrupt block");
+      }
+      block_ends = new int[block_count];
+      for (int i = 0; i < block_count; ++i) {
+        block_ends[i] = this.in.readInt();
+      }
+      encoded_pos = 0;
+      pos = 0;
+    }
+
+    /**
+     * Makes sure the block that contains 'pos' is decoded into 'block_buf'.
+     */
+    private void ensureBlock() throws IOException {
+      int index = pos / BLOCK_SIZE;
+      if (index == block_index) {
+        return;
+      }
+      int block_start = (index == 0) ? 0 : block_ends[index - 1];
+      if (block_start < encoded_pos) {
+        throw new Error("Can not move backwards in a block coded record.");
+      }
+      int encoded_len = block_ends[index] - block_start;
+      int block_len = Math.min(BLOCK_SIZE, length - (index * BLOCK_SIZE));
+      if (encoded_len < 1 || encoded_len > BLOCK_SIZE + 1) {
+        throw new IOException("Corrupt block");
+      }
+      // Skip to the start of the block
+      in.skipBytes(block_start - encoded_pos);
+      if (encoded_buf == null) {
+        encoded_buf = new byte[BLOCK_SIZE + 1];
+      }
+      in.readFully(encoded_buf, 0, encoded_len);
+      encoded_pos = block_ends[index];
+
+      long time_start = System.nanoTime();
+      if (encoded_buf[0] == 0) {
+        if (encoded_len - 1 != block_len) {
+          throw new IOException("Corrupt block");
+        }
+        System.arraycopy(encoded_buf, 1, block_buf, 0, block_len);
+      }
+      else {
+        decoder.decode(encoded_buf, 1, encoded_len - 1,
+                       block_buf, 0, block_len);
+      }
+      block_index = index;
+      recordDecodeStats(decoder, 1, time_start);
+    }
+
+    public int read() throws IOException {
+      if (pos >= length) {
+        return -1;
+      }
+      ensureBlock();
+      int b = block_buf[pos % BLOCK_SIZE] & 0x0FF;
+      ++pos;
+      return b;
+    }
+
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (pos >= length) {
+        return -1;
+      }
+      len = Math.min(len, length - pos);
+      int original_len = len;
+      while (len > 0) {
+        ensureBlock();
+        int block_off = pos % BLOCK_SIZE;
+        int to_copy = Math.min(len, BLOCK_SIZE - block_off);
+        System.arraycopy(block_buf, block_off, b, off, to_copy);
+        off += to_copy;
+        len -= to_copy;
+        pos += to_copy;
+      }
+      return original_len;
+    }
+
+    public long skip(long n) throws IOException {
+      n = Math.min(n, length - pos);
+      pos += (int) n;
+      return n;
+    }
+
+    public int available() throws IOException {
+      return length - pos;
+    }
+
+  }
+
 }
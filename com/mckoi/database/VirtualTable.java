@@ -468,6 +468,20 @@ public class VirtualTable extends Table {
     }
   }
 
+  /**
+   * Resolves the given row_set to the parent of the column and finds the sum
+   * from the columnar store there.  (MANGLES row_set)
+   */
+  Object columnarSum(int column, IntegerVector row_set) {
+    int table_num = column_table[column];
+    Table parent_table = reference_list[table_num];
+    IntegerVector cur_row_list = row_list[table_num];
+    for (int n = row_set.size() - 1; n >= 0; --n) {
+      row_set.setIntAt(cur_row_list.intAt(row_set.intAt(n)), n);
+    }
+    return parent_table.columnarSum(column_filter[column], row_set);
+  }
+
   /**
    * Returns an object that contains fully resolved, one level only information
    * about the DataTable and the row indices of the data in this table.
@@ -216,6 +216,34 @@ public final class DBController {
     }
   }
 
+  /**
+   * Sets up the commit log directories used for read only replicas from the
+   * config information.
+   */
+  private static void setupReplication(DatabaseSystem system,
+                                       DBConfig config) {
+    String root_path_var = config.getValue("root_path");
+
+    // If commits are shipped to replicas...
+    String log_path_string = config.getValue("replication_log_path");
+    if (log_path_string != null && log_path_string.length() > 0) {
+      File log_path = parseFileString(config.currentPath(), root_path_var,
+                                      log_path_string);
+      // If the path doesn't exist the make it.
+      if (!log_path.exists()) {
+        log_path.mkdirs();
+      }
+      system.setReplicationLogDirectory(log_path);
+    }
+
+    // If this database is a replica...
+    String replica_path_string = config.getValue("replica_log_path");
+    if (replica_path_string != null && replica_path_string.length() > 0) {
+      system.setReplicaLogDirectory(parseFileString(config.currentPath(),
+                                        root_path_var, replica_path_string));
+    }
+  }
+
   /**
    * Creates a Database object for the given DBConfig configuration.
    */
@@ -228,6 +256,10 @@ public final class DBController {
     // ISSUE: Move this into DatabaseSystem initialization?
     setupLog(system, config);
 
+    // Set up the replication logs
+    // ---------------------------
+    setupReplication(system, config);
+
     // Initialize the DatabaseSystem first,
     // ------------------------------------
 
@@ -138,6 +138,22 @@ public class DefaultDBConfig extends AbstractDBConfig {
     setValue("log_path", path);
   }
 
+  /**
+   * Sets the directory a log of each commit is written to for read only
+   * replicas.
+   */
+  public void setReplicationLogPath(String path) {
+    setValue("replication_log_path", path);
+  }
+
+  /**
+   * Sets the directory of commit logs the database applies as a read only
+   * replica.
+   */
+  public void setReplicaLogPath(String path) {
+    setValue("replica_log_path", path);
+  }
+
   /**
    * Sets that the engine ignores case for identifiers.
    */
@@ -199,9 +215,51 @@ public class DefaultDBConfig extends AbstractDBConfig {
     addDefProperty(new ConfigProperty(
                                      "max_cache_entry_size", "8192", "INT"));
 
+    addDefProperty(new ConfigProperty("offheap_cache_size", "0", "INT"));
+
+    addDefProperty(new ConfigProperty(
+                           "offheap_cache_max_entry_size", "16384", "INT"));
+
     addDefProperty(new ConfigProperty(
                             "lookup_comparison_list", "enabled", "BOOLEAN"));
 
+    addDefProperty(new ConfigProperty(
+                            "index_key_prefixes", "enabled", "BOOLEAN"));
+
+    addDefProperty(new ConfigProperty(
+                            "lazy_table_open", "enabled", "BOOLEAN"));
+
+    addDefProperty(new ConfigProperty("columnar_store_columns", "", "STRING"));
+
+    addDefProperty(new ConfigProperty("dictionary_columns", "", "STRING"));
+
+    addDefProperty(new ConfigProperty("data_compression", "", "STRING"));
+
+    addDefProperty(new ConfigProperty(
+                                   "data_compression_tables", "", "STRING"));
+
+    addDefProperty(new ConfigProperty("compaction_batch_size", "0", "INT"));
+
+    addDefProperty(new ConfigProperty("compaction_interval", "1000", "INT"));
+
+    addDefProperty(new ConfigProperty("gc_batch_size", "256", "INT"));
+
+    addDefProperty(new ConfigProperty("read_ahead_size", "0", "INT"));
+
+    addDefProperty(new ConfigProperty(
+                                  "large_object_threshold", "0", "INT"));
+
+    addDefProperty(new ConfigProperty("buffer_pool_size", "0", "INT"));
+
+    addDefProperty(new ConfigProperty("replication_log_path", "", "PATH"));
+
+    addDefProperty(new ConfigProperty(
+                              "replication_log_retention", "10000", "INT"));
+
+    addDefProperty(new ConfigProperty("replica_log_path", "", "PATH"));
+
+    addDefProperty(new ConfigProperty("replica_poll_interval", "500", "INT"));
+
     addDefProperty(new ConfigProperty("maximum_worker_threads", "4", "INT"));
 
     addDefProperty(new ConfigProperty(
@@ -61,6 +61,9 @@ public class ObjectTransfer {
     else if (ob instanceof ByteLongObject) {
       return ((ByteLongObject) ob).length() + 9;
     }
+    else if (ob instanceof StreamableObject) {
+      return 16 + 9;
+    }
     else {
       throw new IOException("Unrecognised type.");
     }
@@ -128,6 +131,12 @@ public class ObjectTransfer {
       out.writeLong(arr.length);
       out.write(arr);
     }
+    else if (ob instanceof StreamableObject) {
+      StreamableObject s_ob = (StreamableObject) ob;
+      out.writeByte(24);
+      out.writeLong(s_ob.getIdentifier());
+      out.writeLong(s_ob.getSize());
+    }
     else {
       throw new IOException("Unrecognised type.");
     }
@@ -177,6 +186,11 @@ public class ObjectTransfer {
       }
       return new String(buf);
     }
+    else if (type == 24) {
+      long id = in.readLong();
+      long size = in.readLong();
+      return new StreamableObject(id, size);
+    }
     else {
       throw new IOException("Unrecognised type.");
     }
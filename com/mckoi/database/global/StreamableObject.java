@@ -0,0 +1,77 @@
+/**
+ * com.mckoi.database.global.StreamableObject  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database.global;
+
+/**
+ * A reference to a BLOB in a result set that is sent to the client in
+ * place of the data of the BLOB.  The client reads the data in pieces as
+ * it is needed with 'DatabaseInterface.getStreamableObjectPart', so a large
+ * BLOB is never held in memory all at once unless it is asked for as a
+ * byte[] array.
+ * <p>
+ * The reference is only valid while the result set it came from is open.
+ *
+ * @author agent
+ */
+
+public final class StreamableObject implements java.io.Serializable {
+
+  /**
+   * The identifier of the object in the result set it came from.
+   */
+  private final long id;
+
+  /**
+   * The size of the object in bytes.
+   */
+  private final long size;
+
+  /**
+   * Constructs the reference.
+   */
+  public StreamableObject(long id, long size) {
+    this.id = id;
+    this.size = size;
+  }
+
+  /**
+   * Returns the identifier of the object in the result set it came from.
+   */
+  public long getIdentifier() {
+    return id;
+  }
+
+  /**
+   * Returns the size of the object in bytes.
+   */
+  public long getSize() {
+    return size;
+  }
+
+  public String toString() {
+    return "[ BLOB size=" + size + " ]";
+  }
+
+}
@@ -156,6 +156,9 @@ public class AlterTable extends Statement {
       if (database.tableExists(tname)) {
         // Drop any schema for this table,
         database.dropAllConstraintsForTable(tname);
+        // Keep the composite indexes on the columns that are still there.
+        table_def.copyCompositeIndexesFrom(
+                                 database.getTable(tname).getDataTableDef());
         database.updateTable(table_def);
       }
       // If the table isn't in the database,
@@ -324,6 +327,8 @@ public class AlterTable extends Statement {
           throw new DatabaseException(
                                    "Can not ALTER table to have 0 columns.");
         }
+        // Keep the composite indexes on the columns that are still there.
+        new_table.copyCompositeIndexesFrom(table_def);
         database.updateTable(new_table);
       }
       else {
@@ -267,6 +267,15 @@ public class ColumnDef
       index_str = "InsertSearch";
 //      col.setIndexScheme("InsertSearch");
     }
+    else if (t.kind == SQLConstants.INDEX_BTREE) {
+      index_str = "BTree";
+    }
+    else if (t.kind == SQLConstants.INDEX_HASH) {
+      index_str = "Hash";
+    }
+    else if (t.kind == SQLConstants.INDEX_BITMAP) {
+      index_str = "Bitmap";
+    }
     else {
       throw new ParseException("Unrecognized indexing scheme.");
     }
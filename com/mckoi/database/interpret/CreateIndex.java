@@ -0,0 +1,151 @@
+/**
+ * com.mckoi.database.interpret.CreateIndex  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database.interpret;
+
+import com.mckoi.database.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The logic of the 'CREATE INDEX' SQL command.  This adds a composite index
+ * over the given columns to the definition of the table.  The table is
+ * rebuilt with the new definition so the index is filled with the rows
+ * currently in the table.
+ * <p>
+ * A UNIQUE index also adds a UNIQUE constraint with the name of the index
+ * over the columns, which the rows currently in the table must satisfy.
+ *
+ * @author agent
+ */
+
+public class CreateIndex extends Statement {
+
+  /**
+   * True if the index is a UNIQUE index.
+   */
+  boolean unique;
+
+  /**
+   * The name of the index.
+   */
+  String index_name;
+
+  /**
+   * The name of the table the index is on.
+   */
+  String table_name;
+
+  /**
+   * The list of columns in the index.
+   */
+  ArrayList column_list;
+
+  /**
+   * The TableName object.
+   */
+  private TableName tname;
+
+  // ---------- Implemented from Statement ----------
+
+  public void prepare() throws DatabaseException {
+    unique = cmd.getBoolean("unique");
+    index_name = (String) cmd.getObject("index_name");
+    table_name = (String) cmd.getObject("table_name");
+    column_list = new ArrayList((ArrayList) cmd.getObject("column_list"));
+
+    tname = resolveTableName(table_name, database);
+  }
+
+  public Table evaluate() throws DatabaseException {
+
+    DatabaseQueryContext context = new DatabaseQueryContext(database);
+
+    // Does the user have privs to alter this tables?
+    if (!user.canAlterTable(database, tname)) {
+      throw new UserAccessException(
+         "User not permitted to alter table: " + table_name);
+    }
+
+    if (!database.tableExists(tname)) {
+      throw new DatabaseException("Table '" + tname + "' does not exist.");
+    }
+
+    DataTableDef table_def = database.getTable(tname).getDataTableDef();
+
+    // Resolve the columns of the index
+    ColumnChecker checker =
+                         ColumnChecker.standardColumnChecker(database, tname);
+    checker.stripColumnList(table_def.getName(), column_list);
+    checker.checkColumnList(column_list);
+    for (int i = 0; i < column_list.size(); ++i) {
+      if (column_list.indexOf(column_list.get(i)) != i) {
+        throw new DatabaseException(
+                     "Duplicate column in index: " + column_list.get(i));
+      }
+    }
+
+    if (table_def.findCompositeIndex(index_name,
+                                 database.isInCaseInsensitiveMode()) != -1) {
+      throw new DatabaseException("Index '" + index_name +
+                                  "' already exists on table " + tname);
+    }
+
+    String[] columns = (String[])
+                     column_list.toArray(new String[column_list.size()]);
+
+    // Alter the table to the new definition
+    DataTableDef new_table = new DataTableDef(table_def);
+    new_table.addCompositeIndex(index_name, columns);
+    database.updateTable(new_table);
+
+    if (unique) {
+      // Add the unique constraint and check the rows in the table.
+      database.addUniqueConstraint(tname, columns,
+                                   Transaction.INITIALLY_IMMEDIATE,
+                                   index_name);
+      database.checkAllConstraints(tname);
+    }
+
+    // Return '0' if success.
+    return FunctionTable.resultTable(context, 0);
+
+  }
+
+  public boolean isExclusive() {
+    // Yes, create index is an exclusive command,
+    return true;
+  }
+
+  public List readsFromTables() {
+    // Not reading any tables (exclusive)
+    return new ArrayList();
+  }
+
+  public List writesToTables() {
+    // Not writing any tables (exclusive)
+    return new ArrayList();
+  }
+
+}
@@ -119,6 +119,28 @@ public class CreateTable extends Statement {
       table_def.addColumn(cd);
     }
 
+    // Each multi-column primary key or unique constraint is given a
+    // composite index so that selects and joins on the key can use it.
+    for (int i = 0; i < constraints.size(); ++i) {
+      ConstraintDef constraint = (ConstraintDef) constraints.get(i);
+      if ((constraint.type == ConstraintDef.PRIMARY_KEY ||
+           constraint.type == ConstraintDef.UNIQUE) &&
+          constraint.column_list.size() >= 2) {
+        String[] cols = constraint.getColumnList();
+        boolean resolved = true;
+        for (int n = 0; n < cols.length && resolved; ++n) {
+          resolved = (table_def.findColumnName(cols[n]) != -1);
+        }
+        String index_name = constraint.name;
+        if (index_name == null) {
+          index_name = "SYS_INDEX_" + i;
+        }
+        if (resolved && table_def.findCompositeIndex(index_name, false) == -1) {
+          table_def.addCompositeIndex(index_name, cols);
+        }
+      }
+    }
+
     return table_def;
   }
 
@@ -0,0 +1,121 @@
+/**
+ * com.mckoi.database.interpret.DropIndex  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database.interpret;
+
+import com.mckoi.database.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The logic of the 'DROP INDEX' SQL command.  This removes a composite
+ * index from the definition of the table, and the UNIQUE constraint of the
+ * index if it is a UNIQUE index.
+ *
+ * @author agent
+ */
+
+public class DropIndex extends Statement {
+
+  /**
+   * The name of the index.
+   */
+  String index_name;
+
+  /**
+   * The name of the table the index is on.
+   */
+  String table_name;
+
+  /**
+   * The TableName object.
+   */
+  private TableName tname;
+
+  // ---------- Implemented from Statement ----------
+
+  public void prepare() throws DatabaseException {
+    index_name = (String) cmd.getObject("index_name");
+    table_name = (String) cmd.getObject("table_name");
+
+    tname = resolveTableName(table_name, database);
+  }
+
+  public Table evaluate() throws DatabaseException {
+
+    DatabaseQueryContext context = new DatabaseQueryContext(database);
+
+    // Does the user have privs to alter this tables?
+    if (!user.canAlterTable(database, tname)) {
+      throw new UserAccessException(
+         "User not permitted to alter table: " + table_name);
+    }
+
+    if (!database.tableExists(tname)) {
+      throw new DatabaseException("Table '" + tname + "' does not exist.");
+    }
+
+    DataTableDef table_def = database.getTable(tname).getDataTableDef();
+    int index = table_def.findCompositeIndex(index_name,
+                                         database.isInCaseInsensitiveMode());
+    if (index == -1) {
+      throw new DatabaseException("Index '" + index_name +
+                                  "' not found on table " + tname);
+    }
+
+    // Alter the table to the new definition
+    DataTableDef new_table = new DataTableDef(table_def);
+    new_table.removeCompositeIndex(index);
+    database.updateTable(new_table);
+
+    // Drop the constraint of a UNIQUE index.
+    String name = table_def.compositeIndexName(index);
+    Transaction.ColumnGroup[] uniques = database.queryTableUniqueGroups(tname);
+    for (int i = 0; i < uniques.length; ++i) {
+      if (name.equals(uniques[i].name)) {
+        database.dropNamedConstraint(tname, name);
+      }
+    }
+
+    // Return '0' if success.
+    return FunctionTable.resultTable(context, 0);
+
+  }
+
+  public boolean isExclusive() {
+    // Yes, drop index is an exclusive command,
+    return true;
+  }
+
+  public List readsFromTables() {
+    // Not reading any tables (exclusive)
+    return new ArrayList();
+  }
+
+  public List writesToTables() {
+    // Not writing any tables (exclusive)
+    return new ArrayList();
+  }
+
+}
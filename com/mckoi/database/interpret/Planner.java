@@ -1555,6 +1555,22 @@ public class Planner {
       }
     }
 
+    private class MultiColumnSelectExpressionPlan extends ExpressionPlan {
+      private Variable[] columns;
+      private Expression[] expressions;
+      public MultiColumnSelectExpressionPlan(Variable[] columns,
+                                             Expression[] expressions) {
+        this.columns = columns;
+        this.expressions = expressions;
+      }
+      public void addToPlanTree() {
+        // Find the table source for the variables
+        PlanTableSource table_source = findTableSource(columns[0]);
+        table_source.updatePlan(new QueryPlan.MultiColumnRangeSelectNode(
+                           table_source.getPlan(), columns, expressions));
+      }
+    }
+
     private class ComplexSingleExpressionPlan extends ExpressionPlan {
       private Variable single_var;
       private Expression expression;
@@ -1726,6 +1742,54 @@ public class Planner {
       }
     }
 
+    private class EquiJoinExpressionPlan extends ExpressionPlan {
+      private Variable[] left_columns;
+      private Variable[] right_columns;
+      public EquiJoinExpressionPlan(Variable[] left_columns,
+                                    Variable[] right_columns) {
+        this.left_columns = left_columns;
+        this.right_columns = right_columns;
+      }
+      public void addToPlanTree() {
+        // Get the left and right plan for the variables.  Note that these
+        // methods may perform natural joins on the table.
+        ArrayList lhs_vars = new ArrayList();
+        ArrayList rhs_vars = new ArrayList();
+        for (int i = 0; i < left_columns.length; ++i) {
+          lhs_vars.add(left_columns[i]);
+          rhs_vars.add(right_columns[i]);
+        }
+        PlanTableSource lhs_plan = joinAllPlansWithVariables(lhs_vars);
+        PlanTableSource rhs_plan = joinAllPlansWithVariables(rhs_vars);
+
+        if (lhs_plan != rhs_plan) {
+          QueryPlan.EquiJoinNode join_node = new QueryPlan.EquiJoinNode(
+                             lhs_plan.getPlan(), rhs_plan.getPlan(),
+                             left_columns, right_columns);
+          mergeTables(lhs_plan, rhs_plan, join_node);
+          return;
+        }
+
+        // The tables are already joined so we must evaluate the
+        // expressions via an exhaustive select.
+        Expression expression = null;
+        for (int i = 0; i < left_columns.length; ++i) {
+          Expression exp = new Expression(new Expression(left_columns[i]),
+                       Operator.get("="), new Expression(right_columns[i]));
+          if (expression == null) {
+            expression = exp;
+          }
+          else {
+            expression = new Expression(expression, Operator.get("and"), exp);
+          }
+        }
+        PlanTableSource all_plan = joinAllPlansWithVariables(
+                                                  expression.allVariables());
+        all_plan.updatePlan(new QueryPlan.ExhaustiveSelectNode(
+                                           all_plan.getPlan(), expression));
+      }
+    }
+
     private class SubLogicExpressionPlan extends ExpressionPlan {
       private Expression expression;
       public SubLogicExpressionPlan(Expression e) {
@@ -1835,13 +1899,42 @@ public class Planner {
       }
 
       // We now have a list of simple and complex plans for each table,
+      // The simple plans on different columns of the same table are
+      // grouped together so the select may use a composite index.
       int sz = simple_plan_list.size();
+      boolean[] grouped = new boolean[sz];
       for (int i = 0; i < sz; ++i) {
-        SingleVarPlan var_plan = (SingleVarPlan) simple_plan_list.get(i);
-        ExpressionPlan exp_plan = new SimpleSingleExpressionPlan(
+        if (!grouped[i]) {
+          SingleVarPlan var_plan = (SingleVarPlan) simple_plan_list.get(i);
+          ArrayList group = new ArrayList();
+          group.add(var_plan);
+          for (int n = i + 1; n < sz; ++n) {
+            SingleVarPlan plan = (SingleVarPlan) simple_plan_list.get(n);
+            if (plan.table_source == var_plan.table_source) {
+              group.add(plan);
+              grouped[n] = true;
+            }
+          }
+          ExpressionPlan exp_plan;
+          if (group.size() == 1) {
+            exp_plan = new SimpleSingleExpressionPlan(
                                    var_plan.single_var, var_plan.expression);
-        exp_plan.setOptimizableValue(0.2f);
-        evaluate_order.add(exp_plan);
+          }
+          else {
+            int group_size = group.size();
+            Variable[] columns = new Variable[group_size];
+            Expression[] expressions = new Expression[group_size];
+            for (int n = 0; n < group_size; ++n) {
+              SingleVarPlan plan = (SingleVarPlan) group.get(n);
+              columns[n] = plan.single_var;
+              expressions[n] = plan.expression;
+            }
+            exp_plan = new MultiColumnSelectExpressionPlan(columns,
+                                                           expressions);
+          }
+          exp_plan.setOptimizableValue(0.2f);
+          evaluate_order.add(exp_plan);
+        }
       }
 
       sz = complex_plan_list.size();
@@ -2003,6 +2096,83 @@ public class Planner {
 
     }
 
+    /**
+     * Makes an equi-join plan for each group of two or more 'a = b'
+     * expressions between the same two tables and adds it to the evaluation
+     * order.  Returns the list of the expressions that were not grouped.
+     */
+    private ArrayList groupEquiJoins(ArrayList multi_vars,
+                                     ArrayList evaluate_order) {
+      int sz = multi_vars.size();
+      // The table sources of the lhs and rhs of each equi-join expression
+      PlanTableSource[] lhs_sources = new PlanTableSource[sz];
+      PlanTableSource[] rhs_sources = new PlanTableSource[sz];
+      for (int i = 0; i < sz; ++i) {
+        Expression expr = (Expression) multi_vars.get(i);
+        if (((Operator) expr.last()).is("=")) {
+          Expression[] exps = expr.split();
+          Variable lhs_v = exps[0].getVariable();
+          Variable rhs_v = exps[1].getVariable();
+          if (lhs_v != null && rhs_v != null) {
+            PlanTableSource lhs_ts = findTableSource(lhs_v);
+            PlanTableSource rhs_ts = findTableSource(rhs_v);
+            if (lhs_ts != rhs_ts) {
+              lhs_sources[i] = lhs_ts;
+              rhs_sources[i] = rhs_ts;
+            }
+          }
+        }
+      }
+
+      ArrayList rest = new ArrayList();
+      boolean[] grouped = new boolean[sz];
+      for (int i = 0; i < sz; ++i) {
+        if (grouped[i]) {
+          continue;
+        }
+        Expression expr = (Expression) multi_vars.get(i);
+        if (lhs_sources[i] == null) {
+          rest.add(expr);
+          continue;
+        }
+        // Find the other expressions between the same two tables
+        ArrayList left_list = new ArrayList();
+        ArrayList right_list = new ArrayList();
+        for (int n = i; n < sz; ++n) {
+          if (lhs_sources[n] == null || grouped[n]) {
+            continue;
+          }
+          Expression[] exps = ((Expression) multi_vars.get(n)).split();
+          if (lhs_sources[n] == lhs_sources[i] &&
+              rhs_sources[n] == rhs_sources[i]) {
+            left_list.add(exps[0].getVariable());
+            right_list.add(exps[1].getVariable());
+            grouped[n] = true;
+          }
+          else if (lhs_sources[n] == rhs_sources[i] &&
+                   rhs_sources[n] == lhs_sources[i]) {
+            left_list.add(exps[1].getVariable());
+            right_list.add(exps[0].getVariable());
+            grouped[n] = true;
+          }
+        }
+        if (left_list.size() == 1) {
+          rest.add(expr);
+        }
+        else {
+          Variable[] left_columns = (Variable[])
+                         left_list.toArray(new Variable[left_list.size()]);
+          Variable[] right_columns = (Variable[])
+                         right_list.toArray(new Variable[right_list.size()]);
+          ExpressionPlan exp_plan =
+                   new EquiJoinExpressionPlan(left_columns, right_columns);
+          exp_plan.setOptimizableValue(0.60f);
+          evaluate_order.add(exp_plan);
+        }
+      }
+      return rest;
+    }
+
     /**
      * Evaluates a list of expressions containing multiple variable expression.
      * For example, 'a = b', 'a > b + c', 'a + 5 * b = 2', etc.  If an
@@ -2018,6 +2188,11 @@ public class Planner {
       //   take into account other factors that we could use to optimize
       //   joins in the future.
 
+      // Equi-joins of two or more pairs of columns between the same two
+      // tables (eg. 'a.c1 = b.c1 AND a.c2 = b.c2') are grouped together so
+      // the join may use a composite index.
+      multi_vars = groupEquiJoins(multi_vars, evaluate_order);
+
       // For each single variable expression
       for (int i = 0; i < multi_vars.size(); ++i) {
 
@@ -67,6 +67,16 @@ public interface DatabaseInterface {
   ResultPart getResultPart(int result_id, int row_number, int row_count)
                                                           throws SQLException;
 
+  /**
+   * Returns a part of a StreamableObject in a result set.  A BLOB that is
+   * stored out of its row is returned by 'getResultPart' as a
+   * StreamableObject, and its data is read with this method 'length' bytes
+   * at a time from 'offset'.  The object is referenced via the 'result id'
+   * of the result it is in and the identifier of the object.
+   */
+  byte[] getStreamableObjectPart(int result_id, long streamable_object_id,
+                                 long offset, int length) throws SQLException;
+
   /**
    * Disposes of a result of a query on the server.  This frees up server side
    * resources allocated to a query.  This should be called when the ResultSet
@@ -0,0 +1,183 @@
+/**
+ * com.mckoi.database.jdbc.LargeObjectTest  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database.jdbc;
+
+import java.io.*;
+import java.sql.*;
+import com.mckoi.database.control.*;
+
+/**
+ * A test application for BLOBs that are kept out of the rows (see the
+ * 'large_object_threshold' property) and are read by a client.  It creates
+ * a temporary database, and reads BLOBs through every ResultSet method from
+ * a result of under 40 rows (which the client stores locally and disposes
+ * on the server) and a result of over 40 rows (which stays on the server).
+ * <p>
+ * Usage: java com.mckoi.database.jdbc.LargeObjectTest
+ *
+ * @author agent
+ */
+
+public class LargeObjectTest {
+
+  /**
+   * The size of each BLOB.
+   */
+  private static final int BLOB_SIZE = 20000;
+
+  /**
+   * The number of failed checks.
+   */
+  private static int failures = 0;
+
+  /**
+   * Returns the content of the BLOB of the given row.
+   */
+  private static byte[] blob(int row) {
+    byte[] buf = new byte[BLOB_SIZE];
+    for (int i = 0; i < BLOB_SIZE; ++i) {
+      buf[i] = (byte) ((row * 31) + (i * 7));
+    }
+    return buf;
+  }
+
+  /**
+   * Reads the given stream to the end.
+   */
+  private static byte[] readAll(InputStream in) throws IOException {
+    ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    byte[] buf = new byte[4096];
+    int read;
+    while ((read = in.read(buf, 0, buf.length)) != -1) {
+      bout.write(buf, 0, read);
+    }
+    return bout.toByteArray();
+  }
+
+  /**
+   * Deletes the given directory and everything in it.
+   */
+  private static void deleteAll(File file) {
+    File[] list = file.listFiles();
+    for (int i = 0; list != null && i < list.length; ++i) {
+      deleteAll(list[i]);
+    }
+    file.delete();
+  }
+
+  private static void check(String what, int row, byte[] got) {
+    byte[] expected = blob(row);
+    boolean equal = got != null && got.length == expected.length;
+    for (int i = 0; equal && i < expected.length; ++i) {
+      equal = (got[i] == expected[i]);
+    }
+    if (!equal) {
+      System.out.println("FAILED: " + what + " of row " + row);
+      ++failures;
+    }
+  }
+
+  /**
+   * Fills the table with 'row_count' rows and reads the BLOBs back.
+   */
+  private static void test(Connection connection, int row_count)
+                                           throws SQLException, IOException {
+    Statement stmt = connection.createStatement();
+    stmt.executeUpdate("DELETE FROM F");
+    PreparedStatement insert =
+                    connection.prepareStatement("INSERT INTO F VALUES (?, ?)");
+    for (int i = 0; i < row_count; ++i) {
+      insert.setInt(1, i);
+      insert.setBytes(2, blob(i));
+      insert.executeUpdate();
+    }
+    insert.close();
+
+    String query = "SELECT id, bin FROM F ORDER BY id";
+    String what = " (" + row_count + " rows)";
+    long total = 0;
+    ResultSet rs = stmt.executeQuery(query);
+    while (rs.next()) {
+      byte[] bytes = rs.getBytes(2);
+      check("getBytes" + what, rs.getInt(1), bytes);
+      total += bytes.length;
+    }
+    rs.close();
+    rs = stmt.executeQuery(query);
+    while (rs.next()) {
+      check("getBinaryStream" + what, rs.getInt(1),
+            readAll(rs.getBinaryStream(2)));
+    }
+    rs.close();
+    rs = stmt.executeQuery(query);
+    while (rs.next()) {
+      Blob b = rs.getBlob(2);
+      check("getBlob" + what, rs.getInt(1), b.getBytes(1, (int) b.length()));
+    }
+    rs.close();
+    rs = stmt.executeQuery(query);
+    while (rs.next()) {
+      check("getObject" + what, rs.getInt(1), (byte[]) rs.getObject(2));
+    }
+    rs.close();
+    stmt.close();
+    System.out.println(row_count + " rows, " + total + " bytes read.");
+  }
+
+  public static void main(String[] args) throws Exception {
+    File dir = File.createTempFile("lobtest", "");
+    dir.delete();
+    dir.mkdirs();
+
+    DefaultDBConfig config = new DefaultDBConfig(dir);
+    config.setDatabasePath(new File(dir, "data").getPath());
+    config.setLogPath(new File(dir, "log").getPath());
+    config.setValue("large_object_threshold", "8192");
+    DBSystem database = DBController.getDefault().createDatabase(
+                                                 config, "test", "test");
+    database.setDeleteOnClose(true);
+    Connection connection = database.getConnection("test", "test");
+    try {
+      Statement stmt = connection.createStatement();
+      stmt.executeUpdate(
+                "CREATE TABLE F (id INTEGER, bin LONGVARBINARY)");
+      stmt.close();
+      test(connection, 3);
+      test(connection, 60);
+    }
+    finally {
+      connection.close();
+      database.close();
+      deleteAll(dir);
+    }
+
+    if (failures > 0) {
+      System.out.println(failures + " checks FAILED.");
+      System.exit(1);
+    }
+    System.out.println("All checks passed.");
+  }
+
+}
@@ -27,10 +27,13 @@ package com.mckoi.database.jdbc;
 import java.sql.*;
 import java.io.*;
 import com.mckoi.database.global.ByteLongObject;
+import com.mckoi.database.global.StreamableObject;
 
 /**
- * An implementation of an sql.Blob object.  This implementation keeps the
- * entire Blob in memory.
+ * An implementation of an sql.Blob object.  A Blob made from a
+ * ByteLongObject keeps the entire Blob in memory.  A Blob made from a
+ * StreamableObject reads the parts of the Blob that are asked for from the
+ * server, and only downloads all of it if it is searched with 'position'.
  * <p>
  * <strong>NOTE:</strong> java.sql.Blob is only available in JDBC 2.0
  *
@@ -44,6 +47,14 @@ class MBlob implements Blob {
    */
   private ByteLongObject blob;
 
+  /**
+   * The connection, result id and object of a Blob that is read from the
+   * server.  'streamable_object' is null if the Blob is in memory.
+   */
+  private MConnection connection;
+  private int result_id;
+  private StreamableObject streamable_object;
+
   /**
    * Constructs the blob.
    */
@@ -51,9 +62,38 @@ class MBlob implements Blob {
     this.blob = blob;
   }
 
+  /**
+   * Constructs the blob for the given object in a result on the server.
+   */
+  MBlob(MConnection connection, int result_id,
+        StreamableObject streamable_object) {
+    this.connection = connection;
+    this.result_id = result_id;
+    this.streamable_object = streamable_object;
+  }
+
+  /**
+   * Returns all of the blob as a byte[] array, downloading it from the
+   * server if it hasn't been.
+   */
+  private byte[] getByteArray() throws SQLException {
+    if (blob == null) {
+      try {
+        blob = new ByteLongObject(getBinaryStream(), (int) length());
+      }
+      catch (IOException e) {
+        throw new SQLException("IO Error: " + e.getMessage());
+      }
+    }
+    return blob.getByteArray();
+  }
+
   // ---------- Implemented from Blob ----------
 
   public long length() throws SQLException {
+    if (streamable_object != null) {
+      return streamable_object.getSize();
+    }
     return blob.length();
   }
 
@@ -65,16 +105,34 @@ class MBlob implements Blob {
     }
 
     byte[] buf = new byte[length];
-    System.arraycopy(blob.getByteArray(), (int) pos, buf, 0, length);
+    if (blob == null) {
+      // Read the part from the server a piece at a time.
+      int i = 0;
+      while (i < length) {
+        int piece = Math.min(length - i,
+                             StreamableObjectInputStream.PIECE_SIZE);
+        byte[] part = connection.requestStreamableObjectPart(result_id,
+                   streamable_object.getIdentifier(), pos + i, piece);
+        System.arraycopy(part, 0, buf, i, piece);
+        i += piece;
+      }
+    }
+    else {
+      System.arraycopy(blob.getByteArray(), (int) pos, buf, 0, length);
+    }
     return buf;
   }
 
   public InputStream getBinaryStream() throws SQLException {
+    if (blob == null) {
+      return new StreamableObjectInputStream(connection, result_id,
+                                             streamable_object);
+    }
     return new ByteArrayInputStream(blob.getByteArray(), 0, (int) length());
   }
 
   public long position(byte[] pattern, long start) throws SQLException {
-    byte[] buf = blob.getByteArray();
+    byte[] buf = getByteArray();
     int len = (int) length();
     int max = ((int) length()) - pattern.length;
 
@@ -111,7 +169,7 @@ class MBlob implements Blob {
     byte[] buf;
     // Optimize if MBlob,
     if (pattern instanceof MBlob) {
-      buf = ((MBlob) pattern).blob.getByteArray();
+      buf = ((MBlob) pattern).getByteArray();
     }
     else {
       buf = pattern.getBytes(0, (int) pattern.length());
@@ -366,6 +366,16 @@ public class MConnection implements Connection, DatabaseCallBack {
     return db_interface.getResultPart(result_id, start_row, count_rows);
   }
 
+  /**
+   * Called to read a part of a StreamableObject in a result from the
+   * server.
+   */
+  byte[] requestStreamableObjectPart(int result_id, long streamable_object_id,
+                         long offset, int length) throws SQLException {
+    return db_interface.getStreamableObjectPart(result_id,
+                                      streamable_object_id, offset, length);
+  }
+
   /**
    * Disposes of the server-side resources associated with the result set with
    * result_id.  This should be called either before we start the download of
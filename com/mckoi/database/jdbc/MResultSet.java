@@ -32,6 +32,7 @@ import java.util.Hashtable;
 import java.util.Vector;
 import com.mckoi.database.global.ColumnDescription;
 import com.mckoi.database.global.ByteLongObject;
+import com.mckoi.database.global.StreamableObject;
 import com.mckoi.database.global.ObjectTransfer;
 import com.mckoi.database.global.ObjectTranslator;
 import com.mckoi.database.global.NullObject;
@@ -254,12 +255,21 @@ public final class MResultSet implements ResultSet {
   /**
    * Asks the server for all the rows in the result set and stores it
    * locally within this object.  It then disposes all resources associated
-   * with this result set on the server.
+   * with this result set on the server.  Any BLOB in the result that was
+   * sent as a StreamableObject is downloaded first because it can't be
+   * read from the server once the result is disposed.
    */
   void storeResultLocally() throws SQLException {
     if (rowCount() > 0) {
       // After this call, 'result_block' will contain the whole result set.
       updateResultPart(0, rowCount());
+      for (int i = 0; i < result_block.size(); ++i) {
+        Object ob = result_block.elementAt(i);
+        if (ob instanceof StreamableObject) {
+          result_block.setElementAt(
+                   downloadStreamableObject((StreamableObject) ob), i);
+        }
+      }
     }
     // Request to close the current result set on the server.
     connection.disposeResult(result_id);
@@ -538,9 +548,38 @@ public final class MResultSet implements ResultSet {
 
   /**
    * Returns the column Object of the current index.  The first column is 1,
-   * the second is 2, etc.
+   * the second is 2, etc.  A BLOB that is sent as a StreamableObject is
+   * downloaded and returned as a ByteLongObject.
    */
   Object getRawColumn(int column) throws SQLException {
+    Object ob = getRawColumnStreamable(column);
+    if (ob instanceof StreamableObject) {
+      ob = downloadStreamableObject((StreamableObject) ob);
+    }
+    return ob;
+  }
+
+  /**
+   * Returns all of the given StreamableObject in this result.
+   */
+  private ByteLongObject downloadStreamableObject(StreamableObject s_object)
+                                                         throws SQLException {
+    try {
+      return new ByteLongObject(new StreamableObjectInputStream(
+                              connection, result_id, s_object),
+                              (int) s_object.getSize());
+    }
+    catch (IOException e) {
+      throw new SQLException("IO Error: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the column Object of the current index.  The first column is 1,
+   * the second is 2, etc.  This may return a StreamableObject that refers to
+   * a BLOB on the server.
+   */
+  Object getRawColumnStreamable(int column) throws SQLException {
     // ASSERTION -
     // Is the given column in bounds?
     if (column < 1 || column > columnCount()) {
@@ -646,6 +685,9 @@ public final class MResultSet implements ResultSet {
         return ob;
 //#IFDEF(JDBC2.0)
       case(SQLTypes.BLOB):
+        if (ob instanceof StreamableObject) {
+          return new MBlob(connection, result_id, (StreamableObject) ob);
+        }
         return new MBlob((ByteLongObject) ob);
       case(SQLTypes.CLOB):
         // (Not supported)
@@ -859,7 +901,7 @@ public final class MResultSet implements ResultSet {
 
   public java.io.InputStream getBinaryStream(int columnIndex)
                                                       throws SQLException {
-    Object ob = getRawColumn(columnIndex);
+    Object ob = getRawColumnStreamable(columnIndex);
     if (ob == null) {
       return null;
     }
@@ -867,6 +909,11 @@ public final class MResultSet implements ResultSet {
       ByteLongObject b = (ByteLongObject) ob;
       return new ByteArrayInputStream(b.getByteArray());
     }
+    else if (ob instanceof StreamableObject) {
+      // Read the BLOB from the server as the stream is read.
+      return new StreamableObjectInputStream(connection, result_id,
+                                             (StreamableObject) ob);
+    }
     else {
       throw new SQLException(
                       "Unable to cast value in ResultSet to binary stream");
@@ -974,7 +1021,7 @@ public final class MResultSet implements ResultSet {
   }
 
   public Object getObject(int columnIndex) throws SQLException {
-    Object ob = getRawColumn(columnIndex);
+    Object ob = getRawColumnStreamable(columnIndex);
     if (ob == null) {
       return ob;
     }
@@ -983,6 +1030,11 @@ public final class MResultSet implements ResultSet {
       ColumnDescription col_desc = getColumn(columnIndex - 1);
       int sql_type = col_desc.getSQLType();
 
+      // A BLOB on the server is only left there if it's returned as a Blob.
+      if (ob instanceof StreamableObject && sql_type != SQLTypes.BLOB) {
+        ob = downloadStreamableObject((StreamableObject) ob);
+      }
+
       return jdbcObjectCast(ob, sql_type);
 
     }
@@ -992,8 +1044,14 @@ public final class MResultSet implements ResultSet {
       if (ob instanceof ByteLongObject) {
         return new MBlob((ByteLongObject) ob);
       }
+      else if (ob instanceof StreamableObject) {
+        return new MBlob(connection, result_id, (StreamableObject) ob);
+      }
     }
 //#ENDIF
+    if (ob instanceof StreamableObject) {
+      ob = downloadStreamableObject((StreamableObject) ob);
+    }
     return ob;
   }
 
@@ -1403,11 +1461,14 @@ public final class MResultSet implements ResultSet {
 
   public Blob getBlob(int i) throws SQLException {
     // I'm assuming we must return 'null' for a null blob....
-    Object ob = getRawColumn(i);
+    Object ob = getRawColumnStreamable(i);
     if (ob != null) {
       if (ob instanceof ByteLongObject) {
         return new MBlob((ByteLongObject) ob);
       }
+      else if (ob instanceof StreamableObject) {
+        return new MBlob(connection, result_id, (StreamableObject) ob);
+      }
       throw new SQLException("Column " + i + " is not a binary column.");
     }
     return null;
@@ -105,6 +105,11 @@ public interface ProtocolConstants {
    */
   public int DATABASE_EVENT             = 75;
 
+  /**
+   * Requests a part of a streamable object in a result from the server.
+   */
+  public int STREAMABLE_OBJECT_SECTION  = 80;
+
 
 
 }
@@ -325,6 +325,53 @@ abstract class RemoteDatabaseInterface
   }
 
 
+  public byte[] getStreamableObjectPart(int result_id,
+                     long streamable_object_id, long offset, int length)
+                                                        throws SQLException {
+
+    try {
+
+      int dispatch_id = connection_thread.getStreamableObjectPart(result_id,
+                                      streamable_object_id, offset, length);
+
+      // Get the response
+      ServerCommand command =
+              connection_thread.getCommand(MDriver.QUERY_TIMEOUT, dispatch_id);
+      // If command == null then we timed out
+      if (command == null) {
+        throw new SQLException("Downloading object part timed out after " +
+                               MDriver.QUERY_TIMEOUT + " seconds.");
+      }
+
+      // Wrap around a DataInputStream
+      DataInputStream din = new DataInputStream(command.getInputStream());
+      int status = din.readInt();
+
+      if (status == SUCCESS) {
+        int size = din.readInt();
+        byte[] buf = new byte[size];
+        din.readFully(buf, 0, size);
+        return buf;
+      }
+      else if (status == EXCEPTION) {
+        int db_code = din.readInt();
+        String message = din.readUTF();
+        String stack_trace = din.readUTF();
+        throw new SQLException(message, null, db_code);
+      }
+      else {
+        throw new SQLException("Illegal response code from server.");
+      }
+
+    }
+    catch (IOException e) {
+      logException(e);
+      throw new SQLException("IO Error: " + e.getMessage());
+    }
+
+  }
+
+
   public void disposeResult(int result_id) throws SQLException {
     try {
       // Get the first few rows of the result..
@@ -539,6 +586,28 @@ abstract class RemoteDatabaseInterface
       return dispatch_id;
     }
 
+    /**
+     * Requests a part of a streamable object in a result of a query.  The
+     * 'result_id' is generated by the 'query' command and the object id is
+     * in the result.  'length' bytes are downloaded from 'offset'.
+     * <p>
+     * Returns the dispatch id key for the response from the server.
+     */
+    synchronized int getStreamableObjectPart(int result_id,
+                 long streamable_object_id, long offset, int length)
+                                                          throws IOException {
+      int dispatch_id = nextDispatchID();
+      com_data.writeInt(STREAMABLE_OBJECT_SECTION);
+      com_data.writeInt(dispatch_id);
+      com_data.writeInt(result_id);
+      com_data.writeLong(streamable_object_id);
+      com_data.writeLong(offset);
+      com_data.writeInt(length);
+      flushCommand();
+
+      return dispatch_id;
+    }
+
     /**
      * Sends close command to server.
      */
@@ -0,0 +1,144 @@
+/**
+ * com.mckoi.database.jdbc.StreamableObjectInputStream  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.database.jdbc;
+
+import java.io.*;
+import java.sql.SQLException;
+import com.mckoi.database.global.StreamableObject;
+
+/**
+ * An InputStream that reads a StreamableObject in a result set from the
+ * server a piece at a time.  Only one piece of the object is held in memory
+ * at once.
+ *
+ * @author agent
+ */
+
+class StreamableObjectInputStream extends InputStream {
+
+  /**
+   * The size of the pieces the object is downloaded in.
+   */
+  final static int PIECE_SIZE = 65536;
+
+  /**
+   * The connection the object is read through.
+   */
+  private MConnection connection;
+
+  /**
+   * The result the object is in.
+   */
+  private int result_id;
+
+  /**
+   * The object.
+   */
+  private StreamableObject object;
+
+  /**
+   * The position in the object of the start of 'piece' and the current
+   * position of the stream.
+   */
+  private long piece_position;
+  private long position;
+
+  /**
+   * The piece of the object that was last downloaded, or null if none has
+   * been downloaded.
+   */
+  private byte[] piece;
+
+  /**
+   * Constructs the stream.
+   */
+  StreamableObjectInputStream(MConnection connection, int result_id,
+                              StreamableObject object) {
+    this.connection = connection;
+    this.result_id = result_id;
+    this.object = object;
+    this.position = 0;
+  }
+
+  /**
+   * Makes sure the byte at 'position' is in 'piece'.
+   */
+  private void ensurePiece() throws IOException {
+    if (piece == null || position < piece_position ||
+        position >= piece_position + piece.length) {
+      int length = (int) Math.min(PIECE_SIZE, object.getSize() - position);
+      try {
+        piece = connection.requestStreamableObjectPart(result_id,
+                              object.getIdentifier(), position, length);
+      }
+      catch (SQLException e) {
+        throw new IOException("SQL Error: " + e.getMessage());
+      }
+      piece_position = position;
+    }
+  }
+
+  // ---------- Implemented from InputStream ----------
+
+  public int read() throws IOException {
+    if (position >= object.getSize()) {
+      return -1;
+    }
+    ensurePiece();
+    int b = piece[(int) (position - piece_position)] & 0x0FF;
+    ++position;
+    return b;
+  }
+
+  public int read(byte[] buf, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    if (position >= object.getSize()) {
+      return -1;
+    }
+    ensurePiece();
+    int p = (int) (position - piece_position);
+    int to_copy = Math.min(length, piece.length - p);
+    System.arraycopy(piece, p, buf, offset, to_copy);
+    position += to_copy;
+    return to_copy;
+  }
+
+  public long skip(long n) throws IOException {
+    long to_skip = Math.max(0, Math.min(n, object.getSize() - position));
+    position += to_skip;
+    return to_skip;
+  }
+
+  public int available() throws IOException {
+    if (piece != null && position >= piece_position &&
+        position < piece_position + piece.length) {
+      return (int) (piece_position + piece.length - position);
+    }
+    return 0;
+  }
+
+}
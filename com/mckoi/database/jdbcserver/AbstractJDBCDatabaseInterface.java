@@ -495,7 +495,19 @@ public abstract class AbstractJDBCDatabaseInterface
       ResultPart block = new ResultPart(row_count * col_count);
       for (int r = row_number; r < row_end; ++r) {
         for (int c = 0; c < col_count; ++c) {
-          block.addElement(table.getCellContents(c, r).getCell());
+          DataCell cell = table.getCellContents(c, r);
+          // A BLOB stored out of its row is sent as a reference that the
+          // client reads the data of with 'getStreamableObjectPart'.  The
+          // id of the object is the position of the cell in the result.
+          if (cell instanceof BlobDataCell &&
+              ((BlobDataCell) cell).isStoredOutOfRow()) {
+            long id = ((long) r * col_count) + c;
+            block.addElement(new StreamableObject(id,
+                                           ((BlobDataCell) cell).length()));
+          }
+          else {
+            block.addElement(cell.getCell());
+          }
         }
       }
       return block;
@@ -512,6 +524,54 @@ public abstract class AbstractJDBCDatabaseInterface
   }
 
 
+  public byte[] getStreamableObjectPart(int result_id,
+                     long streamable_object_id, long offset, int length)
+                                                        throws SQLException {
+    if (disposed) {
+      throw new RuntimeException("Interface is disposed.");
+    }
+
+    ResultSetInfo table = getResultSet(result_id);
+    if (table == null) {
+      throw new MSQLException("'result_id' invalid.", null, 4,
+                              (Throwable) null);
+    }
+
+    // The id is the position of the cell in the result.
+    int col_count = table.getColumnCount();
+    long row = streamable_object_id / col_count;
+    int column = (int) (streamable_object_id % col_count);
+    if (streamable_object_id < 0 || row >= table.getRowCount()) {
+      throw new MSQLException("'streamable_object_id' invalid.", null, 4,
+                              (Throwable) null);
+    }
+
+    DataCell cell = table.getCellContents(column, (int) row);
+    if (!(cell instanceof BlobDataCell)) {
+      throw new MSQLException("'streamable_object_id' is not a BLOB.",
+                              null, 4, (Throwable) null);
+    }
+    BlobDataCell blob = (BlobDataCell) cell;
+    if (offset < 0 || length < 0 || offset + length > blob.length()) {
+      throw new MSQLException("Object part out of range.", null, 4,
+                              (Throwable) null);
+    }
+
+    try {
+      byte[] buf = new byte[length];
+      blob.readPart(offset, buf, 0, length);
+      return buf;
+    }
+    catch (IOException e) {
+      Debug().writeException(Lvl.WARNING, e);
+      throw new MSQLException(
+          "Exception while reading object: " + e.getMessage(),
+          e.getMessage(), 4, e);
+    }
+
+  }
+
+
   public void disposeResult(int result_id) throws SQLException {
     if (disposed) {
       throw new RuntimeException("Interface is disposed.");
@@ -291,6 +291,9 @@ abstract class JDBCProcessor implements ProtocolConstants {
     else if (ins == DISPOSE_RESULT) {
       result = disposeResult(dispatch_id, command);
     }
+    else if (ins == STREAMABLE_OBJECT_SECTION) {
+      result = streamableObjectSection(dispatch_id, command);
+    }
     else if (ins == CLOSE) {
       close();
       result = null;
@@ -407,6 +410,39 @@ abstract class JDBCProcessor implements ProtocolConstants {
     }
   }
 
+  /**
+   * Responds with a part of a streamable object in the result set of a
+   * query made via the 'QUERY' command.
+   * <p>
+   * 'dispatch_id' is the number we need to respond with.
+   */
+  private byte[] streamableObjectSection(int dispatch_id,
+                                         byte[] command) throws IOException {
+
+    int result_id = ByteArrayUtil.getInt(command, 8);
+    long streamable_object_id = ByteArrayUtil.getLong(command, 12);
+    long offset = ByteArrayUtil.getLong(command, 20);
+    int length = ByteArrayUtil.getInt(command, 28);
+
+    try {
+      byte[] buf = db_interface.getStreamableObjectPart(result_id,
+                                      streamable_object_id, offset, length);
+
+      ByteArrayOutputStream bout = new ByteArrayOutputStream(buf.length + 12);
+      DataOutputStream dout = new DataOutputStream(bout);
+
+      dout.writeInt(dispatch_id);
+      dout.writeInt(SUCCESS);
+      dout.writeInt(buf.length);
+      dout.write(buf, 0, buf.length);
+
+      return bout.toByteArray();
+    }
+    catch (SQLException e) {
+      return exception(dispatch_id, e);
+    }
+  }
+
   /**
    * Disposes of a result set we queries via the 'QUERY' command.
    * <p>
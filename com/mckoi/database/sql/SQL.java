@@ -203,7 +203,7 @@ public class SQL implements SQLConstants {
 
   final public void Test() throws ParseException {
     parseExpression();
-    jj_consume_token(153);
+    jj_consume_token(156);
 
   }
 
@@ -266,8 +266,8 @@ public class SQL implements SQLConstants {
       throw new ParseException();
     }
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case 153:
-      jj_consume_token(153);
+    case 156:
+      jj_consume_token(156);
       break;
     case 0:
       jj_consume_token(0);
@@ -564,22 +564,31 @@ public class SQL implements SQLConstants {
   }
 
   final public StatementTree CreateIndex() throws ParseException {
-  StatementTree cmd = new StatementTree("com.mckoi.database.interpret.NoOp");
+  StatementTree cmd = new StatementTree("com.mckoi.database.interpret.CreateIndex");
+  String index_name;
+  String table_name;
+  ArrayList column_list = new ArrayList();
+  boolean unique = false;
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
     case UNIQUE:
       jj_consume_token(UNIQUE);
+                  unique = true;
       break;
     default:
       jj_la1[12] = jj_gen;
       ;
     }
     jj_consume_token(INDEX);
-    IndexName();
+    index_name = IndexName();
     jj_consume_token(ON);
-    TableName();
-    jj_consume_token(154);
-    BasicColumnList(new ArrayList());
-    jj_consume_token(155);
+    table_name = TableName();
+    jj_consume_token(157);
+    BasicColumnList(column_list);
+    jj_consume_token(158);
+    cmd.putBoolean("unique", unique);
+    cmd.putObject("index_name", index_name);
+    cmd.putObject("table_name", table_name);
+    cmd.putObject("column_list", column_list);
     {if (true) return cmd;}
     throw new Error("Missing return statement in function");
   }
@@ -605,14 +614,14 @@ public class SQL implements SQLConstants {
     label_1:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 156:
+      case 159:
         ;
         break;
       default:
         jj_la1[14] = jj_gen;
         break label_1;
       }
-      jj_consume_token(156);
+      jj_consume_token(159);
       table_name = TableName();
                                             table_list.add(table_name);
     }
@@ -623,11 +632,15 @@ public class SQL implements SQLConstants {
   }
 
   final public StatementTree DropIndex() throws ParseException {
-  StatementTree cmd = new StatementTree("com.mckoi.database.interpret.NoOp");
+  StatementTree cmd = new StatementTree("com.mckoi.database.interpret.DropIndex");
+  String index_name;
+  String table_name;
     jj_consume_token(INDEX);
-    IndexName();
+    index_name = IndexName();
     jj_consume_token(ON);
-    TableName();
+    table_name = TableName();
+    cmd.putObject("index_name", index_name);
+    cmd.putObject("table_name", table_name);
     {if (true) return cmd;}
     throw new Error("Missing return statement in function");
   }
@@ -686,12 +699,12 @@ public class SQL implements SQLConstants {
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
     case SELECT:
     case VALUES:
-    case 154:
+    case 157:
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 154:
-        jj_consume_token(154);
+      case 157:
+        jj_consume_token(157);
         BasicColumnList(col_list);
-        jj_consume_token(155);
+        jj_consume_token(158);
         break;
       default:
         jj_la1[18] = jj_gen;
@@ -764,10 +777,10 @@ public class SQL implements SQLConstants {
       throw new ParseException();
     }
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case 154:
-      jj_consume_token(154);
+    case 157:
+      jj_consume_token(157);
       args = ExpressionList();
-      jj_consume_token(155);
+      jj_consume_token(158);
       break;
     default:
       jj_la1[22] = jj_gen;
@@ -1076,9 +1089,9 @@ public class SQL implements SQLConstants {
 // The list of columns to insert formatted as; eg.  (9, 4), (3, 2), (9, 9), ....
   final public void InsertDataList(ArrayList data_list) throws ParseException {
   Expression[] exps;
-    jj_consume_token(154);
+    jj_consume_token(157);
     exps = ExpressionList();
-    jj_consume_token(155);
+    jj_consume_token(158);
                                       data_list.add(exps);
     label_2:
     while (true) {
@@ -1087,10 +1100,10 @@ public class SQL implements SQLConstants {
       } else {
         break label_2;
       }
-      jj_consume_token(156);
-      jj_consume_token(154);
+      jj_consume_token(159);
+      jj_consume_token(157);
       exps = ExpressionList();
-      jj_consume_token(155);
+      jj_consume_token(158);
                                                        data_list.add(exps);
     }
   }
@@ -1121,14 +1134,14 @@ public class SQL implements SQLConstants {
     label_3:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 156:
+      case 159:
         ;
         break;
       default:
         jj_la1[40] = jj_gen;
         break label_3;
       }
-      jj_consume_token(156);
+      jj_consume_token(159);
       col = SelectColumn();
                                list.add(col);
     }
@@ -1156,7 +1169,7 @@ public class SQL implements SQLConstants {
     case DOT_DELIMINATED_REF:
     case QUOTED_DELIMINATED_REF:
     case PARAMETER_REF:
-    case 154:
+    case 157:
       col.expression = DoExpression();
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case AS:
@@ -1207,14 +1220,14 @@ public class SQL implements SQLConstants {
     label_4:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 156:
+      case 159:
         ;
         break;
       default:
         jj_la1[44] = jj_gen;
         break label_4;
       }
-      jj_consume_token(156);
+      jj_consume_token(159);
       exp = DoExpression();
                                col = new ByColumn();
                                col.exp = exp;
@@ -1254,14 +1267,14 @@ public class SQL implements SQLConstants {
     label_5:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 156:
+      case 159:
         ;
         break;
       default:
         jj_la1[46] = jj_gen;
         break label_5;
       }
-      jj_consume_token(156);
+      jj_consume_token(159);
       exp = DoExpression();
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case ASC:
@@ -1308,10 +1321,10 @@ public class SQL implements SQLConstants {
     case QUOTED_DELIMINATED_REF:
       table = TableName();
       break;
-    case 154:
-      jj_consume_token(154);
+    case 157:
+      jj_consume_token(157);
       select_stmt = GetTableSelectExpression();
-      jj_consume_token(155);
+      jj_consume_token(158);
       break;
     default:
       jj_la1[49] = jj_gen;
@@ -1348,7 +1361,7 @@ public class SQL implements SQLConstants {
     case JOIN:
     case RIGHT:
     case INNER:
-    case 156:
+    case 159:
       FromClauseJoin(from_clause);
       break;
     default:
@@ -1360,15 +1373,15 @@ public class SQL implements SQLConstants {
   final public void FromClauseJoin(FromClause from_clause) throws ParseException {
   Expression on_expression;
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case 156:
-      jj_consume_token(156);
+    case 159:
+      jj_consume_token(159);
           from_clause.addJoin(JoiningSet.INNER_JOIN);
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case QUOTED_VARIABLE:
       case IDENTIFIER:
       case DOT_DELIMINATED_REF:
       case QUOTED_DELIMINATED_REF:
-      case 154:
+      case 157:
         SelectTableList(from_clause);
         break;
       default:
@@ -1396,7 +1409,7 @@ public class SQL implements SQLConstants {
       case JOIN:
       case RIGHT:
       case INNER:
-      case 156:
+      case 159:
         FromClauseJoin(from_clause);
         break;
       default:
@@ -1424,7 +1437,7 @@ public class SQL implements SQLConstants {
       case JOIN:
       case RIGHT:
       case INNER:
-      case 156:
+      case 159:
         FromClauseJoin(from_clause);
         break;
       default:
@@ -1452,7 +1465,7 @@ public class SQL implements SQLConstants {
       case JOIN:
       case RIGHT:
       case INNER:
-      case 156:
+      case 159:
         FromClauseJoin(from_clause);
         break;
       default:
@@ -1536,8 +1549,8 @@ public class SQL implements SQLConstants {
     exp = DoExpression();
       assignment_list.add(new Assignment(Variable.resolve(column), exp));
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case 156:
-      jj_consume_token(156);
+    case 159:
+      jj_consume_token(159);
       AssignmentList(assignment_list);
       break;
     default:
@@ -1549,22 +1562,22 @@ public class SQL implements SQLConstants {
 // Parses a list of column declarations.  eg. ' id NUMERIC(5, 20), number VARCHAR(90), ... '
 // and also any constraints.
   final public void ColumnDeclarationList(ArrayList column_list, ArrayList constraint_list) throws ParseException {
-    jj_consume_token(154);
+    jj_consume_token(157);
     ColumnOrConstraintDefinition(column_list, constraint_list);
     label_6:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 156:
+      case 159:
         ;
         break;
       default:
         jj_la1[65] = jj_gen;
         break label_6;
       }
-      jj_consume_token(156);
+      jj_consume_token(159);
       ColumnOrConstraintDefinition(column_list, constraint_list);
     }
-    jj_consume_token(155);
+    jj_consume_token(158);
   }
 
   final public void ColumnOrConstraintDefinition(ArrayList column_list, ArrayList constraint_list) throws ParseException {
@@ -1630,6 +1643,9 @@ public class SQL implements SQLConstants {
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
     case INDEX_NONE:
     case INDEX_BLIST:
+    case INDEX_BTREE:
+    case INDEX_HASH:
+    case INDEX_BITMAP:
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case INDEX_BLIST:
         t = jj_consume_token(INDEX_BLIST);
@@ -1637,12 +1653,21 @@ public class SQL implements SQLConstants {
       case INDEX_NONE:
         t = jj_consume_token(INDEX_NONE);
         break;
+      case INDEX_BTREE:
+        t = jj_consume_token(INDEX_BTREE);
+        break;
+      case INDEX_HASH:
+        t = jj_consume_token(INDEX_HASH);
+        break;
+      case INDEX_BITMAP:
+        t = jj_consume_token(INDEX_BITMAP);
+        break;
       default:
         jj_la1[69] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
-                                             column.setIndex(t);
+                             column.setIndex(t);
       break;
     default:
       jj_la1[70] = jj_gen;
@@ -1693,8 +1718,8 @@ public class SQL implements SQLConstants {
     case JAVA_OBJECT:
       jj_consume_token(JAVA_OBJECT);
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 154:
-        jj_consume_token(154);
+      case 157:
+        jj_consume_token(157);
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case DOT_DELIMINATED_REF:
           class_tok = jj_consume_token(DOT_DELIMINATED_REF);
@@ -1707,7 +1732,7 @@ public class SQL implements SQLConstants {
           jj_consume_token(-1);
           throw new ParseException();
         }
-        jj_consume_token(155);
+        jj_consume_token(158);
         break;
       default:
         jj_la1[73] = jj_gen;
@@ -1741,19 +1766,19 @@ public class SQL implements SQLConstants {
     case LONGVARBINARY:
       data_type = GetDataType();
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 154:
-        jj_consume_token(154);
+      case 157:
+        jj_consume_token(157);
         size = PositiveIntegerConstant();
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case 156:
-          jj_consume_token(156);
+        case 159:
+          jj_consume_token(159);
           scale = PositiveIntegerConstant();
           break;
         default:
           jj_la1[74] = jj_gen;
           ;
         }
-        jj_consume_token(155);
+        jj_consume_token(158);
         break;
       default:
         jj_la1[75] = jj_gen;
@@ -1877,38 +1902,38 @@ public class SQL implements SQLConstants {
     case PRIMARY:
       jj_consume_token(PRIMARY);
       jj_consume_token(KEY);
-      jj_consume_token(154);
+      jj_consume_token(157);
       BasicColumnList(column_list);
-      jj_consume_token(155);
+      jj_consume_token(158);
                                                                constraint.setPrimaryKey(column_list);
       break;
     case UNIQUE:
       jj_consume_token(UNIQUE);
-      jj_consume_token(154);
+      jj_consume_token(157);
       BasicColumnList(column_list);
-      jj_consume_token(155);
+      jj_consume_token(158);
                                                              constraint.setUnique(column_list);
       break;
     case CHECK:
       jj_consume_token(CHECK);
-      jj_consume_token(154);
+      jj_consume_token(157);
       expression = DoExpression();
-      jj_consume_token(155);
+      jj_consume_token(158);
                                                              constraint.setCheck(expression);
       break;
     case FOREIGN:
       jj_consume_token(FOREIGN);
       jj_consume_token(KEY);
-      jj_consume_token(154);
+      jj_consume_token(157);
       BasicColumnList(column_list);
-      jj_consume_token(155);
+      jj_consume_token(158);
       jj_consume_token(REFERENCES);
       reference_table = TableName();
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 154:
-        jj_consume_token(154);
+      case 157:
+        jj_consume_token(157);
         BasicColumnList(column_list2);
-        jj_consume_token(155);
+        jj_consume_token(158);
         break;
       default:
         jj_la1[79] = jj_gen;
@@ -2096,14 +2121,14 @@ public class SQL implements SQLConstants {
     label_8:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 156:
+      case 159:
         ;
         break;
       default:
         jj_la1[94] = jj_gen;
         break label_8;
       }
-      jj_consume_token(156);
+      jj_consume_token(159);
       col_name = ColumnName();
                                   list.add(col_name);
     }
@@ -2143,7 +2168,7 @@ public class SQL implements SQLConstants {
   final public Expression ExpressionTest() throws ParseException {
   Expression exp;
     exp = DoExpression();
-    jj_consume_token(153);
+    jj_consume_token(156);
     {if (true) return exp;}
     throw new Error("Missing return statement in function");
   }
@@ -2296,11 +2321,11 @@ public class SQL implements SQLConstants {
   FunctionDef f;
   String time_fname;
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case 154:
-      jj_consume_token(154);
+    case 157:
+      jj_consume_token(157);
             stack.push(Operator.get("(")); exp.text().append("(");
       expression(exp, stack);
-      jj_consume_token(155);
+      jj_consume_token(158);
                                      expEndParen(exp, stack); exp.text().append(")");
       break;
     case PARAMETER_REF:
@@ -2411,7 +2436,7 @@ public class SQL implements SQLConstants {
   final public void SubQueryExpression(Expression exp, Stack stack) throws ParseException {
   TableSelectExpression select;
   Expression[] exp_arr;
-    jj_consume_token(154);
+    jj_consume_token(157);
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
     case SELECT:
       select = GetTableSelectExpression();
@@ -2424,7 +2449,7 @@ public class SQL implements SQLConstants {
         exp.addElement(exp_arr);
         exp.text().append(" (" + Util.expressionListToString(exp_arr) + ")");
     }
-    jj_consume_token(155);
+    jj_consume_token(158);
   }
 
 /*
@@ -2750,7 +2775,7 @@ String GetOperator() :
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
     case COUNT:
       t = jj_consume_token(COUNT);
-      jj_consume_token(154);
+      jj_consume_token(157);
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case DISTINCT:
         jj_consume_token(DISTINCT);
@@ -2761,11 +2786,11 @@ String GetOperator() :
         ;
       }
       exp_list = FunctionParams();
-      jj_consume_token(155);
+      jj_consume_token(158);
       break;
     case TRIM:
       t = jj_consume_token(TRIM);
-      jj_consume_token(154);
+      jj_consume_token(157);
       if (jj_2_16(3)) {
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case BOTH:
@@ -2804,7 +2829,7 @@ String GetOperator() :
         ;
       }
       exp1 = DoExpression();
-      jj_consume_token(155);
+      jj_consume_token(158);
                           exp_list = new Expression[3];
                           String ttype = t2 == null ? "both" : t2.image.toLowerCase();
                           Object str_char = t3 == null ? " " : Util.toParamObject(t3, case_insensitive_identifiers);
@@ -2817,15 +2842,15 @@ String GetOperator() :
       break;
     case IF:
       t = jj_consume_token(IF);
-      jj_consume_token(154);
+      jj_consume_token(157);
       exp_list = FunctionParams();
-      jj_consume_token(155);
+      jj_consume_token(158);
       break;
     case IDENTIFIER:
       t = jj_consume_token(IDENTIFIER);
-      jj_consume_token(154);
+      jj_consume_token(157);
       exp_list = FunctionParams();
-      jj_consume_token(155);
+      jj_consume_token(158);
       break;
     default:
       jj_la1[116] = jj_gen;
@@ -2842,9 +2867,9 @@ String GetOperator() :
   Expression[] args;
     // PENDING: Handling arrays (eg. 'java.lang.String[] { 'Tobias', 'Downer' }' or 'double[] { 25, 2, 75, 26 }' )
       t = jj_consume_token(DOT_DELIMINATED_REF);
-    jj_consume_token(154);
+    jj_consume_token(157);
     args = ExpressionList();
-    jj_consume_token(155);
+    jj_consume_token(158);
     Expression[] comp_args = new Expression[args.length + 1];
     System.arraycopy(args, 0, comp_args, 1, args.length);
     comp_args[0] = new Expression(t.image);
@@ -2890,20 +2915,20 @@ String GetOperator() :
     case DOT_DELIMINATED_REF:
     case QUOTED_DELIMINATED_REF:
     case PARAMETER_REF:
-    case 154:
+    case 157:
       e = DoExpression();
                          list.add(e);
       label_11:
       while (true) {
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case 156:
+        case 159:
           ;
           break;
         default:
           jj_la1[118] = jj_gen;
           break label_11;
         }
-        jj_consume_token(156);
+        jj_consume_token(159);
         e = DoExpression();
                                list.add(e);
       }
@@ -3532,11 +3557,11 @@ String GetOperator() :
   final private boolean jj_3R_37() {
     if (jj_scan_token(IDENTIFIER)) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
-    if (jj_scan_token(154)) return true;
+    if (jj_scan_token(157)) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
     if (jj_3R_65()) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
-    if (jj_scan_token(155)) return true;
+    if (jj_scan_token(158)) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
     return false;
   }
@@ -3556,11 +3581,11 @@ String GetOperator() :
   final private boolean jj_3R_36() {
     if (jj_scan_token(IF)) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
-    if (jj_scan_token(154)) return true;
+    if (jj_scan_token(157)) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
     if (jj_3R_65()) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
-    if (jj_scan_token(155)) return true;
+    if (jj_scan_token(158)) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
     return false;
   }
@@ -3586,7 +3611,7 @@ String GetOperator() :
   final private boolean jj_3R_35() {
     if (jj_scan_token(TRIM)) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
-    if (jj_scan_token(154)) return true;
+    if (jj_scan_token(157)) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
     Token xsp;
     xsp = jj_scanpos;
@@ -3612,7 +3637,7 @@ String GetOperator() :
   final private boolean jj_3R_34() {
     if (jj_scan_token(COUNT)) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
-    if (jj_scan_token(154)) return true;
+    if (jj_scan_token(157)) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
     Token xsp;
     xsp = jj_scanpos;
@@ -3620,7 +3645,7 @@ String GetOperator() :
     else if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
     if (jj_3R_65()) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
-    if (jj_scan_token(155)) return true;
+    if (jj_scan_token(158)) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
     return false;
   }
@@ -3734,7 +3759,7 @@ String GetOperator() :
   }
 
   final private boolean jj_3R_18() {
-    if (jj_scan_token(154)) return true;
+    if (jj_scan_token(157)) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
     return false;
   }
@@ -3864,9 +3889,9 @@ String GetOperator() :
   }
 
   final private boolean jj_3_5() {
-    if (jj_scan_token(156)) return true;
+    if (jj_scan_token(159)) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
-    if (jj_scan_token(154)) return true;
+    if (jj_scan_token(157)) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
     return false;
   }
@@ -4007,7 +4032,7 @@ String GetOperator() :
   }
 
   final private boolean jj_3R_27() {
-    if (jj_scan_token(154)) return true;
+    if (jj_scan_token(157)) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
     if (jj_3R_60()) return true;
     if (jj_la == 0 && jj_scanpos == jj_lastpos) return false;
@@ -4027,8 +4052,8 @@ String GetOperator() :
   final private int[] jj_la1_0 = {0x7fe00000,0x1,0x0,0x0,0x0,0x0,0x0,0x800000,0x0,0x0,0x0,0x1a000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1000000,0x1000000,0x0,0x0,0x0,0x20000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x200000,0x0,0xa00000,0x0,0x0,0x0,0x0,0xc0080,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x80000,0x0,0x0,0x80000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x3ff80,0x100000,0x100000,0x0,0x0,0xc0000,0x0,0xc0000,0x1000000,0x0,0x0,0x0,0x7f00,0x0,0x7f00,0x7f00,0x38080,0x0,0x0,0x0,0x0,0x0,0x80,0x0,0xc0000,0x0,0x0,0x0,0x0,0x0,0x0,};
   final private int[] jj_la1_1 = {0x40d,0x0,0x48000000,0x48000000,0x0,0x2000000,0x10000000,0x0,0x0,0x80,0x0,0x0,0x0,0x80,0x0,0x2000000,0x10000000,0x100000,0x0,0x0,0x400,0x0,0x0,0x2000000,0x1,0x40,0x0,0x100,0x20000,0x2000000,0x0,0x0,0x0,0x100,0x0,0x0,0x400,0x0,0x4000,0x100,0x0,0x20,0x0,0x1402080,0x0,0x81000,0x0,0x81000,0x81000,0x0,0x20,0x20,0x24240000,0x0,0x20000000,0x24240000,0x0,0x24240000,0x0,0x24240000,0x24240000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x40,0x40,0x40,0x40,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x2000,0x0,0x0,0x10300,0x10300,0x0,0x0,0x0,0x0,0x0,0x0,0x8000,0x8000,0x0,0x1400080,0x0,0x0,0x1402080,0x0,0x0,0x0,0x0,0x0,0x0,};
   final private int[] jj_la1_2 = {0x0,0x0,0x1008440,0x8040,0x80000,0x0,0x0,0x0,0x1000000,0x0,0x2,0x0,0x400,0x0,0x0,0x0,0x0,0x0,0x0,0x100,0x100,0x40,0x0,0x0,0x0,0x0,0x40,0x200000,0x0,0x0,0x0,0x200,0x40000,0x0,0x2000018,0x64000c02,0x0,0x24000800,0x0,0x200000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1,0x0,0x1,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x64000402,0x10000,0x20000400,0x0,0x0,0x20000400,0x0,0x0,0x0,0x0,0x0,0x0,0x4000000,0x0,0x0,0x0,0x0,0x0,0x60000402,0x8800000,0x0,0x500000,0x8000000,0x8000000,0x8000000,0x500000,0x800000,0x8800000,0x0,0x0,0x0,0x0,0x4000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x200000,0x21000,0x21000,0x0,0x0,0x0,0x0,0x0,0x2000018,0x0,0x0,0x0,0x0,0x0,};
-  final private int[] jj_la1_3 = {0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x30000000,0x0,0x0,0x0,0x4,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1000600,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x3,0x3,0x0,0x0,0x0,0x0,0x0,0xffffff8,0xdfffff8,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1000600,0x0,0x0,0x1000600,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1000600,0x0,0x0,0x0,0x0,0x0,0x0,};
-  final private int[] jj_la1_4 = {0x0,0x2000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x10000000,0x0,0x0,0x0,0x4000000,0x0,0x4000000,0x8000,0x4000000,0x0,0x0,0x8000,0x8000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x3c000,0x0,0x3c000,0x0,0x0,0x10000000,0x0,0xc000,0x473f800,0x10000000,0x0,0x10000000,0x0,0x0,0x403c000,0x0,0x3c000,0x10000000,0x403c000,0x0,0x10000000,0x0,0x10000000,0x0,0x10000000,0x10000000,0x3c000,0xc000,0xc000,0x10000000,0x10000000,0x3c000,0x0,0x800,0x0,0x0,0x800,0x50000,0x4000000,0x10000000,0x4000000,0x0,0x0,0x0,0x4000000,0x0,0x0,0x0,0x0,0x0,0x800,0x3c,0x0,0x800,0x800,0x800,0x0,0x0,0x800,0x10000000,0xb40,0x80,0x80,0x800,0x0,0x3f000,0x4400000,0x3f000,0x0,0xc00,0x0,0x0,0x0,0x800,0xb40,0x0,0x0,0x0,0x0,0x0,0x2000,0x8000,0x0,0x10000000,0x443f800,0x0,0xc000,0xc000,0x3c000,0x3c000,0xc000,};
+  final private int[] jj_la1_3 = {0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x80000000,0x0,0x0,0x0,0x20,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x8003000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1f,0x1f,0x0,0x0,0x0,0x0,0x0,0x7fffffc0,0x6fffffc0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x8003000,0x0,0x0,0x8003000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x8003000,0x0,0x0,0x0,0x0,0x0,0x0,};
+  final private int[] jj_la1_4 = {0x0,0x10000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x80000000,0x0,0x0,0x0,0x20000000,0x0,0x20000000,0x40000,0x20000000,0x0,0x0,0x40000,0x40001,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1e0000,0x0,0x1e0000,0x0,0x0,0x80000000,0x0,0x60000,0x239fc000,0x80000000,0x0,0x80000000,0x0,0x0,0x201e0000,0x0,0x1e0000,0x80000000,0x201e0000,0x0,0x80000000,0x0,0x80000000,0x0,0x80000000,0x80000000,0x1e0000,0x60000,0x60000,0x80000000,0x80000000,0x1e0000,0x0,0x4000,0x0,0x0,0x4000,0x280000,0x20000000,0x80000000,0x20000000,0x0,0x0,0x0,0x20000000,0x0,0x0,0x0,0x0,0x0,0x4000,0x1e0,0x0,0x4000,0x4000,0x4000,0x0,0x0,0x4000,0x80000000,0x5a00,0x400,0x400,0x4000,0x0,0x1f8000,0x22000000,0x1f8000,0x0,0x6000,0x0,0x0,0x0,0x4000,0x5a00,0x0,0x0,0x0,0x0,0x0,0x10000,0x40000,0x0,0x80000000,0x221fc000,0x0,0x60000,0x60000,0x1e0000,0x1e0000,0x60000,};
   final private JJCalls[] jj_2_rtns = new JJCalls[16];
   private boolean jj_rescan = false;
   private int jj_gc = 0;
@@ -4194,8 +4219,8 @@ String GetOperator() :
 
   final public ParseException generateParseException() {
     jj_expentries.removeAllElements();
-    boolean[] la1tokens = new boolean[157];
-    for (int i = 0; i < 157; i++) {
+    boolean[] la1tokens = new boolean[160];
+    for (int i = 0; i < 160; i++) {
       la1tokens[i] = false;
     }
     if (jj_kind >= 0) {
@@ -4223,7 +4248,7 @@ String GetOperator() :
         }
       }
     }
-    for (int i = 0; i < 157; i++) {
+    for (int i = 0; i < 160; i++) {
       if (la1tokens[i]) {
         jj_expentry = new int[1];
         jj_expentry[0] = i;
@@ -95,61 +95,64 @@ public interface SQLConstants {
   int KEY = 95;
   int INDEX_NONE = 96;
   int INDEX_BLIST = 97;
-  int GROUPMAX = 98;
-  int BIT = 99;
-  int INT = 100;
-  int REAL = 101;
-  int BLOB = 102;
-  int CHAR = 103;
-  int TEXT = 104;
-  int DATE = 105;
-  int TIME = 106;
-  int FLOAT = 107;
-  int BIGINT = 108;
-  int DOUBLE = 109;
-  int STRING = 110;
-  int BINARY = 111;
-  int NUMERIC = 112;
-  int DECIMAL = 113;
-  int BOOLEAN = 114;
-  int TINYINT = 115;
-  int INTEGER = 116;
-  int VARCHAR = 117;
-  int SMALLINT = 118;
-  int VARBINARY = 119;
-  int TIMESTAMP = 120;
-  int JAVA_OBJECT = 121;
-  int LONGVARCHAR = 122;
-  int LONGVARBINARY = 123;
-  int TRANSACTIONISOLATIONLEVEL = 124;
-  int AUTOCOMMIT = 125;
-  int READCOMMITTED = 126;
-  int READUNCOMMITTED = 127;
-  int REPEATABLEREAD = 128;
-  int SERIALIZABLE = 129;
-  int NO_ACTION = 130;
-  int CASCADE = 131;
-  int SET_NULL = 132;
-  int SET_DEFAULT = 133;
-  int LIKE = 134;
-  int REGEX = 135;
-  int AND = 136;
-  int OR = 137;
-  int IN = 138;
-  int NOT = 139;
-  int NUMBER_LITERAL = 140;
-  int STRING_LITERAL = 141;
-  int QUOTED_VARIABLE = 142;
-  int IDENTIFIER = 143;
-  int DOT_DELIMINATED_REF = 144;
-  int QUOTED_DELIMINATED_REF = 145;
-  int JAVA_OBJECT_ARRAY_REF = 146;
-  int CTALIAS = 147;
-  int GLOBVARIABLE = 148;
-  int QUOTEDGLOBVARIABLE = 149;
-  int PARAMETER_REF = 150;
-  int LETTER = 151;
-  int DIGIT = 152;
+  int INDEX_BTREE = 98;
+  int INDEX_HASH = 99;
+  int INDEX_BITMAP = 100;
+  int GROUPMAX = 101;
+  int BIT = 102;
+  int INT = 103;
+  int REAL = 104;
+  int BLOB = 105;
+  int CHAR = 106;
+  int TEXT = 107;
+  int DATE = 108;
+  int TIME = 109;
+  int FLOAT = 110;
+  int BIGINT = 111;
+  int DOUBLE = 112;
+  int STRING = 113;
+  int BINARY = 114;
+  int NUMERIC = 115;
+  int DECIMAL = 116;
+  int BOOLEAN = 117;
+  int TINYINT = 118;
+  int INTEGER = 119;
+  int VARCHAR = 120;
+  int SMALLINT = 121;
+  int VARBINARY = 122;
+  int TIMESTAMP = 123;
+  int JAVA_OBJECT = 124;
+  int LONGVARCHAR = 125;
+  int LONGVARBINARY = 126;
+  int TRANSACTIONISOLATIONLEVEL = 127;
+  int AUTOCOMMIT = 128;
+  int READCOMMITTED = 129;
+  int READUNCOMMITTED = 130;
+  int REPEATABLEREAD = 131;
+  int SERIALIZABLE = 132;
+  int NO_ACTION = 133;
+  int CASCADE = 134;
+  int SET_NULL = 135;
+  int SET_DEFAULT = 136;
+  int LIKE = 137;
+  int REGEX = 138;
+  int AND = 139;
+  int OR = 140;
+  int IN = 141;
+  int NOT = 142;
+  int NUMBER_LITERAL = 143;
+  int STRING_LITERAL = 144;
+  int QUOTED_VARIABLE = 145;
+  int IDENTIFIER = 146;
+  int DOT_DELIMINATED_REF = 147;
+  int QUOTED_DELIMINATED_REF = 148;
+  int JAVA_OBJECT_ARRAY_REF = 149;
+  int CTALIAS = 150;
+  int GLOBVARIABLE = 151;
+  int QUOTEDGLOBVARIABLE = 152;
+  int PARAMETER_REF = 153;
+  int LETTER = 154;
+  int DIGIT = 155;
 
   int DEFAULT = 0;
 
@@ -252,6 +255,9 @@ public interface SQLConstants {
     "\"key\"",
     "\"index_none\"",
     "\"index_blist\"",
+    "\"index_btree\"",
+    "\"index_hash\"",
+    "\"index_bitmap\"",
     "\"group max\"",
     "\"bit\"",
     "\"int\"",
@@ -40,10 +40,10 @@ private final int jjMoveStringLiteralDfa0_0()
          jjmatchedKind = 1;
          return jjMoveNfa_0(5, 0);
       case 40:
-         jjmatchedKind = 154;
+         jjmatchedKind = 157;
          return jjMoveNfa_0(5, 0);
       case 41:
-         jjmatchedKind = 155;
+         jjmatchedKind = 158;
          return jjMoveNfa_0(5, 0);
       case 42:
          jjmatchedKind = 7;
@@ -52,7 +52,7 @@ private final int jjMoveStringLiteralDfa0_0()
          jjmatchedKind = 16;
          return jjMoveNfa_0(5, 0);
       case 44:
-         jjmatchedKind = 156;
+         jjmatchedKind = 159;
          return jjMoveNfa_0(5, 0);
       case 45:
          jjmatchedKind = 17;
@@ -61,7 +61,7 @@ private final int jjMoveStringLiteralDfa0_0()
          jjmatchedKind = 15;
          return jjMoveNfa_0(5, 0);
       case 59:
-         jjmatchedKind = 153;
+         jjmatchedKind = 156;
          return jjMoveNfa_0(5, 0);
       case 60:
          jjmatchedKind = 11;
@@ -73,90 +73,90 @@ private final int jjMoveStringLiteralDfa0_0()
          jjmatchedKind = 10;
          return jjMoveStringLiteralDfa1_0(0x1000L, 0x0L, 0x0L);
       case 63:
-         jjmatchedKind = 150;
+         jjmatchedKind = 153;
          return jjMoveNfa_0(5, 0);
       case 65:
-         return jjMoveStringLiteralDfa1_0(0x532000800000L, 0x2000000000000000L, 0x100L);
+         return jjMoveStringLiteralDfa1_0(0x532000800000L, 0x0L, 0x801L);
       case 66:
-         return jjMoveStringLiteralDfa1_0(0x800000000000L, 0x4904800004000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x800000000000L, 0x24824000004000L, 0x0L);
       case 67:
-         return jjMoveStringLiteralDfa1_0(0x8100000064000000L, 0x8004000802L, 0x8L);
+         return jjMoveStringLiteralDfa1_0(0x8100000064000000L, 0x40004000802L, 0x40L);
       case 68:
-         return jjMoveStringLiteralDfa1_0(0x8000408200000L, 0x2220008310000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x8000408200000L, 0x11100008310000L, 0x0L);
       case 69:
          return jjMoveStringLiteralDfa1_0(0x80000000L, 0x90L, 0x0L);
       case 70:
-         return jjMoveStringLiteralDfa1_0(0x2000000000000L, 0x80040000000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x2000000000000L, 0x400040000000L, 0x0L);
       case 71:
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x400040000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x2000040000L, 0x0L);
       case 72:
          return jjMoveStringLiteralDfa1_0(0x0L, 0x200L, 0x0L);
       case 73:
-         return jjMoveStringLiteralDfa1_0(0x6010009010000000L, 0x10001302c00020L, 0x400L);
+         return jjMoveStringLiteralDfa1_0(0x6010009010000000L, 0x80009f02c00020L, 0x2000L);
       case 74:
-         return jjMoveStringLiteralDfa1_0(0x20000000000000L, 0x200000000000000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x20000000000000L, 0x1000000000000000L, 0x0L);
       case 75:
          return jjMoveStringLiteralDfa1_0(0x0L, 0x80000000L, 0x0L);
       case 76:
-         return jjMoveStringLiteralDfa1_0(0x1004000000000000L, 0xc00000000001000L, 0x40L);
+         return jjMoveStringLiteralDfa1_0(0x1004000000000000L, 0x6000000000001000L, 0x200L);
       case 78:
-         return jjMoveStringLiteralDfa1_0(0x200000080000L, 0x1000000002000L, 0x804L);
+         return jjMoveStringLiteralDfa1_0(0x200000080000L, 0x8000000002000L, 0x4020L);
       case 79:
-         return jjMoveStringLiteralDfa1_0(0x4200000000L, 0x80001L, 0x200L);
+         return jjMoveStringLiteralDfa1_0(0x4200000000L, 0x80001L, 0x1000L);
       case 80:
          return jjMoveStringLiteralDfa1_0(0x0L, 0x20000000L, 0x0L);
       case 82:
-         return jjMoveStringLiteralDfa1_0(0x400000100000000L, 0xc000002010000000L, 0x81L);
+         return jjMoveStringLiteralDfa1_0(0x400000100000000L, 0x10010000000L, 0x40eL);
       case 83:
-         return jjMoveStringLiteralDfa1_0(0x1040801400000L, 0x40400000000040L, 0x32L);
+         return jjMoveStringLiteralDfa1_0(0x1040801400000L, 0x202000000000040L, 0x190L);
       case 84:
-         return jjMoveStringLiteralDfa1_0(0x840000000000000L, 0x1108050001028000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x840000000000000L, 0x8840280001028000L, 0x0L);
       case 85:
          return jjMoveStringLiteralDfa1_0(0x80002000000L, 0x40cL, 0x0L);
       case 86:
-         return jjMoveStringLiteralDfa1_0(0x80000000000000L, 0xa0000000000100L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x80000000000000L, 0x500000000000100L, 0x0L);
       case 87:
          return jjMoveStringLiteralDfa1_0(0x200000000000000L, 0x0L, 0x0L);
       case 97:
-         return jjMoveStringLiteralDfa1_0(0x532000800000L, 0x2000000000000000L, 0x100L);
+         return jjMoveStringLiteralDfa1_0(0x532000800000L, 0x0L, 0x801L);
       case 98:
-         return jjMoveStringLiteralDfa1_0(0x800000000000L, 0x4904800004000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x800000000000L, 0x24824000004000L, 0x0L);
       case 99:
-         return jjMoveStringLiteralDfa1_0(0x8100000064000000L, 0x8004000802L, 0x8L);
+         return jjMoveStringLiteralDfa1_0(0x8100000064000000L, 0x40004000802L, 0x40L);
       case 100:
-         return jjMoveStringLiteralDfa1_0(0x8000408200000L, 0x2220008310000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x8000408200000L, 0x11100008310000L, 0x0L);
       case 101:
          return jjMoveStringLiteralDfa1_0(0x80000000L, 0x90L, 0x0L);
       case 102:
-         return jjMoveStringLiteralDfa1_0(0x2000000000000L, 0x80040000000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x2000000000000L, 0x400040000000L, 0x0L);
       case 103:
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x400040000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x2000040000L, 0x0L);
       case 104:
          return jjMoveStringLiteralDfa1_0(0x0L, 0x200L, 0x0L);
       case 105:
-         return jjMoveStringLiteralDfa1_0(0x6010009010000000L, 0x10001302c00020L, 0x400L);
+         return jjMoveStringLiteralDfa1_0(0x6010009010000000L, 0x80009f02c00020L, 0x2000L);
       case 106:
-         return jjMoveStringLiteralDfa1_0(0x20000000000000L, 0x200000000000000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x20000000000000L, 0x1000000000000000L, 0x0L);
       case 107:
          return jjMoveStringLiteralDfa1_0(0x0L, 0x80000000L, 0x0L);
       case 108:
-         return jjMoveStringLiteralDfa1_0(0x1004000000000000L, 0xc00000000001000L, 0x40L);
+         return jjMoveStringLiteralDfa1_0(0x1004000000000000L, 0x6000000000001000L, 0x200L);
       case 110:
-         return jjMoveStringLiteralDfa1_0(0x200000080000L, 0x1000000002000L, 0x804L);
+         return jjMoveStringLiteralDfa1_0(0x200000080000L, 0x8000000002000L, 0x4020L);
       case 111:
-         return jjMoveStringLiteralDfa1_0(0x4200000000L, 0x80001L, 0x200L);
+         return jjMoveStringLiteralDfa1_0(0x4200000000L, 0x80001L, 0x1000L);
       case 112:
          return jjMoveStringLiteralDfa1_0(0x0L, 0x20000000L, 0x0L);
       case 114:
-         return jjMoveStringLiteralDfa1_0(0x400000100000000L, 0xc000002010000000L, 0x81L);
+         return jjMoveStringLiteralDfa1_0(0x400000100000000L, 0x10010000000L, 0x40eL);
       case 115:
-         return jjMoveStringLiteralDfa1_0(0x1040801400000L, 0x40400000000040L, 0x32L);
+         return jjMoveStringLiteralDfa1_0(0x1040801400000L, 0x202000000000040L, 0x190L);
       case 116:
-         return jjMoveStringLiteralDfa1_0(0x840000000000000L, 0x1108050001028000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x840000000000000L, 0x8840280001028000L, 0x0L);
       case 117:
          return jjMoveStringLiteralDfa1_0(0x80002000000L, 0x40cL, 0x0L);
       case 118:
-         return jjMoveStringLiteralDfa1_0(0x80000000000000L, 0xa0000000000100L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x80000000000000L, 0x500000000000100L, 0x0L);
       case 119:
          return jjMoveStringLiteralDfa1_0(0x200000000000000L, 0x0L, 0x0L);
       default :
@@ -189,13 +189,13 @@ private final int jjMoveStringLiteralDfa1_0(long active0, long active1, long act
          }
          break;
       case 65:
-         return jjMoveStringLiteralDfa2_0(active0, 0x800000000000000L, active1, 0x2a0020000002300L, active2, 0x8L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x800000000000000L, active1, 0x1500100000002300L, active2, 0x40L);
       case 67:
          return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x40L, active2, 0L);
       case 68:
          return jjMoveStringLiteralDfa2_0(active0, 0x400000000000L, active1, 0L, active2, 0L);
       case 69:
-         return jjMoveStringLiteralDfa2_0(active0, 0xc240409000000L, active1, 0xc002012099115000L, active2, 0xb3L);
+         return jjMoveStringLiteralDfa2_0(active0, 0xc240409000000L, active1, 0x10090099115000L, active2, 0x59eL);
       case 70:
          if ((active0 & 0x8000000000L) != 0L)
          {
@@ -206,36 +206,36 @@ private final int jjMoveStringLiteralDfa1_0(long active0, long active1, long act
       case 71:
          return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x20L, active2, 0L);
       case 72:
-         return jjMoveStringLiteralDfa2_0(active0, 0x200000800400000L, active1, 0x8000000002L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x200000800400000L, active1, 0x40000000002L, active2, 0L);
       case 73:
-         return jjMoveStringLiteralDfa2_0(active0, 0x1480000000000000L, active1, 0x108940800200000L, active2, 0x40L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x1480000000000000L, active1, 0x844a04000200000L, active2, 0x200L);
       case 76:
-         return jjMoveStringLiteralDfa2_0(active0, 0x10000800000L, active1, 0x84000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x10000800000L, active1, 0x420000000000L, active2, 0L);
       case 77:
-         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x40000000400000L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x200000000400000L, active2, 0L);
       case 78:
          if ((active0 & 0x4000000000L) != 0L)
          {
             jjmatchedKind = 38;
             jjmatchedPos = 1;
          }
-         else if ((active2 & 0x400L) != 0L)
+         else if ((active2 & 0x2000L) != 0L)
          {
-            jjmatchedKind = 138;
+            jjmatchedKind = 141;
             jjmatchedPos = 1;
          }
-         return jjMoveStringLiteralDfa2_0(active0, 0x6010020010000000L, active1, 0x10001302800408L, active2, 0x100L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x6010020010000000L, active1, 0x80009f02800408L, active2, 0x800L);
       case 79:
-         return jjMoveStringLiteralDfa2_0(active0, 0x121800160000000L, active1, 0xc04200044000800L, active2, 0x804L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x121800160000000L, active1, 0x6021000044000800L, active2, 0x4020L);
       case 80:
          return jjMoveStringLiteralDfa2_0(active0, 0x202000000L, active1, 0L, active2, 0L);
       case 82:
-         if ((active2 & 0x200L) != 0L)
+         if ((active2 & 0x1000L) != 0L)
          {
-            jjmatchedKind = 137;
+            jjmatchedKind = 140;
             jjmatchedPos = 1;
          }
-         return jjMoveStringLiteralDfa2_0(active0, 0x8042000004200000L, active1, 0x10000004200e8000L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x8042000004200000L, active1, 0x80000020200e8000L, active2, 0L);
       case 83:
          if ((active0 & 0x1000000000L) != 0L)
          {
@@ -249,19 +249,19 @@ private final int jjMoveStringLiteralDfa1_0(long active0, long active1, long act
          }
          return jjMoveStringLiteralDfa2_0(active0, 0x180000000000L, active1, 0x4L, active2, 0L);
       case 84:
-         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x400000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x2000000000000L, active2, 0L);
       case 85:
-         return jjMoveStringLiteralDfa2_0(active0, 0x80000L, active1, 0x2001000000000001L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x80000L, active1, 0x8000000000001L, active2, 0x1L);
       case 88:
          return jjMoveStringLiteralDfa2_0(active0, 0x80000000L, active1, 0x90L, active2, 0L);
       case 97:
-         return jjMoveStringLiteralDfa2_0(active0, 0x800000000000000L, active1, 0x2a0020000002300L, active2, 0x8L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x800000000000000L, active1, 0x1500100000002300L, active2, 0x40L);
       case 99:
          return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x40L, active2, 0L);
       case 100:
          return jjMoveStringLiteralDfa2_0(active0, 0x400000000000L, active1, 0L, active2, 0L);
       case 101:
-         return jjMoveStringLiteralDfa2_0(active0, 0xc240409000000L, active1, 0xc002012099115000L, active2, 0xb3L);
+         return jjMoveStringLiteralDfa2_0(active0, 0xc240409000000L, active1, 0x10090099115000L, active2, 0x59eL);
       case 102:
          if ((active0 & 0x8000000000L) != 0L)
          {
@@ -272,36 +272,36 @@ private final int jjMoveStringLiteralDfa1_0(long active0, long active1, long act
       case 103:
          return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x20L, active2, 0L);
       case 104:
-         return jjMoveStringLiteralDfa2_0(active0, 0x200000800400000L, active1, 0x8000000002L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x200000800400000L, active1, 0x40000000002L, active2, 0L);
       case 105:
-         return jjMoveStringLiteralDfa2_0(active0, 0x1480000000000000L, active1, 0x108940800200000L, active2, 0x40L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x1480000000000000L, active1, 0x844a04000200000L, active2, 0x200L);
       case 108:
-         return jjMoveStringLiteralDfa2_0(active0, 0x10000800000L, active1, 0x84000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x10000800000L, active1, 0x420000000000L, active2, 0L);
       case 109:
-         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x40000000400000L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x200000000400000L, active2, 0L);
       case 110:
          if ((active0 & 0x4000000000L) != 0L)
          {
             jjmatchedKind = 38;
             jjmatchedPos = 1;
          }
-         else if ((active2 & 0x400L) != 0L)
+         else if ((active2 & 0x2000L) != 0L)
          {
-            jjmatchedKind = 138;
+            jjmatchedKind = 141;
             jjmatchedPos = 1;
          }
-         return jjMoveStringLiteralDfa2_0(active0, 0x6010020010000000L, active1, 0x10001302800408L, active2, 0x100L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x6010020010000000L, active1, 0x80009f02800408L, active2, 0x800L);
       case 111:
-         return jjMoveStringLiteralDfa2_0(active0, 0x121800160000000L, active1, 0xc04200044000800L, active2, 0x804L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x121800160000000L, active1, 0x6021000044000800L, active2, 0x4020L);
       case 112:
          return jjMoveStringLiteralDfa2_0(active0, 0x202000000L, active1, 0L, active2, 0L);
       case 114:
-         if ((active2 & 0x200L) != 0L)
+         if ((active2 & 0x1000L) != 0L)
          {
-            jjmatchedKind = 137;
+            jjmatchedKind = 140;
             jjmatchedPos = 1;
          }
-         return jjMoveStringLiteralDfa2_0(active0, 0x8042000004200000L, active1, 0x10000004200e8000L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x8042000004200000L, active1, 0x80000020200e8000L, active2, 0L);
       case 115:
          if ((active0 & 0x1000000000L) != 0L)
          {
@@ -315,9 +315,9 @@ private final int jjMoveStringLiteralDfa1_0(long active0, long active1, long act
          }
          return jjMoveStringLiteralDfa2_0(active0, 0x180000000000L, active1, 0x4L, active2, 0L);
       case 116:
-         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x400000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x2000000000000L, active2, 0L);
       case 117:
-         return jjMoveStringLiteralDfa2_0(active0, 0x80000L, active1, 0x2001000000000001L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x80000L, active1, 0x8000000000001L, active2, 0x1L);
       case 120:
          return jjMoveStringLiteralDfa2_0(active0, 0x80000000L, active1, 0x90L, active2, 0L);
       default :
@@ -336,9 +336,9 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
    switch(curChar)
    {
       case 32:
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0L, active2, 0x4L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0L, active2, 0x20L);
       case 65:
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0xd04000a000021000L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x8200050000021000L, active2, 0x6L);
       case 66:
          return jjMoveStringLiteralDfa3_0(active0, 0x800000000000000L, active1, 0L, active2, 0L);
       case 67:
@@ -347,19 +347,19 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
             jjmatchedKind = 44;
             jjmatchedPos = 2;
          }
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x2000000000010L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x10000000000010L, active2, 0L);
       case 68:
          if ((active0 & 0x400000000000L) != 0L)
          {
             jjmatchedKind = 46;
             jjmatchedPos = 2;
          }
-         else if ((active2 & 0x100L) != 0L)
+         else if ((active2 & 0x800L) != 0L)
          {
-            jjmatchedKind = 136;
+            jjmatchedKind = 139;
             jjmatchedPos = 2;
          }
-         return jjMoveStringLiteralDfa3_0(active0, 0x4000000002000000L, active1, 0x300080000L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x4000000002000000L, active1, 0x1f00080000L, active2, 0L);
       case 69:
          if ((active0 & 0x80000000000L) != 0L)
          {
@@ -370,13 +370,13 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
       case 70:
          return jjMoveStringLiteralDfa3_0(active0, 0x4000000000000L, active1, 0x18110000L, active2, 0L);
       case 71:
-         return jjMoveStringLiteralDfa3_0(active0, 0x400000000000000L, active1, 0x100000000000L, active2, 0x80L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x400000000000000L, active1, 0x800000000000L, active2, 0x400L);
       case 72:
          return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x40L, active2, 0L);
       case 73:
          return jjMoveStringLiteralDfa3_0(active0, 0x60000000000000L, active1, 0x2080848cL, active2, 0L);
       case 75:
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0L, active2, 0x40L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0L, active2, 0x200L);
       case 76:
          if ((active0 & 0x10000000000L) != 0L)
          {
@@ -385,43 +385,43 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
          }
          return jjMoveStringLiteralDfa3_0(active0, 0x109080000L, active1, 0x900L, active2, 0L);
       case 77:
-         return jjMoveStringLiteralDfa3_0(active0, 0x1001000060000000L, active1, 0x101040001400000L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x1001000060000000L, active1, 0x808200001400000L, active2, 0L);
       case 78:
-         return jjMoveStringLiteralDfa3_0(active0, 0x2000000000000000L, active1, 0xc08800004000020L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x2000000000000000L, active1, 0x6044000004000020L, active2, 0L);
       case 79:
-         return jjMoveStringLiteralDfa3_0(active0, 0x8002000000600000L, active1, 0x4084400040000L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x8002000000600000L, active1, 0x20422000040000L, active2, 0L);
       case 80:
-         return jjMoveStringLiteralDfa3_0(active0, 0x80000000L, active1, 0L, active2, 0x1L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x80000000L, active1, 0L, active2, 0x8L);
       case 82:
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0xa0400040000000L, active2, 0x2L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x502000040000000L, active2, 0x10L);
       case 83:
-         return jjMoveStringLiteralDfa3_0(active0, 0x8000410000000L, active1, 0x200000L, active2, 0x8L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x8000410000000L, active1, 0x200000L, active2, 0x40L);
       case 84:
          if ((active0 & 0x40000000000L) != 0L)
          {
             jjmatchedKind = 42;
             jjmatchedPos = 2;
          }
-         else if ((active1 & 0x800000000L) != 0L)
+         else if ((active1 & 0x4000000000L) != 0L)
          {
-            jjmatchedKind = 99;
+            jjmatchedKind = 102;
             jjmatchedPos = 2;
          }
-         else if ((active1 & 0x1000000000L) != 0L)
+         else if ((active1 & 0x8000000000L) != 0L)
          {
-            jjmatchedKind = 100;
+            jjmatchedKind = 103;
             jjmatchedPos = 2;
          }
-         else if ((active2 & 0x800L) != 0L)
+         else if ((active2 & 0x4000L) != 0L)
          {
-            jjmatchedKind = 139;
+            jjmatchedKind = 142;
             jjmatchedPos = 2;
          }
-         return jjMoveStringLiteralDfa3_0(active0, 0x10800200800000L, active1, 0x2010020002006001L, active2, 0x30L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x10800200800000L, active1, 0x80100002006001L, active2, 0x181L);
       case 85:
-         return jjMoveStringLiteralDfa3_0(active0, 0x100000800000000L, active1, 0x200000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x100000800000000L, active1, 0x1000000000000L, active2, 0L);
       case 86:
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x200000000000200L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x1000000000000200L, active2, 0L);
       case 87:
          if ((active0 & 0x200000000000L) != 0L)
          {
@@ -430,7 +430,7 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
          }
          break;
       case 88:
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x10000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x80000000000L, active2, 0L);
       case 89:
          if ((active0 & 0x20000000000L) != 0L)
          {
@@ -444,7 +444,7 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
          }
          break;
       case 97:
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0xd04000a000021000L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x8200050000021000L, active2, 0x6L);
       case 98:
          return jjMoveStringLiteralDfa3_0(active0, 0x800000000000000L, active1, 0L, active2, 0L);
       case 99:
@@ -453,19 +453,19 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
             jjmatchedKind = 44;
             jjmatchedPos = 2;
          }
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x2000000000010L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x10000000000010L, active2, 0L);
       case 100:
          if ((active0 & 0x400000000000L) != 0L)
          {
             jjmatchedKind = 46;
             jjmatchedPos = 2;
          }
-         else if ((active2 & 0x100L) != 0L)
+         else if ((active2 & 0x800L) != 0L)
          {
-            jjmatchedKind = 136;
+            jjmatchedKind = 139;
             jjmatchedPos = 2;
          }
-         return jjMoveStringLiteralDfa3_0(active0, 0x4000000002000000L, active1, 0x300080000L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x4000000002000000L, active1, 0x1f00080000L, active2, 0L);
       case 101:
          if ((active0 & 0x80000000000L) != 0L)
          {
@@ -476,13 +476,13 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
       case 102:
          return jjMoveStringLiteralDfa3_0(active0, 0x4000000000000L, active1, 0x18110000L, active2, 0L);
       case 103:
-         return jjMoveStringLiteralDfa3_0(active0, 0x400000000000000L, active1, 0x100000000000L, active2, 0x80L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x400000000000000L, active1, 0x800000000000L, active2, 0x400L);
       case 104:
          return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x40L, active2, 0L);
       case 105:
          return jjMoveStringLiteralDfa3_0(active0, 0x60000000000000L, active1, 0x2080848cL, active2, 0L);
       case 107:
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0L, active2, 0x40L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0L, active2, 0x200L);
       case 108:
          if ((active0 & 0x10000000000L) != 0L)
          {
@@ -491,43 +491,43 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
          }
          return jjMoveStringLiteralDfa3_0(active0, 0x109080000L, active1, 0x900L, active2, 0L);
       case 109:
-         return jjMoveStringLiteralDfa3_0(active0, 0x1001000060000000L, active1, 0x101040001400000L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x1001000060000000L, active1, 0x808200001400000L, active2, 0L);
       case 110:
-         return jjMoveStringLiteralDfa3_0(active0, 0x2000000000000000L, active1, 0xc08800004000020L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x2000000000000000L, active1, 0x6044000004000020L, active2, 0L);
       case 111:
-         return jjMoveStringLiteralDfa3_0(active0, 0x8002000000600000L, active1, 0x4084400040000L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x8002000000600000L, active1, 0x20422000040000L, active2, 0L);
       case 112:
-         return jjMoveStringLiteralDfa3_0(active0, 0x80000000L, active1, 0L, active2, 0x1L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x80000000L, active1, 0L, active2, 0x8L);
       case 114:
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0xa0400040000000L, active2, 0x2L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x502000040000000L, active2, 0x10L);
       case 115:
-         return jjMoveStringLiteralDfa3_0(active0, 0x8000410000000L, active1, 0x200000L, active2, 0x8L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x8000410000000L, active1, 0x200000L, active2, 0x40L);
       case 116:
          if ((active0 & 0x40000000000L) != 0L)
          {
             jjmatchedKind = 42;
             jjmatchedPos = 2;
          }
-         else if ((active1 & 0x800000000L) != 0L)
+         else if ((active1 & 0x4000000000L) != 0L)
          {
-            jjmatchedKind = 99;
+            jjmatchedKind = 102;
             jjmatchedPos = 2;
          }
-         else if ((active1 & 0x1000000000L) != 0L)
+         else if ((active1 & 0x8000000000L) != 0L)
          {
-            jjmatchedKind = 100;
+            jjmatchedKind = 103;
             jjmatchedPos = 2;
          }
-         else if ((active2 & 0x800L) != 0L)
+         else if ((active2 & 0x4000L) != 0L)
          {
-            jjmatchedKind = 139;
+            jjmatchedKind = 142;
             jjmatchedPos = 2;
          }
-         return jjMoveStringLiteralDfa3_0(active0, 0x10800200800000L, active1, 0x2010020002006001L, active2, 0x30L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x10800200800000L, active1, 0x80100002006001L, active2, 0x181L);
       case 117:
-         return jjMoveStringLiteralDfa3_0(active0, 0x100000800000000L, active1, 0x200000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x100000800000000L, active1, 0x1000000000000L, active2, 0L);
       case 118:
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x200000000000200L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x1000000000000200L, active2, 0L);
       case 119:
          if ((active0 & 0x200000000000L) != 0L)
          {
@@ -536,7 +536,7 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
          }
          break;
       case 120:
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x10000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x80000000000L, active2, 0L);
       case 121:
          if ((active0 & 0x20000000000L) != 0L)
          {
@@ -565,49 +565,49 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
    switch(curChar)
    {
       case 32:
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0L, active2, 0x30L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0L, active2, 0x180L);
       case 65:
-         return jjMoveStringLiteralDfa4_0(active0, 0x6000000L, active1, 0x200880000010000L, active2, 0x4L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x6000000L, active1, 0x1004400000010000L, active2, 0x20L);
       case 66:
-         if ((active1 & 0x4000000000L) != 0L)
+         if ((active1 & 0x20000000000L) != 0L)
          {
-            jjmatchedKind = 102;
+            jjmatchedKind = 105;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x80200000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x401000000000000L, active2, 0L);
       case 67:
          if ((active0 & 0x8000000000000L) != 0L)
          {
             jjmatchedKind = 51;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0x400000000L, active1, 0x20000000000002L, active2, 0x8L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x400000000L, active1, 0x100000000000002L, active2, 0x40L);
       case 68:
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0xc000000000001000L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x1000L, active2, 0x6L);
       case 69:
          if ((active0 & 0x1000000000000L) != 0L)
          {
             jjmatchedKind = 48;
             jjmatchedPos = 3;
          }
-         else if ((active1 & 0x20000000000L) != 0L)
+         else if ((active1 & 0x100000000000L) != 0L)
          {
-            jjmatchedKind = 105;
+            jjmatchedKind = 108;
             jjmatchedPos = 3;
          }
-         else if ((active1 & 0x40000000000L) != 0L)
+         else if ((active1 & 0x200000000000L) != 0L)
          {
-            jjmatchedKind = 106;
+            jjmatchedKind = 109;
             jjmatchedPos = 3;
          }
-         else if ((active2 & 0x40L) != 0L)
+         else if ((active2 & 0x200L) != 0L)
          {
-            jjmatchedKind = 134;
+            jjmatchedKind = 137;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0x6000000019800000L, active1, 0x11100035a580051L, active2, 0x81L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x6000000019800000L, active1, 0x888001f5a580051L, active2, 0x408L);
       case 71:
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0xc00000000008000L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x6000000000008000L, active2, 0L);
       case 72:
          if ((active0 & 0x800000000000L) != 0L)
          {
@@ -616,19 +616,19 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
          }
          return jjMoveStringLiteralDfa4_0(active0, 0x400000000000000L, active1, 0L, active2, 0L);
       case 73:
-         return jjMoveStringLiteralDfa4_0(active0, 0x1000000200000000L, active1, 0x2500000020200L, active2, 0x2L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x1000000200000000L, active1, 0x12800000020200L, active2, 0x10L);
       case 76:
          if ((active0 & 0x80000L) != 0L)
          {
             jjmatchedKind = 19;
             jjmatchedPos = 3;
          }
-         else if ((active1 & 0x2000000000L) != 0L)
+         else if ((active1 & 0x10000000000L) != 0L)
          {
-            jjmatchedKind = 101;
+            jjmatchedKind = 104;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0x800000180000000L, active1, 0x44000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x800000180000000L, active1, 0x220000000000000L, active2, 0L);
       case 77:
          if ((active0 & 0x2000000000000L) != 0L)
          {
@@ -647,14 +647,14 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
             jjmatchedKind = 53;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0x100000000000000L, active1, 0x1000000000000004L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x100000000000000L, active1, 0x8000000000000004L, active2, 0L);
       case 79:
          if ((active0 & 0x10000000000000L) != 0L)
          {
             jjmatchedKind = 52;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x2000000000000028L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x28L, active2, 0x1L);
       case 80:
          if ((active0 & 0x200000L) != 0L)
          {
@@ -665,9 +665,9 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
       case 81:
          return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x400L, active2, 0L);
       case 82:
-         if ((active1 & 0x8000000000L) != 0L)
+         if ((active1 & 0x40000000000L) != 0L)
          {
-            jjmatchedKind = 103;
+            jjmatchedKind = 106;
             jjmatchedPos = 3;
          }
          return jjMoveStringLiteralDfa4_0(active0, 0x200000000000000L, active1, 0L, active2, 0L);
@@ -679,14 +679,14 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
             jjmatchedKind = 50;
             jjmatchedPos = 3;
          }
-         else if ((active1 & 0x10000000000L) != 0L)
+         else if ((active1 & 0x80000000000L) != 0L)
          {
-            jjmatchedKind = 104;
+            jjmatchedKind = 107;
             jjmatchedPos = 3;
          }
          return jjMoveStringLiteralDfa4_0(active0, 0x800000000L, active1, 0xa00000L, active2, 0L);
       case 85:
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x400042900L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x2000042900L, active2, 0L);
       case 87:
          if ((active0 & 0x400000L) != 0L)
          {
@@ -700,49 +700,49 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
          }
          return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x4000L, active2, 0L);
       case 89:
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x8000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x40000000000000L, active2, 0L);
       case 97:
-         return jjMoveStringLiteralDfa4_0(active0, 0x6000000L, active1, 0x200880000010000L, active2, 0x4L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x6000000L, active1, 0x1004400000010000L, active2, 0x20L);
       case 98:
-         if ((active1 & 0x4000000000L) != 0L)
+         if ((active1 & 0x20000000000L) != 0L)
          {
-            jjmatchedKind = 102;
+            jjmatchedKind = 105;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x80200000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x401000000000000L, active2, 0L);
       case 99:
          if ((active0 & 0x8000000000000L) != 0L)
          {
             jjmatchedKind = 51;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0x400000000L, active1, 0x20000000000002L, active2, 0x8L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x400000000L, active1, 0x100000000000002L, active2, 0x40L);
       case 100:
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0xc000000000001000L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x1000L, active2, 0x6L);
       case 101:
          if ((active0 & 0x1000000000000L) != 0L)
          {
             jjmatchedKind = 48;
             jjmatchedPos = 3;
          }
-         else if ((active1 & 0x20000000000L) != 0L)
+         else if ((active1 & 0x100000000000L) != 0L)
          {
-            jjmatchedKind = 105;
+            jjmatchedKind = 108;
             jjmatchedPos = 3;
          }
-         else if ((active1 & 0x40000000000L) != 0L)
+         else if ((active1 & 0x200000000000L) != 0L)
          {
-            jjmatchedKind = 106;
+            jjmatchedKind = 109;
             jjmatchedPos = 3;
          }
-         else if ((active2 & 0x40L) != 0L)
+         else if ((active2 & 0x200L) != 0L)
          {
-            jjmatchedKind = 134;
+            jjmatchedKind = 137;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0x6000000019800000L, active1, 0x11100035a580051L, active2, 0x81L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x6000000019800000L, active1, 0x888001f5a580051L, active2, 0x408L);
       case 103:
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0xc00000000008000L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x6000000000008000L, active2, 0L);
       case 104:
          if ((active0 & 0x800000000000L) != 0L)
          {
@@ -751,19 +751,19 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
          }
          return jjMoveStringLiteralDfa4_0(active0, 0x400000000000000L, active1, 0L, active2, 0L);
       case 105:
-         return jjMoveStringLiteralDfa4_0(active0, 0x1000000200000000L, active1, 0x2500000020200L, active2, 0x2L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x1000000200000000L, active1, 0x12800000020200L, active2, 0x10L);
       case 108:
          if ((active0 & 0x80000L) != 0L)
          {
             jjmatchedKind = 19;
             jjmatchedPos = 3;
          }
-         else if ((active1 & 0x2000000000L) != 0L)
+         else if ((active1 & 0x10000000000L) != 0L)
          {
-            jjmatchedKind = 101;
+            jjmatchedKind = 104;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0x800000180000000L, active1, 0x44000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x800000180000000L, active1, 0x220000000000000L, active2, 0L);
       case 109:
          if ((active0 & 0x2000000000000L) != 0L)
          {
@@ -782,14 +782,14 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
             jjmatchedKind = 53;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0x100000000000000L, active1, 0x1000000000000004L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x100000000000000L, active1, 0x8000000000000004L, active2, 0L);
       case 111:
          if ((active0 & 0x10000000000000L) != 0L)
          {
             jjmatchedKind = 52;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x2000000000000028L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x28L, active2, 0x1L);
       case 112:
          if ((active0 & 0x200000L) != 0L)
          {
@@ -800,9 +800,9 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
       case 113:
          return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x400L, active2, 0L);
       case 114:
-         if ((active1 & 0x8000000000L) != 0L)
+         if ((active1 & 0x40000000000L) != 0L)
          {
-            jjmatchedKind = 103;
+            jjmatchedKind = 106;
             jjmatchedPos = 3;
          }
          return jjMoveStringLiteralDfa4_0(active0, 0x200000000000000L, active1, 0L, active2, 0L);
@@ -814,14 +814,14 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
             jjmatchedKind = 50;
             jjmatchedPos = 3;
          }
-         else if ((active1 & 0x10000000000L) != 0L)
+         else if ((active1 & 0x80000000000L) != 0L)
          {
-            jjmatchedKind = 104;
+            jjmatchedKind = 107;
             jjmatchedPos = 3;
          }
          return jjMoveStringLiteralDfa4_0(active0, 0x800000000L, active1, 0xa00000L, active2, 0L);
       case 117:
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x400042900L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x2000042900L, active2, 0L);
       case 119:
          if ((active0 & 0x400000L) != 0L)
          {
@@ -835,7 +835,7 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
          }
          return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x4000L, active2, 0L);
       case 121:
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x8000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x40000000000000L, active2, 0L);
       default :
          break;
    }
@@ -852,15 +852,15 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
    switch(curChar)
    {
       case 32:
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0xe000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0L, active2, 0x7L);
       case 65:
-         return jjMoveStringLiteralDfa5_0(active0, 0xc0000000L, active1, 0x20000000L, active2, 0xbL);
+         return jjMoveStringLiteralDfa5_0(active0, 0xc0000000L, active1, 0x20000000L, active2, 0x58L);
       case 66:
          return jjMoveStringLiteralDfa5_0(active0, 0x100000000L, active1, 0L, active2, 0L);
       case 67:
-         return jjMoveStringLiteralDfa5_0(active0, 0x1000000L, active1, 0L, active2, 0x4L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x1000000L, active1, 0L, active2, 0x20L);
       case 68:
-         return jjMoveStringLiteralDfa5_0(active0, 0x800000000L, active1, 0x400000L, active2, 0x20L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x800000000L, active1, 0x400000L, active2, 0x100L);
       case 69:
          if ((active0 & 0x200000000000000L) != 0L)
          {
@@ -872,18 +872,18 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
             jjmatchedKind = 59;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x4000000004100L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x20000000004100L, active2, 0L);
       case 71:
          if ((active1 & 0x4L) != 0L)
          {
             jjmatchedKind = 66;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x10000000008000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x80000000008000L, active2, 0L);
       case 72:
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x20000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x100000000000000L, active2, 0L);
       case 73:
-         return jjMoveStringLiteralDfa5_0(active0, 0x20000000L, active1, 0x88000040a01000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x20000000L, active1, 0x440000040a01000L, active2, 0L);
       case 75:
          if ((active1 & 0x2L) != 0L)
          {
@@ -892,20 +892,20 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
          }
          break;
       case 76:
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x40200000020000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x201000000020000L, active2, 0L);
       case 77:
-         return jjMoveStringLiteralDfa5_0(active0, 0x200000000L, active1, 0x2000000000840L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x200000000L, active1, 0x10000000000840L, active2, 0L);
       case 78:
          if ((active1 & 0x8L) != 0L)
          {
             jjmatchedKind = 67;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x500000000200L, active2, 0x10L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x2800000000200L, active2, 0x80L);
       case 79:
          return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x1000000L, active2, 0L);
       case 80:
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x400040010L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x2000040010L, active2, 0L);
       case 82:
          if ((active0 & 0x800000L) != 0L)
          {
@@ -922,14 +922,14 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
             jjmatchedKind = 64;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0x410000000L, active1, 0x180001a182020L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x410000000L, active1, 0xc00001a182020L, active2, 0L);
       case 83:
          if ((active0 & 0x8000000000000000L) != 0L)
          {
             jjmatchedKind = 63;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x1100000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x8800000000000000L, active2, 0L);
       case 84:
          if ((active0 & 0x100000000000000L) != 0L)
          {
@@ -946,38 +946,38 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
             jjmatchedKind = 60;
             jjmatchedPos = 4;
          }
-         else if ((active1 & 0x80000000000L) != 0L)
+         else if ((active1 & 0x400000000000L) != 0L)
          {
-            jjmatchedKind = 107;
+            jjmatchedKind = 110;
             jjmatchedPos = 4;
          }
          return jjMoveStringLiteralDfa5_0(active0, 0xe000000L, active1, 0x4000080L, active2, 0L);
       case 85:
          return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x10400L, active2, 0L);
       case 86:
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0xc00000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x6000000000000000L, active2, 0L);
       case 88:
          if ((active0 & 0x4000000000000000L) != 0L)
          {
             jjmatchedKind = 62;
             jjmatchedPos = 4;
          }
-         else if ((active2 & 0x80L) != 0L)
+         else if ((active2 & 0x400L) != 0L)
          {
-            jjmatchedKind = 135;
+            jjmatchedKind = 138;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x300000000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x1f00000000L, active2, 0L);
       case 95:
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x200000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x1000000000000000L, active2, 0L);
       case 97:
-         return jjMoveStringLiteralDfa5_0(active0, 0xc0000000L, active1, 0x20000000L, active2, 0xbL);
+         return jjMoveStringLiteralDfa5_0(active0, 0xc0000000L, active1, 0x20000000L, active2, 0x58L);
       case 98:
          return jjMoveStringLiteralDfa5_0(active0, 0x100000000L, active1, 0L, active2, 0L);
       case 99:
-         return jjMoveStringLiteralDfa5_0(active0, 0x1000000L, active1, 0L, active2, 0x4L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x1000000L, active1, 0L, active2, 0x20L);
       case 100:
-         return jjMoveStringLiteralDfa5_0(active0, 0x800000000L, active1, 0x400000L, active2, 0x20L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x800000000L, active1, 0x400000L, active2, 0x100L);
       case 101:
          if ((active0 & 0x200000000000000L) != 0L)
          {
@@ -989,18 +989,18 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
             jjmatchedKind = 59;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x4000000004100L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x20000000004100L, active2, 0L);
       case 103:
          if ((active1 & 0x4L) != 0L)
          {
             jjmatchedKind = 66;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x10000000008000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x80000000008000L, active2, 0L);
       case 104:
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x20000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x100000000000000L, active2, 0L);
       case 105:
-         return jjMoveStringLiteralDfa5_0(active0, 0x20000000L, active1, 0x88000040a01000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x20000000L, active1, 0x440000040a01000L, active2, 0L);
       case 107:
          if ((active1 & 0x2L) != 0L)
          {
@@ -1009,20 +1009,20 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
          }
          break;
       case 108:
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x40200000020000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x201000000020000L, active2, 0L);
       case 109:
-         return jjMoveStringLiteralDfa5_0(active0, 0x200000000L, active1, 0x2000000000840L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x200000000L, active1, 0x10000000000840L, active2, 0L);
       case 110:
          if ((active1 & 0x8L) != 0L)
          {
             jjmatchedKind = 67;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x500000000200L, active2, 0x10L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x2800000000200L, active2, 0x80L);
       case 111:
          return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x1000000L, active2, 0L);
       case 112:
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x400040010L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x2000040010L, active2, 0L);
       case 114:
          if ((active0 & 0x800000L) != 0L)
          {
@@ -1039,14 +1039,14 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
             jjmatchedKind = 64;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0x410000000L, active1, 0x180001a182020L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x410000000L, active1, 0xc00001a182020L, active2, 0L);
       case 115:
          if ((active0 & 0x8000000000000000L) != 0L)
          {
             jjmatchedKind = 63;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x1100000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x8800000000000000L, active2, 0L);
       case 116:
          if ((active0 & 0x100000000000000L) != 0L)
          {
@@ -1063,28 +1063,28 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
             jjmatchedKind = 60;
             jjmatchedPos = 4;
          }
-         else if ((active1 & 0x80000000000L) != 0L)
+         else if ((active1 & 0x400000000000L) != 0L)
          {
-            jjmatchedKind = 107;
+            jjmatchedKind = 110;
             jjmatchedPos = 4;
          }
          return jjMoveStringLiteralDfa5_0(active0, 0xe000000L, active1, 0x4000080L, active2, 0L);
       case 117:
          return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x10400L, active2, 0L);
       case 118:
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0xc00000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x6000000000000000L, active2, 0L);
       case 120:
          if ((active0 & 0x4000000000000000L) != 0L)
          {
             jjmatchedKind = 62;
             jjmatchedPos = 4;
          }
-         else if ((active2 & 0x80L) != 0L)
+         else if ((active2 & 0x400L) != 0L)
          {
-            jjmatchedKind = 135;
+            jjmatchedKind = 138;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x300000000L, active2, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x1f00000000L, active2, 0L);
       default :
          break;
    }
@@ -1101,18 +1101,18 @@ private final int jjMoveStringLiteralDfa5_0(long old0, long active0, long old1,
    switch(curChar)
    {
       case 32:
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x4000c0000L, active2, 0L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x20000c0000L, active2, 0L);
       case 65:
          if ((active1 & 0x40L) != 0L)
          {
             jjmatchedKind = 70;
             jjmatchedPos = 5;
          }
-         return jjMoveStringLiteralDfa6_0(active0, 0x100000000L, active1, 0x1c26000000802000L, active2, 0L);
+         return jjMoveStringLiteralDfa6_0(active0, 0x100000000L, active1, 0xe130000000802000L, active2, 0L);
       case 67:
-         return jjMoveStringLiteralDfa6_0(active0, 0x40000000L, active1, 0x6000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa6_0(active0, 0x40000000L, active1, 0L, active2, 0x3L);
       case 68:
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0L, active2, 0x8L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0L, active2, 0x40L);
       case 69:
          if ((active0 & 0x2000000L) != 0L)
          {
@@ -1139,37 +1139,37 @@ private final int jjMoveStringLiteralDfa5_0(long old0, long active0, long old1,
             jjmatchedKind = 74;
             jjmatchedPos = 5;
          }
-         else if ((active1 & 0x200000000000L) != 0L)
+         else if ((active1 & 0x1000000000000L) != 0L)
          {
-            jjmatchedKind = 109;
+            jjmatchedKind = 112;
             jjmatchedPos = 5;
          }
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x1000001000c000L, active2, 0x20L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x8000001000c000L, active2, 0x100L);
       case 71:
          if ((active1 & 0x200L) != 0L)
          {
             jjmatchedKind = 73;
             jjmatchedPos = 5;
          }
-         else if ((active1 & 0x400000000000L) != 0L)
+         else if ((active1 & 0x2000000000000L) != 0L)
          {
-            jjmatchedKind = 110;
+            jjmatchedKind = 113;
             jjmatchedPos = 5;
          }
          return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x40000000L, active2, 0L);
       case 73:
-         return jjMoveStringLiteralDfa6_0(active0, 0x680000000L, active1, 0x41000000420000L, active2, 0L);
+         return jjMoveStringLiteralDfa6_0(active0, 0x680000000L, active1, 0x208000000420000L, active2, 0L);
       case 76:
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x10000L, active2, 0x2L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x10000L, active2, 0x10L);
       case 78:
          if ((active1 & 0x800L) != 0L)
          {
             jjmatchedKind = 75;
             jjmatchedPos = 5;
          }
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x88000000201000L, active2, 0L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x440000000201000L, active2, 0L);
       case 79:
-         return jjMoveStringLiteralDfa6_0(active0, 0x800000000L, active1, 0x200000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa6_0(active0, 0x800000000L, active1, 0x1000000000000000L, active2, 0L);
       case 82:
          return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x2d100000L, active2, 0L);
       case 83:
@@ -1205,34 +1205,34 @@ private final int jjMoveStringLiteralDfa5_0(long old0, long active0, long old1,
             jjmatchedKind = 68;
             jjmatchedPos = 5;
          }
-         else if ((active1 & 0x100000000000L) != 0L)
+         else if ((active1 & 0x800000000000L) != 0L)
          {
-            jjmatchedKind = 108;
+            jjmatchedKind = 111;
             jjmatchedPos = 5;
          }
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x100000000000000L, active2, 0x5L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x800000000000000L, active2, 0x28L);
       case 85:
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x8000000000000000L, active2, 0x10L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0L, active2, 0x84L);
       case 89:
-         if ((active1 & 0x800000000000L) != 0L)
+         if ((active1 & 0x4000000000000L) != 0L)
          {
-            jjmatchedKind = 111;
+            jjmatchedKind = 114;
             jjmatchedPos = 5;
          }
          break;
       case 95:
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x300000000L, active2, 0L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x1f00000000L, active2, 0L);
       case 97:
          if ((active1 & 0x40L) != 0L)
          {
             jjmatchedKind = 70;
             jjmatchedPos = 5;
          }
-         return jjMoveStringLiteralDfa6_0(active0, 0x100000000L, active1, 0x1c26000000802000L, active2, 0L);
+         return jjMoveStringLiteralDfa6_0(active0, 0x100000000L, active1, 0xe130000000802000L, active2, 0L);
       case 99:
-         return jjMoveStringLiteralDfa6_0(active0, 0x40000000L, active1, 0x6000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa6_0(active0, 0x40000000L, active1, 0L, active2, 0x3L);
       case 100:
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0L, active2, 0x8L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0L, active2, 0x40L);
       case 101:
          if ((active0 & 0x2000000L) != 0L)
          {
@@ -1259,37 +1259,37 @@ private final int jjMoveStringLiteralDfa5_0(long old0, long active0, long old1,
             jjmatchedKind = 74;
             jjmatchedPos = 5;
          }
-         else if ((active1 & 0x200000000000L) != 0L)
+         else if ((active1 & 0x1000000000000L) != 0L)
          {
-            jjmatchedKind = 109;
+            jjmatchedKind = 112;
             jjmatchedPos = 5;
          }
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x1000001000c000L, active2, 0x20L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x8000001000c000L, active2, 0x100L);
       case 103:
          if ((active1 & 0x200L) != 0L)
          {
             jjmatchedKind = 73;
             jjmatchedPos = 5;
          }
-         else if ((active1 & 0x400000000000L) != 0L)
+         else if ((active1 & 0x2000000000000L) != 0L)
          {
-            jjmatchedKind = 110;
+            jjmatchedKind = 113;
             jjmatchedPos = 5;
          }
          return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x40000000L, active2, 0L);
       case 105:
-         return jjMoveStringLiteralDfa6_0(active0, 0x680000000L, active1, 0x41000000420000L, active2, 0L);
+         return jjMoveStringLiteralDfa6_0(active0, 0x680000000L, active1, 0x208000000420000L, active2, 0L);
       case 108:
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x10000L, active2, 0x2L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x10000L, active2, 0x10L);
       case 110:
          if ((active1 & 0x800L) != 0L)
          {
             jjmatchedKind = 75;
             jjmatchedPos = 5;
          }
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x88000000201000L, active2, 0L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x440000000201000L, active2, 0L);
       case 111:
-         return jjMoveStringLiteralDfa6_0(active0, 0x800000000L, active1, 0x200000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa6_0(active0, 0x800000000L, active1, 0x1000000000000000L, active2, 0L);
       case 114:
          return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x2d100000L, active2, 0L);
       case 115:
@@ -1325,18 +1325,18 @@ private final int jjMoveStringLiteralDfa5_0(long old0, long active0, long old1,
             jjmatchedKind = 68;
             jjmatchedPos = 5;
          }
-         else if ((active1 & 0x100000000000L) != 0L)
+         else if ((active1 & 0x800000000000L) != 0L)
          {
-            jjmatchedKind = 108;
+            jjmatchedKind = 111;
             jjmatchedPos = 5;
          }
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x100000000000000L, active2, 0x5L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x800000000000000L, active2, 0x28L);
       case 117:
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x8000000000000000L, active2, 0x10L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0L, active2, 0x84L);
       case 121:
-         if ((active1 & 0x800000000000L) != 0L)
+         if ((active1 & 0x4000000000000L) != 0L)
          {
-            jjmatchedKind = 111;
+            jjmatchedKind = 114;
             jjmatchedPos = 5;
          }
          break;
@@ -1356,25 +1356,25 @@ private final int jjMoveStringLiteralDfa6_0(long old0, long active0, long old1,
    switch(curChar)
    {
       case 65:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x18000000d400000L, active2, 0x1L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0xc0000000d400000L, active2, 0x8L);
       case 66:
-         return jjMoveStringLiteralDfa7_0(active0, 0x400000000L, active1, 0x2000002000c0000L, active2, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0x400000000L, active1, 0x10000016000c0000L, active2, 0L);
       case 67:
-         if ((active1 & 0x1000000000000L) != 0L)
+         if ((active1 & 0x8000000000000L) != 0L)
          {
-            jjmatchedKind = 112;
+            jjmatchedKind = 115;
             jjmatchedPos = 6;
          }
-         return jjMoveStringLiteralDfa7_0(active0, 0x100000000L, active1, 0x1000000000200000L, active2, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0x100000000L, active1, 0x8000000000200000L, active2, 0L);
       case 69:
-         if ((active2 & 0x8L) != 0L)
+         if ((active2 & 0x40L) != 0L)
          {
-            jjmatchedKind = 131;
+            jjmatchedKind = 134;
             jjmatchedPos = 6;
          }
          return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x2100000L, active2, 0L);
       case 70:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0L, active2, 0x20L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0L, active2, 0x100L);
       case 71:
          if ((active1 & 0x1000L) != 0L)
          {
@@ -1382,22 +1382,24 @@ private final int jjMoveStringLiteralDfa6_0(long old0, long active0, long old1,
             jjmatchedPos = 6;
          }
          break;
+      case 72:
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x800000000L, active2, 0L);
       case 73:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0L, active2, 0x6L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0L, active2, 0x30L);
       case 76:
          if ((active1 & 0x2000L) != 0L)
          {
             jjmatchedKind = 77;
             jjmatchedPos = 6;
          }
-         else if ((active1 & 0x2000000000000L) != 0L)
+         else if ((active1 & 0x10000000000000L) != 0L)
          {
-            jjmatchedKind = 113;
+            jjmatchedKind = 116;
             jjmatchedPos = 6;
          }
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x800000L, active2, 0x10L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x800000L, active2, 0x80L);
       case 77:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x400000000L, active2, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x2000000000L, active2, 0L);
       case 78:
          if ((active0 & 0x80000000L) != 0L)
          {
@@ -1414,31 +1416,31 @@ private final int jjMoveStringLiteralDfa6_0(long old0, long active0, long old1,
             jjmatchedKind = 94;
             jjmatchedPos = 6;
          }
-         else if ((active1 & 0x4000000000000L) != 0L)
+         else if ((active1 & 0x20000000000000L) != 0L)
          {
-            jjmatchedKind = 114;
+            jjmatchedKind = 117;
             jjmatchedPos = 6;
          }
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x8040000110020000L, active2, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x200000110020000L, active2, 0x4L);
       case 79:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x6000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0L, active2, 0x3L);
       case 82:
          if ((active1 & 0x8000L) != 0L)
          {
             jjmatchedKind = 79;
             jjmatchedPos = 6;
          }
-         else if ((active1 & 0x10000000000000L) != 0L)
+         else if ((active1 & 0x80000000000000L) != 0L)
          {
-            jjmatchedKind = 116;
+            jjmatchedKind = 119;
             jjmatchedPos = 6;
          }
-         else if ((active1 & 0x20000000000000L) != 0L)
+         else if ((active1 & 0x100000000000000L) != 0L)
          {
-            jjmatchedKind = 117;
+            jjmatchedKind = 120;
             jjmatchedPos = 6;
          }
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0xc00000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x6000000000000000L, active2, 0L);
       case 84:
          if ((active0 & 0x40000000L) != 0L)
          {
@@ -1450,9 +1452,9 @@ private final int jjMoveStringLiteralDfa6_0(long old0, long active0, long old1,
             jjmatchedKind = 80;
             jjmatchedPos = 6;
          }
-         else if ((active1 & 0x8000000000000L) != 0L)
+         else if ((active1 & 0x40000000000000L) != 0L)
          {
-            jjmatchedKind = 115;
+            jjmatchedKind = 118;
             jjmatchedPos = 6;
          }
          break;
@@ -1468,25 +1470,25 @@ private final int jjMoveStringLiteralDfa6_0(long old0, long active0, long old1,
       case 90:
          return jjMoveStringLiteralDfa7_0(active0, 0x200000000L, active1, 0L, active2, 0L);
       case 97:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x18000000d400000L, active2, 0x1L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0xc0000000d400000L, active2, 0x8L);
       case 98:
-         return jjMoveStringLiteralDfa7_0(active0, 0x400000000L, active1, 0x2000002000c0000L, active2, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0x400000000L, active1, 0x10000016000c0000L, active2, 0L);
       case 99:
-         if ((active1 & 0x1000000000000L) != 0L)
+         if ((active1 & 0x8000000000000L) != 0L)
          {
-            jjmatchedKind = 112;
+            jjmatchedKind = 115;
             jjmatchedPos = 6;
          }
-         return jjMoveStringLiteralDfa7_0(active0, 0x100000000L, active1, 0x1000000000200000L, active2, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0x100000000L, active1, 0x8000000000200000L, active2, 0L);
       case 101:
-         if ((active2 & 0x8L) != 0L)
+         if ((active2 & 0x40L) != 0L)
          {
-            jjmatchedKind = 131;
+            jjmatchedKind = 134;
             jjmatchedPos = 6;
          }
          return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x2100000L, active2, 0L);
       case 102:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0L, active2, 0x20L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0L, active2, 0x100L);
       case 103:
          if ((active1 & 0x1000L) != 0L)
          {
@@ -1494,22 +1496,24 @@ private final int jjMoveStringLiteralDfa6_0(long old0, long active0, long old1,
             jjmatchedPos = 6;
          }
          break;
+      case 104:
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x800000000L, active2, 0L);
       case 105:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0L, active2, 0x6L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0L, active2, 0x30L);
       case 108:
          if ((active1 & 0x2000L) != 0L)
          {
             jjmatchedKind = 77;
             jjmatchedPos = 6;
          }
-         else if ((active1 & 0x2000000000000L) != 0L)
+         else if ((active1 & 0x10000000000000L) != 0L)
          {
-            jjmatchedKind = 113;
+            jjmatchedKind = 116;
             jjmatchedPos = 6;
          }
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x800000L, active2, 0x10L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x800000L, active2, 0x80L);
       case 109:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x400000000L, active2, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x2000000000L, active2, 0L);
       case 110:
          if ((active0 & 0x80000000L) != 0L)
          {
@@ -1526,31 +1530,31 @@ private final int jjMoveStringLiteralDfa6_0(long old0, long active0, long old1,
             jjmatchedKind = 94;
             jjmatchedPos = 6;
          }
-         else if ((active1 & 0x4000000000000L) != 0L)
+         else if ((active1 & 0x20000000000000L) != 0L)
          {
-            jjmatchedKind = 114;
+            jjmatchedKind = 117;
             jjmatchedPos = 6;
          }
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x8040000110020000L, active2, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x200000110020000L, active2, 0x4L);
       case 111:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x6000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0L, active2, 0x3L);
       case 114:
          if ((active1 & 0x8000L) != 0L)
          {
             jjmatchedKind = 79;
             jjmatchedPos = 6;
          }
-         else if ((active1 & 0x10000000000000L) != 0L)
+         else if ((active1 & 0x80000000000000L) != 0L)
          {
-            jjmatchedKind = 116;
+            jjmatchedKind = 119;
             jjmatchedPos = 6;
          }
-         else if ((active1 & 0x20000000000000L) != 0L)
+         else if ((active1 & 0x100000000000000L) != 0L)
          {
-            jjmatchedKind = 117;
+            jjmatchedKind = 120;
             jjmatchedPos = 6;
          }
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0xc00000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x6000000000000000L, active2, 0L);
       case 116:
          if ((active0 & 0x40000000L) != 0L)
          {
@@ -1562,9 +1566,9 @@ private final int jjMoveStringLiteralDfa6_0(long old0, long active0, long old1,
             jjmatchedKind = 80;
             jjmatchedPos = 6;
          }
-         else if ((active1 & 0x8000000000000L) != 0L)
+         else if ((active1 & 0x40000000000000L) != 0L)
          {
-            jjmatchedKind = 115;
+            jjmatchedKind = 118;
             jjmatchedPos = 6;
          }
          break;
@@ -1595,11 +1599,11 @@ private final int jjMoveStringLiteralDfa7_0(long old0, long active0, long old1,
    switch(curChar)
    {
       case 65:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x400000000L, active2, 0x20L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x2800000000L, active2, 0x100L);
       case 66:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x800000008000000L, active2, 0x1L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x4000000008000000L, active2, 0x8L);
       case 67:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x8400000012000000L, active2, 0L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x2000000012000000L, active2, 0x4L);
       case 68:
          if ((active1 & 0x100000L) != 0L)
          {
@@ -1627,9 +1631,9 @@ private final int jjMoveStringLiteralDfa7_0(long old0, long active0, long old1,
          }
          break;
       case 73:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x4000000L, active2, 0L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x1004000000L, active2, 0L);
       case 74:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x200000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x1000000000000000L, active2, 0L);
       case 75:
          if ((active0 & 0x100000000L) != 0L)
          {
@@ -1638,14 +1642,14 @@ private final int jjMoveStringLiteralDfa7_0(long old0, long active0, long old1,
          }
          break;
       case 76:
-         if ((active2 & 0x10L) != 0L)
+         if ((active2 & 0x80L) != 0L)
          {
-            jjmatchedKind = 132;
+            jjmatchedKind = 135;
             jjmatchedPos = 7;
          }
          return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x200800000L, active2, 0L);
       case 77:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x6100000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x800000000000000L, active2, 0x3L);
       case 78:
          if ((active0 & 0x800000000L) != 0L)
          {
@@ -1654,21 +1658,21 @@ private final int jjMoveStringLiteralDfa7_0(long old0, long active0, long old1,
          }
          break;
       case 79:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x100000000L, active2, 0x4L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x100000000L, active2, 0x20L);
       case 82:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x80000001000000L, active2, 0L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x400000001000000L, active2, 0L);
       case 84:
          if ((active1 & 0x200000L) != 0L)
          {
             jjmatchedKind = 85;
             jjmatchedPos = 7;
          }
-         else if ((active1 & 0x40000000000000L) != 0L)
+         else if ((active1 & 0x200000000000000L) != 0L)
          {
-            jjmatchedKind = 118;
+            jjmatchedKind = 121;
             jjmatchedPos = 7;
          }
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x1000000000400000L, active2, 0L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x8000000400400000L, active2, 0L);
       case 89:
          if ((active1 & 0x40000L) != 0L)
          {
@@ -1682,13 +1686,13 @@ private final int jjMoveStringLiteralDfa7_0(long old0, long active0, long old1,
          }
          break;
       case 90:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0L, active2, 0x2L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0L, active2, 0x10L);
       case 97:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x400000000L, active2, 0x20L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x2800000000L, active2, 0x100L);
       case 98:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x800000008000000L, active2, 0x1L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x4000000008000000L, active2, 0x8L);
       case 99:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x8400000012000000L, active2, 0L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x2000000012000000L, active2, 0x4L);
       case 100:
          if ((active1 & 0x100000L) != 0L)
          {
@@ -1716,9 +1720,9 @@ private final int jjMoveStringLiteralDfa7_0(long old0, long active0, long old1,
          }
          break;
       case 105:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x4000000L, active2, 0L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x1004000000L, active2, 0L);
       case 106:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x200000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x1000000000000000L, active2, 0L);
       case 107:
          if ((active0 & 0x100000000L) != 0L)
          {
@@ -1727,14 +1731,14 @@ private final int jjMoveStringLiteralDfa7_0(long old0, long active0, long old1,
          }
          break;
       case 108:
-         if ((active2 & 0x10L) != 0L)
+         if ((active2 & 0x80L) != 0L)
          {
-            jjmatchedKind = 132;
+            jjmatchedKind = 135;
             jjmatchedPos = 7;
          }
          return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x200800000L, active2, 0L);
       case 109:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x6100000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x800000000000000L, active2, 0x3L);
       case 110:
          if ((active0 & 0x800000000L) != 0L)
          {
@@ -1743,21 +1747,21 @@ private final int jjMoveStringLiteralDfa7_0(long old0, long active0, long old1,
          }
          break;
       case 111:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x100000000L, active2, 0x4L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x100000000L, active2, 0x20L);
       case 114:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x80000001000000L, active2, 0L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x400000001000000L, active2, 0L);
       case 116:
          if ((active1 & 0x200000L) != 0L)
          {
             jjmatchedKind = 85;
             jjmatchedPos = 7;
          }
-         else if ((active1 & 0x40000000000000L) != 0L)
+         else if ((active1 & 0x200000000000000L) != 0L)
          {
-            jjmatchedKind = 118;
+            jjmatchedKind = 121;
             jjmatchedPos = 7;
          }
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x1000000000400000L, active2, 0L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x8000000400400000L, active2, 0L);
       case 121:
          if ((active1 & 0x40000L) != 0L)
          {
@@ -1771,7 +1775,7 @@ private final int jjMoveStringLiteralDfa7_0(long old0, long active0, long old1,
          }
          break;
       case 122:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0L, active2, 0x2L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0L, active2, 0x10L);
       default :
          break;
    }
@@ -1788,51 +1792,55 @@ private final int jjMoveStringLiteralDfa8_0(long old0, long active0, long old1,
    switch(curChar)
    {
       case 65:
-         return jjMoveStringLiteralDfa9_0(active1, 0L, active2, 0x2L);
+         return jjMoveStringLiteralDfa9_0(active1, 0L, active2, 0x10L);
       case 69:
          if ((active1 & 0x400000L) != 0L)
          {
             jjmatchedKind = 86;
             jjmatchedPos = 8;
          }
-         return jjMoveStringLiteralDfa9_0(active1, 0x200000010000000L, active2, 0L);
+         return jjMoveStringLiteralDfa9_0(active1, 0x1000000010000000L, active2, 0L);
       case 72:
-         return jjMoveStringLiteralDfa9_0(active1, 0x400000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa9_0(active1, 0x2000000000000000L, active2, 0L);
       case 73:
-         return jjMoveStringLiteralDfa9_0(active1, 0x1800000200000000L, active2, 0L);
+         return jjMoveStringLiteralDfa9_0(active1, 0xc000000200000000L, active2, 0L);
       case 76:
-         return jjMoveStringLiteralDfa9_0(active1, 0x8000000L, active2, 0x1L);
+         return jjMoveStringLiteralDfa9_0(active1, 0x8000000L, active2, 0x8L);
       case 77:
-         return jjMoveStringLiteralDfa9_0(active1, 0x6000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa9_0(active1, 0L, active2, 0x3L);
       case 78:
-         if ((active2 & 0x4L) != 0L)
+         if ((active2 & 0x20L) != 0L)
          {
-            jjmatchedKind = 130;
+            jjmatchedKind = 133;
             jjmatchedPos = 8;
          }
          return jjMoveStringLiteralDfa9_0(active1, 0x104000000L, active2, 0L);
       case 79:
-         return jjMoveStringLiteralDfa9_0(active1, 0x8000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa9_0(active1, 0L, active2, 0x4L);
       case 80:
-         if ((active1 & 0x100000000000000L) != 0L)
+         if ((active1 & 0x800000000000000L) != 0L)
          {
-            jjmatchedKind = 120;
+            jjmatchedKind = 123;
             jjmatchedPos = 8;
          }
          break;
+      case 82:
+         return jjMoveStringLiteralDfa9_0(active1, 0x400000000L, active2, 0L);
+      case 83:
+         return jjMoveStringLiteralDfa9_0(active1, 0x800000000L, active2, 0L);
       case 84:
          if ((active1 & 0x2000000L) != 0L)
          {
             jjmatchedKind = 89;
             jjmatchedPos = 8;
          }
-         break;
+         return jjMoveStringLiteralDfa9_0(active1, 0x1000000000L, active2, 0L);
       case 85:
-         return jjMoveStringLiteralDfa9_0(active1, 0L, active2, 0x20L);
+         return jjMoveStringLiteralDfa9_0(active1, 0L, active2, 0x100L);
       case 88:
-         if ((active1 & 0x400000000L) != 0L)
+         if ((active1 & 0x2000000000L) != 0L)
          {
-            jjmatchedKind = 98;
+            jjmatchedKind = 101;
             jjmatchedPos = 8;
          }
          break;
@@ -1847,58 +1855,62 @@ private final int jjMoveStringLiteralDfa8_0(long old0, long active0, long old1,
             jjmatchedKind = 88;
             jjmatchedPos = 8;
          }
-         else if ((active1 & 0x80000000000000L) != 0L)
+         else if ((active1 & 0x400000000000000L) != 0L)
          {
-            jjmatchedKind = 119;
+            jjmatchedKind = 122;
             jjmatchedPos = 8;
          }
          break;
       case 97:
-         return jjMoveStringLiteralDfa9_0(active1, 0L, active2, 0x2L);
+         return jjMoveStringLiteralDfa9_0(active1, 0L, active2, 0x10L);
       case 101:
          if ((active1 & 0x400000L) != 0L)
          {
             jjmatchedKind = 86;
             jjmatchedPos = 8;
          }
-         return jjMoveStringLiteralDfa9_0(active1, 0x200000010000000L, active2, 0L);
+         return jjMoveStringLiteralDfa9_0(active1, 0x1000000010000000L, active2, 0L);
       case 104:
-         return jjMoveStringLiteralDfa9_0(active1, 0x400000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa9_0(active1, 0x2000000000000000L, active2, 0L);
       case 105:
-         return jjMoveStringLiteralDfa9_0(active1, 0x1800000200000000L, active2, 0L);
+         return jjMoveStringLiteralDfa9_0(active1, 0xc000000200000000L, active2, 0L);
       case 108:
-         return jjMoveStringLiteralDfa9_0(active1, 0x8000000L, active2, 0x1L);
+         return jjMoveStringLiteralDfa9_0(active1, 0x8000000L, active2, 0x8L);
       case 109:
-         return jjMoveStringLiteralDfa9_0(active1, 0x6000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa9_0(active1, 0L, active2, 0x3L);
       case 110:
-         if ((active2 & 0x4L) != 0L)
+         if ((active2 & 0x20L) != 0L)
          {
-            jjmatchedKind = 130;
+            jjmatchedKind = 133;
             jjmatchedPos = 8;
          }
          return jjMoveStringLiteralDfa9_0(active1, 0x104000000L, active2, 0L);
       case 111:
-         return jjMoveStringLiteralDfa9_0(active1, 0x8000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa9_0(active1, 0L, active2, 0x4L);
       case 112:
-         if ((active1 & 0x100000000000000L) != 0L)
+         if ((active1 & 0x800000000000000L) != 0L)
          {
-            jjmatchedKind = 120;
+            jjmatchedKind = 123;
             jjmatchedPos = 8;
          }
          break;
+      case 114:
+         return jjMoveStringLiteralDfa9_0(active1, 0x400000000L, active2, 0L);
+      case 115:
+         return jjMoveStringLiteralDfa9_0(active1, 0x800000000L, active2, 0L);
       case 116:
          if ((active1 & 0x2000000L) != 0L)
          {
             jjmatchedKind = 89;
             jjmatchedPos = 8;
          }
-         break;
+         return jjMoveStringLiteralDfa9_0(active1, 0x1000000000L, active2, 0L);
       case 117:
-         return jjMoveStringLiteralDfa9_0(active1, 0L, active2, 0x20L);
+         return jjMoveStringLiteralDfa9_0(active1, 0L, active2, 0x100L);
       case 120:
-         if ((active1 & 0x400000000L) != 0L)
+         if ((active1 & 0x2000000000L) != 0L)
          {
-            jjmatchedKind = 98;
+            jjmatchedKind = 101;
             jjmatchedPos = 8;
          }
          break;
@@ -1913,9 +1925,9 @@ private final int jjMoveStringLiteralDfa8_0(long old0, long active0, long old1,
             jjmatchedKind = 88;
             jjmatchedPos = 8;
          }
-         else if ((active1 & 0x80000000000000L) != 0L)
+         else if ((active1 & 0x400000000000000L) != 0L)
          {
-            jjmatchedKind = 119;
+            jjmatchedKind = 122;
             jjmatchedPos = 8;
          }
          break;
@@ -1935,11 +1947,11 @@ private final int jjMoveStringLiteralDfa9_0(long old1, long active1, long old2,
    switch(curChar)
    {
       case 65:
-         return jjMoveStringLiteralDfa10_0(active1, 0x400000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa10_0(active1, 0x2000000000000000L, active2, 0L);
       case 66:
-         return jjMoveStringLiteralDfa10_0(active1, 0L, active2, 0x2L);
+         return jjMoveStringLiteralDfa10_0(active1, 0L, active2, 0x10L);
       case 67:
-         return jjMoveStringLiteralDfa10_0(active1, 0x200000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa10_0(active1, 0x1000000000000000L, active2, 0L);
       case 69:
          if ((active1 & 0x8000000L) != 0L)
          {
@@ -1951,17 +1963,24 @@ private final int jjMoveStringLiteralDfa9_0(long old1, long active1, long old2,
             jjmatchedKind = 96;
             jjmatchedPos = 9;
          }
-         return jjMoveStringLiteralDfa10_0(active1, 0L, active2, 0x1L);
+         return jjMoveStringLiteralDfa10_0(active1, 0x400000000L, active2, 0x8L);
+      case 72:
+         if ((active1 & 0x800000000L) != 0L)
+         {
+            jjmatchedKind = 99;
+            jjmatchedPos = 9;
+         }
+         break;
       case 73:
-         return jjMoveStringLiteralDfa10_0(active1, 0x6000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa10_0(active1, 0L, active2, 0x3L);
       case 76:
-         return jjMoveStringLiteralDfa10_0(active1, 0L, active2, 0x20L);
+         return jjMoveStringLiteralDfa10_0(active1, 0L, active2, 0x100L);
       case 77:
-         return jjMoveStringLiteralDfa10_0(active1, 0x8000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa10_0(active1, 0x1000000000L, active2, 0x4L);
       case 78:
-         return jjMoveStringLiteralDfa10_0(active1, 0x800000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa10_0(active1, 0x4000000000000000L, active2, 0L);
       case 79:
-         return jjMoveStringLiteralDfa10_0(active1, 0x1000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa10_0(active1, 0x8000000000000000L, active2, 0L);
       case 83:
          if ((active1 & 0x10000000L) != 0L)
          {
@@ -1977,11 +1996,11 @@ private final int jjMoveStringLiteralDfa9_0(long old1, long active1, long old2,
          }
          break;
       case 97:
-         return jjMoveStringLiteralDfa10_0(active1, 0x400000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa10_0(active1, 0x2000000000000000L, active2, 0L);
       case 98:
-         return jjMoveStringLiteralDfa10_0(active1, 0L, active2, 0x2L);
+         return jjMoveStringLiteralDfa10_0(active1, 0L, active2, 0x10L);
       case 99:
-         return jjMoveStringLiteralDfa10_0(active1, 0x200000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa10_0(active1, 0x1000000000000000L, active2, 0L);
       case 101:
          if ((active1 & 0x8000000L) != 0L)
          {
@@ -1993,17 +2012,24 @@ private final int jjMoveStringLiteralDfa9_0(long old1, long active1, long old2,
             jjmatchedKind = 96;
             jjmatchedPos = 9;
          }
-         return jjMoveStringLiteralDfa10_0(active1, 0L, active2, 0x1L);
+         return jjMoveStringLiteralDfa10_0(active1, 0x400000000L, active2, 0x8L);
+      case 104:
+         if ((active1 & 0x800000000L) != 0L)
+         {
+            jjmatchedKind = 99;
+            jjmatchedPos = 9;
+         }
+         break;
       case 105:
-         return jjMoveStringLiteralDfa10_0(active1, 0x6000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa10_0(active1, 0L, active2, 0x3L);
       case 108:
-         return jjMoveStringLiteralDfa10_0(active1, 0L, active2, 0x20L);
+         return jjMoveStringLiteralDfa10_0(active1, 0L, active2, 0x100L);
       case 109:
-         return jjMoveStringLiteralDfa10_0(active1, 0x8000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa10_0(active1, 0x1000000000L, active2, 0x4L);
       case 110:
-         return jjMoveStringLiteralDfa10_0(active1, 0x800000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa10_0(active1, 0x4000000000000000L, active2, 0L);
       case 111:
-         return jjMoveStringLiteralDfa10_0(active1, 0x1000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa10_0(active1, 0x8000000000000000L, active2, 0L);
       case 115:
          if ((active1 & 0x10000000L) != 0L)
          {
@@ -2034,19 +2060,26 @@ private final int jjMoveStringLiteralDfa10_0(long old1, long active1, long old2,
    switch(curChar)
    {
       case 32:
-         return jjMoveStringLiteralDfa11_0(active1, 0L, active2, 0x1L);
+         return jjMoveStringLiteralDfa11_0(active1, 0L, active2, 0x8L);
       case 65:
-         return jjMoveStringLiteralDfa11_0(active1, 0x800000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa11_0(active1, 0x4000001000000000L, active2, 0L);
+      case 69:
+         if ((active1 & 0x400000000L) != 0L)
+         {
+            jjmatchedKind = 98;
+            jjmatchedPos = 10;
+         }
+         break;
       case 76:
-         return jjMoveStringLiteralDfa11_0(active1, 0L, active2, 0x2L);
+         return jjMoveStringLiteralDfa11_0(active1, 0L, active2, 0x10L);
       case 77:
-         return jjMoveStringLiteralDfa11_0(active1, 0x8000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa11_0(active1, 0L, active2, 0x4L);
       case 78:
-         return jjMoveStringLiteralDfa11_0(active1, 0x1000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa11_0(active1, 0x8000000000000000L, active2, 0L);
       case 82:
-         if ((active1 & 0x400000000000000L) != 0L)
+         if ((active1 & 0x2000000000000000L) != 0L)
          {
-            jjmatchedKind = 122;
+            jjmatchedKind = 125;
             jjmatchedPos = 10;
          }
          break;
@@ -2056,34 +2089,41 @@ private final int jjMoveStringLiteralDfa10_0(long old1, long active1, long old2,
             jjmatchedKind = 97;
             jjmatchedPos = 10;
          }
-         else if ((active1 & 0x200000000000000L) != 0L)
+         else if ((active1 & 0x1000000000000000L) != 0L)
          {
-            jjmatchedKind = 121;
+            jjmatchedKind = 124;
             jjmatchedPos = 10;
          }
-         else if ((active1 & 0x2000000000000000L) != 0L)
+         else if ((active2 & 0x1L) != 0L)
          {
-            jjmatchedKind = 125;
+            jjmatchedKind = 128;
             jjmatchedPos = 10;
          }
-         else if ((active2 & 0x20L) != 0L)
+         else if ((active2 & 0x100L) != 0L)
          {
-            jjmatchedKind = 133;
+            jjmatchedKind = 136;
             jjmatchedPos = 10;
          }
-         return jjMoveStringLiteralDfa11_0(active1, 0x4000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa11_0(active1, 0L, active2, 0x2L);
       case 97:
-         return jjMoveStringLiteralDfa11_0(active1, 0x800000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa11_0(active1, 0x4000001000000000L, active2, 0L);
+      case 101:
+         if ((active1 & 0x400000000L) != 0L)
+         {
+            jjmatchedKind = 98;
+            jjmatchedPos = 10;
+         }
+         break;
       case 108:
-         return jjMoveStringLiteralDfa11_0(active1, 0L, active2, 0x2L);
+         return jjMoveStringLiteralDfa11_0(active1, 0L, active2, 0x10L);
       case 109:
-         return jjMoveStringLiteralDfa11_0(active1, 0x8000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa11_0(active1, 0L, active2, 0x4L);
       case 110:
-         return jjMoveStringLiteralDfa11_0(active1, 0x1000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa11_0(active1, 0x8000000000000000L, active2, 0L);
       case 114:
-         if ((active1 & 0x400000000000000L) != 0L)
+         if ((active1 & 0x2000000000000000L) != 0L)
          {
-            jjmatchedKind = 122;
+            jjmatchedKind = 125;
             jjmatchedPos = 10;
          }
          break;
@@ -2093,22 +2133,22 @@ private final int jjMoveStringLiteralDfa10_0(long old1, long active1, long old2,
             jjmatchedKind = 97;
             jjmatchedPos = 10;
          }
-         else if ((active1 & 0x200000000000000L) != 0L)
+         else if ((active1 & 0x1000000000000000L) != 0L)
          {
-            jjmatchedKind = 121;
+            jjmatchedKind = 124;
             jjmatchedPos = 10;
          }
-         else if ((active1 & 0x2000000000000000L) != 0L)
+         else if ((active2 & 0x1L) != 0L)
          {
-            jjmatchedKind = 125;
+            jjmatchedKind = 128;
             jjmatchedPos = 10;
          }
-         else if ((active2 & 0x20L) != 0L)
+         else if ((active2 & 0x100L) != 0L)
          {
-            jjmatchedKind = 133;
+            jjmatchedKind = 136;
             jjmatchedPos = 10;
          }
-         return jjMoveStringLiteralDfa11_0(active1, 0x4000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa11_0(active1, 0L, active2, 0x2L);
       default :
          break;
    }
@@ -2125,33 +2165,47 @@ private final int jjMoveStringLiteralDfa11_0(long old1, long active1, long old2,
    switch(curChar)
    {
       case 32:
-         return jjMoveStringLiteralDfa12_0(active1, 0x1000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa12_0(active1, 0x8000000000000000L, active2, 0L);
       case 69:
-         if ((active2 & 0x2L) != 0L)
+         if ((active2 & 0x10L) != 0L)
          {
-            jjmatchedKind = 129;
+            jjmatchedKind = 132;
             jjmatchedPos = 11;
          }
          break;
       case 73:
-         return jjMoveStringLiteralDfa12_0(active1, 0x8000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa12_0(active1, 0L, active2, 0x4L);
+      case 80:
+         if ((active1 & 0x1000000000L) != 0L)
+         {
+            jjmatchedKind = 100;
+            jjmatchedPos = 11;
+         }
+         break;
       case 82:
-         return jjMoveStringLiteralDfa12_0(active1, 0x800000000000000L, active2, 0x1L);
+         return jjMoveStringLiteralDfa12_0(active1, 0x4000000000000000L, active2, 0x8L);
       case 84:
-         return jjMoveStringLiteralDfa12_0(active1, 0x4000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa12_0(active1, 0L, active2, 0x2L);
       case 101:
-         if ((active2 & 0x2L) != 0L)
+         if ((active2 & 0x10L) != 0L)
          {
-            jjmatchedKind = 129;
+            jjmatchedKind = 132;
             jjmatchedPos = 11;
          }
          break;
       case 105:
-         return jjMoveStringLiteralDfa12_0(active1, 0x8000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa12_0(active1, 0L, active2, 0x4L);
+      case 112:
+         if ((active1 & 0x1000000000L) != 0L)
+         {
+            jjmatchedKind = 100;
+            jjmatchedPos = 11;
+         }
+         break;
       case 114:
-         return jjMoveStringLiteralDfa12_0(active1, 0x800000000000000L, active2, 0x1L);
+         return jjMoveStringLiteralDfa12_0(active1, 0x4000000000000000L, active2, 0x8L);
       case 116:
-         return jjMoveStringLiteralDfa12_0(active1, 0x4000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa12_0(active1, 0L, active2, 0x2L);
       default :
          break;
    }
@@ -2168,28 +2222,28 @@ private final int jjMoveStringLiteralDfa12_0(long old1, long active1, long old2,
    switch(curChar)
    {
       case 69:
-         return jjMoveStringLiteralDfa13_0(active1, 0x4000000000000000L, active2, 0x1L);
+         return jjMoveStringLiteralDfa13_0(active1, 0L, active2, 0xaL);
       case 73:
-         return jjMoveStringLiteralDfa13_0(active1, 0x1000000000000000L, active2, 0L);
-      case 84:
          return jjMoveStringLiteralDfa13_0(active1, 0x8000000000000000L, active2, 0L);
+      case 84:
+         return jjMoveStringLiteralDfa13_0(active1, 0L, active2, 0x4L);
       case 89:
-         if ((active1 & 0x800000000000000L) != 0L)
+         if ((active1 & 0x4000000000000000L) != 0L)
          {
-            jjmatchedKind = 123;
+            jjmatchedKind = 126;
             jjmatchedPos = 12;
          }
          break;
       case 101:
-         return jjMoveStringLiteralDfa13_0(active1, 0x4000000000000000L, active2, 0x1L);
+         return jjMoveStringLiteralDfa13_0(active1, 0L, active2, 0xaL);
       case 105:
-         return jjMoveStringLiteralDfa13_0(active1, 0x1000000000000000L, active2, 0L);
-      case 116:
          return jjMoveStringLiteralDfa13_0(active1, 0x8000000000000000L, active2, 0L);
+      case 116:
+         return jjMoveStringLiteralDfa13_0(active1, 0L, active2, 0x4L);
       case 121:
-         if ((active1 & 0x800000000000000L) != 0L)
+         if ((active1 & 0x4000000000000000L) != 0L)
          {
-            jjmatchedKind = 123;
+            jjmatchedKind = 126;
             jjmatchedPos = 12;
          }
          break;
@@ -2209,31 +2263,31 @@ private final int jjMoveStringLiteralDfa13_0(long old1, long active1, long old2,
    switch(curChar)
    {
       case 65:
-         return jjMoveStringLiteralDfa14_0(active1, 0L, active2, 0x1L);
+         return jjMoveStringLiteralDfa14_0(active1, 0L, active2, 0x8L);
       case 68:
-         if ((active1 & 0x4000000000000000L) != 0L)
+         if ((active2 & 0x2L) != 0L)
          {
-            jjmatchedKind = 126;
+            jjmatchedKind = 129;
             jjmatchedPos = 13;
          }
          break;
       case 83:
-         return jjMoveStringLiteralDfa14_0(active1, 0x1000000000000000L, active2, 0L);
-      case 84:
          return jjMoveStringLiteralDfa14_0(active1, 0x8000000000000000L, active2, 0L);
+      case 84:
+         return jjMoveStringLiteralDfa14_0(active1, 0L, active2, 0x4L);
       case 97:
-         return jjMoveStringLiteralDfa14_0(active1, 0L, active2, 0x1L);
+         return jjMoveStringLiteralDfa14_0(active1, 0L, active2, 0x8L);
       case 100:
-         if ((active1 & 0x4000000000000000L) != 0L)
+         if ((active2 & 0x2L) != 0L)
          {
-            jjmatchedKind = 126;
+            jjmatchedKind = 129;
             jjmatchedPos = 13;
          }
          break;
       case 115:
-         return jjMoveStringLiteralDfa14_0(active1, 0x1000000000000000L, active2, 0L);
-      case 116:
          return jjMoveStringLiteralDfa14_0(active1, 0x8000000000000000L, active2, 0L);
+      case 116:
+         return jjMoveStringLiteralDfa14_0(active1, 0L, active2, 0x4L);
       default :
          break;
    }
@@ -2250,27 +2304,27 @@ private final int jjMoveStringLiteralDfa14_0(long old1, long active1, long old2,
    switch(curChar)
    {
       case 68:
-         if ((active2 & 0x1L) != 0L)
+         if ((active2 & 0x8L) != 0L)
          {
-            jjmatchedKind = 128;
+            jjmatchedKind = 131;
             jjmatchedPos = 14;
          }
          break;
       case 69:
-         return jjMoveStringLiteralDfa15_0(active1, 0x8000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa15_0(active1, 0L, active2, 0x4L);
       case 79:
-         return jjMoveStringLiteralDfa15_0(active1, 0x1000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa15_0(active1, 0x8000000000000000L, active2, 0L);
       case 100:
-         if ((active2 & 0x1L) != 0L)
+         if ((active2 & 0x8L) != 0L)
          {
-            jjmatchedKind = 128;
+            jjmatchedKind = 131;
             jjmatchedPos = 14;
          }
          break;
       case 101:
-         return jjMoveStringLiteralDfa15_0(active1, 0x8000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa15_0(active1, 0L, active2, 0x4L);
       case 111:
-         return jjMoveStringLiteralDfa15_0(active1, 0x1000000000000000L, active2, 0L);
+         return jjMoveStringLiteralDfa15_0(active1, 0x8000000000000000L, active2, 0L);
       default :
          break;
    }
@@ -2287,31 +2341,31 @@ private final int jjMoveStringLiteralDfa15_0(long old1, long active1, long old2,
    switch(curChar)
    {
       case 68:
-         if ((active1 & 0x8000000000000000L) != 0L)
+         if ((active2 & 0x4L) != 0L)
          {
-            jjmatchedKind = 127;
+            jjmatchedKind = 130;
             jjmatchedPos = 15;
          }
          break;
       case 76:
-         return jjMoveStringLiteralDfa16_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa16_0(active1, 0x8000000000000000L, active2, 0L);
       case 100:
-         if ((active1 & 0x8000000000000000L) != 0L)
+         if ((active2 & 0x4L) != 0L)
          {
-            jjmatchedKind = 127;
+            jjmatchedKind = 130;
             jjmatchedPos = 15;
          }
          break;
       case 108:
-         return jjMoveStringLiteralDfa16_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa16_0(active1, 0x8000000000000000L, active2, 0L);
       default :
          break;
    }
    return jjMoveNfa_0(5, 15);
 }
-private final int jjMoveStringLiteralDfa16_0(long old1, long active1)
+private final int jjMoveStringLiteralDfa16_0(long old1, long active1, long old2, long active2)
 {
-   if (((active1 &= old1)) == 0L)
+   if (((active1 &= old1) | (active2 &= old2)) == 0L)
       return jjMoveNfa_0(5, 15);
    try { curChar = input_stream.readChar(); }
    catch(java.io.IOException e) {
@@ -2320,9 +2374,9 @@ private final int jjMoveStringLiteralDfa16_0(long old1, long active1)
    switch(curChar)
    {
       case 65:
-         return jjMoveStringLiteralDfa17_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa17_0(active1, 0x8000000000000000L);
       case 97:
-         return jjMoveStringLiteralDfa17_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa17_0(active1, 0x8000000000000000L);
       default :
          break;
    }
@@ -2339,9 +2393,9 @@ private final int jjMoveStringLiteralDfa17_0(long old1, long active1)
    switch(curChar)
    {
       case 84:
-         return jjMoveStringLiteralDfa18_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa18_0(active1, 0x8000000000000000L);
       case 116:
-         return jjMoveStringLiteralDfa18_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa18_0(active1, 0x8000000000000000L);
       default :
          break;
    }
@@ -2358,9 +2412,9 @@ private final int jjMoveStringLiteralDfa18_0(long old1, long active1)
    switch(curChar)
    {
       case 73:
-         return jjMoveStringLiteralDfa19_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa19_0(active1, 0x8000000000000000L);
       case 105:
-         return jjMoveStringLiteralDfa19_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa19_0(active1, 0x8000000000000000L);
       default :
          break;
    }
@@ -2377,9 +2431,9 @@ private final int jjMoveStringLiteralDfa19_0(long old1, long active1)
    switch(curChar)
    {
       case 79:
-         return jjMoveStringLiteralDfa20_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa20_0(active1, 0x8000000000000000L);
       case 111:
-         return jjMoveStringLiteralDfa20_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa20_0(active1, 0x8000000000000000L);
       default :
          break;
    }
@@ -2396,9 +2450,9 @@ private final int jjMoveStringLiteralDfa20_0(long old1, long active1)
    switch(curChar)
    {
       case 78:
-         return jjMoveStringLiteralDfa21_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa21_0(active1, 0x8000000000000000L);
       case 110:
-         return jjMoveStringLiteralDfa21_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa21_0(active1, 0x8000000000000000L);
       default :
          break;
    }
@@ -2415,7 +2469,7 @@ private final int jjMoveStringLiteralDfa21_0(long old1, long active1)
    switch(curChar)
    {
       case 32:
-         return jjMoveStringLiteralDfa22_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa22_0(active1, 0x8000000000000000L);
       default :
          break;
    }
@@ -2432,9 +2486,9 @@ private final int jjMoveStringLiteralDfa22_0(long old1, long active1)
    switch(curChar)
    {
       case 76:
-         return jjMoveStringLiteralDfa23_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa23_0(active1, 0x8000000000000000L);
       case 108:
-         return jjMoveStringLiteralDfa23_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa23_0(active1, 0x8000000000000000L);
       default :
          break;
    }
@@ -2451,9 +2505,9 @@ private final int jjMoveStringLiteralDfa23_0(long old1, long active1)
    switch(curChar)
    {
       case 69:
-         return jjMoveStringLiteralDfa24_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa24_0(active1, 0x8000000000000000L);
       case 101:
-         return jjMoveStringLiteralDfa24_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa24_0(active1, 0x8000000000000000L);
       default :
          break;
    }
@@ -2470,9 +2524,9 @@ private final int jjMoveStringLiteralDfa24_0(long old1, long active1)
    switch(curChar)
    {
       case 86:
-         return jjMoveStringLiteralDfa25_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa25_0(active1, 0x8000000000000000L);
       case 118:
-         return jjMoveStringLiteralDfa25_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa25_0(active1, 0x8000000000000000L);
       default :
          break;
    }
@@ -2489,9 +2543,9 @@ private final int jjMoveStringLiteralDfa25_0(long old1, long active1)
    switch(curChar)
    {
       case 69:
-         return jjMoveStringLiteralDfa26_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa26_0(active1, 0x8000000000000000L);
       case 101:
-         return jjMoveStringLiteralDfa26_0(active1, 0x1000000000000000L);
+         return jjMoveStringLiteralDfa26_0(active1, 0x8000000000000000L);
       default :
          break;
    }
@@ -2508,16 +2562,16 @@ private final int jjMoveStringLiteralDfa26_0(long old1, long active1)
    switch(curChar)
    {
       case 76:
-         if ((active1 & 0x1000000000000000L) != 0L)
+         if ((active1 & 0x8000000000000000L) != 0L)
          {
-            jjmatchedKind = 124;
+            jjmatchedKind = 127;
             jjmatchedPos = 26;
          }
          break;
       case 108:
-         if ((active1 & 0x1000000000000000L) != 0L)
+         if ((active1 & 0x8000000000000000L) != 0L)
          {
-            jjmatchedKind = 124;
+            jjmatchedKind = 127;
             jjmatchedPos = 26;
          }
          break;
@@ -2588,8 +2642,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 5:
                   if ((0x3ff000000000000L & l) != 0L)
                   {
-                     if (kind > 140)
-                        kind = 140;
+                     if (kind > 143)
+                        kind = 143;
                      jjCheckNAddStates(0, 2);
                   }
                   else if ((0x280000000000L & l) != 0L)
@@ -2695,8 +2749,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 36:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 140)
-                     kind = 140;
+                  if (kind > 143)
+                     kind = 143;
                   jjCheckNAddStates(0, 2);
                   break;
                case 37:
@@ -2706,8 +2760,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 38:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 140)
-                     kind = 140;
+                  if (kind > 143)
+                     kind = 143;
                   jjCheckNAddTwoStates(38, 39);
                   break;
                case 40:
@@ -2717,8 +2771,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 41:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 140)
-                     kind = 140;
+                  if (kind > 143)
+                     kind = 143;
                   jjCheckNAdd(41);
                   break;
                case 42:
@@ -2728,8 +2782,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 43:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 140)
-                     kind = 140;
+                  if (kind > 143)
+                     kind = 143;
                   jjCheckNAddTwoStates(43, 39);
                   break;
                case 44:
@@ -2750,8 +2804,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                      jjCheckNAddStates(9, 12);
                   break;
                case 50:
-                  if (curChar == 39 && kind > 141)
-                     kind = 141;
+                  if (curChar == 39 && kind > 144)
+                     kind = 144;
                   break;
                case 51:
                   if (curChar == 34)
@@ -2762,8 +2816,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                      jjCheckNAddTwoStates(52, 53);
                   break;
                case 53:
-                  if (curChar == 34 && kind > 142)
-                     kind = 142;
+                  if (curChar == 34 && kind > 145)
+                     kind = 145;
                   break;
                case 54:
                   if ((0x3ff400000000000L & l) != 0L)
@@ -2772,8 +2826,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 55:
                   if (curChar != 34)
                      break;
-                  if (kind > 145)
-                     kind = 145;
+                  if (kind > 148)
+                     kind = 148;
                   jjstateSet[jjnewStateCnt++] = 56;
                   break;
                case 56:
@@ -2809,8 +2863,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                      jjCheckNAddTwoStates(63, 60);
                   break;
                case 64:
-                  if (curChar == 42 && kind > 149)
-                     kind = 149;
+                  if (curChar == 42 && kind > 152)
+                     kind = 152;
                   break;
                case 65:
                   if (curChar == 46)
@@ -2819,15 +2873,15 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 67:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 143)
-                     kind = 143;
+                  if (kind > 146)
+                     kind = 146;
                   jjstateSet[jjnewStateCnt++] = 67;
                   break;
                case 68:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 144)
-                     kind = 144;
+                  if (kind > 147)
+                     kind = 147;
                   jjCheckNAddTwoStates(68, 69);
                   break;
                case 69:
@@ -2837,8 +2891,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 71:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 144)
-                     kind = 144;
+                  if (kind > 147)
+                     kind = 147;
                   jjCheckNAddTwoStates(69, 71);
                   break;
                case 72:
@@ -2856,8 +2910,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 78:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 147)
-                     kind = 147;
+                  if (kind > 150)
+                     kind = 150;
                   jjstateSet[jjnewStateCnt++] = 78;
                   break;
                case 79:
@@ -2873,8 +2927,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                      jjCheckNAddStates(33, 35);
                   break;
                case 83:
-                  if (curChar == 42 && kind > 148)
-                     kind = 148;
+                  if (curChar == 42 && kind > 151)
+                     kind = 151;
                   break;
                case 84:
                   if (curChar == 46)
@@ -2894,8 +2948,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 5:
                   if ((0x7fffffe87fffffeL & l) != 0L)
                   {
-                     if (kind > 143)
-                        kind = 143;
+                     if (kind > 146)
+                        kind = 146;
                      jjCheckNAddStates(36, 45);
                   }
                   if ((0x4000000040000L & l) != 0L)
@@ -3016,30 +3070,30 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 66:
                   if ((0x7fffffe87fffffeL & l) == 0L)
                      break;
-                  if (kind > 143)
-                     kind = 143;
+                  if (kind > 146)
+                     kind = 146;
                   jjCheckNAddStates(36, 45);
                   break;
                case 67:
                   if ((0x7fffffe87fffffeL & l) == 0L)
                      break;
-                  if (kind > 143)
-                     kind = 143;
+                  if (kind > 146)
+                     kind = 146;
                   jjCheckNAdd(67);
                   break;
                case 68:
                   if ((0x7fffffe87fffffeL & l) == 0L)
                      break;
-                  if (kind > 144)
-                     kind = 144;
+                  if (kind > 147)
+                     kind = 147;
                   jjCheckNAddTwoStates(68, 69);
                   break;
                case 70:
                case 71:
                   if ((0x7fffffe87fffffeL & l) == 0L)
                      break;
-                  if (kind > 144)
-                     kind = 144;
+                  if (kind > 147)
+                     kind = 147;
                   jjCheckNAddTwoStates(69, 71);
                   break;
                case 72:
@@ -3052,8 +3106,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                      jjCheckNAddStates(27, 29);
                   break;
                case 76:
-                  if (curChar == 93 && kind > 146)
-                     kind = 146;
+                  if (curChar == 93 && kind > 149)
+                     kind = 149;
                   break;
                case 77:
                   if (curChar == 91)
@@ -3062,8 +3116,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 78:
                   if ((0x7fffffe87fffffeL & l) == 0L)
                      break;
-                  if (kind > 147)
-                     kind = 147;
+                  if (kind > 150)
+                     kind = 150;
                   jjCheckNAdd(78);
                   break;
                case 79:
@@ -3156,13 +3210,13 @@ null, null, null, null, null, null, null, null, null, null, null, null, null, nu
 null, null, null, null, null, null, null, null, null, null, null, null, null, null, 
 null, null, null, null, null, null, null, null, null, null, null, null, null, null, 
 null, null, null, null, null, null, null, null, null, null, null, null, null, null, 
-null, null, null, null, null, null, null, null, null, null, null, null, null, "\77", 
-null, null, "\73", "\50", "\51", "\54", };
+null, null, null, null, null, null, null, null, null, null, null, null, null, null, 
+null, null, "\77", null, null, "\73", "\50", "\51", "\54", };
 public static final String[] lexStateNames = {
    "DEFAULT", 
 };
 static final long[] jjtoToken = {
-   0xffffffffffffff81L, 0xffffffffffffffffL, 0x1e7fffffL, 
+   0xffffffffffffff81L, 0xffffffffffffffffL, 0xf3ffffffL, 
 };
 static final long[] jjtoSkip = {
    0x7eL, 0x0L, 0x0L, 
@@ -696,7 +696,7 @@ public abstract class AbstractBlockIntegerList
       IntegerListBlockInterface block =
                               (IntegerListBlockInterface) block_list.get(i);
       int bsize = block.size();
-      if (pos >= start && pos <= start + bsize) {
+      if (pos >= start && pos < start + bsize) {
         return removeFromBlock(i, block, pos - start);
       }
       start += bsize;
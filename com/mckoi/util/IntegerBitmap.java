@@ -0,0 +1,623 @@
+/**
+ * com.mckoi.util.IntegerBitmap  19 Oct 2026
+ *
+ * Mckoi SQL Database ( http://www.mckoi.com/database )
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * Version 2 as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License Version 2 for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * Version 2 along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * Change Log:
+ *
+ *
+ */
+
+package com.mckoi.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A compressed set of non-negative integers.  The set is divided into
+ * chunks of 65536 values by the high 16 bits of the value.  A chunk with
+ * few values stores the low 16 bits of each value in a sorted array, and a
+ * chunk with many values stores a bit for every value in the chunk.  This
+ * keeps a sparse set small and makes the intersection and union of two
+ * dense sets a word by word operation.
+ * <p>
+ * A copy of a bitmap shares the chunks of the original until either is
+ * changed, so copying is cheap.
+ * <p>
+ * NOTE: This object is not thread safe.
+ *
+ * @author agent
+ */
+
+public final class IntegerBitmap {
+
+  /**
+   * The largest number of values in a chunk that is stored as an array.
+   */
+  private static final int ARRAY_MAX = 4096;
+
+  /**
+   * The number of longs in a bit chunk.
+   */
+  private static final int BIT_WORDS = 1024;
+
+  /**
+   * The chunk type markers written by 'writeTo'.
+   */
+  private static final byte ARRAY_CHUNK = 1;
+  private static final byte BIT_CHUNK   = 2;
+
+  /**
+   * The number of chunks.
+   */
+  private int count;
+
+  /**
+   * The high 16 bits of the values in each chunk, in ascending order.
+   */
+  private int[] keys;
+
+  /**
+   * The chunks.
+   */
+  private Chunk[] chunks;
+
+  /**
+   * True for each chunk that is not shared with another bitmap.
+   */
+  private boolean[] owned;
+
+  /**
+   * Constructs an empty bitmap.
+   */
+  public IntegerBitmap() {
+    keys = new int[4];
+    chunks = new Chunk[4];
+    owned = new boolean[4];
+  }
+
+  /**
+   * Returns the number of values in the set.
+   */
+  public int size() {
+    int sz = 0;
+    for (int i = 0; i < count; ++i) {
+      sz += chunks[i].card;
+    }
+    return sz;
+  }
+
+  /**
+   * Returns true if the set is empty.
+   */
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  /**
+   * Returns true if the set contains the given value.
+   */
+  public boolean contains(int val) {
+    int i = chunkIndex(val >>> 16);
+    return i >= 0 && chunks[i].contains(val & 0x0FFFF);
+  }
+
+  /**
+   * Adds a value to the set.  Returns false if the value was already in the
+   * set.
+   */
+  public boolean add(int val) {
+    if (val < 0) {
+      throw new IllegalArgumentException("Negative value: " + val);
+    }
+    int high = val >>> 16;
+    int i = chunkIndex(high);
+    if (i < 0) {
+      i = -(i + 1);
+      insertChunk(i, high, new Chunk());
+    }
+    return writableChunk(i).add(val & 0x0FFFF);
+  }
+
+  /**
+   * Removes a value from the set.  Returns false if the value was not in
+   * the set.
+   */
+  public boolean remove(int val) {
+    int i = chunkIndex(val >>> 16);
+    if (i < 0) {
+      return false;
+    }
+    Chunk chunk = writableChunk(i);
+    boolean removed = chunk.remove(val & 0x0FFFF);
+    if (chunk.card == 0) {
+      --count;
+      System.arraycopy(keys, i + 1, keys, i, count - i);
+      System.arraycopy(chunks, i + 1, chunks, i, count - i);
+      System.arraycopy(owned, i + 1, owned, i, count - i);
+      chunks[count] = null;
+    }
+    return removed;
+  }
+
+  /**
+   * Returns a copy of this bitmap.  The copy shares the chunks of this
+   * bitmap until either is changed.
+   */
+  public IntegerBitmap copy() {
+    IntegerBitmap b = new IntegerBitmap();
+    int capacity = Math.max(count, 4);
+    b.keys = new int[capacity];
+    b.chunks = new Chunk[capacity];
+    b.owned = new boolean[capacity];
+    System.arraycopy(keys, 0, b.keys, 0, count);
+    System.arraycopy(chunks, 0, b.chunks, 0, count);
+    b.count = count;
+    // Both bitmaps must now copy a chunk before changing it.
+    for (int i = 0; i < count; ++i) {
+      owned[i] = false;
+    }
+    return b;
+  }
+
+  /**
+   * Returns a new bitmap that is the intersection of this set and the
+   * given set.
+   */
+  public IntegerBitmap and(IntegerBitmap bitmap) {
+    IntegerBitmap result = new IntegerBitmap();
+    int i = 0;
+    int n = 0;
+    while (i < count && n < bitmap.count) {
+      int k1 = keys[i];
+      int k2 = bitmap.keys[n];
+      if (k1 < k2) {
+        ++i;
+      }
+      else if (k1 > k2) {
+        ++n;
+      }
+      else {
+        Chunk chunk = Chunk.and(chunks[i], bitmap.chunks[n]);
+        if (chunk.card > 0) {
+          result.insertChunk(result.count, k1, chunk);
+        }
+        ++i;
+        ++n;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns a new bitmap that is the union of this set and the given set.
+   */
+  public IntegerBitmap or(IntegerBitmap bitmap) {
+    IntegerBitmap result = new IntegerBitmap();
+    int i = 0;
+    int n = 0;
+    while (i < count || n < bitmap.count) {
+      int k1 = (i < count) ? keys[i] : Integer.MAX_VALUE;
+      int k2 = (n < bitmap.count) ? bitmap.keys[n] : Integer.MAX_VALUE;
+      if (k1 < k2) {
+        result.insertChunk(result.count, k1, chunks[i].copy());
+        ++i;
+      }
+      else if (k1 > k2) {
+        result.insertChunk(result.count, k2, bitmap.chunks[n].copy());
+        ++n;
+      }
+      else {
+        result.insertChunk(result.count, k1,
+                           Chunk.or(chunks[i], bitmap.chunks[n]));
+        ++i;
+        ++n;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Adds the values in the set to the end of the given IntegerVector in
+   * ascending order.
+   */
+  public void addTo(IntegerVector ivec) {
+    for (int i = 0; i < count; ++i) {
+      chunks[i].addTo(keys[i] << 16, ivec);
+    }
+  }
+
+  /**
+   * Writes the set to the given output.
+   */
+  public void writeTo(DataOutput out) throws IOException {
+    out.writeInt(count);
+    for (int i = 0; i < count; ++i) {
+      Chunk chunk = chunks[i];
+      out.writeShort(keys[i]);
+      out.writeByte(chunk.bits == null ? ARRAY_CHUNK : BIT_CHUNK);
+      out.writeInt(chunk.card);
+      if (chunk.bits == null) {
+        for (int n = 0; n < chunk.card; ++n) {
+          out.writeChar(chunk.array[n]);
+        }
+      }
+      else {
+        for (int n = 0; n < BIT_WORDS; ++n) {
+          out.writeLong(chunk.bits[n]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads a set that was written by 'writeTo' from the given input.
+   */
+  public static IntegerBitmap readFrom(DataInput in) throws IOException {
+    IntegerBitmap b = new IntegerBitmap();
+    int chunk_count = in.readInt();
+    for (int i = 0; i < chunk_count; ++i) {
+      int key = in.readShort() & 0x0FFFF;
+      byte type = in.readByte();
+      int card = in.readInt();
+      Chunk chunk = new Chunk();
+      chunk.card = card;
+      if (type == ARRAY_CHUNK) {
+        chunk.array = new char[card];
+        for (int n = 0; n < card; ++n) {
+          chunk.array[n] = in.readChar();
+        }
+      }
+      else if (type == BIT_CHUNK) {
+        chunk.array = null;
+        chunk.bits = new long[BIT_WORDS];
+        for (int n = 0; n < BIT_WORDS; ++n) {
+          chunk.bits[n] = in.readLong();
+        }
+      }
+      else {
+        throw new IOException("Unknown bitmap chunk type: " + type);
+      }
+      b.insertChunk(b.count, key, chunk);
+    }
+    return b;
+  }
+
+  // ---------- Chunks ----------
+
+  /**
+   * Returns the index of the chunk with the given key, or (-(insert point)
+   * - 1) if there is no such chunk.
+   */
+  private int chunkIndex(int key) {
+    int low = 0;
+    int high = count - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int k = keys[mid];
+      if (k < key) {
+        low = mid + 1;
+      }
+      else if (k > key) {
+        high = mid - 1;
+      }
+      else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  /**
+   * Inserts an owned chunk at the given index.
+   */
+  private void insertChunk(int i, int key, Chunk chunk) {
+    if (count >= keys.length) {
+      int new_size = keys.length * 2;
+      int[] new_keys = new int[new_size];
+      Chunk[] new_chunks = new Chunk[new_size];
+      boolean[] new_owned = new boolean[new_size];
+      System.arraycopy(keys, 0, new_keys, 0, count);
+      System.arraycopy(chunks, 0, new_chunks, 0, count);
+      System.arraycopy(owned, 0, new_owned, 0, count);
+      keys = new_keys;
+      chunks = new_chunks;
+      owned = new_owned;
+    }
+    System.arraycopy(keys, i, keys, i + 1, count - i);
+    System.arraycopy(chunks, i, chunks, i + 1, count - i);
+    System.arraycopy(owned, i, owned, i + 1, count - i);
+    keys[i] = key;
+    chunks[i] = chunk;
+    owned[i] = true;
+    ++count;
+  }
+
+  /**
+   * Returns the chunk at the given index, copying it first if it is shared.
+   */
+  private Chunk writableChunk(int i) {
+    if (!owned[i]) {
+      chunks[i] = chunks[i].copy();
+      owned[i] = true;
+    }
+    return chunks[i];
+  }
+
+  /**
+   * Returns the number of bits set in the given long.
+   */
+  private static int bitCount(long v) {
+    v = v - ((v >>> 1) & 0x5555555555555555L);
+    v = (v & 0x3333333333333333L) + ((v >>> 2) & 0x3333333333333333L);
+    v = (v + (v >>> 4)) & 0x0F0F0F0F0F0F0F0FL;
+    return (int) ((v * 0x0101010101010101L) >>> 56);
+  }
+
+  /**
+   * A chunk of 65536 values.  Either 'array' is the sorted low 16 bits of
+   * the values or 'bits' has a bit for every value.
+   */
+  private static final class Chunk {
+
+    char[] array;
+    long[] bits;
+    int card;
+
+    Chunk() {
+      array = new char[4];
+    }
+
+    Chunk copy() {
+      Chunk c = new Chunk();
+      c.card = card;
+      if (bits == null) {
+        c.array = new char[Math.max(card, 4)];
+        System.arraycopy(array, 0, c.array, 0, card);
+      }
+      else {
+        c.array = null;
+        c.bits = new long[BIT_WORDS];
+        System.arraycopy(bits, 0, c.bits, 0, BIT_WORDS);
+      }
+      return c;
+    }
+
+    /**
+     * Returns the position of 'low' in the array, or (-(insert point) - 1)
+     * if it isn't in the array.
+     */
+    int arrayIndex(int low) {
+      int lo = 0;
+      int hi = card - 1;
+      while (lo <= hi) {
+        int mid = (lo + hi) >>> 1;
+        int v = array[mid];
+        if (v < low) {
+          lo = mid + 1;
+        }
+        else if (v > low) {
+          hi = mid - 1;
+        }
+        else {
+          return mid;
+        }
+      }
+      return -(lo + 1);
+    }
+
+    boolean contains(int low) {
+      if (bits == null) {
+        return arrayIndex(low) >= 0;
+      }
+      return (bits[low >>> 6] & (1L << low)) != 0;
+    }
+
+    boolean add(int low) {
+      if (bits == null) {
+        int i = arrayIndex(low);
+        if (i >= 0) {
+          return false;
+        }
+        if (card < ARRAY_MAX) {
+          i = -(i + 1);
+          if (card >= array.length) {
+            char[] new_array = new char[Math.min(array.length * 2, ARRAY_MAX)];
+            System.arraycopy(array, 0, new_array, 0, card);
+            array = new_array;
+          }
+          System.arraycopy(array, i, array, i + 1, card - i);
+          array[i] = (char) low;
+          ++card;
+          return true;
+        }
+        toBits();
+      }
+      long mask = 1L << low;
+      int w = low >>> 6;
+      if ((bits[w] & mask) != 0) {
+        return false;
+      }
+      bits[w] |= mask;
+      ++card;
+      return true;
+    }
+
+    boolean remove(int low) {
+      if (bits == null) {
+        int i = arrayIndex(low);
+        if (i < 0) {
+          return false;
+        }
+        --card;
+        System.arraycopy(array, i + 1, array, i, card - i);
+        return true;
+      }
+      long mask = 1L << low;
+      int w = low >>> 6;
+      if ((bits[w] & mask) == 0) {
+        return false;
+      }
+      bits[w] &= ~mask;
+      --card;
+      // Convert back to an array when the chunk is half the array limit so
+      // a chunk on the limit doesn't flip between the forms.
+      if (card <= ARRAY_MAX / 2) {
+        toArray();
+      }
+      return true;
+    }
+
+    void toBits() {
+      bits = new long[BIT_WORDS];
+      for (int i = 0; i < card; ++i) {
+        int v = array[i];
+        bits[v >>> 6] |= (1L << v);
+      }
+      array = null;
+    }
+
+    void toArray() {
+      char[] new_array = new char[Math.max(card, 4)];
+      int n = 0;
+      for (int w = 0; w < BIT_WORDS; ++w) {
+        long word = bits[w];
+        while (word != 0) {
+          long lowest = word & -word;
+          new_array[n++] = (char) ((w << 6) + bitIndex(lowest));
+          word ^= lowest;
+        }
+      }
+      array = new_array;
+      bits = null;
+    }
+
+    void addTo(int base, IntegerVector ivec) {
+      if (bits == null) {
+        for (int i = 0; i < card; ++i) {
+          ivec.addInt(base + array[i]);
+        }
+      }
+      else {
+        for (int w = 0; w < BIT_WORDS; ++w) {
+          long word = bits[w];
+          while (word != 0) {
+            long lowest = word & -word;
+            ivec.addInt(base + (w << 6) + bitIndex(lowest));
+            word ^= lowest;
+          }
+        }
+      }
+    }
+
+    /**
+     * Returns the index of the single bit set in the given long.
+     */
+    static int bitIndex(long bit) {
+      return bitCount(bit - 1);
+    }
+
+    static Chunk and(Chunk c1, Chunk c2) {
+      Chunk c = new Chunk();
+      if (c1.bits != null && c2.bits != null) {
+        c.array = null;
+        c.bits = new long[BIT_WORDS];
+        int card = 0;
+        for (int w = 0; w < BIT_WORDS; ++w) {
+          long word = c1.bits[w] & c2.bits[w];
+          c.bits[w] = word;
+          card += bitCount(word);
+        }
+        c.card = card;
+        if (card <= ARRAY_MAX) {
+          c.toArray();
+        }
+        return c;
+      }
+      if (c1.bits != null) {
+        Chunk t = c1;
+        c1 = c2;
+        c2 = t;
+      }
+      // c1 is an array chunk.
+      c.array = new char[Math.max(c1.card, 4)];
+      for (int i = 0; i < c1.card; ++i) {
+        int v = c1.array[i];
+        if (c2.contains(v)) {
+          c.array[c.card++] = (char) v;
+        }
+      }
+      return c;
+    }
+
+    static Chunk or(Chunk c1, Chunk c2) {
+      Chunk c;
+      if (c1.bits == null && c2.bits == null) {
+        c = new Chunk();
+        c.array = new char[Math.max(c1.card + c2.card, 4)];
+        int i = 0;
+        int n = 0;
+        while (i < c1.card || n < c2.card) {
+          int v1 = (i < c1.card) ? c1.array[i] : Integer.MAX_VALUE;
+          int v2 = (n < c2.card) ? c2.array[n] : Integer.MAX_VALUE;
+          int v;
+          if (v1 <= v2) {
+            v = v1;
+            ++i;
+            if (v1 == v2) {
+              ++n;
+            }
+          }
+          else {
+            v = v2;
+            ++n;
+          }
+          c.array[c.card++] = (char) v;
+        }
+        if (c.card > ARRAY_MAX) {
+          c.toBits();
+        }
+        return c;
+      }
+      if (c1.bits == null) {
+        Chunk t = c1;
+        c1 = c2;
+        c2 = t;
+      }
+      // c1 is a bit chunk.
+      c = c1.copy();
+      if (c2.bits == null) {
+        for (int i = 0; i < c2.card; ++i) {
+          c.add(c2.array[i]);
+        }
+      }
+      else {
+        int card = 0;
+        for (int w = 0; w < BIT_WORDS; ++w) {
+          long word = c.bits[w] | c2.bits[w];
+          c.bits[w] = word;
+          card += bitCount(word);
+        }
+        c.card = card;
+      }
+      return c;
+    }
+
+  }
+
+}